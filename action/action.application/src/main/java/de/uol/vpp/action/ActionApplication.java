@@ -5,7 +5,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication(scanBasePackages = {"de.uol.vpp.action"})
+@SpringBootApplication(scanBasePackages = {"de.uol.vpp.action", "de.uol.vpp.common"})
 @EnableScheduling
 public class ActionApplication {
 
@@ -0,0 +1,301 @@
+package de.uol.vpp.action.infrastructure.algorithm;
+
+import de.uol.vpp.action.domain.entities.ActionCatalogEntity;
+import de.uol.vpp.action.domain.entities.ActionEntity;
+import de.uol.vpp.action.domain.enums.ActionTypeEnum;
+import de.uol.vpp.action.domain.enums.ProblemTypeEnum;
+import de.uol.vpp.action.domain.exceptions.ActionException;
+import de.uol.vpp.action.domain.valueobjects.*;
+import de.uol.vpp.action.infrastructure.rest.dto.*;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Erstellt die Handlungsempfehlungskataloge einer Maßnahmenabfrage parallel in einem Fork-Join-Pool.
+ * Jede Differenzzeitreihe bildet eine eigene Aufgabe, innerhalb eines Katalogs werden die Anlagen in Partitionen
+ * von {@code vpp.action.catalog.partition-size} Anlagen aufgeteilt. Alle Aufgaben lesen ausschließlich aus der
+ * unveränderlichen {@link ForecastMatrix}. Die Teilergebnisse werden in der Reihenfolge der Differenzzeitreihen
+ * und Anlagen zusammengeführt, sodass das Ergebnis unabhängig von der Parallelität stets identisch ist.
+ */
+@Component
+public class ActionCatalogBuilder implements DisposableBean {
+
+    private final ForkJoinPool pool;
+    private final int partitionSize;
+
+    public ActionCatalogBuilder(@Value("${vpp.action.catalog.parallelism:0}") int parallelism,
+                                @Value("${vpp.action.catalog.partition-size:64}") int partitionSize) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.partitionSize = Math.max(1, partitionSize);
+    }
+
+    /**
+     * Erstellt pro Differenzzeitreihe einen Handlungsempfehlungskatalog
+     *
+     * @param actionRequestId          Id der Maßnahmenabfrage
+     * @param differenceTimeseriesList Differenzzeitreihen
+     * @param forecastMatrix           Prognosematrix der Maßnahmenabfrage
+     * @param virtualPowerPlant        Topologie des VK
+     * @return Handlungsempfehlungskataloge in der Reihenfolge der Differenzzeitreihen
+     * @throws ActionException e
+     */
+    List<ActionCatalogEntity> build(String actionRequestId, List<DifferenceTimeseries> differenceTimeseriesList,
+                                    ForecastMatrix forecastMatrix, VirtualPowerPlantTopologyDTO virtualPowerPlant) throws ActionException {
+        // Reihenfolge der Anlagen pro Problemtyp wie bisher: bei Überschuss zuerst Speicher, bei Engpass zuerst Erzeugungsanlagen
+        List<Plant> producers = new ArrayList<>();
+        List<Plant> storages = new ArrayList<>();
+        this.collectPlants(virtualPowerPlant.getDecentralizedPowerPlants(), virtualPowerPlant.getHouseholds(), producers, storages);
+        List<Plant> overflowPlants = new ArrayList<>(storages);
+        overflowPlants.addAll(producers);
+        List<Plant> shortagePlants = new ArrayList<>(producers);
+        shortagePlants.addAll(storages);
+
+        List<CatalogTask> tasks = new ArrayList<>();
+        for (DifferenceTimeseries differenceTimeseries : differenceTimeseriesList) {
+            tasks.add(new CatalogTask(actionRequestId, differenceTimeseries, forecastMatrix,
+                    differenceTimeseries.getProblemType().equals(ProblemTypeEnum.OVERFLOW) ? overflowPlants : shortagePlants));
+        }
+        try {
+            return pool.invoke(new RecursiveTask<List<ActionCatalogEntity>>() {
+                @Override
+                protected List<ActionCatalogEntity> compute() {
+                    invokeAll(tasks);
+                    List<ActionCatalogEntity> catalogs = new ArrayList<>(tasks.size());
+                    for (CatalogTask task : tasks) {
+                        catalogs.add(task.join());
+                    }
+                    return catalogs;
+                }
+            });
+        } catch (CatalogTaskException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Sammelt die Erzeugungsanlagen (Wasser, Wind, Solar, Sonstige) und Speicher aller DKs und Haushalte
+     */
+    private void collectPlants(List<DecentralizedPowerPlantDTO> dpps, List<HouseholdDTO> households,
+                               List<Plant> producers, List<Plant> storages) {
+        dpps.forEach(dpp -> storages.addAll(Plant.ofStorages(dpp.getStorages())));
+        households.forEach(household -> storages.addAll(Plant.ofStorages(household.getStorages())));
+        dpps.forEach(dpp -> dpp.getWaters().forEach(water -> producers.add(Plant.producer(water.getWaterEnergyId(), water.getCapacity()))));
+        households.forEach(household -> household.getWaters().forEach(water -> producers.add(Plant.producer(water.getWaterEnergyId(), water.getCapacity()))));
+        dpps.forEach(dpp -> dpp.getWinds().forEach(wind -> producers.add(Plant.producer(wind.getWindEnergyId(), wind.getCapacity()))));
+        households.forEach(household -> household.getWinds().forEach(wind -> producers.add(Plant.producer(wind.getWindEnergyId(), wind.getCapacity()))));
+        dpps.forEach(dpp -> dpp.getSolars().forEach(solar -> producers.add(Plant.producer(solar.getSolarEnergyId(), solar.getCapacity()))));
+        households.forEach(household -> household.getSolars().forEach(solar -> producers.add(Plant.producer(solar.getSolarEnergyId(), solar.getCapacity()))));
+        dpps.forEach(dpp -> dpp.getOthers().forEach(other -> producers.add(Plant.producer(other.getOtherEnergyId(), other.getCapacity()))));
+        households.forEach(household -> household.getOthers().forEach(other -> producers.add(Plant.producer(other.getOtherEnergyId(), other.getCapacity()))));
+    }
+
+    /**
+     * Erstellt einen leeren Handlungsempfehlungskatalog
+     *
+     * @param actionRequestId      Id der Maßnahmenabfrage
+     * @param differenceTimeseries Differenzzeitreihe
+     * @return Handlungsempfehlungskatalog
+     * @throws ActionException e
+     */
+    private static ActionCatalogEntity createActionCatalog(String actionRequestId, DifferenceTimeseries differenceTimeseries) throws ActionException {
+        ActionCatalogEntity catalog = new ActionCatalogEntity();
+        catalog.setActionRequestIdVO(new ActionRequestIdVO(actionRequestId));
+        catalog.setStartTimestamp(new ActionCatalogStartTimestampVO(differenceTimeseries.getTimestamps().first()));
+        catalog.setEndTimestamp(new ActionCatalogEndTimestampVO(differenceTimeseries.getTimestamps().last()));
+        catalog.setProblemType(new ActionCatalogProblemTypeVO(differenceTimeseries.getProblemType()));
+        catalog.setAverageGap(new ActionCatalogAverageGapVO(differenceTimeseries.getAverageGap()));
+        return catalog;
+    }
+
+    /**
+     * Erstellung einer Handlungsempfehlung für den Katalog
+     *
+     * @param catalog             Katalog
+     * @param producerOrStorageId Id der Erzeugungs- oder Speicheranlage
+     * @param isStorage           ist Speicheranlage?
+     * @param ratedPower          Nennleistung
+     * @param loadTimeHour        C-Rate der Speicheranlage
+     * @param capacity            Kapazität
+     * @param actionType          Typ der Handlungsempfehlung (z.B. Erzeugungsanlage hochfahren)
+     * @return Handlungsempfehlung
+     * @throws ActionException e
+     */
+    private static ActionEntity createAction(ActionCatalogEntity catalog, String producerOrStorageId, boolean isStorage, Double ratedPower, Double loadTimeHour, Double capacity, ActionTypeEnum actionType) throws ActionException {
+        ActionEntity actionEntity = new ActionEntity();
+        actionEntity.setActionRequestId(catalog.getActionRequestIdVO());
+        actionEntity.setStartTimestamp(catalog.getStartTimestamp());
+        actionEntity.setEndTimestamp(catalog.getEndTimestamp());
+        actionEntity.setHours(
+                new ActionHoursVO(
+                        (isStorage) ? (1 / loadTimeHour) / 100 * (100 - capacity) : 0 //Wenn Storage, dann berechne Ladezeit in Stunden
+                )
+        );
+        actionEntity.setActionValue(new ActionValueVO(ratedPower));
+        actionEntity.setIsStorage(new ActionIsStorageVO(isStorage));
+        actionEntity.setProducerOrStorageId(new ActionProducerOrStorageIdVO(
+                producerOrStorageId
+        ));
+        actionEntity.setActionType(new ActionTypeVO(actionType));
+        return actionEntity;
+    }
+
+    /**
+     * Erzeugungs- oder Speicheranlage des VK mit den für die Handlungsempfehlungen benötigten Werten
+     */
+    private static final class Plant {
+        private final String id;
+        private final boolean isStorage;
+        private final Double capacity;
+        private final Double ratedPower;
+        private final Double loadTimeHour;
+
+        private Plant(String id, boolean isStorage, Double capacity, Double ratedPower, Double loadTimeHour) {
+            this.id = id;
+            this.isStorage = isStorage;
+            this.capacity = capacity;
+            this.ratedPower = ratedPower;
+            this.loadTimeHour = loadTimeHour;
+        }
+
+        private static Plant producer(String id, Double capacity) {
+            return new Plant(id, false, capacity, null, null);
+        }
+
+        private static List<Plant> ofStorages(List<StorageDTO> storages) {
+            List<Plant> plants = new ArrayList<>(storages.size());
+            for (StorageDTO storage : storages) {
+                plants.add(new Plant(storage.getStorageId(), true, storage.getCapacity(),
+                        storage.getRatedPower(), storage.getLoadTimeHour()));
+            }
+            return plants;
+        }
+    }
+
+    /**
+     * Erstellt den Handlungsempfehlungskatalog einer Differenzzeitreihe
+     */
+    private final class CatalogTask extends RecursiveTask<ActionCatalogEntity> {
+        private final String actionRequestId;
+        private final DifferenceTimeseries differenceTimeseries;
+        private final ForecastMatrix forecastMatrix;
+        private final List<Plant> plants;
+
+        private CatalogTask(String actionRequestId, DifferenceTimeseries differenceTimeseries,
+                            ForecastMatrix forecastMatrix, List<Plant> plants) {
+            this.actionRequestId = actionRequestId;
+            this.differenceTimeseries = differenceTimeseries;
+            this.forecastMatrix = forecastMatrix;
+            this.plants = plants;
+        }
+
+        @Override
+        protected ActionCatalogEntity compute() {
+            try {
+                ActionCatalogEntity catalog = createActionCatalog(actionRequestId, differenceTimeseries);
+                int from = forecastMatrix.indexOf(differenceTimeseries.getTimestamps().first());
+                int to = forecastMatrix.indexOf(differenceTimeseries.getTimestamps().last());
+                catalog.setActions(new PlantTask(catalog, differenceTimeseries.getProblemType(), forecastMatrix,
+                        from, to, plants, 0, plants.size()).compute());
+                return catalog;
+            } catch (ActionException e) {
+                throw new CatalogTaskException(e);
+            }
+        }
+    }
+
+    /**
+     * Erstellt die Handlungsempfehlungen einer Partition der Anlagen, große Partitionen werden halbiert
+     */
+    private final class PlantTask extends RecursiveTask<List<ActionEntity>> {
+        private final ActionCatalogEntity catalog;
+        private final ProblemTypeEnum problemType;
+        private final ForecastMatrix forecastMatrix;
+        private final int from;
+        private final int to;
+        private final List<Plant> plants;
+        private final int start;
+        private final int end;
+
+        private PlantTask(ActionCatalogEntity catalog, ProblemTypeEnum problemType, ForecastMatrix forecastMatrix,
+                          int from, int to, List<Plant> plants, int start, int end) {
+            this.catalog = catalog;
+            this.problemType = problemType;
+            this.forecastMatrix = forecastMatrix;
+            this.from = from;
+            this.to = to;
+            this.plants = plants;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected List<ActionEntity> compute() {
+            if (end - start > partitionSize) {
+                int middle = (start + end) >>> 1;
+                PlantTask left = new PlantTask(catalog, problemType, forecastMatrix, from, to, plants, start, middle);
+                PlantTask right = new PlantTask(catalog, problemType, forecastMatrix, from, to, plants, middle, end);
+                right.fork();
+                List<ActionEntity> actions = left.compute();
+                actions.addAll(right.join());
+                return actions;
+            }
+            try {
+                List<ActionEntity> actions = new ArrayList<>();
+                for (int i = start; i < end; i++) {
+                    Plant plant = plants.get(i);
+                    if (problemType.equals(ProblemTypeEnum.OVERFLOW)) {
+                        //Welche Speicher haben Kapazität zum speichern? Welche Erzeugungsanlagen können abgeregelt werden?
+                        if (plant.isStorage && plant.capacity < 100.) {
+                            actions.add(createAction(catalog, plant.id, true, plant.ratedPower, plant.loadTimeHour,
+                                    plant.capacity, ActionTypeEnum.STORAGE_LOAD));
+                        } else if (!plant.isStorage && plant.capacity > 0.) {
+                            Double averageProduction = forecastMatrix.getAverageCurrent(plant.id, from, to);
+                            actions.add(createAction(catalog, plant.id, false, averageProduction, 0.,
+                                    plant.capacity, ActionTypeEnum.PRODUCER_DOWN));
+                        }
+                    } else if (problemType.equals(ProblemTypeEnum.SHORTAGE)) {
+                        //Welche Erzeugungsanlagen können hochgefahren werden? Welche Speicher haben Kapazität zum entladen?
+                        if (!plant.isStorage && plant.capacity < 100.) {
+                            Double averageProduction = forecastMatrix.getAverageCurrent(plant.id, from, to);
+                            Double averagePossibleProduction = forecastMatrix.getAveragePossible(plant.id, from, to);
+                            Double possibleProductionIncrease = averagePossibleProduction - averageProduction;
+                            actions.add(createAction(catalog, plant.id, false, possibleProductionIncrease, 0.,
+                                    plant.capacity, ActionTypeEnum.PRODUCER_UP));
+                        } else if (plant.isStorage && plant.capacity > 0.) {
+                            actions.add(createAction(catalog, plant.id, true, plant.ratedPower, plant.loadTimeHour,
+                                    100 - plant.capacity, ActionTypeEnum.STORAGE_UNLOAD));
+                        }
+                    }
+                }
+                return actions;
+            } catch (ActionException e) {
+                throw new CatalogTaskException(e);
+            }
+        }
+    }
+
+    /**
+     * Überträgt eine {@link ActionException} aus den Fork-Join-Aufgaben
+     */
+    private static final class CatalogTaskException extends RuntimeException {
+        private CatalogTaskException(ActionException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized ActionException getCause() {
+            return (ActionException) super.getCause();
+        }
+    }
+}
@@ -2,14 +2,13 @@ package de.uol.vpp.action.infrastructure.algorithm;
 
 import de.uol.vpp.action.domain.aggregates.ActionRequestAggregate;
 import de.uol.vpp.action.domain.entities.ActionCatalogEntity;
-import de.uol.vpp.action.domain.entities.ActionEntity;
-import de.uol.vpp.action.domain.enums.ActionTypeEnum;
 import de.uol.vpp.action.domain.enums.ProblemTypeEnum;
 import de.uol.vpp.action.domain.enums.StatusEnum;
 import de.uol.vpp.action.domain.exceptions.ActionException;
 import de.uol.vpp.action.domain.exceptions.ActionRepositoryException;
 import de.uol.vpp.action.domain.repositories.IActionRequestRepository;
 import de.uol.vpp.action.domain.valueobjects.*;
+import de.uol.vpp.action.infrastructure.jpaRepositories.ActionRequestJpaRepository;
 import de.uol.vpp.action.infrastructure.rest.LoadRestClient;
 import de.uol.vpp.action.infrastructure.rest.MasterdataRestClient;
 import de.uol.vpp.action.infrastructure.rest.ProductionRestClient;
@@ -17,10 +16,12 @@ import de.uol.vpp.action.infrastructure.rest.dto.*;
 import de.uol.vpp.action.infrastructure.rest.exceptions.LoadRestClientException;
 import de.uol.vpp.action.infrastructure.rest.exceptions.MasterdataRestClientException;
 import de.uol.vpp.action.infrastructure.rest.exceptions.ProductionRestClientException;
+import de.uol.vpp.common.timeseries.ForecastSeries;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
 
@@ -36,6 +37,9 @@ public class ActionCatalogInfrastructureService {
     private final MasterdataRestClient masterdataRestClient;
     private final LoadRestClient loadRestClient;
     private final ProductionRestClient productionRestClient;
+    private final ActionCatalogBuilder actionCatalogBuilder;
+    private final ActionRequestJpaRepository actionRequestJpaRepository;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Diese Methode wird nach dem Empfangen der Prognosen vom Rabbit-MQ Consumer ausgeführt.
@@ -52,176 +56,50 @@ public class ActionCatalogInfrastructureService {
         Optional<ActionRequestAggregate> actionRequest = actionRequestRepository.getActionRequest(new ActionRequestIdVO(actionRequestId));
 
         if (actionRequest.isPresent()) {
-            VirtualPowerPlantDTO virtualPowerPlant = masterdataRestClient
-                    .getVirtualPowerPlantById(actionRequest.get().getVirtualPowerPlantId().getValue());
+            VirtualPowerPlantTopologyDTO virtualPowerPlant = masterdataRestClient
+                    .getTopologyByVppId(actionRequest.get().getVirtualPowerPlantId().getValue());
             if (virtualPowerPlant != null) {
-                //Hole alle Loads und Productions by actionRequestId
-                List<LoadDTO> loads = loadRestClient.getAllLoadsByActionRequestId(actionRequestId);
-                List<ProductionDTO> productions = productionRestClient.getAllProductionsByActionRequestId(actionRequestId);
+                //Hole die bereits im Last- und Erzeugungsservice summierte Last und Erzeugung pro Zeitstempel
+                ForecastSeries loads = loadRestClient.getLoadTotalsByActionRequestId(actionRequestId);
+                ForecastSeries productions = productionRestClient.getProductionTotalsByActionRequestId(actionRequestId);
 
-                //Erstellung der Differenzzeitreihen
-                Map<Long, Pair<Double, Double>> comparisonMap = this.createComparisonMap(loads, productions);
+                //Einmalige Erstellung der Prognosematrix und der Differenzzeitreihen
+                ForecastMatrix forecastMatrix = ForecastMatrix.of(loads, productions);
+                Map<Long, Pair<Double, Double>> comparisonMap = this.createComparisonMap(forecastMatrix);
                 List<DifferenceTimeseries> differenceTimeseriesList =
                         createDifferenceTimeseriesList(actionRequest.get(), virtualPowerPlant, comparisonMap);
 
-
-                //Aufbearbeitung der Anlagen des jeweiligen VK mittels REST-Anfragen
-                List<HouseholdDTO> households = masterdataRestClient.getAllHouseholdsByVppId(virtualPowerPlant.getVirtualPowerPlantId());
-                List<DecentralizedPowerPlantDTO> dpps = masterdataRestClient.getAllDppsByVppId(virtualPowerPlant.getVirtualPowerPlantId());
-
-                List<StorageDTO> storages = new ArrayList<>();
-                dpps.forEach(dpp -> storages.addAll(dpp.getStorages()));
-                households.forEach(household -> storages.addAll(household.getStorages()));
-
-                List<WaterEnergyDTO> waters = new ArrayList<>();
-                dpps.forEach(dpp -> waters.addAll(dpp.getWaters()));
-                households.forEach(household -> waters.addAll(household.getWaters()));
-
-                List<WindEnergyDTO> winds = new ArrayList<>();
-                dpps.forEach(dpp -> winds.addAll(dpp.getWinds()));
-                households.forEach(household -> winds.addAll(household.getWinds()));
-
-                List<SolarEnergyDTO> solars = new ArrayList<>();
-                dpps.forEach(dpp -> solars.addAll(dpp.getSolars()));
-                households.forEach(household -> solars.addAll(household.getSolars()));
-
-                List<OtherEnergyDTO> others = new ArrayList<>();
-                dpps.forEach(dpp -> others.addAll(dpp.getOthers()));
-                households.forEach(household -> others.addAll(household.getOthers()));
-
-                // Iterierung der Differenzzeitreihen und Erstellung der Handlungsempfehlungskataloge
-                List<ActionCatalogEntity> catalogs = new ArrayList<>();
+                //Summen der Erzeugung pro Erzeugungsanlage für alle Differenzzeitreihen mit einer Anfrage
+                List<ProductionWindowDTO> windows = new ArrayList<>();
                 for (DifferenceTimeseries differenceTimeseries : differenceTimeseriesList) {
-                    ActionCatalogEntity catalog = this.createActionCatalog(actionRequestId, differenceTimeseries);
-                    List<ActionEntity> actionsInCatalog = new ArrayList<>();
-
-                    //Wenn ein Energieüberschuss in aktueller Differenzzeitreihe besteht
-                    if (differenceTimeseries.getProblemType().equals(ProblemTypeEnum.OVERFLOW)) {
-                        //Welche Speicher haben Kapazität zum speichern?
-                        for (StorageDTO storage : storages) {
-                            if (storage.getCapacity() < 100.) {
-                                actionsInCatalog.add(
-                                        this.createAction(catalog, storage.getStorageId(),
-                                                true, storage.getRatedPower(), storage.getLoadTimeHour(),
-                                                storage.getCapacity(), ActionTypeEnum.STORAGE_LOAD)
-                                );
-                            }
-                        }
-
-                        //Welche Erzeugungsanlagen können abgeregelt werden?
-                        for (WaterEnergyDTO water : waters) {
-                            if (water.getCapacity() > 0.) {
-                                Double averageProduction = this.getAverageCurrentProductionByProducerInTs(productions, differenceTimeseries, water.getWaterEnergyId());
-                                actionsInCatalog.add(
-                                        this.createAction(catalog, water.getWaterEnergyId(),
-                                                false, averageProduction, 0.,
-                                                water.getCapacity(), ActionTypeEnum.PRODUCER_DOWN)
-                                );
-                            }
-                        }
-                        for (WindEnergyDTO wind : winds) {
-                            if (wind.getCapacity() > 0.) {
-                                Double averageProduction = this.getAverageCurrentProductionByProducerInTs(productions, differenceTimeseries, wind.getWindEnergyId());
-                                actionsInCatalog.add(
-                                        this.createAction(catalog, wind.getWindEnergyId(),
-                                                false, averageProduction, 0.,
-                                                wind.getCapacity(), ActionTypeEnum.PRODUCER_DOWN)
-                                );
-                            }
-                        }
-                        for (SolarEnergyDTO solar : solars) {
-                            if (solar.getCapacity() > 0.) {
-                                Double averageProduction = this.getAverageCurrentProductionByProducerInTs(productions, differenceTimeseries, solar.getSolarEnergyId());
-                                actionsInCatalog.add(
-                                        this.createAction(catalog, solar.getSolarEnergyId(),
-                                                false, averageProduction, 0.,
-                                                solar.getCapacity(), ActionTypeEnum.PRODUCER_DOWN)
-                                );
-                            }
-                        }
-                        for (OtherEnergyDTO other : others) {
-                            if (other.getCapacity() > 0.) {
-                                Double averageProduction = this.getAverageCurrentProductionByProducerInTs(productions, differenceTimeseries, other.getOtherEnergyId());
-                                actionsInCatalog.add(
-                                        this.createAction(catalog, other.getOtherEnergyId(),
-                                                false, averageProduction, 0.,
-                                                other.getCapacity(), ActionTypeEnum.PRODUCER_DOWN)
-                                );
-                            }
-                        }
-
-                        //Wenn Energieengpass in aktueller Differenzzeitreihe besteht
-                    } else if (differenceTimeseries.getProblemType().equals(ProblemTypeEnum.SHORTAGE)) {
-                        //Welche Erzeugungsanlagen können hochgefahren werden?
-                        for (WaterEnergyDTO water : waters) {
-                            if (water.getCapacity() < 100.) {
-                                Double averageProduction = this.getAverageCurrentProductionByProducerInTs(productions, differenceTimeseries, water.getWaterEnergyId());
-                                Double averagePossibleProduction = this.getAveragePossibleProductionByProducerInTs(productions, differenceTimeseries, water.getWaterEnergyId());
-                                Double possibleProductionIncrease = averagePossibleProduction - averageProduction;
-                                actionsInCatalog.add(
-                                        this.createAction(catalog, water.getWaterEnergyId(),//10/100*((20-100)*-1)
-                                                false, possibleProductionIncrease, 0.,
-                                                water.getCapacity(), ActionTypeEnum.PRODUCER_UP)
-                                );
-                            }
-                        }
-                        for (WindEnergyDTO wind : winds) {
-                            if (wind.getCapacity() < 100.) {
-                                Double averageProduction = this.getAverageCurrentProductionByProducerInTs(productions, differenceTimeseries, wind.getWindEnergyId());
-                                Double averagePossibleProduction = this.getAveragePossibleProductionByProducerInTs(productions, differenceTimeseries, wind.getWindEnergyId());
-                                Double possibleProductionIncrease = averagePossibleProduction - averageProduction;
-                                actionsInCatalog.add(
-                                        this.createAction(catalog, wind.getWindEnergyId(),
-                                                false, possibleProductionIncrease, 0.,
-                                                wind.getCapacity(), ActionTypeEnum.PRODUCER_UP)
-                                );
-                            }
-                        }
-                        for (SolarEnergyDTO solar : solars) {
-                            if (solar.getCapacity() < 100.) {
-                                Double averageProduction = this.getAverageCurrentProductionByProducerInTs(productions, differenceTimeseries, solar.getSolarEnergyId());
-                                Double averagePossibleProduction = this.getAveragePossibleProductionByProducerInTs(productions, differenceTimeseries, solar.getSolarEnergyId());
-                                Double possibleProductionIncrease = averagePossibleProduction - averageProduction;
-                                actionsInCatalog.add(
-                                        this.createAction(catalog, solar.getSolarEnergyId(),
-                                                false, possibleProductionIncrease, 0.,
-                                                solar.getCapacity(), ActionTypeEnum.PRODUCER_UP)
-                                );
-                            }
-                        }
-                        for (OtherEnergyDTO other : others) {
-                            if (other.getCapacity() < 100.) {
-                                Double averageProduction = this.getAverageCurrentProductionByProducerInTs(productions, differenceTimeseries, other.getOtherEnergyId());
-                                Double averagePossibleProduction = this.getAveragePossibleProductionByProducerInTs(productions, differenceTimeseries, other.getOtherEnergyId());
-                                Double possibleProductionIncrease = averagePossibleProduction - averageProduction;
-                                actionsInCatalog.add(
-                                        this.createAction(catalog, other.getOtherEnergyId(),
-                                                false, possibleProductionIncrease, 0.,
-                                                other.getCapacity(), ActionTypeEnum.PRODUCER_UP)
-                                );
-                            }
-                        }
-
-                        //Welche Speicher haben Kapazität zum entladen?
-                        for (StorageDTO storage : storages) {
-                            if (storage.getCapacity() > 0.) {
-                                actionsInCatalog.add(
-                                        this.createAction(catalog, storage.getStorageId(),
-                                                true, storage.getRatedPower(), storage.getLoadTimeHour(),
-                                                100 - storage.getCapacity(), ActionTypeEnum.STORAGE_UNLOAD)
-                                );
-                            }
-                        }
-
-                    }
-                    catalog.setActions(actionsInCatalog);
-                    catalogs.add(catalog);
-
+                    windows.add(new ProductionWindowDTO(differenceTimeseries.getTimestamps().first(),
+                            differenceTimeseries.getTimestamps().last()));
                 }
+                forecastMatrix = forecastMatrix.withProducerSums(
+                        productionRestClient.getProducerSumsByActionRequestId(actionRequestId, windows));
+
+                // Parallele Erstellung der Handlungsempfehlungskataloge pro Differenzzeitreihe
+                List<ActionCatalogEntity> catalogs = actionCatalogBuilder.build(actionRequestId,
+                        differenceTimeseriesList, forecastMatrix, virtualPowerPlant);
                 log.info("Erstellung der Handlungsempfehlungekataloge erfolgreich. Katalog wird gespeichert...");
                 actionRequest.get().setCatalogs(catalogs);
                 actionRequest.get().setStatus(new ActionRequestStatusVO(StatusEnum.FINISHED));
-                actionRequestRepository.saveActionRequest(actionRequest.get(), false);
+                //Beenden der Beanspruchung und Speichern in einer Transaktion, damit eine inzwischen abgelaufene
+                //Beanspruchung den Status FAILED behält
+                Boolean completed = transactionTemplate.execute(transaction -> {
+                    if (actionRequestJpaRepository.completeCatalogCreation(actionRequestId) == 0) {
+                        return false;
+                    }
+                    try {
+                        actionRequestRepository.saveActionRequest(actionRequest.get(), false);
+                    } catch (ActionRepositoryException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return true;
+                });
+                if (!Boolean.TRUE.equals(completed)) {
+                    log.info("Die Beanspruchung der Katalogerstellung ist abgelaufen, Kataloge werden verworfen. (Maßnahmenabfrage {})", actionRequestId);
+                }
             }
         }
 
@@ -230,43 +108,20 @@ public class ActionCatalogInfrastructureService {
     /**
      * Helferfunktion, die eine Datenstruktur erstellt, in der Zeitstempel der aktuellen Last und der Erzeugung zugewiesen ist
      *
-     * @param loads       Lasten
-     * @param productions Erzeugung
+     * @param forecastMatrix Prognosematrix der Maßnahmenabfrage
      * @return Zeitstempel -> {Last, Erzeugung} Map
      */
-    private Map<Long, Pair<Double, Double>> createComparisonMap(List<LoadDTO> loads, List<ProductionDTO> productions) {
+    Map<Long, Pair<Double, Double>> createComparisonMap(ForecastMatrix forecastMatrix) {
         TreeMap<Long, Pair<Double, Double>> result = new TreeMap<>();
-        TreeSet<Long> timestamps = new TreeSet<>();
-
-        loads.forEach((loadDTO) -> {
-            timestamps.add(loadDTO.getStartTimestamp());
-        });
-        productions.forEach((productionDTO) -> {
-            timestamps.add(productionDTO.getStartTimestamp());
-        });
-        for (Long timestamp : timestamps) {
-            ProductionDTO productionDTO = this.getProductionByTimestamp(productions, timestamp);
-            LoadDTO loadDTO = this.getLoadByTimestamp(loads, timestamp);
-
-            if (loadDTO != null && productionDTO != null) {
-                Double loadSum = 0.;
-                Double productionSum = 0.;
-
-                for (ProductionProducerDTO productionProducerDTO : productionDTO.getProducers()) {
-                    productionSum = productionSum + productionProducerDTO.getCurrentValue();
-                }
-                for (LoadHouseholdDTO loadHouseholdDTO : loadDTO.getHouseholds()) {
-                    loadSum = loadSum + loadHouseholdDTO.getLoadValue();
-                }
-
-                result.put(timestamp, Pair.of(loadSum, productionSum));
-            }
+        for (int period = 0; period < forecastMatrix.getPeriods(); period++) {
+            result.put(forecastMatrix.getTimestamp(period),
+                    Pair.of(forecastMatrix.getLoadSum(period), forecastMatrix.getProductionSum(period)));
         }
         return result;
     }
 
     /**
-     * Helferfunktion, die die Map aus {@link ActionCatalogInfrastructureService#createComparisonMap(List, List)} durchläuft
+     * Helferfunktion, die die Map aus {@link ActionCatalogInfrastructureService#createComparisonMap(ForecastMatrix)} durchläuft
      * und überprüft in welchen Zeiträumen Differenzen (Energiengpass oder -überschuss) bestehen. Dies wird eine
      * Differenzzeitreihe genannt
      *
@@ -275,7 +130,7 @@ public class ActionCatalogInfrastructureService {
      * @param comparisonMap     Vergleichsmap
      * @return Liste von Differenzzeitreihen
      */
-    private List<DifferenceTimeseries> createDifferenceTimeseriesList(ActionRequestAggregate actionRequest, VirtualPowerPlantDTO virtualPowerPlant, Map<Long, Pair<Double, Double>> comparisonMap) {
+    List<DifferenceTimeseries> createDifferenceTimeseriesList(ActionRequestAggregate actionRequest, VirtualPowerPlantDTO virtualPowerPlant, Map<Long, Pair<Double, Double>> comparisonMap) {
         List<DifferenceTimeseries> differenceTimeseries = new ArrayList<>();
         boolean isShortage = false;
         boolean isOverflow = false;
@@ -342,132 +197,6 @@ public class ActionCatalogInfrastructureService {
         return differenceTimeseries;
     }
 
-    /**
-     * Erstellt einen leeren Handlungsempfehlungskatalog
-     *
-     * @param actionRequestId      Id der Maßnahmenabfrage
-     * @param differenceTimeseries Differenzzeitreihe
-     * @return Handlungsempfehlungskatalog
-     * @throws ActionException e
-     */
-    private ActionCatalogEntity createActionCatalog(String actionRequestId, DifferenceTimeseries differenceTimeseries) throws ActionException {
-        ActionCatalogEntity catalog = new ActionCatalogEntity();
-        catalog.setActionRequestIdVO(new ActionRequestIdVO(actionRequestId));
-        catalog.setStartTimestamp(new ActionCatalogStartTimestampVO(differenceTimeseries.getTimestamps().first()));
-        catalog.setEndTimestamp(new ActionCatalogEndTimestampVO(differenceTimeseries.getTimestamps().last()));
-        catalog.setProblemType(new ActionCatalogProblemTypeVO(differenceTimeseries.getProblemType()));
-        catalog.setAverageGap(new ActionCatalogAverageGapVO(differenceTimeseries.getAverageGap()));
-        return catalog;
-    }
-
-    /**
-     * Erstellung einer Handlungsempfehlung für den Katalog
-     *
-     * @param catalog             Katalog
-     * @param producerOrStorageId Id der Erzeugungs- oder Speicheranlage
-     * @param isStorage           ist Speicheranlage?
-     * @param ratedPower          Nennleistung
-     * @param loadTimeHour        C-Rate der Speicheranlage
-     * @param capacity            Kapazität
-     * @param actionType          Typ der Handlungsempfehlung (z.B. Erzeugungsanlage hochfahren)
-     * @return Handlungsempfehlung
-     * @throws ActionException e
-     */
-    private ActionEntity createAction(ActionCatalogEntity catalog, String producerOrStorageId, boolean isStorage, Double ratedPower, Double loadTimeHour, Double capacity, ActionTypeEnum actionType) throws ActionException {
-        ActionEntity actionEntity = new ActionEntity();
-        actionEntity.setActionRequestId(catalog.getActionRequestIdVO());
-        actionEntity.setStartTimestamp(catalog.getStartTimestamp());
-        actionEntity.setEndTimestamp(catalog.getEndTimestamp());
-        actionEntity.setHours(
-                new ActionHoursVO(
-                        (isStorage) ? (1 / loadTimeHour) / 100 * (100 - capacity) : 0 //Wenn Storage, dann berechne Ladezeit in Stunden
-                )
-        );
-        actionEntity.setActionValue(new ActionValueVO(ratedPower));
-        actionEntity.setIsStorage(new ActionIsStorageVO(isStorage));
-        actionEntity.setProducerOrStorageId(new ActionProducerOrStorageIdVO(
-                producerOrStorageId
-        ));
-        actionEntity.setActionType(new ActionTypeVO(actionType));
-        return actionEntity;
-    }
-
-    /**
-     * Helfermethode, die den Durchschnitt der Erzeugung einer Anlage innerhalb der Differenzzeitreihe berechnet
-     *
-     * @param productions alle Erzeugungswerte aus Maßnahmenabfrage
-     * @param ts          aktuelle Differenzzeitreihe
-     * @param producerId  Id der Erzeugungsanlage
-     * @return Durchschnitt der Erzeugung in kW
-     */
-    private Double getAverageCurrentProductionByProducerInTs(List<ProductionDTO> productions, DifferenceTimeseries ts, String producerId) {
-        Double value = 0.;
-        double counter = 0.;
-        // Iteriere alle Erzeugungsprognosen
-        for (ProductionDTO production : productions) {
-            // Wenn der aktuelle Zeitstempel der Prognose innerhalb der Differenzzeitreihe ist
-            if (ts.getTimestamps().contains(production.getStartTimestamp())) {
-                for (ProductionProducerDTO productionProducer : production.getProducers()) {
-                    // Summiere die Prognosewerte der aktuellen Erzeugungsanlage
-                    if (productionProducer.getProducerId().equals(producerId)) {
-                        value = value + productionProducer.getCurrentValue();
-                        counter = counter + 1.;
-                    }
-                }
-            }
-        }
-        // Berechne den Durchschnitt
-        return value / counter;
-    }
-
-    /**
-     * Analog zu {@link ActionCatalogInfrastructureService#getAverageCurrentProductionByProducerInTs(List, DifferenceTimeseries, String)}
-     * mit dem Unterschied, dass die höchstmögliche Erzeugung (Anlage mit 100% Kapazität) innerhalb der Zeitreihe berechnet wird.
-     * Durch die Subtraktion von möglicher und tatsächlicher Erzeugung kann die potenzielle Energie berechnet werden.
-     *
-     * @param productions alle Erzeugungswerte aus Maßnahmenabfrage
-     * @param ts          aktuelle Differenzzeitreihe
-     * @param producerId  Id der Erzeugungsanlage
-     * @return Durchschnitt der Erzeugung in kW
-     */
-    private Double getAveragePossibleProductionByProducerInTs(List<ProductionDTO> productions, DifferenceTimeseries ts, String producerId) {
-        Double value = 0.;
-        double counter = 0.;
-        for (ProductionDTO production : productions) {
-            if (ts.getTimestamps().contains(production.getStartTimestamp())) {
-                for (ProductionProducerDTO productionProducer : production.getProducers()) {
-                    if (productionProducer.getProducerId().equals(producerId)) {
-                        value = value + productionProducer.getPossibleValue();
-                        counter = counter + 1.;
-                    }
-                }
-            }
-        }
-        return value / counter;
-    }
-
-    /**
-     * Hole spezifischen Erzeugungswert durch Zeitstempel
-     *
-     * @param productions Erzeugungswerte
-     * @param timestamp   Zeitstempel
-     * @return Erzeugungswert
-     */
-    private ProductionDTO getProductionByTimestamp(List<ProductionDTO> productions, Long timestamp) {
-        return productions.stream().filter((production) -> production.getStartTimestamp().equals(timestamp)).findFirst().orElse(null);
-    }
-
-    /**
-     * Hole spezifischen Lastwert durch Zeitstempel
-     *
-     * @param loads     Lastwerte
-     * @param timestamp Zeitstempel
-     * @return Lastwerte
-     */
-    private LoadDTO getLoadByTimestamp(List<LoadDTO> loads, Long timestamp) {
-        return loads.stream().filter((load) -> load.getStartTimestamp().equals(timestamp)).findFirst().orElse(null);
-    }
-
     /**
      * Holt den Lastenwert aus Map.Entry
      *
@@ -0,0 +1,195 @@
+package de.uol.vpp.action.infrastructure.algorithm;
+
+import de.uol.vpp.action.infrastructure.rest.dto.ProductionProducerSumDTO;
+import de.uol.vpp.common.timeseries.ForecastSeries;
+
+import java.util.*;
+
+/**
+ * Gesamtlast und Gesamterzeugung einer Maßnahmenabfrage pro Periode.
+ * Perioden sind alle Zeitstempel, für die sowohl eine Last- als auch eine Erzeugungsprognose vorliegt.
+ * Die Summen der tatsächlichen und höchstmöglichen Erzeugung pro Erzeugungsanlage werden erst nach der Bildung der
+ * Differenzzeitreihen für genau deren Zeiträume ergänzt, siehe {@link ForecastMatrix#withProducerSums(List)}.
+ */
+final class ForecastMatrix {
+
+    private final long[] timestamps;
+    private final double[] loadSums;
+    private final double[] productionSums;
+    /**
+     * Summen pro Zeitraum ({@link ForecastMatrix#windowKey(int, int)}) und Erzeugungsanlage
+     */
+    private final Map<Long, Map<String, ProductionProducerSumDTO>> producerSums;
+
+    private ForecastMatrix(long[] timestamps, double[] loadSums, double[] productionSums,
+                           Map<Long, Map<String, ProductionProducerSumDTO>> producerSums) {
+        this.timestamps = timestamps;
+        this.loadSums = loadSums;
+        this.productionSums = productionSums;
+        this.producerSums = producerSums;
+    }
+
+    /**
+     * Erstellt die Matrix mit einem Durchlauf über alle Zeilen der Last- und Erzeugungsprognose
+     *
+     * @param loads       Lastprognose der Maßnahmenabfrage, z.B. bereits summiert pro Zeitstempel
+     * @param productions Erzeugungsprognose der Maßnahmenabfrage, z.B. bereits summiert pro Zeitstempel
+     * @return Prognosematrix ohne Summen pro Erzeugungsanlage
+     */
+    static ForecastMatrix of(ForecastSeries loads, ForecastSeries productions) {
+        // Perioden der Matrix sind die gemeinsamen Zeitstempel beider Prognosen, diese sind aufsteigend sortiert
+        long[] loadTimestamps = timestampsOf(loads);
+        long[] timestamps = Arrays.stream(timestampsOf(productions))
+                .filter(timestamp -> Arrays.binarySearch(loadTimestamps, timestamp) >= 0)
+                .toArray();
+
+        double[] loadSums = new double[timestamps.length];
+        int[] loadPeriods = mapPeriods(loads, timestamps);
+        for (int row = 0; row < loads.size(); row++) {
+            int period = loadPeriods[loads.getPeriod(row)];
+            if (period >= 0) {
+                loadSums[period] += loads.getValue(row);
+            }
+        }
+
+        double[] productionSums = new double[timestamps.length];
+        int[] productionPeriods = mapPeriods(productions, timestamps);
+        for (int row = 0; row < productions.size(); row++) {
+            int period = productionPeriods[productions.getPeriod(row)];
+            if (period >= 0) {
+                productionSums[period] += productions.getValue(row);
+            }
+        }
+        return new ForecastMatrix(timestamps, loadSums, productionSums, Collections.emptyMap());
+    }
+
+    /**
+     * Ergänzt die Summen pro Erzeugungsanlage und Zeitraum, wie sie der Erzeugungsservice für die Zeiträume der
+     * Differenzzeitreihen liefert. Zeiträume, deren Grenzen keine Perioden der Matrix sind, werden ignoriert.
+     *
+     * @param producerSums Summen pro Erzeugungsanlage und Zeitraum
+     * @return Prognosematrix mit Summen pro Erzeugungsanlage
+     */
+    ForecastMatrix withProducerSums(List<ProductionProducerSumDTO> producerSums) {
+        Map<Long, Map<String, ProductionProducerSumDTO>> windows = new HashMap<>();
+        for (ProductionProducerSumDTO producerSum : producerSums) {
+            int from = Arrays.binarySearch(timestamps, producerSum.getStartTimestamp());
+            int to = Arrays.binarySearch(timestamps, producerSum.getEndTimestamp());
+            if (from >= 0 && to >= 0) {
+                windows.computeIfAbsent(this.windowKey(from, to), key -> new HashMap<>())
+                        .put(producerSum.getProducerId(), producerSum);
+            }
+        }
+        return new ForecastMatrix(timestamps, loadSums, productionSums, windows);
+    }
+
+    private long windowKey(int from, int to) {
+        return (long) from * timestamps.length + to;
+    }
+
+    /**
+     * @param series Zeitreihe
+     * @return Zeitstempel aller Perioden der Zeitreihe, aufsteigend sortiert
+     */
+    private static long[] timestampsOf(ForecastSeries series) {
+        long[] timestamps = new long[series.getPeriodCount()];
+        for (int period = 0; period < timestamps.length; period++) {
+            timestamps[period] = series.getTimestamp(period);
+        }
+        Arrays.sort(timestamps);
+        return timestamps;
+    }
+
+    /**
+     * @param series     Zeitreihe
+     * @param timestamps Perioden der Matrix
+     * @return Periode der Matrix pro Periode der Zeitreihe, -1 falls nicht Teil der Matrix
+     */
+    private static int[] mapPeriods(ForecastSeries series, long[] timestamps) {
+        int[] periods = new int[series.getPeriodCount()];
+        for (int period = 0; period < periods.length; period++) {
+            periods[period] = Math.max(-1, Arrays.binarySearch(timestamps, series.getTimestamp(period)));
+        }
+        return periods;
+    }
+
+    /**
+     * @return Anzahl der Perioden
+     */
+    int getPeriods() {
+        return timestamps.length;
+    }
+
+    /**
+     * @param period Periode
+     * @return Zeitstempel der Periode
+     */
+    long getTimestamp(int period) {
+        return timestamps[period];
+    }
+
+    /**
+     * @param period Periode
+     * @return Summe der Last aller Haushalte in W
+     */
+    double getLoadSum(int period) {
+        return loadSums[period];
+    }
+
+    /**
+     * @param period Periode
+     * @return Summe der tatsächlichen Erzeugung aller Erzeugungsanlagen in kW
+     */
+    double getProductionSum(int period) {
+        return productionSums[period];
+    }
+
+    /**
+     * @param timestamp Zeitstempel
+     * @return Periode des Zeitstempels
+     */
+    int indexOf(long timestamp) {
+        int period = Arrays.binarySearch(timestamps, timestamp);
+        if (period < 0) {
+            throw new IllegalArgumentException(String.format("Der Zeitstempel %d ist nicht Teil der Prognose.", timestamp));
+        }
+        return period;
+    }
+
+    /**
+     * Durchschnitt der tatsächlichen Erzeugung einer Erzeugungsanlage innerhalb der Perioden from bis to (inklusive).
+     * Der Zeitraum muss über {@link ForecastMatrix#withProducerSums(List)} ergänzt worden sein.
+     *
+     * @param producerId Id der Erzeugungsanlage
+     * @param from       erste Periode
+     * @param to         letzte Periode
+     * @return Durchschnitt der Erzeugung in kW
+     */
+    double getAverageCurrent(String producerId, int from, int to) {
+        return this.average(producerId, from, to, false);
+    }
+
+    /**
+     * Durchschnitt der höchstmöglichen Erzeugung einer Erzeugungsanlage innerhalb der Perioden from bis to (inklusive).
+     * Der Zeitraum muss über {@link ForecastMatrix#withProducerSums(List)} ergänzt worden sein.
+     *
+     * @param producerId Id der Erzeugungsanlage
+     * @param from       erste Periode
+     * @param to         letzte Periode
+     * @return Durchschnitt der Erzeugung in kW
+     */
+    double getAveragePossible(String producerId, int from, int to) {
+        return this.average(producerId, from, to, true);
+    }
+
+    private double average(String producerId, int from, int to, boolean possible) {
+        ProductionProducerSumDTO producerSum = producerSums
+                .getOrDefault(this.windowKey(from, to), Collections.emptyMap())
+                .get(producerId);
+        if (producerSum == null) {
+            // Keine Erzeugungswerte vorhanden, analog zur Division 0 / 0
+            return Double.NaN;
+        }
+        return (possible ? producerSum.getPossibleValue() : producerSum.getCurrentValue()) / producerSum.getCount();
+    }
+}
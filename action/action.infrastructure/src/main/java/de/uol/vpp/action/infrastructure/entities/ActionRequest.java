@@ -45,4 +45,25 @@ public class ActionRequest {
     @Enumerated(EnumType.ORDINAL)
     private StatusEnum status;
 
+    /**
+     * Eingang der Prognosen als Bitmaske (1 = Last, 2 = Erzeugung, 4 = abgeschlossen oder abgelaufen,
+     * 8 = Katalogerstellung beendet oder Beanspruchung abgelaufen).
+     * Wird ausschließlich über die atomaren Aktualisierungen des {@link de.uol.vpp.action.infrastructure.jpaRepositories.ActionRequestJpaRepository}
+     * geschrieben, damit das Speichern der Maßnahmenabfrage den Zustand nicht überschreibt.
+     */
+    @Column(insertable = false, updatable = false, columnDefinition = "integer not null default 0")
+    private int forecastState;
+
+    /**
+     * Eingang der ersten Prognose in Epochensekunden
+     */
+    @Column(insertable = false, updatable = false)
+    private Long forecastReceivedAt;
+
+    /**
+     * Beanspruchung der Katalogerstellung in Epochensekunden
+     */
+    @Column(insertable = false, updatable = false)
+    private Long catalogClaimedAt;
+
 }
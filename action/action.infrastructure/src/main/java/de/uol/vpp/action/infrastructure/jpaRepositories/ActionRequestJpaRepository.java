@@ -2,6 +2,10 @@ package de.uol.vpp.action.infrastructure.jpaRepositories;
 
 import de.uol.vpp.action.infrastructure.entities.ActionRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -16,4 +20,96 @@ public interface ActionRequestJpaRepository extends JpaRepository<ActionRequest,
      * @return Liste der dazugehörigen Maßnahmenabfrage
      */
     List<ActionRequest> findAllByVirtualPowerPlantId(String virtualPowerPlantId);
+
+    /**
+     * Vermerkt atomar den Eingang einer Prognose, sofern diese noch nicht vermerkt wurde und das Warten auf die
+     * Prognosen nicht abgelaufen ist
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @param flag            Bit der Prognose
+     * @param now             aktueller Zeitstempel in Epochensekunden
+     * @return 1, falls der Eingang vermerkt wurde, sonst 0
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE action_request SET forecast_state = forecast_state + :flag, " +
+            "forecast_received_at = COALESCE(forecast_received_at, :now) " +
+            "WHERE action_request_id = :actionRequestId AND forecast_state IN (0, 3 - :flag)", nativeQuery = true)
+    int markForecastReceived(@Param("actionRequestId") String actionRequestId, @Param("flag") int flag, @Param("now") long now);
+
+    /**
+     * Beansprucht atomar die Erstellung der Maßnahmenkataloge, sobald beide Prognosen vorliegen.
+     * Nur ein Aufruf pro Maßnahmenabfrage ist erfolgreich, unabhängig von der Anzahl der Instanzen.
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @param now             aktueller Zeitstempel in Epochensekunden
+     * @return 1, falls die Erstellung beansprucht wurde, sonst 0
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE action_request SET forecast_state = 7, catalog_claimed_at = :now " +
+            "WHERE action_request_id = :actionRequestId AND forecast_state = 3", nativeQuery = true)
+    int claimCatalogCreation(@Param("actionRequestId") String actionRequestId, @Param("now") long now);
+
+    /**
+     * Beendet atomar die beanspruchte Katalogerstellung. Schlägt fehl, falls die Beanspruchung inzwischen
+     * abgelaufen ist, das Ergebnis darf dann nicht mehr gespeichert werden.
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @return 1, falls die Katalogerstellung beendet wurde, sonst 0
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE action_request SET forecast_state = 15 " +
+            "WHERE action_request_id = :actionRequestId AND forecast_state = 7", nativeQuery = true)
+    int completeCatalogCreation(@Param("actionRequestId") String actionRequestId);
+
+    /**
+     * Markiert atomar eine Maßnahmenabfrage als fehlgeschlagen, deren Katalogerstellung vor dem Zeitstempel
+     * beansprucht, aber nicht beendet wurde
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @param deadline        Zeitstempel in Epochensekunden
+     * @param started         Ordinalzahl des Status STARTED
+     * @param failed          Ordinalzahl des Status FAILED
+     * @return 1, falls die Maßnahmenabfrage als fehlgeschlagen markiert wurde, sonst 0
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE action_request SET forecast_state = 15, status = :failed " +
+            "WHERE action_request_id = :actionRequestId AND forecast_state = 7 AND status = :started " +
+            "AND catalog_claimed_at < :deadline", nativeQuery = true)
+    int expireCatalogCreation(@Param("actionRequestId") String actionRequestId, @Param("deadline") long deadline,
+                              @Param("started") int started, @Param("failed") int failed);
+
+    /**
+     * Markiert atomar eine Maßnahmenabfrage als abgelaufen, deren zweite Prognose nicht eingegangen ist
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @return 1, falls die Maßnahmenabfrage als abgelaufen markiert wurde, sonst 0
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE action_request SET forecast_state = forecast_state + 4 " +
+            "WHERE action_request_id = :actionRequestId AND forecast_state IN (1, 2)", nativeQuery = true)
+    int expireForecasts(@Param("actionRequestId") String actionRequestId);
+
+    /**
+     * @param deadline Zeitstempel in Epochensekunden
+     * @return Ids der Maßnahmenabfragen, deren erste Prognose vor dem Zeitstempel eingegangen ist und deren zweite
+     * Prognose noch aussteht
+     */
+    @Query(value = "SELECT action_request_id FROM action_request " +
+            "WHERE forecast_state IN (1, 2) AND forecast_received_at < :deadline", nativeQuery = true)
+    List<String> findPendingForecastsReceivedBefore(@Param("deadline") long deadline);
+
+    /**
+     * @param deadline Zeitstempel in Epochensekunden
+     * @param started  Ordinalzahl des Status STARTED
+     * @return Ids der Maßnahmenabfragen, deren Katalogerstellung vor dem Zeitstempel beansprucht wurde und noch
+     * nicht beendet ist, z.B. weil die beanspruchende Instanz ausgefallen ist
+     */
+    @Query(value = "SELECT action_request_id FROM action_request " +
+            "WHERE forecast_state = 7 AND status = :started AND catalog_claimed_at < :deadline", nativeQuery = true)
+    List<String> findCatalogClaimsBefore(@Param("deadline") long deadline, @Param("started") int started);
 }
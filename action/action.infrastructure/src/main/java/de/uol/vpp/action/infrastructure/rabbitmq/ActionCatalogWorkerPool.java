@@ -0,0 +1,86 @@
+package de.uol.vpp.action.infrastructure.rabbitmq;
+
+import de.uol.vpp.action.domain.exceptions.ActionException;
+import de.uol.vpp.action.domain.exceptions.ActionRepositoryException;
+import de.uol.vpp.action.infrastructure.algorithm.ActionCatalogInfrastructureService;
+import de.uol.vpp.action.infrastructure.rest.exceptions.LoadRestClientException;
+import de.uol.vpp.action.infrastructure.rest.exceptions.MasterdataRestClientException;
+import de.uol.vpp.action.infrastructure.rest.exceptions.ProductionRestClientException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Begrenzter Thread-Pool für die Erstellung der Maßnahmenkataloge, damit die RabbitMQ-Listener nicht für die
+ * Dauer der Katalogerstellung blockiert werden. Ist die Warteschlange voll, wird der Katalog im aufrufenden
+ * Listener-Thread erstellt, sodass RabbitMQ keine weiteren Nachrichten zustellt (Gegendruck).
+ */
+@Component
+@Log4j2
+public class ActionCatalogWorkerPool implements DisposableBean {
+
+    private final ActionCatalogInfrastructureService actionCatalogInfrastructureService;
+    private final ThreadPoolExecutor executor;
+    private final Timer waitTimer;
+    private final Timer creationTimer;
+
+    public ActionCatalogWorkerPool(ActionCatalogInfrastructureService actionCatalogInfrastructureService,
+                                   ObjectProvider<MeterRegistry> meterRegistry,
+                                   @Value("${vpp.action.catalog.workers:2}") int workers,
+                                   @Value("${vpp.action.catalog.queue-capacity:100}") int queueCapacity) {
+        this.actionCatalogInfrastructureService = actionCatalogInfrastructureService;
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("action-catalog-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.waitTimer = Timer.builder("vpp.action.catalog.wait")
+                .description("Wartezeit einer Maßnahmenabfrage bis zum Beginn der Katalogerstellung")
+                .register(registry);
+        this.creationTimer = Timer.builder("vpp.action.catalog.creation")
+                .description("Dauer der Katalogerstellung einer Maßnahmenabfrage")
+                .register(registry);
+        Gauge.builder("vpp.action.catalog.queue", executor, pool -> pool.getQueue().size())
+                .description("Anzahl der Maßnahmenabfragen, die auf die Katalogerstellung warten")
+                .register(registry);
+        Gauge.builder("vpp.action.catalog.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Anzahl der laufenden Katalogerstellungen")
+                .register(registry);
+    }
+
+    /**
+     * Übergibt die Erstellung der Maßnahmenkataloge einer Maßnahmenabfrage an den Thread-Pool.
+     * Schlägt die Erstellung fehl, wird die Maßnahmenabfrage als fehlgeschlagen markiert.
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     */
+    public void submit(String actionRequestId) {
+        long submitted = System.nanoTime();
+        executor.execute(() -> {
+            waitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+            creationTimer.record(() -> {
+                try {
+                    actionCatalogInfrastructureService.createActionCatalogs(actionRequestId);
+                } catch (ActionException | ActionRepositoryException | MasterdataRestClientException | LoadRestClientException | ProductionRestClientException | RuntimeException e) {
+                    log.error("Bei der Erstellung der Maßnahmenabfrage ist ein Fehler aufgetreten.", e);
+                    actionCatalogInfrastructureService.actionFailed(actionRequestId);
+                }
+            });
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
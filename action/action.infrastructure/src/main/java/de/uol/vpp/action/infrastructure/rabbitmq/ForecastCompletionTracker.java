@@ -0,0 +1,107 @@
+package de.uol.vpp.action.infrastructure.rabbitmq;
+
+import de.uol.vpp.action.domain.enums.StatusEnum;
+import de.uol.vpp.action.infrastructure.algorithm.ActionCatalogInfrastructureService;
+import de.uol.vpp.action.infrastructure.jpaRepositories.ActionRequestJpaRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Verfolgt pro Maßnahmenabfrage den Eingang der Last- und Erzeugungsprognose instanzübergreifend.
+ * Der Zustand liegt als Bitmaske in der Datenbankzeile der Maßnahmenabfrage und wird ausschließlich über atomare
+ * Compare-and-Set-Aktualisierungen verändert. Damit können beliebig viele Instanzen des Maßnahmenservices die
+ * Prognose-Queues konsumieren, die Maßnahmenkataloge werden trotzdem genau einmal pro Maßnahmenabfrage erstellt.
+ * Abgelaufene Wartezeiten werden periodisch von jeder Instanz geprüft, sodass auch der Ausfall der Instanz,
+ * welche die erste Prognose empfangen hat, nicht zu dauerhaft wartenden Maßnahmenabfragen führt. Gleiches gilt für
+ * beanspruchte Katalogerstellungen, die nicht innerhalb der Beanspruchungsdauer beendet wurden.
+ */
+@Component
+@Log4j2
+public class ForecastCompletionTracker {
+
+    private final ActionRequestJpaRepository actionRequestJpaRepository;
+    private final ActionCatalogInfrastructureService actionCatalogInfrastructureService;
+    private final long timeoutSeconds;
+    private final long claimTimeoutSeconds;
+
+    public ForecastCompletionTracker(ActionRequestJpaRepository actionRequestJpaRepository,
+                                     ActionCatalogInfrastructureService actionCatalogInfrastructureService,
+                                     @Value("${vpp.action.forecast.timeout-seconds:300}") long timeoutSeconds,
+                                     @Value("${vpp.action.catalog.claim-timeout-seconds:900}") long claimTimeoutSeconds) {
+        this.actionRequestJpaRepository = actionRequestJpaRepository;
+        this.actionCatalogInfrastructureService = actionCatalogInfrastructureService;
+        this.timeoutSeconds = timeoutSeconds;
+        this.claimTimeoutSeconds = claimTimeoutSeconds;
+    }
+
+    /**
+     * Vermerkt den Eingang einer Prognose und beansprucht die Erstellung der Maßnahmenkataloge,
+     * falls damit beide Prognosen vorliegen
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @param forecast        Art der eingegangenen Prognose
+     * @return true, falls diese Instanz die Maßnahmenkataloge erstellen soll
+     */
+    public boolean forecastReceived(String actionRequestId, Forecast forecast) {
+        if (actionRequestJpaRepository.markForecastReceived(actionRequestId, forecast.flag,
+                Instant.now().getEpochSecond()) == 0) {
+            log.info("Bei Empfangen der Prognosen ist etwas fehlgeschlagen. (Maßnahmenabfrage {})", actionRequestId);
+            return false;
+        }
+        if (actionRequestJpaRepository.claimCatalogCreation(actionRequestId, Instant.now().getEpochSecond()) == 1) {
+            log.info("Die Prognosen für die Maßnahmenabfrage {} wurden entgegengenommen.", actionRequestId);
+            return true;
+        }
+        log.info("Die erste Prognose für die Maßnahmenabfrage {} wurde entgegengenommen. Zweite Prognose wird erwartet...", actionRequestId);
+        return false;
+    }
+
+    /**
+     * Markiert alle Maßnahmenabfragen als fehlgeschlagen, deren zweite Prognose nicht innerhalb der Wartezeit
+     * eingegangen ist. Laufen mehrere Instanzen, markiert genau eine Instanz die jeweilige Maßnahmenabfrage.
+     */
+    @Scheduled(fixedDelayString = "${vpp.action.forecast.timeout-check-interval-ms:30000}")
+    public void expirePendingForecasts() {
+        long deadline = Instant.now().getEpochSecond() - timeoutSeconds;
+        for (String actionRequestId : actionRequestJpaRepository.findPendingForecastsReceivedBefore(deadline)) {
+            if (actionRequestJpaRepository.expireForecasts(actionRequestId) == 1) {
+                log.info("Das Warten auf die zweite Prognose ist abgelaufen. (Maßnahmenabfrage {})", actionRequestId);
+                actionCatalogInfrastructureService.actionFailed(actionRequestId);
+            }
+        }
+    }
+
+    /**
+     * Markiert alle Maßnahmenabfragen als fehlgeschlagen, deren Katalogerstellung nicht innerhalb der
+     * Beanspruchungsdauer beendet wurde, z.B. weil die beanspruchende Instanz ausgefallen ist. Beendet die Instanz
+     * die Katalogerstellung danach doch noch, wird ihr Ergebnis verworfen.
+     */
+    @Scheduled(fixedDelayString = "${vpp.action.forecast.timeout-check-interval-ms:30000}")
+    public void expireCatalogClaims() {
+        long deadline = Instant.now().getEpochSecond() - claimTimeoutSeconds;
+        int started = StatusEnum.STARTED.ordinal();
+        for (String actionRequestId : actionRequestJpaRepository.findCatalogClaimsBefore(deadline, started)) {
+            if (actionRequestJpaRepository.expireCatalogCreation(actionRequestId, deadline, started,
+                    StatusEnum.FAILED.ordinal()) == 1) {
+                log.info("Die Erstellung der Maßnahmenkataloge wurde nicht beendet. (Maßnahmenabfrage {})", actionRequestId);
+            }
+        }
+    }
+
+    /**
+     * Art der Prognose und deren Bit in der Bitmaske
+     */
+    public enum Forecast {
+        LOAD(1), PRODUCTION(2);
+
+        private final int flag;
+
+        Forecast(int flag) {
+            this.flag = flag;
+        }
+    }
+}
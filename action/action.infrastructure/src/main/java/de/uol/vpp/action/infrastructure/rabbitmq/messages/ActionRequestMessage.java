@@ -18,6 +18,8 @@ public class ActionRequestMessage implements Serializable {
     private String actionRequestId;
     @JsonProperty("vppId")
     private String vppId;
+    @JsonProperty("vppTopologyVersion")
+    private Long vppTopologyVersion;
     @JsonProperty("shortageThreshold")
     private Double shortageThreshold;
     @JsonProperty("overflowThreshold")
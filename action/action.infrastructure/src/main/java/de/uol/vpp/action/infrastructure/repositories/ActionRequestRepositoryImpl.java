@@ -17,6 +17,7 @@ import de.uol.vpp.action.infrastructure.rabbitmq.messages.GridManipulationMessag
 import de.uol.vpp.action.infrastructure.rabbitmq.messages.ProducerManipulationMessage;
 import de.uol.vpp.action.infrastructure.rabbitmq.messages.StorageManipulationMessage;
 import de.uol.vpp.action.infrastructure.rest.LoadRestClient;
+import de.uol.vpp.action.infrastructure.rest.MasterdataRestClient;
 import de.uol.vpp.action.infrastructure.rest.ProductionRestClient;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -39,6 +40,7 @@ public class ActionRequestRepositoryImpl implements IActionRequestRepository {
     private final RabbitMQSender sender;
     private final LoadRestClient loadRestClient;
     private final ProductionRestClient productionRestClient;
+    private final MasterdataRestClient masterdataRestClient;
 
     @Override
     public List<ActionRequestAggregate> getAllActionRequestsByVppId(ActionRequestVirtualPowerPlantIdVO virtualPowerPlantId) throws ActionRepositoryException {
@@ -95,6 +97,9 @@ public class ActionRequestRepositoryImpl implements IActionRequestRepository {
         ActionRequestMessage actionRequestMessage = new ActionRequestMessage();
         actionRequestMessage.setActionRequestId(saved.getActionRequestId());
         actionRequestMessage.setVppId(saved.getVirtualPowerPlantId());
+        // Version der bei der Validierung bezogenen Topologie, damit Last- und Erzeugungsservice den Cache nutzen
+        actionRequestMessage.setVppTopologyVersion(
+                masterdataRestClient.getCachedTopologyVersion(saved.getVirtualPowerPlantId()).orElse(null));
         actionRequestMessage.setOverflowThreshold(saved.getOverflowThreshold());
         actionRequestMessage.setShortageThreshold(saved.getShortageThreshold());
         actionRequestMessage.setProducerManipulations(saved.getProducerManipulations().stream().map(
@@ -1,12 +1,14 @@
 package de.uol.vpp.action.infrastructure.rest;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import de.uol.vpp.action.infrastructure.rest.dto.LoadDTO;
-import de.uol.vpp.action.infrastructure.rest.dto.LoadHouseholdDTO;
+import com.fasterxml.jackson.databind.ObjectReader;
+import de.uol.vpp.action.infrastructure.rest.dto.LoadTotalDTO;
 import de.uol.vpp.action.infrastructure.rest.exceptions.LoadRestClientException;
+import de.uol.vpp.common.rest.RestResponse;
+import de.uol.vpp.common.timeseries.ForecastSeries;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
@@ -14,26 +16,34 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @Service
 @Log4j2
 public class LoadRestClient {
 
+    private final RestTemplate restTemplate;
+    private final ObjectReader healthReader;
+    private final ObjectReader totalsReader;
+
     @Value("${vpp.load.api}")
     private String LOAD_URL;
 
+    public LoadRestClient(RestTemplate restTemplate, ObjectMapper objectMapper) {
+        this.restTemplate = restTemplate;
+        this.healthReader = objectMapper.readerFor(JsonNode.class);
+        this.totalsReader = objectMapper.readerFor(new TypeReference<RestResponse<List<LoadTotalDTO>>>() {
+        });
+    }
+
     public boolean isHealthy() {
         try {
-            RestTemplate restTemplate = new RestTemplate();
             String fooResourceUrl
                     = LOAD_URL + "/actuator/health";
             ResponseEntity<String> response
                     = restTemplate.getForEntity(fooResourceUrl, String.class);
             if (response != null && response.getBody() != null) {
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(response.getBody());
+                JsonNode root = healthReader.readValue(response.getBody());
                 return root.has("status") && root.get("status").textValue().equals("UP");
             }
         } catch (RestClientException | JsonProcessingException e) {
@@ -42,43 +52,39 @@ public class LoadRestClient {
         return false;
     }
 
-    public List<LoadDTO> getAllLoadsByActionRequestId(String actionRequestId) throws LoadRestClientException {
+    /**
+     * Holt die Summe der Last aller Haushalte pro Zeitstempel einer Maßnahmenabfrage. Die Aggregation findet im
+     * Lastservice statt, sodass die Antwort nur einen Wert pro Zeitstempel enthält.
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @return Gesamtlast mit einer Zeile pro Zeitstempel
+     * @throws LoadRestClientException e
+     */
+    public ForecastSeries getLoadTotalsByActionRequestId(String actionRequestId) throws LoadRestClientException {
         try {
-            List<LoadDTO> loads = new ArrayList<>();
-            RestTemplate restTemplate = new RestTemplate();
             String fooResourceUrl
-                    = LOAD_URL + "/load/" + actionRequestId;
+                    = LOAD_URL + "/load/" + actionRequestId + "/totals";
             ResponseEntity<String> response
                     = restTemplate.getForEntity(fooResourceUrl, String.class);
             if (response != null && response.getBody() != null) {
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(response.getBody());
-                if (root.has("success") && root.get("success").booleanValue() && root.get("data").isArray()) {
-                    ArrayNode dataArray = (ArrayNode) root.get("data");
-                    dataArray.forEach((load) -> {
-                        LoadDTO dto = new LoadDTO();
-                        dto.setActionRequestId(load.get("actionRequestId").asText());
-                        dto.setVirtualPowerPlantId(load.get("virtualPowerPlantId").asText());
-                        dto.setStartTimestamp(load.get("startTimestamp").asLong());
-                        List<LoadHouseholdDTO> households = new ArrayList<>();
-                        if (load.has("households") && load.get("households").isArray()) {
-                            load.get("households").forEach((household) -> {
-                                LoadHouseholdDTO householdDTO = new LoadHouseholdDTO();
-                                householdDTO.setHouseholdId(household.get("householdId").asText());
-                                householdDTO.setStartTimestamp(household.get("startTimestamp").asLong());
-                                householdDTO.setHouseholdMemberAmount(household.get("householdMemberAmount").asInt());
-                                householdDTO.setLoadValue(household.get("loadValue").asDouble());
-                                households.add(householdDTO);
-                            });
-                        }
-                        dto.setHouseholds(households);
-                        loads.add(dto);
-                    });
+                RestResponse<List<LoadTotalDTO>> root = totalsReader.readValue(response.getBody());
+                if (root.hasData()) {
+                    List<LoadTotalDTO> totals = root.getData();
+                    long[] timestamps = new long[totals.size()];
+                    for (int period = 0; period < timestamps.length; period++) {
+                        timestamps[period] = totals.get(period).getStartTimestamp();
+                    }
+                    ForecastSeries.Builder series = ForecastSeries.builder(timestamps, false);
+                    int entity = series.addEntity(actionRequestId, null);
+                    for (int period = 0; period < timestamps.length; period++) {
+                        double loadValue = totals.get(period).getLoadValue();
+                        series.add(period, entity, loadValue, loadValue);
+                    }
+                    return series.build();
                 }
-
             }
 
-            return loads;
+            return ForecastSeries.builder(new long[0], false).build();
         } catch (RestClientException | JsonProcessingException e) {
             throw new LoadRestClientException("load rest client exception occured while executing request", e);
         }
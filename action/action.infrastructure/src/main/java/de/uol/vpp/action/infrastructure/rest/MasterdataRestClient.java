@@ -1,39 +1,63 @@
 package de.uol.vpp.action.infrastructure.rest;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import de.uol.vpp.action.infrastructure.rest.dto.DecentralizedPowerPlantDTO;
-import de.uol.vpp.action.infrastructure.rest.dto.HouseholdDTO;
-import de.uol.vpp.action.infrastructure.rest.dto.VirtualPowerPlantDTO;
+import com.fasterxml.jackson.databind.ObjectReader;
+import de.uol.vpp.action.infrastructure.rest.dto.VirtualPowerPlantTopologyDTO;
 import de.uol.vpp.action.infrastructure.rest.exceptions.MasterdataRestClientException;
+import de.uol.vpp.common.rest.RestResponse;
+import de.uol.vpp.common.rest.TopologyCache;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.util.Optional;
 
 @Service
 @Log4j2
 public class MasterdataRestClient {
 
+    private final RestTemplate restTemplate;
+    private final ObjectReader healthReader;
+    private final ObjectReader responseReader;
+    private final ObjectReader topologyReader;
+    /**
+     * Zwischengespeichert wird die unveränderte JSON-Darstellung der Topologie. Jeder Aufruf erhält daraus eine
+     * eigene Instanz, sodass Änderungen eines Aufrufers weder den Cache noch parallele Aufrufe beeinflussen.
+     */
+    private final TopologyCache<JsonNode> topologyCache;
+
     @Value("${vpp.masterdata.api}")
     private String MASTERDATA_URL;
 
+    public MasterdataRestClient(RestTemplate restTemplate, ObjectMapper objectMapper, TopologyCache<JsonNode> topologyCache) {
+        this.restTemplate = restTemplate;
+        this.healthReader = objectMapper.readerFor(JsonNode.class);
+        this.responseReader = objectMapper.readerFor(new TypeReference<RestResponse<JsonNode>>() {
+        });
+        this.topologyReader = objectMapper.readerFor(VirtualPowerPlantTopologyDTO.class);
+        this.topologyCache = topologyCache;
+    }
+
     public boolean isHealthy() {
         try {
-            RestTemplate restTemplate = new RestTemplate();
             String fooResourceUrl
                     = MASTERDATA_URL + "/actuator/health";
             ResponseEntity<String> response
                     = restTemplate.getForEntity(fooResourceUrl, String.class);
             if (response != null && response.getBody() != null) {
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(response.getBody());
+                JsonNode root = healthReader.readValue(response.getBody());
                 return root.has("status") && root.get("status").textValue().equals("UP");
             }
         } catch (RestClientException | JsonProcessingException e) {
@@ -42,82 +66,63 @@ public class MasterdataRestClient {
         return false;
     }
 
-    public VirtualPowerPlantDTO getVirtualPowerPlantById(String virtualPowerPlantId) throws MasterdataRestClientException {
+    /**
+     * Hole die vollständige Topologie eines VK (Haushalte, DK, Erzeugungs- und Speicheranlagen) mit einer
+     * einzigen Anfrage. Die Topologie wird mit dem ETag des Eintrags im {@link TopologyCache} bedingt angefragt,
+     * sodass der Daten-Service die Topologie eines unveränderten, veröffentlichten VK nicht erneut lädt.
+     * Jeder Aufruf erhält eine eigene Instanz der Topologie.
+     *
+     * @param virtualPowerPlantId Id des VK
+     * @return Topologie des VK oder null, falls das VK nicht existiert
+     * @throws MasterdataRestClientException e
+     */
+    public VirtualPowerPlantTopologyDTO getTopologyByVppId(String virtualPowerPlantId) throws MasterdataRestClientException {
         try {
-            RestTemplate restTemplate = new RestTemplate();
             String fooResourceUrl
-                    = MASTERDATA_URL + "/vpp/" + virtualPowerPlantId;
+                    = MASTERDATA_URL + "/vpp/" + virtualPowerPlantId + "/topology";
+            HttpHeaders headers = new HttpHeaders();
+            topologyCache.getETag(virtualPowerPlantId).ifPresent(headers::setIfNoneMatch);
             ResponseEntity<String> response
-                    = restTemplate.getForEntity(fooResourceUrl, String.class);
-            if (response != null && response.getBody() != null) {
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(response.getBody());
-                if (root.has("success") && root.get("success").booleanValue()) {
-                    JsonNode data = root.get("data");
-                    VirtualPowerPlantDTO dto = new VirtualPowerPlantDTO();
-                    dto.setVirtualPowerPlantId(data.get("virtualPowerPlantId").asText());
-                    dto.setPublished(data.get("published").asBoolean());
-                    return dto;
+                    = restTemplate.exchange(fooResourceUrl, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+            if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                Optional<JsonNode> cached = topologyCache.revalidated(virtualPowerPlantId);
+                if (cached.isPresent()) {
+                    return topologyReader.readValue(cached.get());
                 }
+                // Eintrag wurde zwischenzeitlich verdrängt
+                response = restTemplate.getForEntity(fooResourceUrl, String.class);
             }
-        } catch (RestClientException | JsonProcessingException e) {
-            throw new MasterdataRestClientException("masterdata rest client exception occured while executing request", e);
-        }
-        return null;
-    }
-
-
-    public List<HouseholdDTO> getAllHouseholdsByVppId(String virtualPowerPlantId) throws MasterdataRestClientException {
-        List<HouseholdDTO> households = new ArrayList<>();
-        try {
-            RestTemplate restTemplate = new RestTemplate();
-            String fooResourceUrl
-                    = MASTERDATA_URL + "/household/by/vpp/" + virtualPowerPlantId;
-            ResponseEntity<String> response
-                    = restTemplate.getForEntity(fooResourceUrl, String.class);
-            if (response != null && response.getBody() != null) {
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(response.getBody());
-                if (root.has("success") && root.get("success").booleanValue() && root.get("data").isArray()) {
-                    for (JsonNode householdJson : root.get("data")) {
-                        households.add(mapper.treeToValue(householdJson, HouseholdDTO.class));
+            if (response.getBody() != null) {
+                RestResponse<JsonNode> root = responseReader.readValue(response.getBody());
+                if (root.hasData()) {
+                    JsonNode data = root.getData();
+                    VirtualPowerPlantTopologyDTO topology = topologyReader.readValue(data);
+                    if (topology.isPublished()) {
+                        topologyCache.put(virtualPowerPlantId, topology.getTopologyVersion(),
+                                response.getHeaders().getETag(), data);
+                    } else {
+                        topologyCache.evict(virtualPowerPlantId);
                     }
-
+                    return topology;
                 }
-
             }
-        } catch (RestClientException | JsonProcessingException e) {
+        } catch (HttpClientErrorException.NotFound e) {
+            topologyCache.evict(virtualPowerPlantId);
+            return null;
+        } catch (RestClientException | IOException e) {
             throw new MasterdataRestClientException("masterdata rest client exception occured while executing request", e);
         }
-
-        return households;
+        return null;
     }
 
-
-    public List<DecentralizedPowerPlantDTO> getAllDppsByVppId(String virtualPowerPlantId) throws MasterdataRestClientException {
-        List<DecentralizedPowerPlantDTO> dpps = new ArrayList<>();
-        try {
-            RestTemplate restTemplate = new RestTemplate();
-            String fooResourceUrl
-                    = MASTERDATA_URL + "/dpp/by/vpp/" + virtualPowerPlantId;
-            ResponseEntity<String> response
-                    = restTemplate.getForEntity(fooResourceUrl, String.class);
-            if (response != null && response.getBody() != null) {
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(response.getBody());
-                if (root.has("success") && root.get("success").booleanValue() && root.get("data").isArray()) {
-                    for (JsonNode dppJson : root.get("data")) {
-                        dpps.add(mapper.treeToValue(dppJson, DecentralizedPowerPlantDTO.class));
-                    }
-                }
-
-            }
-        } catch (RestClientException | JsonProcessingException e) {
-            throw new MasterdataRestClientException("masterdata rest client exception occured while executing request", e);
-        }
-
-        return dpps;
+    /**
+     * Gibt die Version der zuletzt bezogenen Topologie eines veröffentlichten VK zurück.
+     * Die Version wird mit der Maßnahmenabfrage an den Last- und Erzeugungsservice übermittelt.
+     *
+     * @param virtualPowerPlantId Id des VK
+     * @return Version der Topologie
+     */
+    public Optional<Long> getCachedTopologyVersion(String virtualPowerPlantId) {
+        return topologyCache.getTopologyVersion(virtualPowerPlantId);
     }
-
-
 }
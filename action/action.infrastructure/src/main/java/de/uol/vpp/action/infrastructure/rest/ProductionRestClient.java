@@ -1,12 +1,16 @@
 package de.uol.vpp.action.infrastructure.rest;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import de.uol.vpp.action.infrastructure.rest.dto.ProductionDTO;
-import de.uol.vpp.action.infrastructure.rest.dto.ProductionProducerDTO;
+import com.fasterxml.jackson.databind.ObjectReader;
+import de.uol.vpp.action.infrastructure.rest.dto.ProductionProducerSumDTO;
+import de.uol.vpp.action.infrastructure.rest.dto.ProductionTotalDTO;
+import de.uol.vpp.action.infrastructure.rest.dto.ProductionWindowDTO;
 import de.uol.vpp.action.infrastructure.rest.exceptions.ProductionRestClientException;
+import de.uol.vpp.common.rest.RestResponse;
+import de.uol.vpp.common.timeseries.ForecastSeries;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
@@ -21,19 +25,31 @@ import java.util.List;
 @Log4j2
 public class ProductionRestClient {
 
+    private final RestTemplate restTemplate;
+    private final ObjectReader healthReader;
+    private final ObjectReader totalsReader;
+    private final ObjectReader producerSumsReader;
+
     @Value("${vpp.production.api}")
     private String PRODUCTION_URL;
-    
+
+    public ProductionRestClient(RestTemplate restTemplate, ObjectMapper objectMapper) {
+        this.restTemplate = restTemplate;
+        this.healthReader = objectMapper.readerFor(JsonNode.class);
+        this.totalsReader = objectMapper.readerFor(new TypeReference<RestResponse<List<ProductionTotalDTO>>>() {
+        });
+        this.producerSumsReader = objectMapper.readerFor(new TypeReference<RestResponse<List<ProductionProducerSumDTO>>>() {
+        });
+    }
+
     public boolean isHealthy() {
         try {
-            RestTemplate restTemplate = new RestTemplate();
             String fooResourceUrl
                     = PRODUCTION_URL + "/actuator/health";
             ResponseEntity<String> response
                     = restTemplate.getForEntity(fooResourceUrl, String.class);
             if (response != null && response.getBody() != null) {
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(response.getBody());
+                JsonNode root = healthReader.readValue(response.getBody());
                 return root.has("status") && root.get("status").textValue().equals("UP");
             }
         } catch (RestClientException | JsonProcessingException e) {
@@ -42,47 +58,74 @@ public class ProductionRestClient {
         return false;
     }
 
-    public List<ProductionDTO> getAllProductionsByActionRequestId(String actionRequestId) throws ProductionRestClientException {
+    /**
+     * Holt die Summe der tatsächlichen und höchstmöglichen Erzeugung aller Erzeugungsanlagen pro Zeitstempel einer
+     * Maßnahmenabfrage. Die Aggregation findet im Erzeugungsservice statt, sodass die Antwort nur einen Wert pro
+     * Zeitstempel enthält.
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @return Gesamterzeugung mit einer Zeile pro Zeitstempel
+     * @throws ProductionRestClientException e
+     */
+    public ForecastSeries getProductionTotalsByActionRequestId(String actionRequestId) throws ProductionRestClientException {
         try {
-            List<ProductionDTO> productions = new ArrayList<>();
-            RestTemplate restTemplate = new RestTemplate();
             String fooResourceUrl
-                    = PRODUCTION_URL + "/production/" + actionRequestId;
+                    = PRODUCTION_URL + "/production/" + actionRequestId + "/totals";
             ResponseEntity<String> response
                     = restTemplate.getForEntity(fooResourceUrl, String.class);
             if (response != null && response.getBody() != null) {
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(response.getBody());
-                if (root.has("success") && root.get("success").booleanValue() && root.get("data").isArray()) {
-                    ArrayNode dataArray = (ArrayNode) root.get("data");
-                    dataArray.forEach((production) -> {
-                        ProductionDTO dto = new ProductionDTO();
-                        dto.setActionRequestId(production.get("actionRequestId").asText());
-                        dto.setVirtualPowerPlantId(production.get("virtualPowerPlantId").asText());
-                        dto.setStartTimestamp(production.get("startTimestamp").asLong());
-                        List<ProductionProducerDTO> producers = new ArrayList<>();
-                        if (production.has("producers") && production.get("producers").isArray()) {
-                            production.get("producers").forEach((producer) -> {
-                                ProductionProducerDTO producerDTO = new ProductionProducerDTO();
-                                producerDTO.setProducerId(producer.get("producerId").asText());
-                                producerDTO.setStartTimestamp(producer.get("startTimestamp").asLong());
-                                producerDTO.setProducerType(producer.get("producerType").asText());
-                                producerDTO.setCurrentValue(producer.get("currentValue").asDouble());
-                                producerDTO.setPossibleValue(producer.get("possibleValue").asDouble());
-                                producers.add(producerDTO);
-                            });
-                        }
-                        dto.setProducers(producers);
-                        productions.add(dto);
-                    });
+                RestResponse<List<ProductionTotalDTO>> root = totalsReader.readValue(response.getBody());
+                if (root.hasData()) {
+                    List<ProductionTotalDTO> totals = root.getData();
+                    long[] timestamps = new long[totals.size()];
+                    for (int period = 0; period < timestamps.length; period++) {
+                        timestamps[period] = totals.get(period).getStartTimestamp();
+                    }
+                    ForecastSeries.Builder series = ForecastSeries.builder(timestamps, true);
+                    int entity = series.addEntity(actionRequestId, null);
+                    for (int period = 0; period < timestamps.length; period++) {
+                        ProductionTotalDTO total = totals.get(period);
+                        series.add(period, entity, total.getCurrentValue(), total.getPossibleValue());
+                    }
+                    return series.build();
                 }
             }
 
-            return productions;
+            return ForecastSeries.builder(new long[0], true).build();
         } catch (RestClientException | JsonProcessingException e) {
             throw new ProductionRestClientException("production rest client exception occured while executing request", e);
         }
     }
 
+    /**
+     * Holt die Summe der Erzeugung pro Erzeugungsanlage für alle Zeiträume einer Maßnahmenabfrage mit einer
+     * einzigen Anfrage. Die Antwort enthält höchstens einen Wert pro Erzeugungsanlage und Zeitraum.
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @param windows         Zeiträume, z.B. der Differenzzeitreihen
+     * @return Summen pro Erzeugungsanlage und Zeitraum
+     * @throws ProductionRestClientException e
+     */
+    public List<ProductionProducerSumDTO> getProducerSumsByActionRequestId(String actionRequestId, List<ProductionWindowDTO> windows) throws ProductionRestClientException {
+        try {
+            if (windows.isEmpty()) {
+                return new ArrayList<>();
+            }
+            String fooResourceUrl
+                    = PRODUCTION_URL + "/production/" + actionRequestId + "/producers";
+            ResponseEntity<String> response
+                    = restTemplate.postForEntity(fooResourceUrl, windows, String.class);
+            if (response != null && response.getBody() != null) {
+                RestResponse<List<ProductionProducerSumDTO>> root = producerSumsReader.readValue(response.getBody());
+                if (root.hasData()) {
+                    return root.getData();
+                }
+            }
+
+            return new ArrayList<>();
+        } catch (RestClientException | JsonProcessingException e) {
+            throw new ProductionRestClientException("production rest client exception occured while executing request", e);
+        }
+    }
 
 }
@@ -0,0 +1,27 @@
+package de.uol.vpp.action.infrastructure.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import de.uol.vpp.common.rest.TopologyCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Stellt den {@link TopologyCache} für die Topologien aus dem Daten-Service bereit. Die Topologien werden als
+ * JSON-Baum zwischengespeichert und pro Aufruf in eigene Datentransferobjekte umgewandelt.
+ * Der gemeinsame HTTP-Client wird über {@link de.uol.vpp.common.rest.RestClientConfig} bereitgestellt.
+ */
+@Configuration
+public class TopologyCacheConfig {
+
+    @Value("${vpp.topology.cache.max-size:100}")
+    private int topologyCacheMaxSize;
+
+    @Bean
+    public TopologyCache<JsonNode> topologyCache(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new TopologyCache<>(topologyCacheMaxSize, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+}
@@ -2,10 +2,11 @@ package de.uol.vpp.action.infrastructure.rest.dto;
 
 import lombok.Data;
 
+/**
+ * Summe der Last aller Haushalte an einem Zeitstempel
+ */
 @Data
-public class LoadHouseholdDTO {
-    private String householdId;
+public class LoadTotalDTO {
     private Long startTimestamp;
     private Double loadValue;
-    private Integer householdMemberAmount;
 }
@@ -0,0 +1,16 @@
+package de.uol.vpp.action.infrastructure.rest.dto;
+
+import lombok.Data;
+
+/**
+ * Summe der tatsächlichen und höchstmöglichen Erzeugung einer Erzeugungsanlage innerhalb eines Zeitraums
+ */
+@Data
+public class ProductionProducerSumDTO {
+    private String producerId;
+    private Long startTimestamp;
+    private Long endTimestamp;
+    private Double currentValue;
+    private Double possibleValue;
+    private Integer count;
+}
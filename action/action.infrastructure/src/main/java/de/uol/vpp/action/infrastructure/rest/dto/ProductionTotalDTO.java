@@ -2,10 +2,11 @@ package de.uol.vpp.action.infrastructure.rest.dto;
 
 import lombok.Data;
 
+/**
+ * Summe der tatsächlichen und höchstmöglichen Erzeugung aller Erzeugungsanlagen an einem Zeitstempel
+ */
 @Data
-public class ProductionProducerDTO {
-    private String producerId;
-    private String producerType;
+public class ProductionTotalDTO {
     private Long startTimestamp;
     private Double currentValue;
     private Double possibleValue;
@@ -0,0 +1,16 @@
+package de.uol.vpp.action.infrastructure.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Zeitraum einer Differenzzeitreihe, Start- und Endzeitstempel gehören zum Zeitraum
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductionWindowDTO {
+    private long startTimestamp;
+    private long endTimestamp;
+}
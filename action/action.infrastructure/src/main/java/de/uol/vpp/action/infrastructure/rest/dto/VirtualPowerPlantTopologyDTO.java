@@ -0,0 +1,15 @@
+package de.uol.vpp.action.infrastructure.rest.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+public class VirtualPowerPlantTopologyDTO extends VirtualPowerPlantDTO {
+    private long topologyVersion;
+    private List<HouseholdDTO> households = new ArrayList<>();
+    private List<DecentralizedPowerPlantDTO> decentralizedPowerPlants = new ArrayList<>();
+}
@@ -0,0 +1,149 @@
+package de.uol.vpp.action.infrastructure.rabbitmq;
+
+import de.uol.vpp.action.domain.enums.StatusEnum;
+import de.uol.vpp.action.infrastructure.algorithm.ActionCatalogInfrastructureService;
+import de.uol.vpp.action.infrastructure.entities.ActionRequest;
+import de.uol.vpp.action.infrastructure.jpaRepositories.ActionRequestJpaRepository;
+import de.uol.vpp.action.infrastructure.rabbitmq.messages.LoadMessage;
+import de.uol.vpp.action.infrastructure.rabbitmq.messages.ProductionMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test der instanzübergreifenden Zusammenführung der Prognosen gegen eine H2-Datenbank. Jede Instanz des
+ * Maßnahmenservices besteht aus einem eigenen {@link RabbitMQConsumer} und {@link ForecastCompletionTracker}, die
+ * Instanzen teilen sich nur die Datenbank. Die Thread-Pools der Katalogerstellung zählen lediglich die Übergaben.
+ * Die Tests laufen ohne umschließende Transaktion, damit die Threads die Änderungen der anderen Instanzen sehen.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ForecastCompletionTrackerTest {
+
+    private static final int ACTION_REQUESTS = 200;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private ActionRequestJpaRepository actionRequestJpaRepository;
+
+    private final ActionCatalogInfrastructureService actionCatalogInfrastructureService = mock(ActionCatalogInfrastructureService.class);
+    private final Map<String, AtomicInteger> submitted = new ConcurrentHashMap<>();
+
+    @AfterEach
+    void deleteActionRequests() {
+        actionRequestJpaRepository.deleteAll();
+    }
+
+    @Test
+    void twoInstancesCreateCatalogsExactlyOnce() throws Exception {
+        List<String> actionRequestIds = new ArrayList<>();
+        for (int i = 0; i < ACTION_REQUESTS; i++) {
+            actionRequestIds.add(this.createActionRequest("AR-" + i));
+        }
+        List<RabbitMQConsumer> instances = Arrays.asList(this.createInstance(), this.createInstance());
+
+        // Beide Prognosen jeder Maßnahmenabfrage werden in zufälliger Reihenfolge an zufällige Instanzen zugestellt
+        List<Runnable> deliveries = new ArrayList<>();
+        Random random = new Random(42);
+        for (String actionRequestId : actionRequestIds) {
+            LoadMessage loadMessage = new LoadMessage();
+            loadMessage.setActionRequestId(actionRequestId);
+            RabbitMQConsumer loadConsumer = instances.get(random.nextInt(instances.size()));
+            deliveries.add(() -> loadConsumer.receivedLoadMessage(loadMessage));
+
+            ProductionMessage productionMessage = new ProductionMessage();
+            productionMessage.setActionRequestId(actionRequestId);
+            RabbitMQConsumer productionConsumer = instances.get(random.nextInt(instances.size()));
+            deliveries.add(() -> productionConsumer.receivedProductionMessage(productionMessage));
+        }
+        Collections.shuffle(deliveries, random);
+
+        ExecutorService listeners = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (Runnable delivery : deliveries) {
+                results.add(listeners.submit(delivery));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            listeners.shutdownNow();
+        }
+
+        for (String actionRequestId : actionRequestIds) {
+            AtomicInteger count = submitted.get(actionRequestId);
+            assertEquals(1, count == null ? 0 : count.get(),
+                    String.format("Anzahl der Katalogerstellungen für Maßnahmenabfrage %s", actionRequestId));
+            assertEquals(7, actionRequestJpaRepository.findById(actionRequestId).orElseThrow().getForecastState());
+        }
+        assertEquals(ACTION_REQUESTS, submitted.size());
+    }
+
+    @Test
+    void staleClaimIsExpiredOnce() {
+        String actionRequestId = this.createActionRequest("AR-STALE");
+        RabbitMQConsumer instance = this.createInstance();
+        LoadMessage loadMessage = new LoadMessage();
+        loadMessage.setActionRequestId(actionRequestId);
+        ProductionMessage productionMessage = new ProductionMessage();
+        productionMessage.setActionRequestId(actionRequestId);
+        instance.receivedLoadMessage(loadMessage);
+        instance.receivedProductionMessage(productionMessage);
+        assertEquals(1, submitted.get(actionRequestId).get());
+
+        // Die beanspruchende Instanz fällt aus, eine Beanspruchung innerhalb der Beanspruchungsdauer bleibt bestehen
+        new ForecastCompletionTracker(actionRequestJpaRepository, actionCatalogInfrastructureService, 300, 900)
+                .expireCatalogClaims();
+        ActionRequest claimed = actionRequestJpaRepository.findById(actionRequestId).orElseThrow();
+        assertEquals(StatusEnum.STARTED, claimed.getStatus());
+        assertTrue(claimed.getCatalogClaimedAt() != null, "Zeitpunkt der Beanspruchung fehlt");
+
+        // Nach Ablauf der Beanspruchungsdauer markiert genau eine der beiden übrigen Instanzen die Maßnahmenabfrage
+        ForecastCompletionTracker first = new ForecastCompletionTracker(actionRequestJpaRepository, actionCatalogInfrastructureService, 300, -1);
+        ForecastCompletionTracker second = new ForecastCompletionTracker(actionRequestJpaRepository, actionCatalogInfrastructureService, 300, -1);
+        first.expireCatalogClaims();
+        second.expireCatalogClaims();
+        ActionRequest expired = actionRequestJpaRepository.findById(actionRequestId).orElseThrow();
+        assertEquals(StatusEnum.FAILED, expired.getStatus());
+        assertEquals(15, expired.getForecastState());
+
+        // Eine verspätet beendete Katalogerstellung darf den Status nicht mehr überschreiben
+        assertEquals(0, actionRequestJpaRepository.completeCatalogCreation(actionRequestId));
+        assertTrue(actionRequestJpaRepository.findCatalogClaimsBefore(Long.MAX_VALUE, StatusEnum.STARTED.ordinal()).isEmpty());
+    }
+
+    private RabbitMQConsumer createInstance() {
+        ActionCatalogWorkerPool actionCatalogWorkerPool = mock(ActionCatalogWorkerPool.class);
+        doAnswer(invocation -> submitted.computeIfAbsent(invocation.getArgument(0), id -> new AtomicInteger()).incrementAndGet())
+                .when(actionCatalogWorkerPool).submit(anyString());
+        ForecastCompletionTracker forecastCompletionTracker =
+                new ForecastCompletionTracker(actionRequestJpaRepository, actionCatalogInfrastructureService, 300, 900);
+        return new RabbitMQConsumer(actionCatalogInfrastructureService, forecastCompletionTracker, actionCatalogWorkerPool);
+    }
+
+    private String createActionRequest(String actionRequestId) {
+        ActionRequest actionRequest = new ActionRequest();
+        actionRequest.setActionRequestId(actionRequestId);
+        actionRequest.setVirtualPowerPlantId("VPP");
+        actionRequest.setTimestamp(ZonedDateTime.now());
+        actionRequest.setShortageThreshold(10.);
+        actionRequest.setOverflowThreshold(10.);
+        actionRequest.setStatus(StatusEnum.STARTED);
+        actionRequestJpaRepository.save(actionRequest);
+        return actionRequestId;
+    }
+}
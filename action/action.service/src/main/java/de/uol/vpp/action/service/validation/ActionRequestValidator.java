@@ -0,0 +1,277 @@
+package de.uol.vpp.action.service.validation;
+
+import de.uol.vpp.action.domain.aggregates.ActionRequestAggregate;
+import de.uol.vpp.action.domain.entities.AbstractManipulationEntity;
+import de.uol.vpp.action.domain.entities.ProducerManipulationEntity;
+import de.uol.vpp.action.domain.entities.StorageManipulationEntity;
+import de.uol.vpp.action.domain.exceptions.ManipulationException;
+import de.uol.vpp.action.domain.utils.MathUtils;
+import de.uol.vpp.action.domain.valueobjects.StorageManipulationHoursVO;
+import de.uol.vpp.action.domain.valueobjects.StorageManipulationRatedPowerVO;
+import de.uol.vpp.action.infrastructure.rest.dto.StorageDTO;
+import de.uol.vpp.action.infrastructure.rest.dto.VirtualPowerPlantTopologyDTO;
+import de.uol.vpp.action.infrastructure.rest.dto.abstracts.DtoHasProducersAndStorages;
+import org.joda.time.Period;
+
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Prüft die Manipulationen einer Maßnahmenabfrage gegen die Topologie eines VK.
+ * Beim Erstellen werden alle Erzeugungs- und Speicheranlagen des VK einmalig über ihre Id indiziert, sodass Existenz
+ * und Kapazität pro Manipulation ohne Durchlauf über alle Anlagen geprüft werden. Überlappungen werden pro Anlage durch
+ * Sortieren nach Startzeitpunkt und einen einzigen Durchlauf erkannt. Alle Verstöße werden gesammelt zurückgegeben.
+ * Die Topologie wird nicht verändert, der fortgeschriebene Ladestand der Speicher wird nur im Validator geführt.
+ */
+public class ActionRequestValidator {
+
+    /**
+     * Kapazitäten der Erzeugungsanlagen pro Id. Ids sind nur pro Anlagenart eindeutig, daher mehrere Einträge möglich.
+     */
+    private final Map<String, List<Double>> producerCapacities = new HashMap<>();
+    private final Map<String, StorageDTO> storages = new HashMap<>();
+
+    /**
+     * Simulierter Ladestand der Speicher pro Id, ausgehend vom Ladestand in der Topologie
+     */
+    private final Map<String, Double> storageCapacities = new HashMap<>();
+
+    /**
+     * @param virtualPowerPlant Topologie des VK
+     */
+    public ActionRequestValidator(VirtualPowerPlantTopologyDTO virtualPowerPlant) {
+        virtualPowerPlant.getDecentralizedPowerPlants().forEach(this::index);
+        virtualPowerPlant.getHouseholds().forEach(this::index);
+    }
+
+    /**
+     * Prüft die Existenz der betroffenen Anlagen, Überlappungen der Zeiträume pro Anlage und die Kapazitäten der
+     * Anlagen. Für Speichermanipulationen werden dabei Leistung und Stunden gesetzt, daher müssen diese nach
+     * Startzeitpunkt sortiert sein.
+     *
+     * @param actionRequest Maßnahmenabfrage
+     * @return Liste aller Verstöße, leer falls die Maßnahmenabfrage gültig ist
+     * @throws ManipulationException e
+     */
+    public List<String> validate(ActionRequestAggregate actionRequest) throws ManipulationException {
+        List<String> violations = new ArrayList<>();
+
+        for (ProducerManipulationEntity manipulation : actionRequest.getProducerManipulations()) {
+            String producerId = manipulation.getProducerId().getValue();
+            List<Double> capacities = producerCapacities.get(producerId);
+            if (capacities == null) {
+                violations.add(String.format("Die Erzeugungsanlage %s konnte nicht gefunden werden.", producerId));
+                continue;
+            }
+            for (Double capacity : capacities) {
+                Optional<String> violation = this.checkProducerPossibility(manipulation, capacity);
+                if (violation.isPresent()) {
+                    violations.add(violation.get());
+                    break;
+                }
+            }
+        }
+
+        for (StorageManipulationEntity manipulation : actionRequest.getStorageManipulations()) {
+            String storageId = manipulation.getStorageId().getValue();
+            StorageDTO storage = storages.get(storageId);
+            if (storage == null) {
+                violations.add(String.format("Die Speicheranlage %s konnte nicht gefunden werden.", storageId));
+                continue;
+            }
+            manipulation.setRatedPower(new StorageManipulationRatedPowerVO(storage.getRatedPower()));
+            this.checkStoragePossibility(manipulation, storage).ifPresent(violations::add);
+        }
+
+        this.checkOverlap(actionRequest.getProducerManipulations(), manipulation -> manipulation.getProducerId().getValue(),
+                "Erzeugungsanlage", violations);
+        this.checkOverlap(actionRequest.getStorageManipulations(), manipulation -> manipulation.getStorageId().getValue(),
+                "Speicheranlage", violations);
+        return violations;
+    }
+
+    /**
+     * Indiziert die Erzeugungs- und Speicheranlagen eines DK oder Haushalts
+     *
+     * @param dppOrHousehold DK oder Haushalt
+     */
+    private void index(DtoHasProducersAndStorages dppOrHousehold) {
+        dppOrHousehold.getWaters().forEach(water -> this.indexProducer(water.getWaterEnergyId(), water.getCapacity()));
+        dppOrHousehold.getWinds().forEach(wind -> this.indexProducer(wind.getWindEnergyId(), wind.getCapacity()));
+        dppOrHousehold.getSolars().forEach(solar -> this.indexProducer(solar.getSolarEnergyId(), solar.getCapacity()));
+        dppOrHousehold.getOthers().forEach(other -> this.indexProducer(other.getOtherEnergyId(), other.getCapacity()));
+        dppOrHousehold.getStorages().forEach(storage -> {
+            if (storages.putIfAbsent(storage.getStorageId(), storage) == null) {
+                storageCapacities.put(storage.getStorageId(), storage.getCapacity());
+            }
+        });
+    }
+
+    private void indexProducer(String producerId, Double capacity) {
+        producerCapacities.computeIfAbsent(producerId, id -> new ArrayList<>(1)).add(capacity);
+    }
+
+    /**
+     * Prüft, ob sich Zeiträume von Manipulationen gleicher Anlagen überlappen. Die Manipulationen werden pro Anlage
+     * nach Startzeitpunkt sortiert und einmal durchlaufen, wobei die Manipulation mit dem spätesten Ende mitgeführt wird.
+     *
+     * @param manipulations Manipulationen
+     * @param idOf          Id der betroffenen Anlage einer Manipulation
+     * @param assetName     Bezeichnung der Anlagenart in der Fehlermeldung
+     * @param violations    gesammelte Verstöße
+     */
+    private <T extends AbstractManipulationEntity> void checkOverlap(List<T> manipulations, Function<T, String> idOf,
+                                                                     String assetName, List<String> violations) {
+        Map<String, List<T>> manipulationsById = new LinkedHashMap<>();
+        for (T manipulation : manipulations) {
+            manipulationsById.computeIfAbsent(idOf.apply(manipulation), id -> new ArrayList<>()).add(manipulation);
+        }
+
+        for (Map.Entry<String, List<T>> entry : manipulationsById.entrySet()) {
+            List<T> entities = entry.getValue();
+            if (entities.size() < 2) {
+                continue;
+            }
+            entities.sort(Comparator.comparing(o -> o.getStartEndTimestamp().getStart()));
+            T latest = entities.get(0);
+            for (int i = 1; i < entities.size(); i++) {
+                T current = entities.get(i);
+                if (this.isOverlapping(latest.getStartEndTimestamp().getStart(), latest.getStartEndTimestamp().getEnd(),
+                        current.getStartEndTimestamp().getStart(), current.getStartEndTimestamp().getEnd())) {
+                    violations.add(String.format("Die %s %s wird im Zeitraum von %s bis %s mehrfach manipuliert.",
+                            assetName, entry.getKey(), current.getStartEndTimestamp().getStart(),
+                            current.getStartEndTimestamp().getEnd()));
+                }
+                if (current.getStartEndTimestamp().getEnd().isAfter(latest.getStartEndTimestamp().getEnd())) {
+                    latest = current;
+                }
+            }
+        }
+    }
+
+    /**
+     * Prüft Überlappung von zwei Zeitpunken
+     *
+     * @param start1 Start des ersten Zeitraums
+     * @param end1   Ende des ersten Zeitraums
+     * @param start2 Start des zweiten Zeitraums
+     * @param end2   Ende des zweiten Zeitraums
+     * @return true/false
+     */
+    private boolean isOverlapping(ZonedDateTime start1, ZonedDateTime end1, ZonedDateTime start2, ZonedDateTime end2) {
+        return start1.isBefore(end2) && start2.isBefore(end1);
+    }
+
+    /**
+     * Prüft die Kapazität für eine Erzeugungsmanipulation
+     *
+     * @param manipulation Erzeugungsmanipulation
+     * @param capacity     Kapazität
+     * @return Verstoß, falls vorhanden
+     */
+    private Optional<String> checkProducerPossibility(ProducerManipulationEntity manipulation, Double capacity) {
+        switch (manipulation.getType().getValue()) {
+            case PRODUCER_UP:
+                if (100. - capacity < manipulation.getCapacity().getValue()) {
+                    return Optional.of(String.format("Die Erzeugungsanlage %s besitzt nicht genügend Kapazitäten.",
+                            manipulation.getProducerId().getValue()));
+                }
+                return Optional.empty();
+            case PRODUCER_DOWN:
+                if (capacity < manipulation.getCapacity().getValue()) {
+                    return Optional.of(String.format("Die Erzeugungsanlage %s besitzt nicht genügend Kapazitäten.",
+                            manipulation.getProducerId().getValue()));
+                }
+                return Optional.empty();
+            default:
+                return Optional.of(String.format("Die Manipulation der Erzeugungsanlage %s besitzt einen ungültigen ProducerManipulationType.",
+                        manipulation.getProducerId().getValue()));
+        }
+    }
+
+    /**
+     * Prüft die Kapazität für eine Speichermanipulation und schreibt den simulierten Ladestand des Speichers für
+     * nachfolgende Manipulationen fort
+     *
+     * @param manipulation Speichermanipulation
+     * @param storage      Speicheranlage
+     * @return Verstoß, falls vorhanden
+     * @throws ManipulationException e
+     */
+    private Optional<String> checkStoragePossibility(StorageManipulationEntity manipulation, StorageDTO storage) throws ManipulationException {
+        String storageId = storage.getStorageId();
+        double capacity = storageCapacities.get(storageId);
+        switch (manipulation.getType().getValue()) {
+            case STORAGE_LOAD:
+                //Wenn Speicher bereits voll ist
+                if (capacity == 100.) {
+                    return Optional.of(String.format("Der Speicher %s ist bereits voll.", manipulation.getStorageId().getValue()));
+                } else {
+                    Period p = this.getManipulationPeriod(manipulation.getStartEndTimestamp().getStart(),
+                            manipulation.getStartEndTimestamp().getEnd()); //Manipulationszeitraum
+                    //Berechnung der Periode von Sekunden in Stunden
+                    double manipulationPeriodInHour = MathUtils.round(Integer.valueOf(p.toStandardSeconds().getSeconds()).doubleValue() / 3600.);
+                    //Berechnung der möglichen Ladezeit von Speicher C-Rate in Stunden
+                    double capacityHours = (1 / storage.getLoadTimeHour()) / 100. * (100. - capacity);
+                    //Wenn Manipulationszeitraum größer als mögliche Ladezeit, dann ist der Speicher voll
+                    if (manipulationPeriodInHour >= capacityHours) {
+                        manipulation.setHours(new StorageManipulationHoursVO(capacityHours));
+                        storageCapacities.put(storageId, 100.);
+                    } else {
+                        //Ansonsten wird die neue Kapazität für weitere Speichermanipulationen berechnet
+                        double factor = MathUtils.round(manipulationPeriodInHour / capacityHours);
+                        double additionCapacity = MathUtils.round(capacityHours / storage.getLoadTimeHour() * 100. * factor);
+                        double newCapacity = capacity + additionCapacity;
+                        if (newCapacity >= 100.) {
+                            storageCapacities.put(storageId, 100.);
+                        } else {
+                            storageCapacities.put(storageId, newCapacity);
+                        }
+                        manipulation.setHours(new StorageManipulationHoursVO(manipulationPeriodInHour));
+                    }
+                }
+                return Optional.empty();
+            case STORAGE_UNLOAD:
+                if (capacity == 0.) {
+                    return Optional.of(String.format("Der Speicher %s ist leer.", manipulation.getStorageId().getValue()));
+                } else {
+                    Period p = this.getManipulationPeriod(manipulation.getStartEndTimestamp().getStart(),
+                            manipulation.getStartEndTimestamp().getEnd());
+                    double manipulationPeriodInHour = (Integer.valueOf(p.toStandardSeconds().getSeconds()).doubleValue() / 3600.);
+                    double capacityHours = (1 / storage.getLoadTimeHour()) / 100. * (100. - ((100. - capacity)));
+                    if (manipulationPeriodInHour >= capacityHours) {
+                        manipulation.setHours(new StorageManipulationHoursVO(manipulationPeriodInHour));
+                        storageCapacities.put(storageId, 0.);
+                    } else {
+                        double factor = manipulationPeriodInHour / capacityHours;
+                        double substractionCapacity = (Math.round(1000.
+                                * ((capacityHours / storage.getLoadTimeHour() * 100.) * factor))
+                                / 1000.);
+                        double newCapacity = capacity - substractionCapacity;
+                        if (newCapacity > 0.) {
+                            storageCapacities.put(storageId, newCapacity);
+                        } else {
+                            storageCapacities.put(storageId, 0.);
+                        }
+                        manipulation.setHours(new StorageManipulationHoursVO(capacityHours));
+                    }
+                }
+                return Optional.empty();
+            default:
+                return Optional.of(String.format("Die Speicheranlage %s besitzt nicht genügend Kapazitäten.",
+                        manipulation.getStorageId().getValue()));
+        }
+    }
+
+    /**
+     * Erstelle ein Perioden-Objekt aus Start und Endzeitpunkt
+     *
+     * @param startTs Start
+     * @param endTs   Ende
+     * @return Periode
+     */
+    private Period getManipulationPeriod(ZonedDateTime startTs, ZonedDateTime endTs) {
+        return new Period(startTs.toEpochSecond() * 1000, endTs.toEpochSecond() * 1000);
+    }
+}
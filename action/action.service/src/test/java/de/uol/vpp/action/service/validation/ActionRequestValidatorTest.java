@@ -0,0 +1,166 @@
+package de.uol.vpp.action.service.validation;
+
+import de.uol.vpp.action.domain.aggregates.ActionRequestAggregate;
+import de.uol.vpp.action.domain.entities.ProducerManipulationEntity;
+import de.uol.vpp.action.domain.entities.StorageManipulationEntity;
+import de.uol.vpp.action.domain.enums.ManipulationTypeEnum;
+import de.uol.vpp.action.domain.exceptions.ManipulationException;
+import de.uol.vpp.action.domain.valueobjects.*;
+import de.uol.vpp.action.infrastructure.rest.dto.DecentralizedPowerPlantDTO;
+import de.uol.vpp.action.infrastructure.rest.dto.HouseholdDTO;
+import de.uol.vpp.action.infrastructure.rest.dto.SolarEnergyDTO;
+import de.uol.vpp.action.infrastructure.rest.dto.StorageDTO;
+import de.uol.vpp.action.infrastructure.rest.dto.VirtualPowerPlantTopologyDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test der Prüfung von Maßnahmenabfragen gegen die Topologie eines VK. Das VK besteht aus einem Haushalt mit einer
+ * Solaranlage und einem Speicher sowie einem DK mit einer Solaranlage bei voller Leistung und einem vollen Speicher.
+ */
+class ActionRequestValidatorTest {
+
+    private static final long START = 1609459200L;
+    private static final long HOUR = 3600L;
+
+    @Test
+    void allViolationsAreCollected() throws Exception {
+        ActionRequestAggregate actionRequest = this.actionRequest(
+                Arrays.asList(
+                        this.producer("UNKNOWN", ManipulationTypeEnum.PRODUCER_DOWN, 10., 0, 1),
+                        this.producer("SOLAR-FULL", ManipulationTypeEnum.PRODUCER_UP, 10., 0, 1),
+                        this.producer("SOLAR", ManipulationTypeEnum.PRODUCER_DOWN, 80., 2, 3),
+                        this.producer("SOLAR", ManipulationTypeEnum.PRODUCER_DOWN, 10., 4, 6),
+                        this.producer("SOLAR", ManipulationTypeEnum.PRODUCER_DOWN, 10., 5, 7)),
+                Arrays.asList(
+                        this.storage("UNKNOWN-STORAGE", ManipulationTypeEnum.STORAGE_LOAD, 0, 1),
+                        this.storage("STORAGE-FULL", ManipulationTypeEnum.STORAGE_LOAD, 0, 1)));
+
+        List<String> violations = new ActionRequestValidator(this.topology()).validate(actionRequest);
+
+        assertEquals(Arrays.asList(
+                "Die Erzeugungsanlage UNKNOWN konnte nicht gefunden werden.",
+                "Die Erzeugungsanlage SOLAR-FULL besitzt nicht genügend Kapazitäten.",
+                "Die Erzeugungsanlage SOLAR besitzt nicht genügend Kapazitäten.",
+                "Die Speicheranlage UNKNOWN-STORAGE konnte nicht gefunden werden.",
+                "Der Speicher STORAGE-FULL ist bereits voll."
+        ), violations.subList(0, 5));
+        assertEquals(6, violations.size());
+        assertTrue(violations.get(5).startsWith("Die Erzeugungsanlage SOLAR wird im Zeitraum"), violations.get(5));
+    }
+
+    @Test
+    void earlierLongManipulationOverlapsAllLaterShortOnes() throws Exception {
+        // Die erste Manipulation umfasst beide folgenden, die sich untereinander nicht überlappen. Die letzte
+        // Manipulation beginnt mit dem Ende der ersten und überlappt daher nicht.
+        ActionRequestAggregate actionRequest = this.actionRequest(
+                Arrays.asList(
+                        this.producer("SOLAR", ManipulationTypeEnum.PRODUCER_DOWN, 10., 3, 4),
+                        this.producer("SOLAR", ManipulationTypeEnum.PRODUCER_DOWN, 10., 0, 6),
+                        this.producer("SOLAR", ManipulationTypeEnum.PRODUCER_DOWN, 10., 6, 7),
+                        this.producer("SOLAR", ManipulationTypeEnum.PRODUCER_DOWN, 10., 1, 2)),
+                new ArrayList<>());
+
+        List<String> violations = new ActionRequestValidator(this.topology()).validate(actionRequest);
+
+        assertEquals(2, violations.size(), violations.toString());
+        assertTrue(violations.get(0).contains(new ManipulationStartEndTimestampVO(START + HOUR, START + 2 * HOUR).getStart().toString()),
+                violations.get(0));
+        assertTrue(violations.get(1).contains(new ManipulationStartEndTimestampVO(START + 3 * HOUR, START + 4 * HOUR).getStart().toString()),
+                violations.get(1));
+    }
+
+    @Test
+    void repeatedValidationAgainstSameTopologyIsIdentical() throws Exception {
+        VirtualPowerPlantTopologyDTO topology = this.topology();
+        List<List<Double>> results = new ArrayList<>();
+        for (int run = 0; run < 2; run++) {
+            ActionRequestAggregate actionRequest = this.actionRequest(new ArrayList<>(), Arrays.asList(
+                    this.storage("STORAGE", ManipulationTypeEnum.STORAGE_LOAD, 0, 1),
+                    this.storage("STORAGE", ManipulationTypeEnum.STORAGE_UNLOAD, 1, 2),
+                    this.storage("STORAGE", ManipulationTypeEnum.STORAGE_LOAD, 2, 5)));
+
+            assertTrue(new ActionRequestValidator(topology).validate(actionRequest).isEmpty());
+
+            List<Double> result = new ArrayList<>();
+            for (StorageManipulationEntity manipulation : actionRequest.getStorageManipulations()) {
+                result.add(manipulation.getHours().getValue());
+                result.add(manipulation.getRatedPower().getValue());
+            }
+            results.add(result);
+        }
+
+        assertEquals(results.get(0), results.get(1));
+        // Der fortgeschriebene Ladestand verändert die Topologie nicht
+        assertEquals(50., topology.getHouseholds().get(0).getStorages().get(0).getCapacity());
+    }
+
+    private VirtualPowerPlantTopologyDTO topology() {
+        HouseholdDTO household = new HouseholdDTO();
+        household.setHouseholdId("HOUSEHOLD");
+        household.setHouseholdMemberAmount(2);
+        household.getSolars().add(this.solarDto("SOLAR", 50.));
+        household.getStorages().add(this.storageDto("STORAGE", 50.));
+
+        DecentralizedPowerPlantDTO dpp = new DecentralizedPowerPlantDTO();
+        dpp.setDecentralizedPowerPlantId("DPP");
+        dpp.getSolars().add(this.solarDto("SOLAR-FULL", 100.));
+        dpp.getStorages().add(this.storageDto("STORAGE-FULL", 100.));
+
+        VirtualPowerPlantTopologyDTO topology = new VirtualPowerPlantTopologyDTO();
+        topology.setVirtualPowerPlantId("VPP");
+        topology.getHouseholds().add(household);
+        topology.getDecentralizedPowerPlants().add(dpp);
+        return topology;
+    }
+
+    private SolarEnergyDTO solarDto(String id, double capacity) {
+        SolarEnergyDTO solar = new SolarEnergyDTO();
+        solar.setSolarEnergyId(id);
+        solar.setRatedCapacity(10.);
+        solar.setCapacity(capacity);
+        return solar;
+    }
+
+    private StorageDTO storageDto(String id, double capacity) {
+        StorageDTO storage = new StorageDTO();
+        storage.setStorageId(id);
+        storage.setRatedPower(5.);
+        storage.setCapacity(capacity);
+        storage.setLoadTimeHour(0.25);
+        return storage;
+    }
+
+    private ActionRequestAggregate actionRequest(List<ProducerManipulationEntity> producerManipulations,
+                                                 List<StorageManipulationEntity> storageManipulations) {
+        ActionRequestAggregate actionRequest = new ActionRequestAggregate();
+        actionRequest.setProducerManipulations(new ArrayList<>(producerManipulations));
+        actionRequest.setStorageManipulations(new ArrayList<>(storageManipulations));
+        return actionRequest;
+    }
+
+    private ProducerManipulationEntity producer(String producerId, ManipulationTypeEnum type, double capacity,
+                                                int startHour, int endHour) throws ManipulationException {
+        ProducerManipulationEntity manipulation = new ProducerManipulationEntity();
+        manipulation.setProducerId(new ProducerManipulationProducerIdVO(producerId));
+        manipulation.setType(new ManipulationTypeVO(type));
+        manipulation.setCapacity(new ProducerManipulationCapacityVO(capacity));
+        manipulation.setStartEndTimestamp(new ManipulationStartEndTimestampVO(START + startHour * HOUR, START + endHour * HOUR));
+        return manipulation;
+    }
+
+    private StorageManipulationEntity storage(String storageId, ManipulationTypeEnum type,
+                                              int startHour, int endHour) throws ManipulationException {
+        StorageManipulationEntity manipulation = new StorageManipulationEntity();
+        manipulation.setStorageId(new StorageManipulationStorageIdVO(storageId));
+        manipulation.setType(new ManipulationTypeVO(type));
+        manipulation.setStartEndTimestamp(new ManipulationStartEndTimestampVO(START + startHour * HOUR, START + endHour * HOUR));
+        return manipulation;
+    }
+}
@@ -0,0 +1,168 @@
+package de.uol.vpp.action.infrastructure.algorithm;
+
+import de.uol.vpp.action.domain.aggregates.ActionRequestAggregate;
+import de.uol.vpp.action.domain.entities.ActionCatalogEntity;
+import de.uol.vpp.action.domain.exceptions.ActionException;
+import de.uol.vpp.action.domain.valueobjects.ActionRequestIdVO;
+import de.uol.vpp.action.domain.valueobjects.ActionRequestOverflowThresholdVO;
+import de.uol.vpp.action.domain.valueobjects.ActionRequestShortageThresholdVO;
+import de.uol.vpp.action.domain.valueobjects.ActionRequestVirtualPowerPlantIdVO;
+import de.uol.vpp.action.infrastructure.rest.dto.*;
+import de.uol.vpp.common.timeseries.ForecastSeries;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.util.Pair;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks der Erstellung der Handlungsempfehlungskataloge einer Maßnahmenabfrage ohne Datenbank und
+ * REST-Schnittstellen. Das synthetische VK besitzt {@code households} Haushalte mit je einer Solaranlage und einem
+ * Speicher sowie ein DK mit {@code producers} Erzeugungsanlagen. Die Tagesprognose schwankt so um die Last, dass
+ * mehrere Energieengpässe und -überschüsse entstehen. Über {@code parallelism} wird der Katalogaufbau mit einem
+ * Thread gegen alle verfügbaren Kerne (0) verglichen.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ActionCatalogBenchmark {
+
+    private static final int PERIODS = 24 * 4 + 1;
+    private static final String ACTION_REQUEST_ID = "benchmark";
+
+    @Param({"10", "1000"})
+    private int households;
+
+    @Param({"10", "1000"})
+    private int producers;
+
+    @Param({"1", "0"})
+    private int parallelism;
+
+    private ActionCatalogBuilder actionCatalogBuilder;
+    private ActionCatalogInfrastructureService service;
+    private ActionRequestAggregate actionRequest;
+    private VirtualPowerPlantTopologyDTO virtualPowerPlant;
+    private ForecastSeries loads;
+    private ForecastSeries productions;
+    private ForecastMatrix forecastMatrix;
+    private Map<Long, Pair<Double, Double>> comparisonMap;
+    private List<DifferenceTimeseries> differenceTimeseriesList;
+    private List<ProductionProducerSumDTO> producerSums;
+
+    @Setup
+    public void setup() throws ActionException {
+        actionCatalogBuilder = new ActionCatalogBuilder(parallelism, 64);
+        service = new ActionCatalogInfrastructureService(null, null, null, null, actionCatalogBuilder, null, null);
+
+        actionRequest = new ActionRequestAggregate();
+        actionRequest.setActionRequestId(new ActionRequestIdVO(ACTION_REQUEST_ID));
+        actionRequest.setVirtualPowerPlantId(new ActionRequestVirtualPowerPlantIdVO("vpp"));
+        actionRequest.setShortageThreshold(new ActionRequestShortageThresholdVO(5.));
+        actionRequest.setOverflowThreshold(new ActionRequestOverflowThresholdVO(5.));
+
+        virtualPowerPlant = new VirtualPowerPlantTopologyDTO();
+        virtualPowerPlant.setVirtualPowerPlantId("vpp");
+        virtualPowerPlant.setPublished(true);
+        List<String> producerIds = new ArrayList<>();
+        for (int i = 0; i < households; i++) {
+            HouseholdDTO household = new HouseholdDTO();
+            household.setHouseholdId("household-" + i);
+            household.setHouseholdMemberAmount(2);
+            SolarEnergyDTO solar = new SolarEnergyDTO();
+            solar.setSolarEnergyId("household-solar-" + i);
+            solar.setCapacity(100.);
+            household.getSolars().add(solar);
+            producerIds.add(solar.getSolarEnergyId());
+            household.getStorages().add(storage("household-storage-" + i));
+            virtualPowerPlant.getHouseholds().add(household);
+        }
+        DecentralizedPowerPlantDTO dpp = new DecentralizedPowerPlantDTO();
+        dpp.setDecentralizedPowerPlantId("dpp");
+        for (int i = 0; i < producers; i++) {
+            WindEnergyDTO wind = new WindEnergyDTO();
+            wind.setWindEnergyId("wind-" + i);
+            wind.setCapacity(100.);
+            dpp.getWinds().add(wind);
+            producerIds.add(wind.getWindEnergyId());
+        }
+        dpp.getStorages().add(storage("dpp-storage"));
+        virtualPowerPlant.getDecentralizedPowerPlants().add(dpp);
+
+        // Last in W und Erzeugung in kW, die Erzeugung pendelt mit einer Amplitude von 50 kW um die Last
+        long[] timestamps = new long[PERIODS];
+        for (int period = 0; period < PERIODS; period++) {
+            timestamps[period] = 1_600_000_200L + period * 900L;
+        }
+        ForecastSeries.Builder loadBuilder = ForecastSeries.builder(timestamps, false);
+        ForecastSeries.Builder productionBuilder = ForecastSeries.builder(timestamps, true);
+        for (int period = 0; period < PERIODS; period++) {
+            double load = 100.;
+            double production = load + 50. * Math.sin(period / 6.);
+            loadBuilder.add(period, ACTION_REQUEST_ID, null, load * 1000., load * 1000.);
+            productionBuilder.add(period, ACTION_REQUEST_ID, null, production, production);
+        }
+        loads = loadBuilder.build();
+        productions = productionBuilder.build();
+
+        forecastMatrix = ForecastMatrix.of(loads, productions);
+        comparisonMap = service.createComparisonMap(forecastMatrix);
+        differenceTimeseriesList = service.createDifferenceTimeseriesList(actionRequest, virtualPowerPlant, comparisonMap);
+
+        // Summen pro Erzeugungsanlage und Differenzzeitreihe, wie sie der Erzeugungsservice liefert
+        producerSums = new ArrayList<>();
+        for (DifferenceTimeseries differenceTimeseries : differenceTimeseriesList) {
+            int count = differenceTimeseries.getTimestamps().size();
+            for (String producerId : producerIds) {
+                ProductionProducerSumDTO sum = new ProductionProducerSumDTO();
+                sum.setProducerId(producerId);
+                sum.setStartTimestamp(differenceTimeseries.getTimestamps().first());
+                sum.setEndTimestamp(differenceTimeseries.getTimestamps().last());
+                sum.setCurrentValue(10. * count);
+                sum.setPossibleValue(12. * count);
+                sum.setCount(count);
+                producerSums.add(sum);
+            }
+        }
+        forecastMatrix = forecastMatrix.withProducerSums(producerSums);
+    }
+
+    @TearDown
+    public void tearDown() {
+        actionCatalogBuilder.destroy();
+    }
+
+    @Benchmark
+    public ForecastMatrix forecastMatrix() {
+        return ForecastMatrix.of(loads, productions).withProducerSums(producerSums);
+    }
+
+    @Benchmark
+    public Map<Long, Pair<Double, Double>> createComparisonMap() {
+        return service.createComparisonMap(forecastMatrix);
+    }
+
+    @Benchmark
+    public List<DifferenceTimeseries> createDifferenceTimeseriesList() {
+        return service.createDifferenceTimeseriesList(actionRequest, virtualPowerPlant, comparisonMap);
+    }
+
+    @Benchmark
+    public List<ActionCatalogEntity> buildCatalogs() throws ActionException {
+        return actionCatalogBuilder.build(ACTION_REQUEST_ID, differenceTimeseriesList, forecastMatrix, virtualPowerPlant);
+    }
+
+    private static StorageDTO storage(String storageId) {
+        StorageDTO storage = new StorageDTO();
+        storage.setStorageId(storageId);
+        storage.setRatedPower(5.);
+        storage.setCapacity(50.);
+        storage.setLoadTimeHour(2.);
+        return storage;
+    }
+}
@@ -0,0 +1,111 @@
+package de.uol.vpp.action.service.validation;
+
+import de.uol.vpp.action.domain.aggregates.ActionRequestAggregate;
+import de.uol.vpp.action.domain.entities.ProducerManipulationEntity;
+import de.uol.vpp.action.domain.entities.StorageManipulationEntity;
+import de.uol.vpp.action.domain.enums.ManipulationTypeEnum;
+import de.uol.vpp.action.domain.exceptions.ActionException;
+import de.uol.vpp.action.domain.exceptions.ManipulationException;
+import de.uol.vpp.action.domain.valueobjects.*;
+import de.uol.vpp.action.infrastructure.rest.dto.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks der Prüfung einer Maßnahmenabfrage ohne Datenbank und REST-Schnittstellen. Das synthetische VK besitzt
+ * ein DK mit {@code producers} Windkraftanlagen und {@code producers} Haushalte mit je einem Speicher. Die
+ * {@code manipulations} Erzeugungs- und Speichermanipulationen verteilen sich reihum auf die Anlagen in
+ * aufeinanderfolgenden Viertelstunden, sodass die Maßnahmenabfrage gültig ist und alle Prüfungen vollständig
+ * durchlaufen werden.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ActionRequestValidationBenchmark {
+
+    private static final long START = 1_600_000_200L;
+
+    @Param({"1000"})
+    private int producers;
+
+    @Param({"100", "10000"})
+    private int manipulations;
+
+    private VirtualPowerPlantTopologyDTO virtualPowerPlant;
+    private ActionRequestAggregate actionRequest;
+
+    @Setup
+    public void setup() throws ActionException, ManipulationException {
+        virtualPowerPlant = new VirtualPowerPlantTopologyDTO();
+        virtualPowerPlant.setVirtualPowerPlantId("vpp");
+        virtualPowerPlant.setPublished(true);
+        DecentralizedPowerPlantDTO dpp = new DecentralizedPowerPlantDTO();
+        dpp.setDecentralizedPowerPlantId("dpp");
+        for (int i = 0; i < producers; i++) {
+            WindEnergyDTO wind = new WindEnergyDTO();
+            wind.setWindEnergyId("WIND-" + i);
+            wind.setCapacity(50.);
+            dpp.getWinds().add(wind);
+
+            HouseholdDTO household = new HouseholdDTO();
+            household.setHouseholdId("HOUSEHOLD-" + i);
+            household.setHouseholdMemberAmount(2);
+            StorageDTO storage = new StorageDTO();
+            storage.setStorageId("STORAGE-" + i);
+            storage.setRatedPower(5.);
+            storage.setCapacity(50.);
+            storage.setLoadTimeHour(2.);
+            household.getStorages().add(storage);
+            virtualPowerPlant.getHouseholds().add(household);
+        }
+        virtualPowerPlant.getDecentralizedPowerPlants().add(dpp);
+
+        ActionRequestIdVO actionRequestId = new ActionRequestIdVO("benchmark");
+        actionRequest = new ActionRequestAggregate();
+        actionRequest.setActionRequestId(actionRequestId);
+        actionRequest.setVirtualPowerPlantId(new ActionRequestVirtualPowerPlantIdVO("vpp"));
+        actionRequest.setProducerManipulations(new ArrayList<>());
+        actionRequest.setStorageManipulations(new ArrayList<>());
+        actionRequest.setGridManipulations(new ArrayList<>());
+        for (int i = 0; i < manipulations; i++) {
+            long start = START + (long) (i / producers) * 900L;
+            ManipulationStartEndTimestampVO startEndTimestamp = new ManipulationStartEndTimestampVO(start, start + 900L);
+
+            ProducerManipulationEntity producerManipulation = new ProducerManipulationEntity();
+            producerManipulation.setActionRequestId(actionRequestId);
+            producerManipulation.setStartEndTimestamp(startEndTimestamp);
+            producerManipulation.setType(new ManipulationTypeVO(
+                    i % 2 == 0 ? ManipulationTypeEnum.PRODUCER_UP : ManipulationTypeEnum.PRODUCER_DOWN));
+            producerManipulation.setProducerId(new ProducerManipulationProducerIdVO("WIND-" + (i % producers)));
+            producerManipulation.setCapacity(new ProducerManipulationCapacityVO(10.));
+            actionRequest.getProducerManipulations().add(producerManipulation);
+
+            StorageManipulationEntity storageManipulation = new StorageManipulationEntity();
+            storageManipulation.setActionRequestId(actionRequestId);
+            storageManipulation.setStartEndTimestamp(startEndTimestamp);
+            storageManipulation.setType(new ManipulationTypeVO(
+                    (i / producers) % 2 == 0 ? ManipulationTypeEnum.STORAGE_LOAD : ManipulationTypeEnum.STORAGE_UNLOAD));
+            storageManipulation.setStorageId(new StorageManipulationStorageIdVO("STORAGE-" + (i % producers)));
+            actionRequest.getStorageManipulations().add(storageManipulation);
+        }
+
+        List<String> violations = new ActionRequestValidator(virtualPowerPlant).validate(actionRequest);
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException(violations.get(0));
+        }
+    }
+
+    /**
+     * Aufbau des Anlagenkatalogs und Prüfung aller Manipulationen einer Maßnahmenabfrage
+     */
+    @Benchmark
+    public List<String> validate() throws ManipulationException {
+        return new ActionRequestValidator(virtualPowerPlant).validate(actionRequest);
+    }
+}
@@ -0,0 +1,156 @@
+package de.uol.vpp.load.infrastructure.scheduler;
+
+import de.uol.vpp.common.timeseries.QuarterHourTimeAxis;
+import de.uol.vpp.load.infrastructure.rest.dto.HouseholdSnapshot;
+import de.uol.vpp.load.infrastructure.slp.StandardLoadProfile;
+import de.uol.vpp.load.infrastructure.slp.StandardLoadProfileRegistry;
+import org.apache.poi.hssf.usermodel.HSSFSheet;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks der Lastprognose eines synthetischen VK mit {@code households} Haushalten. Verglichen werden die
+ * Auswertung des Standardlastprofils H0 über die {@link QuarterHourTimeAxis}, die Auswertung des vorab geladenen
+ * Profils mit einer Schrittweite über {@link ZonedDateTime} und der bisherige Pfad, der jeden Wert per POI aus der
+ * Excel-Datei liest, sowie die Berechnung aller Haushaltslasten durch die {@link LoadForecastEngine}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoadForecastBenchmark {
+
+    private static final int PERIODS = 24 * 4 + 1;
+    private static final ZoneId GMT_PLUS_2 = ZoneId.of("GMT+2");
+
+    @Param({"100", "10000"})
+    private int households;
+
+    private LoadForecastEngine loadForecastEngine;
+    private StandardLoadProfile h0;
+    private HouseholdSnapshot snapshot;
+    private long now;
+    private HSSFSheet sheet;
+
+    @Setup
+    public void setup() throws IOException {
+        try (InputStream in = new ClassPathResource("slp.xls").getInputStream()) {
+            sheet = new HSSFWorkbook(in).getSheetAt(0);
+        }
+        StandardLoadProfileRegistry registry = new StandardLoadProfileRegistry();
+        loadForecastEngine = new LoadForecastEngine(registry);
+        h0 = registry.getProfile(StandardLoadProfileRegistry.DEFAULT_PROFILE);
+
+        List<String> householdIds = new ArrayList<>();
+        List<Integer> memberAmounts = new ArrayList<>();
+        List<String> loadProfiles = new ArrayList<>();
+        List<Double> annualConsumptions = new ArrayList<>();
+        for (int i = 0; i < households; i++) {
+            householdIds.add("household-" + i);
+            memberAmounts.add(1 + i % 5);
+            loadProfiles.add(null);
+            annualConsumptions.add(i % 2 == 0 ? 0. : 3500.);
+        }
+        snapshot = new HouseholdSnapshot(householdIds, memberAmounts, loadProfiles, annualConsumptions);
+        now = Instant.now().getEpochSecond();
+    }
+
+    @Benchmark
+    public double[] h0TimeAxis() {
+        return h0.evaluate(QuarterHourTimeAxis.starting(now, PERIODS));
+    }
+
+    /**
+     * Vorab geladenes Profil mit Abrunden auf die Viertelstunde und Schrittweite über {@link ZonedDateTime}
+     */
+    @Benchmark
+    public double[] h0ZonedDateTime() {
+        ZonedDateTime currentZDT = Instant.ofEpochSecond(now).atZone(GMT_PLUS_2);
+        ZonedDateTime current = ZonedDateTime.of(
+                currentZDT.getYear(), currentZDT.getMonthValue(), currentZDT.getDayOfMonth(), currentZDT.getHour(),
+                currentZDT.getMinute() - (currentZDT.getMinute() % 15), 0, 0, GMT_PLUS_2);
+        double[] horizon = new double[PERIODS];
+        for (int period = 0; period < PERIODS; period++) {
+            horizon[period] = h0.getValue(current);
+            current = current.plusMinutes(15L);
+        }
+        return horizon;
+    }
+
+    /**
+     * Bisheriger Pfad: Schrittweite über {@link ZonedDateTime}, Reihe über die pro Aufruf erstellte Zuordnung von
+     * Uhrzeit zu Reihe, Spalte über Jahreszeit und Wochentag und Wert per POI aus dem Excel-Sheet
+     */
+    @Benchmark
+    public double[] h0Poi() {
+        ZonedDateTime currentZDT = Instant.ofEpochSecond(now).atZone(GMT_PLUS_2);
+        ZonedDateTime current = ZonedDateTime.of(
+                currentZDT.getYear(), currentZDT.getMonthValue(), currentZDT.getDayOfMonth(), currentZDT.getHour(),
+                currentZDT.getMinute() - (currentZDT.getMinute() % 15), 0, 0, GMT_PLUS_2);
+        double[] horizon = new double[PERIODS];
+        for (int period = 0; period < PERIODS; period++) {
+            int rowIndex = createTimeRowMap().get(current.getHour() * 100 + current.getMinute());
+            int columnIndex = getColumnIndex(current);
+            horizon[period] = sheet.getRow(rowIndex).getCell(columnIndex).getNumericCellValue();
+            current = current.plusMinutes(15L);
+        }
+        return horizon;
+    }
+
+    @Benchmark
+    public double[][] forecast() {
+        return loadForecastEngine.forecast(QuarterHourTimeAxis.starting(now, PERIODS), snapshot);
+    }
+
+    /**
+     * Zuordnung von Uhrzeit (z.B. 1015 für 10:15) zur Reihe im Excel-Sheet wie im bisherigen Pfad, der die Zuordnung
+     * bei jedem Aufruf neu erstellte. 00:15 liegt in Reihe 3, 00:00 am Ende des Tages in Reihe 98.
+     *
+     * @return Hashmap von Uhrzeit -> Reihe
+     */
+    private static Map<Integer, Integer> createTimeRowMap() {
+        Map<Integer, Integer> timeRowMap = new HashMap<>();
+        for (int quarter = 1; quarter < 96; quarter++) {
+            timeRowMap.put((quarter / 4) * 100 + (quarter % 4) * 15, quarter + 2);
+        }
+        timeRowMap.put(0, 98);
+        return timeRowMap;
+    }
+
+    /**
+     * Spalte im Excel-Sheet anhand von Jahreszeit und Wochentag wie im bisherigen Pfad
+     *
+     * @param date Zeitstempel
+     * @return Spalte im Excel-Sheet
+     */
+    private static int getColumnIndex(ZonedDateTime date) {
+        String[] seasons = {
+                "Winter", "Winter", "Spring", "Spring", "Summer", "Summer",
+                "Summer", "Summer", "Fall", "Fall", "Winter", "Winter"
+        };
+        int dayOfWeek = date.getDayOfWeek().getValue();
+        switch (seasons[date.getMonth().getValue() - 1]) {
+            case "Spring":
+            case "Fall":
+                return dayOfWeek <= 5 ? 9 : dayOfWeek == 6 ? 7 : 8;
+            case "Summer":
+                return dayOfWeek <= 5 ? 6 : dayOfWeek == 6 ? 4 : 5;
+            default:
+                return dayOfWeek <= 5 ? 3 : dayOfWeek == 6 ? 1 : 2;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package de.uol.vpp.masterdata.infrastructure;
+
+import de.uol.vpp.masterdata.domain.aggregates.VirtualPowerPlantAggregate;
+import de.uol.vpp.masterdata.domain.exceptions.VirtualPowerPlantException;
+import de.uol.vpp.masterdata.infrastructure.entities.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks der Konvertierung eines vollständigen VK zwischen JPA-Entitäten und Domänenobjekten.
+ * Das synthetische VK besitzt {@code households} Haushalte mit je einer Solaranlage und einem Speicher sowie
+ * ein DK mit {@code producers} Erzeugungsanlagen (Wind, Wasser, Solar und Sonstige im Wechsel).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InfrastructureEntityConverterBenchmark {
+
+    @Param({"10", "1000"})
+    private int households;
+
+    @Param({"10", "1000"})
+    private int producers;
+
+    private InfrastructureEntityConverter converter;
+    private VirtualPowerPlant jpaEntity;
+    private VirtualPowerPlantAggregate domainEntity;
+
+    @Setup
+    public void setup() throws VirtualPowerPlantException {
+        converter = new InfrastructureEntityConverter();
+
+        jpaEntity = new VirtualPowerPlant();
+        jpaEntity.setId("vpp");
+        jpaEntity.setPublished(true);
+        jpaEntity.setTopologyVersion(1L);
+        List<Household> householdEntities = new ArrayList<>();
+        for (int i = 0; i < households; i++) {
+            Household household = new Household();
+            household.setId("household-" + i);
+            household.setMemberAmount(1 + i % 5);
+            household.setWinds(new ArrayList<>());
+            household.setWaters(new ArrayList<>());
+            household.setSolars(new ArrayList<>(List.of(solar("household-solar-" + i))));
+            household.setOthers(new ArrayList<>());
+            household.setStorages(new ArrayList<>(List.of(storage("household-storage-" + i))));
+            householdEntities.add(household);
+        }
+        jpaEntity.setHouseholds(householdEntities);
+
+        DecentralizedPowerPlant dpp = new DecentralizedPowerPlant();
+        dpp.setId("dpp");
+        dpp.setWinds(new ArrayList<>());
+        dpp.setWaters(new ArrayList<>());
+        dpp.setSolars(new ArrayList<>());
+        dpp.setOthers(new ArrayList<>());
+        dpp.setStorages(new ArrayList<>(List.of(storage("dpp-storage"))));
+        for (int i = 0; i < producers; i++) {
+            switch (i % 4) {
+                case 0:
+                    dpp.getWinds().add(wind("wind-" + i));
+                    break;
+                case 1:
+                    dpp.getWaters().add(water("water-" + i));
+                    break;
+                case 2:
+                    dpp.getSolars().add(solar("solar-" + i));
+                    break;
+                default:
+                    dpp.getOthers().add(other("other-" + i));
+            }
+        }
+        jpaEntity.setDecentralizedPowerPlants(new ArrayList<>(List.of(dpp)));
+
+        domainEntity = converter.toDomain(jpaEntity);
+    }
+
+    @Benchmark
+    public VirtualPowerPlantAggregate toDomain() throws VirtualPowerPlantException {
+        return converter.toDomain(jpaEntity);
+    }
+
+    @Benchmark
+    public VirtualPowerPlant toInfrastructure() {
+        return converter.toInfrastructure(domainEntity);
+    }
+
+    private static WindEnergy wind(String id) {
+        WindEnergy wind = new WindEnergy();
+        wind.setId(id);
+        wind.setLatitude(53.14);
+        wind.setLongitude(8.21);
+        wind.setEfficiency(40.);
+        wind.setCapacity(100.);
+        wind.setRadius(40.);
+        wind.setHeight(100.);
+        return wind;
+    }
+
+    private static WaterEnergy water(String id) {
+        WaterEnergy water = new WaterEnergy();
+        water.setId(id);
+        water.setEfficiency(80.);
+        water.setCapacity(100.);
+        water.setDensity(1000.);
+        water.setGravity(9.81);
+        water.setHeight(10.);
+        water.setVolumeFlow(2.);
+        return water;
+    }
+
+    private static SolarEnergy solar(String id) {
+        SolarEnergy solar = new SolarEnergy();
+        solar.setId(id);
+        solar.setLatitude(53.14);
+        solar.setLongitude(8.21);
+        solar.setRatedCapacity(10.);
+        solar.setCapacity(100.);
+        solar.setAlignment(180.);
+        solar.setSlope(30.);
+        return solar;
+    }
+
+    private static OtherEnergy other(String id) {
+        OtherEnergy other = new OtherEnergy();
+        other.setId(id);
+        other.setRatedCapacity(10.);
+        other.setCapacity(100.);
+        return other;
+    }
+
+    private static Storage storage(String id) {
+        Storage storage = new Storage();
+        storage.setId(id);
+        storage.setRatedPower(5.);
+        storage.setCapacity(50.);
+        storage.setLoadTimeHour(2.);
+        return storage;
+    }
+}
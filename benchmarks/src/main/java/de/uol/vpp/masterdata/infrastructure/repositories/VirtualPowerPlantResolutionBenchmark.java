@@ -0,0 +1,123 @@
+package de.uol.vpp.masterdata.infrastructure.repositories;
+
+import de.uol.vpp.masterdata.domain.aggregates.VirtualPowerPlantAggregate;
+import de.uol.vpp.masterdata.domain.exceptions.VirtualPowerPlantException;
+import de.uol.vpp.masterdata.domain.utils.AssetType;
+import de.uol.vpp.masterdata.infrastructure.InfrastructureEntityConverter;
+import de.uol.vpp.masterdata.infrastructure.entities.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks der Auflösung des VK eines DK bzw. Haushalts, wie sie vor jeder Änderung an einer Anlage erfolgt.
+ * Die Flotte besteht aus {@code virtualPowerPlants} VK mit je {@code households} Haushalten und einem DK ohne Anlagen.
+ * Ohne Datenbank steht eine {@link HashMap} für die indizierten Abfragen über die eindeutigen Ids und den Fremdschlüssel
+ * der DK und Haushalte. Verglichen wird die bisherige Suche über alle VK mit dem {@link VirtualPowerPlantResolutionCache}
+ * und der direkten Rückwärtsauflösung über den Fremdschlüssel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualPowerPlantResolutionBenchmark {
+
+    @Param({"10", "1000"})
+    private int virtualPowerPlants;
+
+    @Param({"10"})
+    private int households;
+
+    private InfrastructureEntityConverter converter;
+    private VirtualPowerPlantResolutionCache resolutionCache;
+    private List<VirtualPowerPlant> fleet;
+    private Map<String, VirtualPowerPlant> virtualPowerPlantById;
+    private Map<String, Household> householdById;
+    private String householdId;
+
+    @Setup
+    public void setup() {
+        converter = new InfrastructureEntityConverter();
+        resolutionCache = new VirtualPowerPlantResolutionCache(10000);
+        fleet = new ArrayList<>();
+        virtualPowerPlantById = new HashMap<>();
+        householdById = new HashMap<>();
+        for (int i = 0; i < virtualPowerPlants; i++) {
+            VirtualPowerPlant vpp = new VirtualPowerPlant();
+            vpp.setId("vpp-" + i);
+            vpp.setPublished(false);
+            vpp.setTopologyVersion(1L);
+            List<Household> householdEntities = new ArrayList<>();
+            for (int j = 0; j < households; j++) {
+                Household household = new Household();
+                household.setId("household-" + i + "-" + j);
+                household.setMemberAmount(2);
+                household.setVirtualPowerPlant(vpp);
+                household.setWinds(new ArrayList<>());
+                household.setWaters(new ArrayList<>());
+                household.setSolars(new ArrayList<>());
+                household.setOthers(new ArrayList<>());
+                household.setStorages(new ArrayList<>());
+                householdEntities.add(household);
+                householdById.put(household.getId(), household);
+            }
+            vpp.setHouseholds(householdEntities);
+            DecentralizedPowerPlant dpp = new DecentralizedPowerPlant();
+            dpp.setId("dpp-" + i);
+            dpp.setVirtualPowerPlant(vpp);
+            dpp.setWinds(new ArrayList<>());
+            dpp.setWaters(new ArrayList<>());
+            dpp.setSolars(new ArrayList<>());
+            dpp.setOthers(new ArrayList<>());
+            dpp.setStorages(new ArrayList<>());
+            vpp.setDecentralizedPowerPlants(new ArrayList<>(List.of(dpp)));
+            fleet.add(vpp);
+            virtualPowerPlantById.put(vpp.getId(), vpp);
+        }
+        // Schlechtester Fall der bisherigen Suche: Haushalt des letzten VK
+        householdId = "household-" + (virtualPowerPlants - 1) + "-" + (households - 1);
+    }
+
+    /**
+     * Bisheriger Pfad: alle VK laden und deren Haushalte durchsuchen
+     */
+    @Benchmark
+    public VirtualPowerPlantAggregate findAllScan() throws VirtualPowerPlantException {
+        for (VirtualPowerPlant vpp : fleet) {
+            for (Household household : vpp.getHouseholds()) {
+                if (household.getId().equals(householdId)) {
+                    return converter.toDomain(vpp);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Rückwärtsauflösung über den Fremdschlüssel des Haushalts ohne Cache
+     */
+    @Benchmark
+    public VirtualPowerPlantAggregate reverseLookup() throws VirtualPowerPlantException {
+        return converter.toDomain(householdById.get(householdId).getVirtualPowerPlant());
+    }
+
+    /**
+     * Auflösung über den Cache und das VK über seine eindeutige Id
+     */
+    @Benchmark
+    public VirtualPowerPlantAggregate resolutionCache() throws VirtualPowerPlantException {
+        String virtualPowerPlantId = resolutionCache.get(AssetType.HOUSEHOLD, householdId).orElse(null);
+        if (virtualPowerPlantId == null) {
+            long generation = resolutionCache.generation();
+            virtualPowerPlantId = householdById.get(householdId).getVirtualPowerPlant().getId();
+            resolutionCache.put(AssetType.HOUSEHOLD, householdId, virtualPowerPlantId, generation);
+        }
+        return converter.toDomain(virtualPowerPlantById.get(virtualPowerPlantId));
+    }
+}
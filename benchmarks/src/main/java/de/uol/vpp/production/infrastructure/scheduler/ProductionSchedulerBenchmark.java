@@ -0,0 +1,166 @@
+package de.uol.vpp.production.infrastructure.scheduler;
+
+import de.uol.vpp.common.timeseries.ForecastSeries;
+import de.uol.vpp.common.timeseries.QuarterHourTimeAxis;
+import de.uol.vpp.production.domain.utils.TimestampUtils;
+import de.uol.vpp.production.infrastructure.rabbitmq.messages.ActionRequestMessage;
+import de.uol.vpp.production.infrastructure.rabbitmq.messages.ProducerManipulationMessage;
+import de.uol.vpp.production.infrastructure.utils.ProductionsUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks der Periodenverarbeitung einer Erzeugungsprognose ohne externe Schnittstellen.
+ * Ein synthetisches VK besitzt {@code producers} Windkraftanlagen, von denen {@code manipulations} über einen Teil des
+ * Horizonts manipuliert werden. Verglichen werden der {@link ManipulationIndex} mit der bisherigen linearen Suche über
+ * alle Manipulationen pro Erzeugungsanlage und Periode sowie die {@link QuarterHourTimeAxis} mit {@link ZonedDateTime}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductionSchedulerBenchmark {
+
+    private static final int PERIODS = 24 * 4 + 1;
+    private static final ZoneId GMT_PLUS_2 = ZoneId.of("GMT+2");
+
+    @Param({"100", "1000"})
+    private int producers;
+
+    @Param({"10", "100"})
+    private int manipulations;
+
+    private String[] producerIds;
+    private ActionRequestMessage message;
+    private long now;
+
+    @Setup
+    public void setup() {
+        now = Instant.now().getEpochSecond();
+        QuarterHourTimeAxis axis = QuarterHourTimeAxis.starting(now, PERIODS);
+        producerIds = new String[producers];
+        for (int i = 0; i < producers; i++) {
+            producerIds[i] = "wind-" + i;
+        }
+        List<ProducerManipulationMessage> producerManipulations = new ArrayList<>();
+        for (int i = 0; i < manipulations; i++) {
+            int first = i % PERIODS;
+            ProducerManipulationMessage producerManipulation = new ProducerManipulationMessage();
+            producerManipulation.setProducerId(producerIds[i % producers]);
+            producerManipulation.setType(i % 2 == 0 ? "PRODUCER_UP" : "PRODUCER_DOWN");
+            producerManipulation.setCapacity(10.);
+            producerManipulation.setStartTimestamp(axis.getTimestamp(first));
+            producerManipulation.setEndTimestamp(axis.getTimestamp(Math.min(PERIODS - 1, first + 8)));
+            producerManipulations.add(producerManipulation);
+        }
+
+        message = new ActionRequestMessage();
+        message.setProducerManipulations(producerManipulations);
+        message.setStorageManipulations(Collections.emptyList());
+        message.setGridManipulations(Collections.emptyList());
+    }
+
+    @Benchmark
+    public ForecastSeries periodsWithManipulationIndex() {
+        QuarterHourTimeAxis axis = QuarterHourTimeAxis.starting(now, PERIODS);
+        ForecastSeries.Builder series = ForecastSeries.builder(axis.getTimestamps(), true);
+        ManipulationIndex index = ManipulationIndex.of(message, axis);
+        for (int period = 0; period < axis.getPeriods(); period++) {
+            for (String producerId : producerIds) {
+                double possibleValue = ProductionsUtils.calculateWind(40., 8., 40.);
+                series.add(period, producerId, "WIND",
+                        currentValue(index.getProducerManipulation(producerId, period), possibleValue), possibleValue);
+            }
+        }
+        return series.build();
+    }
+
+    /**
+     * Bisheriger Pfad: lineare Suche über alle Manipulationen mit Umwandlung in {@link ZonedDateTime}
+     */
+    @Benchmark
+    public ForecastSeries periodsWithLinearScan() {
+        ZonedDateTime currentZDT = Instant.ofEpochSecond(now).atZone(GMT_PLUS_2);
+        ZonedDateTime current = ZonedDateTime.of(
+                currentZDT.getYear(), currentZDT.getMonthValue(), currentZDT.getDayOfMonth(), currentZDT.getHour(),
+                currentZDT.getMinute() - (currentZDT.getMinute() % 15), 0, 0, GMT_PLUS_2);
+        long[] timestamps = new long[PERIODS];
+        for (int period = 0; period < PERIODS; period++) {
+            timestamps[period] = current.plusMinutes(15L * period).toEpochSecond();
+        }
+        ForecastSeries.Builder series = ForecastSeries.builder(timestamps, true);
+        for (int period = 0; period < PERIODS; period++) {
+            for (String producerId : producerIds) {
+                ProducerManipulationMessage active = null;
+                for (ProducerManipulationMessage producerManipulation : message.getProducerManipulations()) {
+                    ZonedDateTime start = TimestampUtils.toBerlinTimestamp(producerManipulation.getStartTimestamp(), false);
+                    ZonedDateTime end = TimestampUtils.toBerlinTimestamp(producerManipulation.getEndTimestamp(), false);
+                    if (producerManipulation.getProducerId().equals(producerId)
+                            && !current.isBefore(start) && !current.isAfter(end)) {
+                        active = producerManipulation;
+                    }
+                }
+                double possibleValue = ProductionsUtils.calculateWind(40., 8., 40.);
+                series.add(period, producerId, "WIND", currentValue(active, possibleValue), possibleValue);
+            }
+            current = current.plusMinutes(15);
+        }
+        return series.build();
+    }
+
+    @Benchmark
+    public void productionsUtils(Blackhole blackhole) {
+        for (int i = 0; i < producers; i++) {
+            blackhole.consume(ProductionsUtils.calculateWind(40. + i % 10, 8., 40.));
+            blackhole.consume(ProductionsUtils.calculateWater(10., 9.81, 1000., 80., 2. + i % 5));
+        }
+    }
+
+    @Benchmark
+    public void calendarFieldsTimeAxis(Blackhole blackhole) {
+        QuarterHourTimeAxis axis = QuarterHourTimeAxis.starting(now, PERIODS);
+        for (int period = 0; period < axis.getPeriods(); period++) {
+            blackhole.consume(axis.getMonth(period));
+            blackhole.consume(axis.getDayOfWeek(period));
+            blackhole.consume(axis.getQuarterHourOfDay(period));
+            blackhole.consume(axis.getEpochHour(period));
+        }
+    }
+
+    /**
+     * Bisheriger Pfad: Kalenderfelder über {@link ZonedDateTime} mit Schrittweite von 15 Minuten
+     */
+    @Benchmark
+    public void calendarFieldsZonedDateTime(Blackhole blackhole) {
+        ZonedDateTime current = Instant.ofEpochSecond(now).atZone(GMT_PLUS_2);
+        for (int period = 0; period < PERIODS; period++) {
+            blackhole.consume(current.getMonthValue());
+            blackhole.consume(current.getDayOfWeek().getValue());
+            blackhole.consume(current.getHour() * 4 + current.getMinute() / 15);
+            blackhole.consume(current.getYear() * 10000 + current.getDayOfYear() * 100 + current.getHour());
+            current = current.plusMinutes(15);
+        }
+    }
+
+    private static double currentValue(ProducerManipulationMessage producerManipulation, double possibleValue) {
+        double capacity = 100.;
+        if (producerManipulation != null) {
+            if (producerManipulation.getType().equals("PRODUCER_UP")) {
+                capacity += producerManipulation.getCapacity();
+            } else if (producerManipulation.getType().equals("PRODUCER_DOWN")) {
+                capacity -= producerManipulation.getCapacity();
+            }
+        }
+        return possibleValue / 100 * capacity;
+    }
+}
@@ -0,0 +1,121 @@
+package de.uol.vpp.common.rest;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * Gemeinsamer HTTP-Client für alle REST-Clients der Services.
+ * Alle Anfragen laufen über ein einziges {@link RestTemplate} auf Basis eines Apache HttpClient mit
+ * Verbindungspool. Die Anzahl gleichzeitiger Verbindungen ist insgesamt und pro Host begrenzt, weitere Anfragen
+ * warten bis zum Ablauf von vpp.rest.connection-request-timeout auf eine freie Verbindung. Abweichende Grenzen
+ * einzelner Hosts werden über vpp.rest.max-connections-per-route als kommagetrennte Liste von Einträgen der Form
+ * {@code <URL>=<Anzahl>} konfiguriert, z.B. {@code http://localhost:8082/load/api=40}. Die Latenz wird über die
+ * Metrik http.client.requests erfasst, die Auslastung des Pools über die Metriken vpp.rest.pool.*.
+ */
+@Configuration
+public class RestClientConfig {
+
+    @Value("${vpp.rest.connect-timeout:5000}")
+    private int connectTimeout;
+
+    @Value("${vpp.rest.read-timeout:30000}")
+    private int readTimeout;
+
+    @Value("${vpp.rest.connection-request-timeout:10000}")
+    private int connectionRequestTimeout;
+
+    @Value("${vpp.rest.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${vpp.rest.max-connections-per-host:20}")
+    private int maxConnectionsPerHost;
+
+    @Value("${vpp.rest.max-connections-per-route:}")
+    private String[] maxConnectionsPerRoute;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager restConnectionManager(ObjectProvider<MeterRegistry> meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(30, TimeUnit.SECONDS);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerHost);
+        for (String entry : maxConnectionsPerRoute) {
+            if (!entry.isBlank()) {
+                int separator = entry.lastIndexOf('=');
+                if (separator < 0) {
+                    throw new IllegalArgumentException(String.format("Ungültiger Eintrag %s in vpp.rest.max-connections-per-route, erwartet wird <URL>=<Anzahl>", entry));
+                }
+                connectionManager.setMaxPerRoute(this.toRoute(entry.substring(0, separator).trim()),
+                        Integer.parseInt(entry.substring(separator + 1).trim()));
+            }
+        }
+        meterRegistry.ifAvailable(registry -> {
+            this.registerPoolGauge(registry, connectionManager, "leased", "Anzahl der belegten Verbindungen", PoolStats::getLeased);
+            this.registerPoolGauge(registry, connectionManager, "available", "Anzahl der freien Verbindungen", PoolStats::getAvailable);
+            this.registerPoolGauge(registry, connectionManager, "pending", "Anzahl der auf eine Verbindung wartenden Anfragen", PoolStats::getPending);
+        });
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient restHttpClient(PoolingHttpClientConnectionManager restConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(restConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(connectTimeout)
+                        .setSocketTimeout(readTimeout)
+                        .setConnectionRequestTimeout(connectionRequestTimeout)
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(30, TimeUnit.SECONDS)
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient restHttpClient) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(restHttpClient))
+                .build();
+    }
+
+    /**
+     * Bestimmt die Route einer direkten Verbindung zum Host der URL, wie sie der HttpClient für Anfragen an diese
+     * URL verwendet
+     *
+     * @param url URL eines Services, z.B. vpp.load.api
+     * @return Route zum Host der URL
+     */
+    private HttpRoute toRoute(String url) {
+        URI uri = URI.create(url);
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        if (uri.getHost() == null) {
+            throw new IllegalArgumentException(String.format("Die URL %s in vpp.rest.max-connections-per-route enthält keinen Host", url));
+        }
+        int port = uri.getPort() != -1 ? uri.getPort() : secure ? 443 : 80;
+        return new HttpRoute(new HttpHost(uri.getHost(), port, uri.getScheme()), null, secure);
+    }
+
+    private void registerPoolGauge(MeterRegistry registry, PoolingHttpClientConnectionManager connectionManager,
+                                   String name, String description, ToIntFunction<PoolStats> value) {
+        Gauge.builder("vpp.rest.pool." + name, connectionManager, manager -> value.applyAsInt(manager.getTotalStats()))
+                .description(description)
+                .register(registry);
+    }
+}
@@ -0,0 +1,48 @@
+package de.uol.vpp.common.rest;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Antwortobjekt der Services aus Sicht der REST-Clients.
+ * Die REST-Clients lesen die Antworten über einmalig erstellte, typisierte ObjectReader direkt in dieses Objekt,
+ * sodass der Inhalt nicht zuvor als JSON-Baum aufgebaut werden muss.
+ *
+ * @param <T> Typ der abgefragten Daten
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RestResponse<T> {
+    private Boolean success;
+    private String message;
+    private T data;
+
+    /**
+     * @return true, falls die Anfrage erfolgreich war und Daten enthält
+     */
+    public boolean hasData() {
+        return Boolean.TRUE.equals(success) && data != null;
+    }
+
+    public Boolean getSuccess() {
+        return success;
+    }
+
+    public void setSuccess(Boolean success) {
+        this.success = success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public T getData() {
+        return data;
+    }
+
+    public void setData(T data) {
+        this.data = data;
+    }
+}
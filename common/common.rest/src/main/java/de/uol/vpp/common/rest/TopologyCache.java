@@ -0,0 +1,131 @@
+package de.uol.vpp.common.rest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Größenbeschränkter Cache für die Topologie veröffentlichter VK aus dem Daten-Service.
+ * Ein Eintrag gilt für genau eine Version der Topologie. Der Daten-Service vergibt bei jeder Veröffentlichung und
+ * Rücknahme der Veröffentlichung eine neue, global eindeutige Version, die auch nach Löschen und Neuanlegen eines VK
+ * mit derselben Id nicht erneut vergeben wird. Ein veröffentlichtes VK kann nicht bearbeitet werden.
+ * Bei Überschreitung der maximalen Größe wird der am längsten nicht genutzte Eintrag verdrängt.
+ *
+ * @param <T> Darstellung der Topologie im Service
+ */
+public class TopologyCache<T> {
+
+    private final Map<String, Entry<T>> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter revalidations;
+
+    public TopologyCache(int maxSize, MeterRegistry meterRegistry) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<T>> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.hits = meterRegistry.counter("vpp.topology.cache", "result", "hit");
+        this.misses = meterRegistry.counter("vpp.topology.cache", "result", "miss");
+        this.revalidations = meterRegistry.counter("vpp.topology.cache", "result", "revalidated");
+        Gauge.builder("vpp.topology.cache.size", this, TopologyCache::size)
+                .description("Anzahl der zwischengespeicherten Topologien")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Holt die Topologie eines VK in einer bestimmten Version
+     *
+     * @param virtualPowerPlantId Id des VK
+     * @param topologyVersion     erwartete Version der Topologie
+     * @return Topologie, falls diese in der Version vorliegt
+     */
+    public synchronized Optional<T> get(String virtualPowerPlantId, long topologyVersion) {
+        Entry<T> entry = entries.get(virtualPowerPlantId);
+        if (entry != null && entry.topologyVersion == topologyVersion) {
+            hits.increment();
+            return Optional.of(entry.topology);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Holt die Topologie eines VK, nachdem der Daten-Service bestätigt hat, dass diese unverändert ist (304)
+     *
+     * @param virtualPowerPlantId Id des VK
+     * @return Topologie, falls vorhanden
+     */
+    public synchronized Optional<T> revalidated(String virtualPowerPlantId) {
+        Entry<T> entry = entries.get(virtualPowerPlantId);
+        if (entry != null) {
+            revalidations.increment();
+            return Optional.of(entry.topology);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @param virtualPowerPlantId Id des VK
+     * @return ETag der zwischengespeicherten Topologie
+     */
+    public synchronized Optional<String> getETag(String virtualPowerPlantId) {
+        Entry<T> entry = entries.get(virtualPowerPlantId);
+        return entry != null ? Optional.ofNullable(entry.eTag) : Optional.empty();
+    }
+
+    /**
+     * @param virtualPowerPlantId Id des VK
+     * @return Version der zwischengespeicherten Topologie
+     */
+    public synchronized Optional<Long> getTopologyVersion(String virtualPowerPlantId) {
+        Entry<T> entry = entries.get(virtualPowerPlantId);
+        return entry != null ? Optional.of(entry.topologyVersion) : Optional.empty();
+    }
+
+    /**
+     * Legt die Topologie eines veröffentlichten VK ab
+     *
+     * @param virtualPowerPlantId Id des VK
+     * @param topologyVersion     Version der Topologie
+     * @param eTag                ETag der Antwort des Daten-Services
+     * @param topology            Topologie
+     */
+    public synchronized void put(String virtualPowerPlantId, long topologyVersion, String eTag, T topology) {
+        entries.put(virtualPowerPlantId, new Entry<>(topologyVersion, eTag, topology));
+    }
+
+    /**
+     * Entfernt die Topologie eines VK
+     *
+     * @param virtualPowerPlantId Id des VK
+     */
+    public synchronized void evict(String virtualPowerPlantId) {
+        entries.remove(virtualPowerPlantId);
+    }
+
+    /**
+     * @return Anzahl der zwischengespeicherten Topologien
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class Entry<T> {
+        private final long topologyVersion;
+        private final String eTag;
+        private final T topology;
+
+        private Entry(long topologyVersion, String eTag, T topology) {
+            this.topologyVersion = topologyVersion;
+            this.eTag = eTag;
+            this.topology = topology;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package de.uol.vpp.common.rest;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Lasttest des gemeinsamen HTTP-Clients gegen einen lokalen Stub-Server.
+ * Deutlich mehr Threads als erlaubte Verbindungen pro Host senden Anfragen, der Stub-Server zählt die gleichzeitig
+ * bearbeiteten Anfragen und die verwendeten Verbindungen (Client-Ports).
+ */
+@SpringBootTest(classes = {RestClientConfig.class, RestTemplateAutoConfiguration.class},
+        properties = {"vpp.rest.max-connections=16", "vpp.rest.max-connections-per-host=4",
+                "vpp.rest.max-connections-per-route=http://localhost:8082/load/api=8,https://api.openweathermap.org=2"})
+class RestClientConfigLoadTest {
+
+    private static final int MAX_CONNECTIONS_PER_HOST = 4;
+    private static final int THREADS = 32;
+    private static final int REQUESTS = 2000;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private PoolingHttpClientConnectionManager restConnectionManager;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    @BeforeAll
+    static void disableNagle() {
+        // Ohne TCP_NODELAY verzögert der Stub-Server jede Antwort auf einer wiederverwendeten Verbindung
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    @BeforeEach
+    void startStubServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/stub", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            try {
+                Thread.sleep(1);
+                // Vor dem Senden der Antwort, danach kann der Client die Verbindung bereits erneut verwenden
+                inFlight.decrementAndGet();
+                byte[] body = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        serverExecutor = Executors.newFixedThreadPool(THREADS * 2);
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void reusesPooledConnectionsWithinPerHostLimit() throws Exception {
+        String url = String.format("http://%s:%d/stub", server.getAddress().getHostString(), server.getAddress().getPort());
+        ExecutorService clients = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<String>> responses = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                responses.add(clients.submit(() -> restTemplate.getForObject(url, String.class)));
+            }
+            for (Future<String> response : responses) {
+                assertEquals("{\"ok\":true}", response.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        assertTrue(maxInFlight.get() <= MAX_CONNECTIONS_PER_HOST,
+                String.format("%d gleichzeitige Anfragen trotz Limit %d", maxInFlight.get(), MAX_CONNECTIONS_PER_HOST));
+        assertTrue(clientPorts.size() <= MAX_CONNECTIONS_PER_HOST,
+                String.format("%d Verbindungen für %d Anfragen geöffnet", clientPorts.size(), REQUESTS));
+        assertEquals(0, restConnectionManager.getTotalStats().getLeased());
+        assertEquals(0, restConnectionManager.getTotalStats().getPending());
+    }
+
+    @Test
+    void appliesConfiguredLimitPerRoute() {
+        assertEquals(8, restConnectionManager.getMaxPerRoute(new HttpRoute(new HttpHost("localhost", 8082, "http"))));
+        assertEquals(2, restConnectionManager.getMaxPerRoute(
+                new HttpRoute(new HttpHost("api.openweathermap.org", 443, "https"), null, true)));
+        assertEquals(MAX_CONNECTIONS_PER_HOST,
+                restConnectionManager.getMaxPerRoute(new HttpRoute(new HttpHost("localhost", 8081, "http"))));
+    }
+}
@@ -0,0 +1,266 @@
+package de.uol.vpp.common.timeseries;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Spaltenorientierte Zeitreihe einer Prognose (Last oder Erzeugung) einer Maßnahmenabfrage.
+ * Die Perioden liegen als Epochensekunden in einem long[] vor, jeder Prognosewert ist eine Zeile aus Periode,
+ * Entität (z.B. Erzeugungsanlage oder Haushalt), Wert und optional höchstmöglichem Wert in primitiven Arrays.
+ * Die Ids und Typen der Entitäten werden einmalig abgelegt und von den Zeilen über ihren Index referenziert,
+ * sodass pro Prognosewert keine weiteren Objekte entstehen. Eine Entität ist durch Id und Typ bestimmt, da Ids nur
+ * pro Anlagenart eindeutig sind.
+ */
+public final class ForecastSeries {
+
+    private final long[] timestamps;
+    private final String[] entityIds;
+    private final String[] entityTypes;
+    private final int size;
+    private final int[] periods;
+    private final int[] entities;
+    private final double[] values;
+    private final double[] possibleValues;
+
+    private ForecastSeries(long[] timestamps, String[] entityIds, String[] entityTypes, int size,
+                           int[] periods, int[] entities, double[] values, double[] possibleValues) {
+        this.timestamps = timestamps;
+        this.entityIds = entityIds;
+        this.entityTypes = entityTypes;
+        this.size = size;
+        this.periods = periods;
+        this.entities = entities;
+        this.values = values;
+        this.possibleValues = possibleValues;
+    }
+
+    /**
+     * @param timestamps         Perioden als Epochensekunden
+     * @param withPossibleValues true, falls höchstmögliche Werte erfasst werden (Erzeugung)
+     * @return Builder für eine Zeitreihe
+     */
+    public static Builder builder(long[] timestamps, boolean withPossibleValues) {
+        return new Builder(timestamps, withPossibleValues);
+    }
+
+    /**
+     * @return Anzahl der Zeilen (Prognosewerte)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Anzahl der Perioden
+     */
+    public int getPeriodCount() {
+        return timestamps.length;
+    }
+
+    /**
+     * @param period Periode
+     * @return Zeitstempel der Periode in Epochensekunden
+     */
+    public long getTimestamp(int period) {
+        return timestamps[period];
+    }
+
+    /**
+     * @return Anzahl der Entitäten
+     */
+    public int getEntityCount() {
+        return entityIds.length;
+    }
+
+    /**
+     * @param entity Index der Entität
+     * @return Id der Entität
+     */
+    public String getEntityId(int entity) {
+        return entityIds[entity];
+    }
+
+    /**
+     * @param entity Index der Entität
+     * @return Typ der Entität oder null
+     */
+    public String getEntityType(int entity) {
+        return entityTypes[entity];
+    }
+
+    /**
+     * @param row Zeile
+     * @return Periode der Zeile
+     */
+    public int getPeriod(int row) {
+        return periods[row];
+    }
+
+    /**
+     * @param row Zeile
+     * @return Index der Entität der Zeile
+     */
+    public int getEntity(int row) {
+        return entities[row];
+    }
+
+    /**
+     * @param row Zeile
+     * @return Prognosewert
+     */
+    public double getValue(int row) {
+        return values[row];
+    }
+
+    /**
+     * @return true, falls höchstmögliche Werte erfasst sind
+     */
+    public boolean hasPossibleValues() {
+        return possibleValues != null;
+    }
+
+    /**
+     * @param row Zeile
+     * @return höchstmöglicher Prognosewert, falls nicht erfasst der Prognosewert
+     */
+    public double getPossibleValue(int row) {
+        return possibleValues != null ? possibleValues[row] : values[row];
+    }
+
+    /**
+     * Baut eine {@link ForecastSeries} zeilenweise auf. Die Arrays wachsen bei Bedarf.
+     */
+    public static final class Builder {
+
+        private final long[] timestamps;
+        private final Map<EntityKey, Integer> entityIndex = new HashMap<>();
+        private String[] entityIds = new String[16];
+        private String[] entityTypes = new String[16];
+        private int size;
+        private int[] periods;
+        private int[] entities;
+        private double[] values;
+        private double[] possibleValues;
+
+        private Builder(long[] timestamps, boolean withPossibleValues) {
+            int capacity = Math.max(16, timestamps.length);
+            this.timestamps = Arrays.copyOf(timestamps, timestamps.length);
+            this.periods = new int[capacity];
+            this.entities = new int[capacity];
+            this.values = new double[capacity];
+            this.possibleValues = withPossibleValues ? new double[capacity] : null;
+        }
+
+        /**
+         * Legt eine Entität an, falls noch keine Entität mit gleicher Id und gleichem Typ existiert
+         *
+         * @param entityId Id der Entität
+         * @param type     Typ der Entität (optional)
+         * @return Index der Entität
+         */
+        public int addEntity(String entityId, String type) {
+            EntityKey key = new EntityKey(entityId, type);
+            Integer entity = entityIndex.get(key);
+            if (entity == null) {
+                entity = entityIndex.size();
+                if (entity == entityIds.length) {
+                    entityIds = Arrays.copyOf(entityIds, entity * 2);
+                    entityTypes = Arrays.copyOf(entityTypes, entity * 2);
+                }
+                entityIds[entity] = entityId;
+                entityTypes[entity] = type;
+                entityIndex.put(key, entity);
+            }
+            return entity;
+        }
+
+        /**
+         * Fügt einen Prognosewert hinzu
+         *
+         * @param period        Periode
+         * @param entity        Index der Entität aus {@link #addEntity(String, String)}
+         * @param value         Prognosewert
+         * @param possibleValue höchstmöglicher Prognosewert (wird ohne Erfassung ignoriert)
+         * @return Builder
+         */
+        public Builder add(int period, int entity, double value, double possibleValue) {
+            if (period < 0 || period >= timestamps.length) {
+                throw new IndexOutOfBoundsException(String.format("Die Periode %d ist nicht Teil der Zeitreihe.", period));
+            }
+            if (size == periods.length) {
+                int capacity = size * 2;
+                periods = Arrays.copyOf(periods, capacity);
+                entities = Arrays.copyOf(entities, capacity);
+                values = Arrays.copyOf(values, capacity);
+                if (possibleValues != null) {
+                    possibleValues = Arrays.copyOf(possibleValues, capacity);
+                }
+            }
+            periods[size] = period;
+            entities[size] = entity;
+            values[size] = value;
+            if (possibleValues != null) {
+                possibleValues[size] = possibleValue;
+            }
+            size++;
+            return this;
+        }
+
+        /**
+         * Fügt einen Prognosewert einer Entität hinzu, die bei Bedarf angelegt wird
+         *
+         * @param period        Periode
+         * @param entityId      Id der Entität
+         * @param type          Typ der Entität (optional)
+         * @param value         Prognosewert
+         * @param possibleValue höchstmöglicher Prognosewert (wird ohne Erfassung ignoriert)
+         * @return Builder
+         */
+        public Builder add(int period, String entityId, String type, double value, double possibleValue) {
+            return this.add(period, this.addEntity(entityId, type), value, possibleValue);
+        }
+
+        /**
+         * @return unveränderliche Zeitreihe
+         */
+        public ForecastSeries build() {
+            int entityCount = entityIndex.size();
+            return new ForecastSeries(timestamps, Arrays.copyOf(entityIds, entityCount),
+                    Arrays.copyOf(entityTypes, entityCount), size,
+                    Arrays.copyOf(periods, size), Arrays.copyOf(entities, size), Arrays.copyOf(values, size),
+                    possibleValues != null ? Arrays.copyOf(possibleValues, size) : null);
+        }
+    }
+
+    /**
+     * Schlüssel einer Entität aus Id und Typ
+     */
+    private static final class EntityKey {
+        private final String id;
+        private final String type;
+
+        private EntityKey(String id, String type) {
+            this.id = id;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof EntityKey)) {
+                return false;
+            }
+            EntityKey other = (EntityKey) o;
+            return id.equals(other.id) && Objects.equals(type, other.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * id.hashCode() + Objects.hashCode(type);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package de.uol.vpp.common.timeseries;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * Viertelstündige Zeitachse eines Prognosehorizonts in Berliner Zeit.
+ * Jede Periode ist über ihren Index und ihre Epochensekunde adressierbar. Die Umrechnung zwischen beiden sowie
+ * die lokalen Kalenderfelder (Viertelstunde des Tages, Wochentag, Monat) einer Periode werden ausschließlich mit
+ * Ganzzahlarithmetik bestimmt. Die Zeitzonenverschiebung wird einmalig pro Periode beim Aufbau der Zeitachse
+ * ermittelt, sodass Umstellungen zwischen Sommer- und Winterzeit innerhalb des Horizonts berücksichtigt werden.
+ */
+public final class QuarterHourTimeAxis {
+
+    /**
+     * Zeitzone der lokalen Kalenderfelder
+     */
+    public static final ZoneId ZONE = ZoneId.of("Europe/Berlin");
+
+    /**
+     * Länge einer Periode in Sekunden
+     */
+    public static final int SECONDS_PER_PERIOD = 15 * 60;
+
+    private static final int SECONDS_PER_HOUR = 60 * 60;
+    private static final int SECONDS_PER_DAY = 24 * SECONDS_PER_HOUR;
+
+    private final long start;
+    private final int[] offsets;
+
+    private QuarterHourTimeAxis(long start, int[] offsets) {
+        this.start = start;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Erstellt eine Zeitachse, deren erste Periode die Viertelstunde des Zeitstempels ist.
+     * Da die Berliner Zeit nur um volle Stunden verschoben ist, entspricht das Abrunden der Epochensekunde dem
+     * Abrunden der lokalen Uhrzeit.
+     *
+     * @param epochSecond Zeitstempel innerhalb der ersten Periode
+     * @param periods     Anzahl der Perioden
+     * @return Zeitachse
+     */
+    public static QuarterHourTimeAxis starting(long epochSecond, int periods) {
+        if (periods < 0) {
+            throw new IllegalArgumentException(String.format("Die Anzahl der Perioden %d ist ungültig.", periods));
+        }
+        long start = Math.floorDiv(epochSecond, SECONDS_PER_PERIOD) * SECONDS_PER_PERIOD;
+        ZoneRules rules = ZONE.getRules();
+        int offset = rules.getOffset(Instant.ofEpochSecond(start)).getTotalSeconds();
+        ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochSecond(start));
+        int[] offsets = new int[periods];
+        for (int period = 0; period < periods; period++) {
+            long timestamp = start + (long) period * SECONDS_PER_PERIOD;
+            while (transition != null && timestamp >= transition.toEpochSecond()) {
+                offset = transition.getOffsetAfter().getTotalSeconds();
+                transition = rules.nextTransition(transition.getInstant());
+            }
+            offsets[period] = offset;
+        }
+        return new QuarterHourTimeAxis(start, offsets);
+    }
+
+    /**
+     * @return Anzahl der Perioden
+     */
+    public int getPeriods() {
+        return offsets.length;
+    }
+
+    /**
+     * @return Zeitstempel der ersten Periode in Epochensekunden
+     */
+    public long getStartTimestamp() {
+        return start;
+    }
+
+    /**
+     * @return Zeitstempel direkt nach der letzten Periode in Epochensekunden
+     */
+    public long getEndTimestamp() {
+        return this.getTimestamp(offsets.length);
+    }
+
+    /**
+     * @param period Periode
+     * @return Zeitstempel der Periode in Epochensekunden
+     */
+    public long getTimestamp(int period) {
+        return start + (long) period * SECONDS_PER_PERIOD;
+    }
+
+    /**
+     * @return Zeitstempel aller Perioden in Epochensekunden
+     */
+    public long[] getTimestamps() {
+        long[] timestamps = new long[offsets.length];
+        for (int period = 0; period < timestamps.length; period++) {
+            timestamps[period] = this.getTimestamp(period);
+        }
+        return timestamps;
+    }
+
+    /**
+     * @param epochSecond Zeitstempel in Epochensekunden
+     * @return Periode, die exakt mit dem Zeitstempel beginnt, sonst -1
+     */
+    public int indexOf(long epochSecond) {
+        long delta = epochSecond - start;
+        if (delta < 0 || delta % SECONDS_PER_PERIOD != 0 || delta / SECONDS_PER_PERIOD >= offsets.length) {
+            return -1;
+        }
+        return (int) (delta / SECONDS_PER_PERIOD);
+    }
+
+    /**
+     * @param epochSecond Zeitstempel in Epochensekunden
+     * @return erste Periode, die nicht vor dem Zeitstempel beginnt, {@link #getPeriods()} falls keine existiert
+     */
+    public int firstPeriodFrom(long epochSecond) {
+        long delta = epochSecond - start;
+        if (delta <= 0) {
+            return 0;
+        }
+        return (int) Math.min(offsets.length, (delta + SECONDS_PER_PERIOD - 1) / SECONDS_PER_PERIOD);
+    }
+
+    /**
+     * @param epochSecond Zeitstempel in Epochensekunden
+     * @return letzte Periode, die nicht nach dem Zeitstempel beginnt, -1 falls keine existiert
+     */
+    public int lastPeriodUntil(long epochSecond) {
+        long delta = epochSecond - start;
+        if (delta < 0) {
+            return -1;
+        }
+        return (int) Math.min(offsets.length - 1, delta / SECONDS_PER_PERIOD);
+    }
+
+    /**
+     * @param period Periode
+     * @return Verschiebung der Berliner Zeit gegenüber UTC in Sekunden
+     */
+    public int getOffsetSeconds(int period) {
+        return offsets[period];
+    }
+
+    /**
+     * @param period Periode
+     * @return Stunde der Periode seit Epochenbeginn, unabhängig von der Zeitzone
+     */
+    public long getEpochHour(int period) {
+        return Math.floorDiv(this.getTimestamp(period), SECONDS_PER_HOUR);
+    }
+
+    /**
+     * @param period Periode
+     * @return lokale Viertelstunde des Tages (0 = 00:00 bis 95 = 23:45)
+     */
+    public int getQuarterHourOfDay(int period) {
+        return (int) (Math.floorMod(this.getLocalSecond(period), SECONDS_PER_DAY) / SECONDS_PER_PERIOD);
+    }
+
+    /**
+     * @param period Periode
+     * @return lokaler Wochentag nach ISO-8601 (1 = Montag bis 7 = Sonntag)
+     */
+    public int getDayOfWeek(int period) {
+        // Der 01.01.1970 war ein Donnerstag
+        return (int) Math.floorMod(this.getLocalEpochDay(period) + 3, 7) + 1;
+    }
+
+    /**
+     * @param period Periode
+     * @return lokaler Monat (1 bis 12)
+     */
+    public int getMonth(int period) {
+        // Umrechnung des Tages in den Monat eines im März beginnenden Jahres, siehe java.time.LocalDate#ofEpochDay
+        long dayOfEra = Math.floorMod(this.getLocalEpochDay(period) + 719468, 146097);
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int marchBasedMonth = (int) ((5 * dayOfYear + 2) / 153);
+        return marchBasedMonth < 10 ? marchBasedMonth + 3 : marchBasedMonth - 9;
+    }
+
+    /**
+     * @param period Periode
+     * @return lokale Uhrzeit der Periode als Sekunden seit Epochenbeginn
+     */
+    private long getLocalSecond(int period) {
+        return this.getTimestamp(period) + offsets[period];
+    }
+
+    /**
+     * @param period Periode
+     * @return lokaler Tag der Periode seit Epochenbeginn
+     */
+    private long getLocalEpochDay(int period) {
+        return Math.floorDiv(this.getLocalSecond(period), SECONDS_PER_DAY);
+    }
+}
@@ -7,7 +7,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 /**
  * Programmstart
  */
-@SpringBootApplication(scanBasePackages = {"de.uol.vpp.load"})
+@SpringBootApplication(scanBasePackages = {"de.uol.vpp.load", "de.uol.vpp.common"})
 @EnableScheduling
 public class LoadApplication {
 
@@ -1,11 +1,15 @@
 package de.uol.vpp.load.application;
 
+import de.uol.vpp.common.timeseries.ForecastSeries;
 import de.uol.vpp.load.application.dto.LoadDTO;
 import de.uol.vpp.load.application.dto.LoadHouseholdDTO;
+import de.uol.vpp.load.application.dto.LoadTotalDTO;
 import de.uol.vpp.load.domain.aggregates.LoadAggregate;
 import de.uol.vpp.load.domain.entities.LoadHouseholdEntity;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -23,6 +27,17 @@ public class ApplicationDomainConverter {
         return dto;
     }
 
+    public List<LoadTotalDTO> toApplication(ForecastSeries totals) {
+        List<LoadTotalDTO> result = new ArrayList<>(totals.size());
+        for (int row = 0; row < totals.size(); row++) {
+            LoadTotalDTO dto = new LoadTotalDTO();
+            dto.setStartTimestamp(totals.getTimestamp(totals.getPeriod(row)));
+            dto.setLoadValue(totals.getValue(row));
+            result.add(dto);
+        }
+        return result;
+    }
+
     public LoadHouseholdDTO toApplication(LoadHouseholdEntity domainEntity) {
         LoadHouseholdDTO dto = new LoadHouseholdDTO();
         dto.setHouseholdId(domainEntity.getLoadHouseholdId().getId());
@@ -0,0 +1,12 @@
+package de.uol.vpp.load.application.dto;
+
+import lombok.Data;
+
+/**
+ * Datentransferobjekt für die Summe der Last aller Haushalte an einem Zeitstempel
+ */
+@Data
+public class LoadTotalDTO {
+    private Long startTimestamp;
+    private Double loadValue;
+}
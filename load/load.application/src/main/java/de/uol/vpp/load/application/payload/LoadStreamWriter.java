@@ -0,0 +1,92 @@
+package de.uol.vpp.load.application.payload;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import de.uol.vpp.load.domain.repositories.LoadRowHandler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Schreibt die zeilenweise gelesenen Haushaltslasten einer Maßnahmenabfrage direkt als JSON in die Antwort.
+ * Das Format entspricht einer {@link ApiResponse} mit einer Liste von
+ * {@link de.uol.vpp.load.application.dto.LoadDTO}, es befindet sich jedoch stets nur eine Zeile im Speicher.
+ */
+public class LoadStreamWriter implements LoadRowHandler {
+
+    private final JsonGenerator generator;
+    private final String actionRequestId;
+    private boolean started;
+    private boolean loadOpen;
+    private long currentTimestamp;
+
+    public LoadStreamWriter(JsonGenerator generator, String actionRequestId) {
+        this.generator = generator;
+        this.actionRequestId = actionRequestId;
+    }
+
+    @Override
+    public void handle(String virtualPowerPlantId, long startTimestamp, String householdId, int householdMemberAmount,
+                       double loadValue) {
+        try {
+            this.start();
+            if (!loadOpen || currentTimestamp != startTimestamp) {
+                this.closeLoad();
+                generator.writeStartObject();
+                generator.writeStringField("actionRequestId", actionRequestId);
+                generator.writeStringField("virtualPowerPlantId", virtualPowerPlantId);
+                generator.writeNumberField("startTimestamp", startTimestamp);
+                generator.writeArrayFieldStart("households");
+                loadOpen = true;
+                currentTimestamp = startTimestamp;
+            }
+            if (householdId != null) {
+                generator.writeStartObject();
+                generator.writeStringField("householdId", householdId);
+                generator.writeNumberField("startTimestamp", startTimestamp);
+                generator.writeNumberField("loadValue", loadValue);
+                generator.writeNumberField("householdMemberAmount", householdMemberAmount);
+                generator.writeEndObject();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Schließt die Antwort ab
+     *
+     * @throws IOException e
+     */
+    public void finish() throws IOException {
+        this.start();
+        this.closeLoad();
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    /**
+     * @return true, falls bereits Daten geschrieben wurden und die Antwort nicht mehr verändert werden kann
+     */
+    public boolean isStarted() {
+        return started;
+    }
+
+    private void start() throws IOException {
+        if (!started) {
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeBooleanField("returnBack", false);
+            generator.writeStringField("message", "Die Abfrage der Last war erfolgreich.");
+            generator.writeArrayFieldStart("data");
+            started = true;
+        }
+    }
+
+    private void closeLoad() throws IOException {
+        if (loadOpen) {
+            generator.writeEndArray();
+            generator.writeEndObject();
+            loadOpen = false;
+        }
+    }
+}
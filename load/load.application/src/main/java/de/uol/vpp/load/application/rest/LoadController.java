@@ -1,7 +1,10 @@
 package de.uol.vpp.load.application.rest;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import de.uol.vpp.load.application.ApplicationDomainConverter;
 import de.uol.vpp.load.application.payload.ApiResponse;
+import de.uol.vpp.load.application.payload.LoadStreamWriter;
 import de.uol.vpp.load.domain.exceptions.LoadServiceException;
 import de.uol.vpp.load.domain.services.ILoadService;
 import lombok.RequiredArgsConstructor;
@@ -14,7 +17,10 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.stream.Collectors;
 
 /**
@@ -28,6 +34,7 @@ public class LoadController {
 
     private final ILoadService loadService;
     private final ApplicationDomainConverter converter;
+    private final ObjectMapper objectMapper;
 
     @GetMapping(path = "/{actionRequestId}")
     public ResponseEntity<?> getAllLoadsByActionRequestId(@PathVariable String actionRequestId) {
@@ -50,4 +57,60 @@ public class LoadController {
         }
     }
 
+    /**
+     * Streamt die Lastenwerte einer Maßnahmenabfrage zeilenweise aus der Datenbank in die Antwort,
+     * der Speicherbedarf ist unabhängig vom Umfang der Prognose
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @return Antwort im selben Format wie {@link LoadController#getAllLoadsByActionRequestId(String)}, ohne
+     * Lasten NOT_FOUND
+     */
+    @GetMapping(path = "/{actionRequestId}", params = "stream=true")
+    public ResponseEntity<?> streamLoadsByActionRequestId(@PathVariable String actionRequestId) {
+        // Vor dem Öffnen der Antwort geprüft, damit eine unbekannte Maßnahmenabfrage wie gewohnt 404 erhält
+        try {
+            if (!loadService.existsLoadsByActionRequestId(actionRequestId)) {
+                return new ResponseEntity<>(new ApiResponse(
+                        false, false, String.format("Für die Maßnahmenabfrage %s existieren keine Lasten.", actionRequestId), null
+                ), HttpStatus.NOT_FOUND);
+            }
+        } catch (LoadServiceException e) {
+            return new ResponseEntity<>(new ApiResponse(
+                    false, false, e.getMessage(), null
+            ), HttpStatus.NOT_FOUND);
+        }
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                LoadStreamWriter writer = new LoadStreamWriter(generator, actionRequestId);
+                try {
+                    loadService.streamLoadsByActionRequestId(actionRequestId, writer);
+                    writer.finish();
+                } catch (LoadServiceException e) {
+                    if (writer.isStarted()) {
+                        // Die Antwort ist bereits teilweise gesendet und wird abgebrochen
+                        throw new IOException(e.getMessage(), e);
+                    }
+                    objectMapper.writeValue(generator, new ApiResponse(false, false, e.getMessage(), null));
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping(path = "/{actionRequestId}/totals")
+    public ResponseEntity<?> getLoadTotalsByActionRequestId(@PathVariable String actionRequestId) {
+        try {
+            return new ResponseEntity<>(
+                    new ApiResponse(true, false, "Die Abfrage der Gesamtlast war erfolgreich.",
+                            converter.toApplication(loadService.getLoadTotalsByActionRequestId(actionRequestId))
+                    ), HttpStatus.OK);
+        } catch (LoadServiceException e) {
+            return new ResponseEntity<>(new ApiResponse(
+                    false, false, e.getMessage(), null
+            ), HttpStatus.NOT_FOUND);
+        }
+    }
+
 }
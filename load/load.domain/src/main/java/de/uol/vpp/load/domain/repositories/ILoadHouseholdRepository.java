@@ -1,28 +1,26 @@
 package de.uol.vpp.load.domain.repositories;
 
-import de.uol.vpp.load.domain.aggregates.LoadAggregate;
-import de.uol.vpp.load.domain.entities.LoadHouseholdEntity;
+import de.uol.vpp.common.timeseries.ForecastSeries;
 import de.uol.vpp.load.domain.exceptions.LoadHouseholdRepositoryException;
+import de.uol.vpp.load.domain.valueobjects.LoadActionRequestIdVO;
+import de.uol.vpp.load.domain.valueobjects.LoadVirtualPowerPlantIdVO;
 
 /**
  * Schnittstellendefinition für das Haushaltslast-Repository in der Infrastrukturenschicht
  */
 public interface ILoadHouseholdRepository {
     /**
-     * Weist ein Domänen-Objekt zur Datenbank-Entität, da die Datenbank-Entität eine von der Datenbank erstellten Id besitzt.
+     * Persistiert die spaltenorientierte Lastprognose einer Maßnahmenabfrage als Lastaggregate samt ihrer
+     * Haushaltslasten gebündelt in einer Transaktion. Pro Periode der Zeitreihe entsteht ein Lastaggregat, pro Zeile
+     * eine Haushaltslast. Die Schlüssel der Lastaggregate (Maßnahmenabfrage und Zeitstempel) stehen vorab fest, sodass
+     * die Haushaltslasten ohne erneutes Laden der Lastaggregate zugewiesen werden.
      *
-     * @param loadHouseholdInternalId interne Datenbank Identifizierung
-     * @param load                    Last Aggregat
+     * @param actionRequestId     Id der Maßnahmenabfrage
+     * @param virtualPowerPlantId Id des VK
+     * @param loads               Lastprognose, die Entitäten sind die Haushalte
+     * @param memberAmounts       Anzahl der Haushaltsmitglieder, indexgleich zu den Entitäten der Lastprognose
      * @throws LoadHouseholdRepositoryException e
      */
-    void assignToInternal(Long loadHouseholdInternalId, LoadAggregate load) throws LoadHouseholdRepositoryException;
-
-    /**
-     * Persistiert eine Haushaltslast
-     *
-     * @param load Haushaltslast
-     * @return interne Datenbank Identifizierung
-     * @throws LoadHouseholdRepositoryException e
-     */
-    Long saveLoadHouseholdInternal(LoadHouseholdEntity load) throws LoadHouseholdRepositoryException;
+    void saveLoadHouseholds(LoadActionRequestIdVO actionRequestId, LoadVirtualPowerPlantIdVO virtualPowerPlantId,
+                            ForecastSeries loads, int[] memberAmounts) throws LoadHouseholdRepositoryException;
 }
@@ -1,5 +1,6 @@
 package de.uol.vpp.load.domain.repositories;
 
+import de.uol.vpp.common.timeseries.ForecastSeries;
 import de.uol.vpp.load.domain.aggregates.LoadAggregate;
 import de.uol.vpp.load.domain.exceptions.LoadRepositoryException;
 import de.uol.vpp.load.domain.valueobjects.LoadActionRequestIdVO;
@@ -19,6 +20,35 @@ public interface ILoadRepository {
      */
     List<LoadAggregate> getLoadsByActionRequestId(LoadActionRequestIdVO actionRequestId) throws LoadRepositoryException;
 
+    /**
+     * Prüft mit einer Zählabfrage, ob für eine Maßnahmenabfrage Lasten existieren
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @return true, falls mindestens ein Lastaggregat existiert
+     * @throws LoadRepositoryException e
+     */
+    boolean existsLoads(LoadActionRequestIdVO actionRequestId) throws LoadRepositoryException;
+
+    /**
+     * Liest alle Haushaltslasten einer Maßnahmenabfrage mit einer einzigen, sortierten Abfrage und übergibt diese
+     * zeilenweise, ohne die Lastaggregate im Speicher aufzubauen
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @param handler         Empfänger der Haushaltslasten
+     * @throws LoadRepositoryException e
+     */
+    void streamLoads(LoadActionRequestIdVO actionRequestId, LoadRowHandler handler) throws LoadRepositoryException;
+
+    /**
+     * Holt die Summe der Last aller Haushalte pro Zeitstempel einer Maßnahmenabfrage,
+     * die Aggregation findet in der Datenbank statt
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @return Zeitreihe mit einer Zeile pro Zeitstempel, die Entität ist die Maßnahmenabfrage
+     * @throws LoadRepositoryException e
+     */
+    ForecastSeries getLoadTotals(LoadActionRequestIdVO actionRequestId) throws LoadRepositoryException;
+
     /**
      * Persistiert ein Lastaggregat
      *
@@ -0,0 +1,18 @@
+package de.uol.vpp.load.domain.repositories;
+
+/**
+ * Empfängt die Haushaltslasten einer Maßnahmenabfrage zeilenweise, aufsteigend sortiert nach Zeitstempel.
+ * Siehe {@link ILoadRepository#streamLoads}
+ */
+@FunctionalInterface
+public interface LoadRowHandler {
+    /**
+     * @param virtualPowerPlantId   Id des VK
+     * @param startTimestamp        Zeitstempel des Lastaggregats in Epochensekunden
+     * @param householdId           Id des Haushalts, null falls das Lastaggregat keine Haushaltslasten besitzt
+     * @param householdMemberAmount Anzahl der Haushaltsmitglieder
+     * @param loadValue             Last des Haushalts
+     */
+    void handle(String virtualPowerPlantId, long startTimestamp, String householdId, int householdMemberAmount,
+                double loadValue);
+}
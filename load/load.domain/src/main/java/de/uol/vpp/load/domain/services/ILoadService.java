@@ -1,7 +1,9 @@
 package de.uol.vpp.load.domain.services;
 
+import de.uol.vpp.common.timeseries.ForecastSeries;
 import de.uol.vpp.load.domain.aggregates.LoadAggregate;
 import de.uol.vpp.load.domain.exceptions.LoadServiceException;
+import de.uol.vpp.load.domain.repositories.LoadRowHandler;
 
 import java.util.List;
 
@@ -17,4 +19,31 @@ public interface ILoadService {
      * @throws LoadServiceException e
      */
     List<LoadAggregate> getLoadsByActionRequestId(String actionRequestId) throws LoadServiceException;
+
+    /**
+     * Prüft, ob für eine Maßnahmenabfrage Lasten existieren
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @return true, falls Lasten existieren
+     * @throws LoadServiceException e
+     */
+    boolean existsLoadsByActionRequestId(String actionRequestId) throws LoadServiceException;
+
+    /**
+     * Geschäftslogik für das zeilenweise Lesen der Haushaltslasten einer Maßnahmenabfrage
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @param handler         Empfänger der Haushaltslasten
+     * @throws LoadServiceException e
+     */
+    void streamLoadsByActionRequestId(String actionRequestId, LoadRowHandler handler) throws LoadServiceException;
+
+    /**
+     * Geschäftslogik für das Holen der Summe der Last aller Haushalte pro Zeitstempel einer Maßnahmenabfrage
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @return Zeitreihe mit einer Zeile pro Zeitstempel
+     * @throws LoadServiceException e
+     */
+    ForecastSeries getLoadTotalsByActionRequestId(String actionRequestId) throws LoadServiceException;
 }
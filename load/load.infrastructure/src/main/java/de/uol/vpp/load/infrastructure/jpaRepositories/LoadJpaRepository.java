@@ -16,4 +16,12 @@ public interface LoadJpaRepository extends JpaRepository<ELoad, ELoad.ActionRequ
      * @return Liste der Lastaggregate
      */
     List<ELoad> findAllByActionRequestTimestamp_ActionRequestId(String actionRequestId);
+
+    /**
+     * Zählt die Lastaggregate einer Maßnahmenabfrage
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @return Anzahl der Lastaggregate
+     */
+    long countByActionRequestTimestamp_ActionRequestId(String actionRequestId);
 }
@@ -28,7 +28,7 @@ public class RabbitMQConsumer {
     public void receivedActionRequest(ActionRequestMessage message) {
         log.info("Maßnahmenabfrage wurde erstellt und entgegengenommen: Maßnahmenabfrage {}, VK {}", message.getActionRequestId(), message.getVppId());
         log.info("Beginne mit der Erstellung der Lasten.");
-        loadScheduler.createLoad(message.getActionRequestId(), message.getVppId());
+        loadScheduler.createLoad(message.getActionRequestId(), message.getVppId(), message.getVppTopologyVersion());
     }
 
 
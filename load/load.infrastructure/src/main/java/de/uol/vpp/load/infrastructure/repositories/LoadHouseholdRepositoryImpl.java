@@ -1,18 +1,20 @@
 package de.uol.vpp.load.infrastructure.repositories;
 
-import de.uol.vpp.load.domain.aggregates.LoadAggregate;
-import de.uol.vpp.load.domain.entities.LoadHouseholdEntity;
+import de.uol.vpp.common.timeseries.ForecastSeries;
 import de.uol.vpp.load.domain.exceptions.LoadHouseholdRepositoryException;
 import de.uol.vpp.load.domain.repositories.ILoadHouseholdRepository;
-import de.uol.vpp.load.infrastructure.InfrastructureDomainConverter;
-import de.uol.vpp.load.infrastructure.entities.ELoad;
-import de.uol.vpp.load.infrastructure.entities.ELoadHousehold;
-import de.uol.vpp.load.infrastructure.jpaRepositories.LoadHouseholdJpaRepository;
-import de.uol.vpp.load.infrastructure.jpaRepositories.LoadJpaRepository;
+import de.uol.vpp.load.domain.valueobjects.LoadActionRequestIdVO;
+import de.uol.vpp.load.domain.valueobjects.LoadVirtualPowerPlantIdVO;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 
 /**
  * Implementierung der Haushaltslast-Repository Schnittstellendefinition
@@ -22,43 +24,82 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class LoadHouseholdRepositoryImpl implements ILoadHouseholdRepository {
 
-    private final LoadHouseholdJpaRepository jpaRepository;
-    private final LoadJpaRepository loadJpaRepository;
-    private final InfrastructureDomainConverter converter;
+    /**
+     * Anzahl der Datensätze pro JDBC-Batch
+     */
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_LOAD =
+            "INSERT INTO eload (action_request_id, timestamp, virtual_power_plant_id) VALUES (?, ?, ?)";
+
+    private static final String INSERT_LOAD_HOUSEHOLD =
+            "INSERT INTO eload_household (household_id, household_member_amount, household_load, timestamp, " +
+                    "eload_action_request_id, eload_timestamp) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
-    public void assignToInternal(Long loadHouseholdInternalId, LoadAggregate load) throws LoadHouseholdRepositoryException {
-        Optional<ELoad> loadJpa = loadJpaRepository.findById(new ELoad.ActionRequestTimestamp(load.getLoadActionRequestId().getId(),
-                load.getLoadStartTimestamp().getTimestamp()));
-        if (loadJpa.isPresent()) {
-            Optional<ELoadHousehold> loadHouseholdJpa = jpaRepository.findById(loadHouseholdInternalId);
-            if (loadHouseholdJpa.isPresent()) {
-                if (loadHouseholdJpa.get().getLoad() == null) {
-                    loadHouseholdJpa.get().setLoad(loadJpa.get());
-                    jpaRepository.save(loadHouseholdJpa.get());
-                    loadJpa.get().getHouseholds().add(loadHouseholdJpa.get());
-                    loadJpaRepository.save(loadJpa.get());
-                } else {
-                    throw new LoadHouseholdRepositoryException(
-                            String.format("Die Haushaltslast konnte dem Lastaggregat %s nicht zugewiesen werden, da die Haushaltslast bereits zugewiesen wurde.", load.getLoadActionRequestId().getId())
-                    );
-                }
-            } else {
-                throw new LoadHouseholdRepositoryException(
-                        String.format("Die Haushaltslast %s (Zeistempel: %s) konnte nicht gefunden werden.", load.getLoadActionRequestId(), load.getLoadStartTimestamp().getTimestamp().toEpochSecond())
-                );
+    @Transactional(rollbackFor = LoadHouseholdRepositoryException.class)
+    public void saveLoadHouseholds(LoadActionRequestIdVO actionRequestId, LoadVirtualPowerPlantIdVO virtualPowerPlantId,
+                                   ForecastSeries loads, int[] memberAmounts) throws LoadHouseholdRepositoryException {
+        try {
+            // Lastaggregate zuerst, da die Haushaltslasten diese über den vorab bekannten Schlüssel referenzieren
+            Timestamp[] timestamps = new Timestamp[loads.getPeriodCount()];
+            for (int period = 0; period < timestamps.length; period++) {
+                timestamps[period] = new Timestamp(loads.getTimestamp(period) * 1000);
             }
-        } else {
-            throw new LoadHouseholdRepositoryException(
-                    String.format("Die Haushaltslast konnte dem Lastaggregat %s nicht zugewiesen werden, da das Lastaggregat nicht gefunden wurde.", load.getLoadActionRequestId().getId())
-            );
+            this.batchUpdate(INSERT_LOAD, timestamps.length, (ps, period) -> {
+                ps.setString(1, actionRequestId.getId());
+                ps.setTimestamp(2, timestamps[period]);
+                ps.setString(3, virtualPowerPlantId.getId());
+            });
+
+            this.batchUpdate(INSERT_LOAD_HOUSEHOLD, loads.size(), (ps, row) -> {
+                int household = loads.getEntity(row);
+                Timestamp timestamp = timestamps[loads.getPeriod(row)];
+                ps.setString(1, loads.getEntityId(household));
+                ps.setInt(2, memberAmounts[household]);
+                ps.setDouble(3, loads.getValue(row));
+                ps.setTimestamp(4, timestamp);
+                ps.setString(5, actionRequestId.getId());
+                ps.setTimestamp(6, timestamp);
+            });
+        } catch (DataAccessException e) {
+            throw new LoadHouseholdRepositoryException("Die gebündelte Persistierung der Lastprognose ist fehlgeschlagen.", e);
         }
     }
 
-    @Override
-    public Long saveLoadHouseholdInternal(LoadHouseholdEntity load) throws LoadHouseholdRepositoryException {
-        ELoadHousehold jpaEntity = converter.toInfrastructure(load);
-        ELoadHousehold saved = jpaRepository.save(jpaEntity);
-        return saved.getInternalId();
+    /**
+     * Führt eine Anweisung für die Zeilen 0 bis rows - 1 in JDBC-Batches von {@link LoadHouseholdRepositoryImpl#BATCH_SIZE}
+     * Datensätzen aus, ohne die Zeilen als Objekte zu erzeugen
+     *
+     * @param sql    Anweisung
+     * @param rows   Anzahl der Zeilen
+     * @param setter setzt die Parameter einer Zeile
+     */
+    private void batchUpdate(String sql, int rows, RowSetter setter) {
+        for (int offset = 0; offset < rows; offset += BATCH_SIZE) {
+            int start = offset;
+            int batchSize = Math.min(BATCH_SIZE, rows - offset);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    setter.setValues(ps, start + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batchSize;
+                }
+            });
+        }
+    }
+
+    /**
+     * Setzt die Parameter einer Zeile der Zeitreihe
+     */
+    @FunctionalInterface
+    private interface RowSetter {
+        void setValues(PreparedStatement ps, int row) throws SQLException;
     }
 }
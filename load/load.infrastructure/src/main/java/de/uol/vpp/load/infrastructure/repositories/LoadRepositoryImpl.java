@@ -1,16 +1,24 @@
 package de.uol.vpp.load.infrastructure.repositories;
 
+import de.uol.vpp.common.timeseries.ForecastSeries;
 import de.uol.vpp.load.domain.aggregates.LoadAggregate;
 import de.uol.vpp.load.domain.exceptions.LoadException;
 import de.uol.vpp.load.domain.exceptions.LoadRepositoryException;
 import de.uol.vpp.load.domain.repositories.ILoadRepository;
+import de.uol.vpp.load.domain.repositories.LoadRowHandler;
 import de.uol.vpp.load.domain.valueobjects.LoadActionRequestIdVO;
 import de.uol.vpp.load.infrastructure.InfrastructureDomainConverter;
 import de.uol.vpp.load.infrastructure.entities.ELoad;
 import de.uol.vpp.load.infrastructure.jpaRepositories.LoadJpaRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -22,8 +30,24 @@ import java.util.List;
 @RequiredArgsConstructor
 public class LoadRepositoryImpl implements ILoadRepository {
 
+    private static final String SELECT_LOAD_TOTALS =
+            "SELECT timestamp, SUM(household_load) AS load_sum FROM eload_household " +
+                    "WHERE eload_action_request_id = ? GROUP BY timestamp ORDER BY timestamp";
+
+    /**
+     * Anzahl der Zeilen, die der Treiber beim zeilenweisen Lesen gleichzeitig im Speicher hält
+     */
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    private static final String SELECT_LOAD_HOUSEHOLDS =
+            "SELECT l.virtual_power_plant_id, l.timestamp, h.household_id, h.household_member_amount, h.household_load " +
+                    "FROM eload l LEFT JOIN eload_household h " +
+                    "ON h.eload_action_request_id = l.action_request_id AND h.eload_timestamp = l.timestamp " +
+                    "WHERE l.action_request_id = ? ORDER BY l.timestamp, h.internal_id";
+
     private final LoadJpaRepository loadJpaRepository;
     private final InfrastructureDomainConverter converter;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     public List<LoadAggregate> getLoadsByActionRequestId(LoadActionRequestIdVO actionRequestId) throws LoadRepositoryException {
@@ -39,6 +63,59 @@ public class LoadRepositoryImpl implements ILoadRepository {
         }
     }
 
+    @Override
+    public boolean existsLoads(LoadActionRequestIdVO actionRequestId) throws LoadRepositoryException {
+        try {
+            return loadJpaRepository.countByActionRequestTimestamp_ActionRequestId(actionRequestId.getId()) > 0;
+        } catch (DataAccessException e) {
+            throw new LoadRepositoryException("Die Prüfung der Lastaggregate ist fehlgeschlagen.", e);
+        }
+    }
+
+    @Override
+    public void streamLoads(LoadActionRequestIdVO actionRequestId, LoadRowHandler handler) throws LoadRepositoryException {
+        try {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(SELECT_LOAD_HOUSEHOLDS,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(STREAM_FETCH_SIZE);
+                ps.setString(1, actionRequestId.getId());
+                return ps;
+            }, (RowCallbackHandler) rs -> handler.handle(
+                    rs.getString("virtual_power_plant_id"),
+                    rs.getTimestamp("timestamp").getTime() / 1000,
+                    rs.getString("household_id"),
+                    rs.getInt("household_member_amount"),
+                    rs.getDouble("household_load")));
+        } catch (DataAccessException e) {
+            throw new LoadRepositoryException("Das Lesen der Haushaltslasten ist fehlgeschlagen.", e);
+        }
+    }
+
+    @Override
+    public ForecastSeries getLoadTotals(LoadActionRequestIdVO actionRequestId) throws LoadRepositoryException {
+        try {
+            List<Timestamp> timestamps = new ArrayList<>();
+            List<Double> sums = new ArrayList<>();
+            jdbcTemplate.query(SELECT_LOAD_TOTALS, rs -> {
+                timestamps.add(rs.getTimestamp("timestamp"));
+                sums.add(rs.getDouble("load_sum"));
+            }, actionRequestId.getId());
+
+            long[] epochSeconds = new long[timestamps.size()];
+            for (int period = 0; period < epochSeconds.length; period++) {
+                epochSeconds[period] = timestamps.get(period).getTime() / 1000;
+            }
+            ForecastSeries.Builder series = ForecastSeries.builder(epochSeconds, false);
+            int entity = series.addEntity(actionRequestId.getId(), null);
+            for (int period = 0; period < epochSeconds.length; period++) {
+                series.add(period, entity, sums.get(period), sums.get(period));
+            }
+            return series.build();
+        } catch (DataAccessException e) {
+            throw new LoadRepositoryException("Die Abfrage der Gesamtlast ist fehlgeschlagen.", e);
+        }
+    }
 
     @Override
     public void saveLoad(LoadAggregate load) throws LoadRepositoryException {
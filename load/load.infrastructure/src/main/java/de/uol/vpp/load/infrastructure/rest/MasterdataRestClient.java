@@ -1,12 +1,21 @@
 package de.uol.vpp.load.infrastructure.rest;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import de.uol.vpp.common.rest.RestResponse;
+import de.uol.vpp.common.rest.TopologyCache;
+import de.uol.vpp.load.infrastructure.rest.dto.HouseholdSnapshot;
 import de.uol.vpp.load.infrastructure.rest.exceptions.MasterdataRestClientException;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientException;
@@ -14,6 +23,7 @@ import org.springframework.web.client.RestTemplate;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * REST-Client um Daten aus dem Daten-Service zu beziehen
@@ -22,96 +32,98 @@ import java.util.List;
 @Log4j2
 public class MasterdataRestClient {
 
+    private final RestTemplate restTemplate;
+    private final ObjectReader responseReader;
+    private final TopologyCache<HouseholdSnapshot> topologyCache;
+
     @Value("${vpp.masterdata.api}")
     private String MASTERDATA_URL;
 
-    /**
-     * Prüft, ob angefragtes VK veröffentlicht ist
-     *
-     * @param vppId Id des VK
-     * @return true/false
-     * @throws MasterdataRestClientException e
-     */
-    public boolean isActiveVpp(String vppId) throws MasterdataRestClientException {
-        try {
-            RestTemplate restTemplate = new RestTemplate();
-            String fooResourceUrl
-                    = MASTERDATA_URL + "/vpp/" + vppId;
-            ResponseEntity<String> response
-                    = restTemplate.getForEntity(fooResourceUrl, String.class);
-            if (response != null && response.getBody() != null) {
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(response.getBody());
-                if (root.has("success") && root.get("success").booleanValue() && root.has("data")) {
-                    JsonNode vpp = root.get("data");
-                    return vpp.has("published") && vpp.get("published").booleanValue();
-                }
-
-            }
-        } catch (RestClientException | JsonProcessingException e) {
-            throw new MasterdataRestClientException("Die Prüfung des Veröffentlichtenstatus mittels des Datenservices ist fehlgeschlagen.", e);
-        }
-        throw new MasterdataRestClientException("Die Prüfung des Veröffentlichtenstatus mittels des Datenservices ist fehlgeschlagen.");
+    public MasterdataRestClient(RestTemplate restTemplate, ObjectMapper objectMapper,
+                                TopologyCache<HouseholdSnapshot> topologyCache) {
+        this.restTemplate = restTemplate;
+        this.responseReader = objectMapper.readerFor(new TypeReference<RestResponse<JsonNode>>() {
+        });
+        this.topologyCache = topologyCache;
     }
 
     /**
-     * Hole alle Haushalt Ids durch Id des VK
+     * Hole alle Haushalte inkl. Anzahl der Haushaltsmitglieder eines veröffentlichten VK mit einer einzigen Anfrage
+     * an die Topologie des VK. Ist die Topologie in der angegebenen Version bereits im {@link TopologyCache}
+     * vorhanden, wird der Daten-Service nicht angefragt. Andernfalls wird die Topologie mit dem ETag des
+     * zwischengespeicherten Eintrags bedingt angefragt.
      *
      * @param virtualPowerPlantId Id des VK
-     * @return Liste der Haushalt Ids
+     * @param topologyVersion     Version der Topologie aus der Maßnahmenabfrage (optional)
+     * @return Schnappschuss der Haushalte des VK, leer falls das VK nicht veröffentlicht ist
      * @throws MasterdataRestClientException e
      */
-    public List<String> getAllHouseholdsByVppId(String virtualPowerPlantId) throws MasterdataRestClientException {
+    public Optional<HouseholdSnapshot> getPublishedHouseholdSnapshotByVppId(String virtualPowerPlantId, Long topologyVersion)
+            throws MasterdataRestClientException {
+        if (topologyVersion != null) {
+            Optional<HouseholdSnapshot> cached = topologyCache.get(virtualPowerPlantId, topologyVersion);
+            if (cached.isPresent()) {
+                return cached;
+            }
+        }
         try {
-            List<String> ids = new ArrayList<>();
-            RestTemplate restTemplate = new RestTemplate();
             String fooResourceUrl
-                    = MASTERDATA_URL + "/household/by/vpp/";
+                    = MASTERDATA_URL + "/vpp/" + virtualPowerPlantId + "/topology";
+            HttpHeaders headers = new HttpHeaders();
+            topologyCache.getETag(virtualPowerPlantId).ifPresent(headers::setIfNoneMatch);
             ResponseEntity<String> response
-                    = restTemplate.getForEntity(fooResourceUrl + virtualPowerPlantId, String.class);
-            if (response != null && response.getBody() != null) {
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(response.getBody());
-                if (root.has("success") && root.get("success").booleanValue() && root.get("data").isArray()) {
-                    ArrayNode array = (ArrayNode) root.get("data");
-                    array.forEach((node) -> ids.add(node.get("householdId").asText()));
+                    = restTemplate.exchange(fooResourceUrl, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+            if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                Optional<HouseholdSnapshot> cached = topologyCache.revalidated(virtualPowerPlantId);
+                if (cached.isPresent()) {
+                    return cached;
+                }
+                // Eintrag wurde zwischenzeitlich verdrängt
+                response = restTemplate.getForEntity(fooResourceUrl, String.class);
+            }
+            if (response.getBody() != null) {
+                RestResponse<JsonNode> root = responseReader.readValue(response.getBody());
+                if (root.hasData()) {
+                    JsonNode topology = root.getData();
+                    if (!topology.has("published") || !topology.get("published").booleanValue()) {
+                        topologyCache.evict(virtualPowerPlantId);
+                        return Optional.empty();
+                    }
+                    HouseholdSnapshot snapshot = this.toHouseholdSnapshot(topology);
+                    topologyCache.put(virtualPowerPlantId, topology.get("topologyVersion").longValue(),
+                            response.getHeaders().getETag(), snapshot);
+                    return Optional.of(snapshot);
                 }
-
             }
-            return ids;
         } catch (RestClientException | JsonProcessingException e) {
             throw new MasterdataRestClientException("Die Anfrage der Haushalte aus dem Datenservice ist fehlgeschlagen.", e);
         }
+        throw new MasterdataRestClientException("Die Anfrage der Haushalte aus dem Datenservice ist fehlgeschlagen.");
     }
 
     /**
-     * Hole Anzahl der Haushaltsmitglieder aus aktuellem Haushalt
+     * Erstellt den Schnappschuss der Haushalte aus der Topologie des VK
      *
-     * @param householdId Id des Haushalts
-     * @return Anzahl der Haushaltsmitglieder
-     * @throws MasterdataRestClientException e
+     * @param topology Topologie des VK
+     * @return Schnappschuss der Haushalte des VK
      */
-    public int getHouseholdMemberAmountById(String householdId) throws MasterdataRestClientException {
-        try {
-            RestTemplate restTemplate = new RestTemplate();
-            String fooResourceUrl
-                    = MASTERDATA_URL + "/household/";
-            ResponseEntity<String> response
-                    = restTemplate.getForEntity(fooResourceUrl + householdId, String.class);
-            if (response != null && response.getBody() != null) {
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(response.getBody());
-                if (root.has("success") && root.get("success").booleanValue() && !root.get("data").isArray()) {
-                    JsonNode node = root.get("data");
-                    return node.get("householdMemberAmount").intValue();
-                }
-
-            }
-        } catch (RestClientException | JsonProcessingException e) {
-            throw new MasterdataRestClientException("Die Abfrage der Haushaltsmitglieder aus dem Datenservice ist fehlgeschlagen.", e);
+    private HouseholdSnapshot toHouseholdSnapshot(JsonNode topology) {
+        List<String> ids = new ArrayList<>();
+        List<Integer> memberAmounts = new ArrayList<>();
+        List<String> loadProfiles = new ArrayList<>();
+        List<Double> annualConsumptions = new ArrayList<>();
+        if (topology.has("households") && topology.get("households").isArray()) {
+            ArrayNode array = (ArrayNode) topology.get("households");
+            array.forEach((node) -> {
+                ids.add(node.get("householdId").asText());
+                memberAmounts.add(node.get("householdMemberAmount").intValue());
+                // Verbrauchertyp und Jahresverbrauch sind optional
+                loadProfiles.add(node.hasNonNull("householdLoadProfile") ?
+                        node.get("householdLoadProfile").asText() : null);
+                annualConsumptions.add(node.hasNonNull("householdAnnualConsumption") ?
+                        node.get("householdAnnualConsumption").doubleValue() : 0.);
+            });
         }
-        throw new MasterdataRestClientException("Die Abfrage der Haushaltsmitglieder aus dem Datenservice ist fehlgeschlagen.");
+        return new HouseholdSnapshot(ids, memberAmounts, loadProfiles, annualConsumptions);
     }
-
-
 }
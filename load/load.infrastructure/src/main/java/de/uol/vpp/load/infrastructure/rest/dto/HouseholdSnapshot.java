@@ -0,0 +1,82 @@
+package de.uol.vpp.load.infrastructure.rest.dto;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unveränderlicher Schnappschuss der Haushalte eines VK zu Beginn einer Lastprognose.
+ * Die Haushalt Ids, die Anzahl der Haushaltsmitglieder, das Standardlastprofil (Verbrauchertyp) und der
+ * Jahresverbrauch liegen indexgleich in Arrays vor, sodass die Prognose ohne weitere Anfragen an den
+ * Daten-Service berechnet werden kann.
+ */
+public final class HouseholdSnapshot {
+
+    private final String[] householdIds;
+    private final int[] memberAmounts;
+    private final String[] loadProfiles;
+    private final double[] annualConsumptions;
+
+    /**
+     * @param householdIds       Ids der Haushalte
+     * @param memberAmounts      Anzahl der Haushaltsmitglieder
+     * @param loadProfiles       Name des Standardlastprofils (null = Standardprofil)
+     * @param annualConsumptions Jahresverbrauch in kWh/a (0 = Berechnung über die Haushaltsmitglieder)
+     */
+    public HouseholdSnapshot(List<String> householdIds, List<Integer> memberAmounts,
+                             List<String> loadProfiles, List<Double> annualConsumptions) {
+        if (householdIds.size() != memberAmounts.size() || householdIds.size() != loadProfiles.size()
+                || householdIds.size() != annualConsumptions.size()) {
+            throw new IllegalArgumentException("Die Anzahl der Haushalte und Haushaltsmitglieder stimmt nicht überein.");
+        }
+        this.householdIds = householdIds.toArray(new String[0]);
+        this.memberAmounts = memberAmounts.stream().mapToInt(Integer::intValue).toArray();
+        this.loadProfiles = loadProfiles.toArray(new String[0]);
+        this.annualConsumptions = annualConsumptions.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    /**
+     * @return Anzahl der Haushalte im Schnappschuss
+     */
+    public int size() {
+        return householdIds.length;
+    }
+
+    /**
+     * @param index Index des Haushalts
+     * @return Id des Haushalts
+     */
+    public String getHouseholdId(int index) {
+        return householdIds[index];
+    }
+
+    /**
+     * @param index Index des Haushalts
+     * @return Anzahl der Haushaltsmitglieder
+     */
+    public int getMemberAmount(int index) {
+        return memberAmounts[index];
+    }
+
+    /**
+     * @param index Index des Haushalts
+     * @return Name des Standardlastprofils oder null
+     */
+    public String getLoadProfile(int index) {
+        return loadProfiles[index];
+    }
+
+    /**
+     * @param index Index des Haushalts
+     * @return Jahresverbrauch in kWh/a oder 0
+     */
+    public double getAnnualConsumption(int index) {
+        return annualConsumptions[index];
+    }
+
+    /**
+     * @return Kopie der Haushaltsmitglieder aller Haushalte
+     */
+    public int[] getMemberAmounts() {
+        return Arrays.copyOf(memberAmounts, memberAmounts.length);
+    }
+}
@@ -0,0 +1,77 @@
+package de.uol.vpp.load.infrastructure.scheduler;
+
+import de.uol.vpp.common.timeseries.QuarterHourTimeAxis;
+import de.uol.vpp.load.infrastructure.rest.dto.HouseholdSnapshot;
+import de.uol.vpp.load.infrastructure.slp.StandardLoadProfileRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Berechnet die Lastwerte aller Haushalte für alle Prognoseperioden auf Basis eines
+ * {@link HouseholdSnapshot}. Die Berechnung findet vollständig im Speicher statt und
+ * wird über die Prognoseperioden auf alle verfügbaren Kerne verteilt.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoadForecastEngine {
+
+    /**
+     * Bezugsgröße der Standardlastprofile in kWh/a
+     */
+    private static final double REFERENCE_CONSUMPTION = 1000.;
+
+    private final StandardLoadProfileRegistry profileRegistry;
+
+    /**
+     * Wertet jedes im Schnappschuss verwendete Standardlastprofil einmalig für den gesamten Horizont aus und
+     * multipliziert den Wert jeder Periode mit dem Skalierungsfaktor jedes Haushalts. Der Skalierungsfaktor ist
+     * der Jahresverbrauch bezogen auf 1.000 kWh/a oder, falls kein Jahresverbrauch vorliegt, die Anzahl der
+     * Haushaltsmitglieder.
+     *
+     * @param axis     Zeitachse der Prognose
+     * @param snapshot Schnappschuss der Haushalte des VK
+     * @return Lastwerte [Periode][Haushalt] in Watt
+     */
+    public double[][] forecast(QuarterHourTimeAxis axis, HouseholdSnapshot snapshot) {
+        int periods = axis.getPeriods();
+        // Haushalte nach Standardlastprofil gruppieren
+        Map<String, List<Integer>> householdsByProfile = new LinkedHashMap<>();
+        double[] scales = new double[snapshot.size()];
+        for (int household = 0; household < snapshot.size(); household++) {
+            String profileName = profileRegistry.getProfile(snapshot.getLoadProfile(household)).getName();
+            householdsByProfile.computeIfAbsent(profileName, key -> new ArrayList<>()).add(household);
+            scales[household] = snapshot.getAnnualConsumption(household) > 0 ?
+                    snapshot.getAnnualConsumption(household) / REFERENCE_CONSUMPTION :
+                    snapshot.getMemberAmount(household);
+        }
+
+        // Profilwerte pro Gruppe für den gesamten Horizont
+        double[][] horizons = new double[householdsByProfile.size()][];
+        int[][] groups = new int[householdsByProfile.size()][];
+        int group = 0;
+        for (Map.Entry<String, List<Integer>> entry : householdsByProfile.entrySet()) {
+            horizons[group] = profileRegistry.getProfile(entry.getKey()).evaluate(axis);
+            groups[group] = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+            group++;
+        }
+
+        double[][] values = new double[periods][snapshot.size()];
+        IntStream.range(0, periods).parallel().forEach(period -> {
+            double[] row = values[period];
+            for (int g = 0; g < groups.length; g++) {
+                double profileValue = horizons[g][period];
+                int[] households = groups[g];
+                for (int household : households) {
+                    row[household] = profileValue * scales[household];
+                }
+            }
+        });
+        return values;
+    }
+}
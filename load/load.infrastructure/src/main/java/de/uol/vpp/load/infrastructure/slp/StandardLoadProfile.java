@@ -0,0 +1,137 @@
+package de.uol.vpp.load.infrastructure.slp;
+
+import de.uol.vpp.common.timeseries.QuarterHourTimeAxis;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Vorkompiliertes Standardlastprofil des BDEW.
+ * Die Viertelstundenwerte in Watt (bezogen auf einen Jahresverbrauch von 1.000 kWh/a) liegen in einer primitiven
+ * Tabelle [Jahreszeit][Tagtyp][Viertelstunde] vor, sodass ein Wert ohne Objekterzeugung in O(1) gelesen werden kann.
+ */
+public final class StandardLoadProfile {
+
+    public static final int SEASONS = 3;
+    public static final int DAY_TYPES = 3;
+    public static final int QUARTER_HOURS = 24 * 4;
+
+    public static final int WINTER = 0;
+    public static final int SUMMER = 1;
+    public static final int TRANSITION = 2;
+
+    public static final int SATURDAY = 0;
+    public static final int SUNDAY = 1;
+    public static final int WORKDAY = 2;
+
+    /**
+     * Jahreszeit pro Monat (Januar = Index 0)
+     */
+    private static final int[] SEASON_BY_MONTH = {
+            WINTER, WINTER, TRANSITION, TRANSITION, SUMMER, SUMMER,
+            SUMMER, SUMMER, TRANSITION, TRANSITION, WINTER, WINTER
+    };
+
+    /**
+     * Tagtyp pro Wochentag (Montag = Index 0)
+     */
+    private static final int[] DAY_TYPE_BY_DAY_OF_WEEK = {
+            WORKDAY, WORKDAY, WORKDAY, WORKDAY, WORKDAY, SATURDAY, SUNDAY
+    };
+
+    private final String name;
+    private final double[][][] values;
+
+    StandardLoadProfile(String name, double[][][] values) {
+        if (values.length != SEASONS || values[0].length != DAY_TYPES || values[0][0].length != QUARTER_HOURS) {
+            throw new IllegalArgumentException(String.format("Das Standardlastprofil %s besitzt ungültige Dimensionen.", name));
+        }
+        this.name = name;
+        this.values = values;
+    }
+
+    /**
+     * @return Name des Standardlastprofils (z.B. H0)
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gibt den Wert des Standardlastprofils zurück
+     *
+     * @param season      Jahreszeit
+     * @param dayType     Tagtyp
+     * @param quarterHour Viertelstunde des Tages (0 = 00:00 bis 95 = 23:45)
+     * @return Last in Watt
+     */
+    public double getValue(int season, int dayType, int quarterHour) {
+        return values[season][dayType][quarterHour];
+    }
+
+    /**
+     * Gibt den Wert des Standardlastprofils für einen Zeitstempel zurück
+     *
+     * @param date Zeitstempel
+     * @return Last in Watt
+     */
+    public double getValue(ZonedDateTime date) {
+        return values[seasonOf(date.getMonthValue())]
+                [dayTypeOf(date.getDayOfWeek().getValue())]
+                [quarterHourOf(date.getHour(), date.getMinute())];
+    }
+
+    /**
+     * Wertet das Standardlastprofil für einen gesamten Prognosehorizont in viertelstündigen Schritten aus.
+     * Jahreszeit, Tagtyp und Viertelstunde werden den lokalen Kalenderfeldern der Zeitachse entnommen.
+     *
+     * @param axis Zeitachse des Prognosehorizonts
+     * @return Last in Watt pro Periode
+     */
+    public double[] evaluate(QuarterHourTimeAxis axis) {
+        double[] horizon = new double[axis.getPeriods()];
+        for (int period = 0; period < horizon.length; period++) {
+            horizon[period] = values[seasonOf(axis.getMonth(period))]
+                    [dayTypeOf(axis.getDayOfWeek(period))]
+                    [axis.getQuarterHourOfDay(period)];
+        }
+        return horizon;
+    }
+
+    /**
+     * @param month Monat (1 bis 12)
+     * @return Jahreszeit des Standardlastprofils
+     */
+    public static int seasonOf(int month) {
+        return SEASON_BY_MONTH[month - 1];
+    }
+
+    /**
+     * @param dayOfWeek Wochentag nach ISO-8601 (1 = Montag bis 7 = Sonntag)
+     * @return Tagtyp des Standardlastprofils
+     */
+    public static int dayTypeOf(int dayOfWeek) {
+        return DAY_TYPE_BY_DAY_OF_WEEK[dayOfWeek - 1];
+    }
+
+    /**
+     * @param hour   Stunde
+     * @param minute Minute
+     * @return Viertelstunde des Tages (0 bis 95)
+     */
+    public static int quarterHourOf(int hour, int minute) {
+        return hour * 4 + minute / 15;
+    }
+
+    /**
+     * @return Kopie der Werte [Jahreszeit][Tagtyp][Viertelstunde]
+     */
+    double[][][] copyValues() {
+        double[][][] copy = new double[SEASONS][DAY_TYPES][];
+        for (int season = 0; season < SEASONS; season++) {
+            for (int dayType = 0; dayType < DAY_TYPES; dayType++) {
+                copy[season][dayType] = values[season][dayType].clone();
+            }
+        }
+        return copy;
+    }
+}
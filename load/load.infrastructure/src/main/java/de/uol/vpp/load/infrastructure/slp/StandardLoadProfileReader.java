@@ -0,0 +1,145 @@
+package de.uol.vpp.load.infrastructure.slp;
+
+import org.apache.poi.hssf.usermodel.HSSFSheet;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Liest Standardlastprofile entweder aus der Excel-Datei des BDEW (slp.xls) oder aus einer kompakten
+ * Binärdatei (slp.bin) und kompiliert sie in {@link StandardLoadProfile}.
+ * Die Binärdatei enthält dieselben Werte und erspart beim Start das Parsen der Excel-Datei.
+ */
+public final class StandardLoadProfileReader {
+
+    /**
+     * Kennung der Binärdatei ("SLP1")
+     */
+    private static final int MAGIC = 0x534C5031;
+
+    /**
+     * Erste Reihe der Viertelstundenwerte im Excel-Sheet (00:15 Uhr)
+     */
+    private static final int FIRST_ROW = 3;
+
+    /**
+     * Reihe des Wertes für 00:00 Uhr (im Excel-Sheet als 24:00 Uhr am Ende des Tages)
+     */
+    private static final int MIDNIGHT_ROW = 98;
+
+    private StandardLoadProfileReader() {
+    }
+
+    /**
+     * Kompiliert ein Sheet der BDEW Excel-Datei. Die Spalten sind je Jahreszeit (Winter, Sommer, Übergangszeit)
+     * in Samstag, Sonntag und Werktag unterteilt.
+     *
+     * @param sheet Excel-Sheet eines Standardlastprofils
+     * @return Standardlastprofil
+     */
+    public static StandardLoadProfile fromSheet(HSSFSheet sheet) {
+        double[][][] values = new double[StandardLoadProfile.SEASONS][StandardLoadProfile.DAY_TYPES][StandardLoadProfile.QUARTER_HOURS];
+        for (int quarterHour = 0; quarterHour < StandardLoadProfile.QUARTER_HOURS; quarterHour++) {
+            int row = quarterHour == 0 ? MIDNIGHT_ROW : FIRST_ROW + quarterHour - 1;
+            for (int season = 0; season < StandardLoadProfile.SEASONS; season++) {
+                for (int dayType = 0; dayType < StandardLoadProfile.DAY_TYPES; dayType++) {
+                    int column = 1 + season * StandardLoadProfile.DAY_TYPES + dayType;
+                    values[season][dayType][quarterHour] = sheet.getRow(row).getCell(column).getNumericCellValue();
+                }
+            }
+        }
+        return new StandardLoadProfile(sheet.getSheetName(), values);
+    }
+
+    /**
+     * Kompiliert alle Sheets der BDEW Excel-Datei
+     *
+     * @param inputStream Excel-Datei
+     * @return Liste der Standardlastprofile
+     * @throws IOException e
+     */
+    public static List<StandardLoadProfile> fromWorkbook(InputStream inputStream) throws IOException {
+        try (HSSFWorkbook workbook = new HSSFWorkbook(inputStream)) {
+            List<StandardLoadProfile> profiles = new ArrayList<>();
+            for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
+                profiles.add(fromSheet(workbook.getSheetAt(i)));
+            }
+            return profiles;
+        }
+    }
+
+    /**
+     * Liest die Standardlastprofile aus der Binärdatei
+     *
+     * @param inputStream Binärdatei
+     * @return Liste der Standardlastprofile
+     * @throws IOException e
+     */
+    public static List<StandardLoadProfile> fromBinary(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Die Binärdatei enthält keine Standardlastprofile.");
+        }
+        int count = in.readInt();
+        List<StandardLoadProfile> profiles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = in.readUTF();
+            double[][][] values = new double[StandardLoadProfile.SEASONS][StandardLoadProfile.DAY_TYPES][StandardLoadProfile.QUARTER_HOURS];
+            for (double[][] season : values) {
+                for (double[] dayType : season) {
+                    for (int quarterHour = 0; quarterHour < dayType.length; quarterHour++) {
+                        dayType[quarterHour] = in.readDouble();
+                    }
+                }
+            }
+            profiles.add(new StandardLoadProfile(name, values));
+        }
+        return profiles;
+    }
+
+    /**
+     * Schreibt die Standardlastprofile in die Binärdatei
+     *
+     * @param profiles     Standardlastprofile
+     * @param outputStream Ziel
+     * @throws IOException e
+     */
+    public static void toBinary(List<StandardLoadProfile> profiles, OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+        out.writeInt(MAGIC);
+        out.writeInt(profiles.size());
+        for (StandardLoadProfile profile : profiles) {
+            out.writeUTF(profile.getName());
+            for (double[][] season : profile.copyValues()) {
+                for (double[] dayType : season) {
+                    for (double value : dayType) {
+                        out.writeDouble(value);
+                    }
+                }
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Erzeugt die Binärdatei aus der Excel-Datei, z.B. nach einer Aktualisierung der BDEW-Profile
+     *
+     * @param args [0] Pfad zur Excel-Datei, [1] Pfad zur Binärdatei, [2..] optionale Namen der zu übernehmenden Profile
+     * @throws IOException e
+     */
+    public static void main(String[] args) throws IOException {
+        List<StandardLoadProfile> profiles;
+        try (InputStream in = new FileInputStream(args[0])) {
+            profiles = fromWorkbook(in);
+        }
+        if (args.length > 2) {
+            List<String> names = List.of(args).subList(2, args.length);
+            profiles.removeIf(profile -> !names.contains(profile.getName()));
+        }
+        try (OutputStream out = new FileOutputStream(args[1])) {
+            toBinary(profiles, out);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package de.uol.vpp.load.infrastructure.slp;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Register aller Standardlastprofile des BDEW (H0, G0 bis G6, L0 bis L2).
+ * Die Profile werden einmalig beim Start geladen und über ihren Namen (Verbrauchertyp) bereitgestellt.
+ */
+@Component
+@Log4j2
+public class StandardLoadProfileRegistry {
+
+    /**
+     * Standardlastprofil für Haushalte ohne angegebenen Verbrauchertyp
+     */
+    public static final String DEFAULT_PROFILE = "H0";
+
+    private final Map<String, StandardLoadProfile> profiles = new LinkedHashMap<>();
+
+    public StandardLoadProfileRegistry() {
+        try {
+            for (StandardLoadProfile profile : loadProfiles()) {
+                profiles.put(profile.getName(), profile);
+            }
+        } catch (IOException e) {
+            log.error("Das Laden der Standardlastprofile ist fehlgeschlagen.", e);
+        }
+        if (!profiles.containsKey(DEFAULT_PROFILE)) {
+            log.error("Das Standardlastprofil {} ist nicht vorhanden.", DEFAULT_PROFILE);
+        }
+    }
+
+    /**
+     * Gibt das Standardlastprofil eines Verbrauchertyps zurück. Ist der Verbrauchertyp nicht bekannt,
+     * wird das Standardlastprofil {@link #DEFAULT_PROFILE} verwendet.
+     *
+     * @param name Name des Standardlastprofils (z.B. G1)
+     * @return Standardlastprofil
+     */
+    public StandardLoadProfile getProfile(String name) {
+        if (name != null) {
+            StandardLoadProfile profile = profiles.get(name);
+            if (profile != null) {
+                return profile;
+            }
+            log.warn("Das Standardlastprofil {} ist nicht bekannt, es wird {} verwendet.", name, DEFAULT_PROFILE);
+        }
+        return profiles.get(DEFAULT_PROFILE);
+    }
+
+    /**
+     * @return Namen aller geladenen Standardlastprofile
+     */
+    public Set<String> getProfileNames() {
+        return Collections.unmodifiableSet(profiles.keySet());
+    }
+
+    /**
+     * Lädt alle Standardlastprofile. Bevorzugt wird die vorkompilierte Binärdatei (slp.bin), falls diese fehlt,
+     * wird die Excel-Datei (slp.xls) eingelesen.
+     *
+     * @return Standardlastprofile
+     * @throws IOException e
+     */
+    private static List<StandardLoadProfile> loadProfiles() throws IOException {
+        ClassPathResource binary = new ClassPathResource("slp.bin");
+        if (binary.exists()) {
+            try (InputStream in = binary.getInputStream()) {
+                return StandardLoadProfileReader.fromBinary(in);
+            }
+        }
+        try (InputStream in = new ClassPathResource("slp.xls").getInputStream()) {
+            return StandardLoadProfileReader.fromWorkbook(in);
+        }
+    }
+}
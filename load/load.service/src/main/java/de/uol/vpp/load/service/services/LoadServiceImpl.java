@@ -1,10 +1,12 @@
 package de.uol.vpp.load.service.services;
 
+import de.uol.vpp.common.timeseries.ForecastSeries;
 import de.uol.vpp.load.domain.aggregates.LoadAggregate;
 import de.uol.vpp.load.domain.exceptions.LoadException;
 import de.uol.vpp.load.domain.exceptions.LoadRepositoryException;
 import de.uol.vpp.load.domain.exceptions.LoadServiceException;
 import de.uol.vpp.load.domain.repositories.ILoadRepository;
+import de.uol.vpp.load.domain.repositories.LoadRowHandler;
 import de.uol.vpp.load.domain.services.ILoadService;
 import de.uol.vpp.load.domain.valueobjects.LoadActionRequestIdVO;
 import lombok.RequiredArgsConstructor;
@@ -30,4 +32,31 @@ public class LoadServiceImpl implements ILoadService {
             throw new LoadServiceException(e.getMessage(), e);
         }
     }
+
+    @Override
+    public boolean existsLoadsByActionRequestId(String actionRequestId) throws LoadServiceException {
+        try {
+            return repository.existsLoads(new LoadActionRequestIdVO(actionRequestId));
+        } catch (LoadRepositoryException | LoadException e) {
+            throw new LoadServiceException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void streamLoadsByActionRequestId(String actionRequestId, LoadRowHandler handler) throws LoadServiceException {
+        try {
+            repository.streamLoads(new LoadActionRequestIdVO(actionRequestId), handler);
+        } catch (LoadRepositoryException | LoadException e) {
+            throw new LoadServiceException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ForecastSeries getLoadTotalsByActionRequestId(String actionRequestId) throws LoadServiceException {
+        try {
+            return repository.getLoadTotals(new LoadActionRequestIdVO(actionRequestId));
+        } catch (LoadRepositoryException | LoadException e) {
+            throw new LoadServiceException(e.getMessage(), e);
+        }
+    }
 }
@@ -31,6 +31,18 @@ public class ApplicationDomainConverter {
         return dto;
     }
 
+    public VirtualPowerPlantTopologyDTO toTopology(VirtualPowerPlantAggregate domainEntity) {
+        VirtualPowerPlantTopologyDTO dto = new VirtualPowerPlantTopologyDTO();
+        dto.setVirtualPowerPlantId(domainEntity.getVirtualPowerPlantId().getValue());
+        dto.setPublished(domainEntity.getPublished().isValue());
+        dto.setTopologyVersion(domainEntity.getTopologyVersion().getValue());
+        dto.setHouseholds(domainEntity.getHouseholds().stream()
+                .map(this::toApplication).collect(Collectors.toList()));
+        dto.setDecentralizedPowerPlants(domainEntity.getDecentralizedPowerPlants().stream()
+                .map(this::toApplication).collect(Collectors.toList()));
+        return dto;
+    }
+
     public DecentralizedPowerPlantDTO toApplication(DecentralizedPowerPlantAggregate domainEntity) {
         DecentralizedPowerPlantDTO dto = new DecentralizedPowerPlantDTO();
         dto.setDecentralizedPowerPlantId(domainEntity.getDecentralizedPowerPlantId().getValue());
@@ -207,6 +219,8 @@ public class ApplicationDomainConverter {
             HouseholdAggregate domainEntity = new HouseholdAggregate();
             domainEntity.setHouseholdId(new HouseholdIdVO(dto.getHouseholdId()));
             domainEntity.setHouseholdMemberAmount(new HouseholdMemberAmountVO(dto.getHouseholdMemberAmount()));
+            domainEntity.setHouseholdLoadProfile(new HouseholdLoadProfileVO(dto.getHouseholdLoadProfile()));
+            domainEntity.setHouseholdAnnualConsumption(new HouseholdAnnualConsumptionVO(dto.getHouseholdAnnualConsumption()));
             this.setProducersAndStoragesFromApplicationToDomain(dto, domainEntity);
             return domainEntity;
         } catch (ProducerException | StorageException e) {
@@ -218,6 +232,8 @@ public class ApplicationDomainConverter {
         HouseholdDTO dto = new HouseholdDTO();
         dto.setHouseholdId(domainEntity.getHouseholdId().getValue());
         dto.setHouseholdMemberAmount(domainEntity.getHouseholdMemberAmount().getValue());
+        dto.setHouseholdLoadProfile(domainEntity.getHouseholdLoadProfile().getValue());
+        dto.setHouseholdAnnualConsumption(domainEntity.getHouseholdAnnualConsumption().getValue());
         this.setProducersAndStoragesFromDomainToApplication(dto, domainEntity);
         return dto;
     }
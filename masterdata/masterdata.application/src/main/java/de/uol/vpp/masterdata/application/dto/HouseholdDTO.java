@@ -13,4 +13,6 @@ import lombok.EqualsAndHashCode;
 public class HouseholdDTO extends DtoHasProducersAndStorages {
     private String householdId;
     private Integer householdMemberAmount;
+    private String householdLoadProfile;
+    private Double householdAnnualConsumption;
 }
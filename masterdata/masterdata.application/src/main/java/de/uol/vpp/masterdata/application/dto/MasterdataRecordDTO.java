@@ -0,0 +1,15 @@
+package de.uol.vpp.masterdata.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+/**
+ * Datentransferobjekt einer Zeile des NDJSON-Imports bzw. -Exports eines VK.
+ * Eine Zeile enthält entweder einen Haushalt oder ein DK inkl. der jeweiligen Erzeugungs- und Speicheranlagen.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MasterdataRecordDTO {
+    private HouseholdDTO household;
+    private DecentralizedPowerPlantDTO decentralizedPowerPlant;
+}
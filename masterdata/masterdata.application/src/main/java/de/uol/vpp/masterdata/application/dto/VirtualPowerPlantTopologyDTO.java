@@ -0,0 +1,21 @@
+package de.uol.vpp.masterdata.application.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datentransferobjekt zw. Daten-Service und den Prognose- und Maßnahmen-Services
+ * Enthält die vollständige Topologie eines VK (Haushalte inkl. Haushaltsmitglieder, DK, Erzeugungs- und
+ * Speicheranlagen), sodass diese mit einer einzigen Anfrage bezogen werden kann
+ * Siehe {@link de.uol.vpp.masterdata.domain.aggregates.VirtualPowerPlantAggregate}
+ */
+@Data
+public class VirtualPowerPlantTopologyDTO {
+    private String virtualPowerPlantId;
+    private boolean published;
+    private long topologyVersion;
+    private List<HouseholdDTO> households = new ArrayList<>();
+    private List<DecentralizedPowerPlantDTO> decentralizedPowerPlants = new ArrayList<>();
+}
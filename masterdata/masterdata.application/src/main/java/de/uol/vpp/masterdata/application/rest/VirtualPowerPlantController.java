@@ -1,20 +1,35 @@
 package de.uol.vpp.masterdata.application.rest;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import de.uol.vpp.masterdata.application.ApplicationDomainConverter;
+import de.uol.vpp.masterdata.application.dto.MasterdataRecordDTO;
 import de.uol.vpp.masterdata.application.dto.VirtualPowerPlantDTO;
+import de.uol.vpp.masterdata.application.dto.VirtualPowerPlantTopologyDTO;
 import de.uol.vpp.masterdata.application.payload.ApiResponse;
-import de.uol.vpp.masterdata.domain.exceptions.VirtualPowerPlantException;
-import de.uol.vpp.masterdata.domain.exceptions.VirtualPowerPlantServiceException;
+import de.uol.vpp.masterdata.domain.aggregates.DecentralizedPowerPlantAggregate;
+import de.uol.vpp.masterdata.domain.aggregates.HouseholdAggregate;
+import de.uol.vpp.masterdata.domain.aggregates.VirtualPowerPlantAggregate;
+import de.uol.vpp.masterdata.domain.exceptions.*;
+import de.uol.vpp.masterdata.domain.services.IMasterdataBulkService;
 import de.uol.vpp.masterdata.domain.services.IVirtualPowerPlantService;
+import de.uol.vpp.masterdata.domain.utils.MasterdataImport;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Log4j2
@@ -25,6 +40,8 @@ public class VirtualPowerPlantController {
 
     private final IVirtualPowerPlantService service;
     private final ApplicationDomainConverter converter;
+    private final IMasterdataBulkService bulkService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Hole alle virtuellen Kraftwerke
@@ -97,6 +114,153 @@ public class VirtualPowerPlantController {
         }
     }
 
+    /**
+     * Hole die vollständige Topologie eines VK mit einer einzigen Anfrage.
+     * Stimmt der ETag der Anfrage (If-None-Match) mit der aktuellen Topologie überein, wird diese nicht erneut
+     * serialisiert, sondern nur mit 304 (Not Modified) beantwortet. Ein veröffentlichtes VK kann nicht bearbeitet
+     * werden, daher basiert dessen ETag auf der Version der Topologie und wird ohne Laden der Topologie geprüft.
+     *
+     * @param virtualPowerPlantId Id des VK
+     * @param ifNoneMatch         ETag der zuletzt empfangenen Topologie
+     * @return Topologie des VK
+     */
+    @GetMapping(path = "/{virtualPowerPlantId}/topology")
+    public ResponseEntity<?> getVirtualPowerPlantTopology(@PathVariable String virtualPowerPlantId,
+                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            if (ifNoneMatch != null) {
+                Optional<Long> version = service.getPublishedTopologyVersion(virtualPowerPlantId);
+                if (version.isPresent() && this.toTopologyETag(version.get()).equals(ifNoneMatch)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ifNoneMatch).build();
+                }
+            }
+            VirtualPowerPlantTopologyDTO topology = converter.toTopology(service.getTopology(virtualPowerPlantId));
+            String eTag = topology.isPublished() ? this.toTopologyETag(topology.getTopologyVersion()) :
+                    String.format("W/\"%08x\"", topology.hashCode());
+            if (eTag.equals(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+            return ResponseEntity.ok().eTag(eTag).body(
+                    new ApiResponse(true, false, String.format("Die Topologie des VK %s wurde erfolgreich angefragt.", virtualPowerPlantId),
+                            topology));
+        } catch (VirtualPowerPlantServiceException e) {
+            log.error(e);
+            return new ResponseEntity<>(new ApiResponse(
+                    false, false, e.getMessage(), null
+            ), HttpStatus.NOT_FOUND);
+        } catch (DataIntegrityViolationException sqlException) {
+            return new ResponseEntity<>(new ApiResponse(
+                    false, false, "Es ist ein Datenintegritätsfehler aufgetreten.", null
+            ), HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Die Version ist die global eindeutige Id einer Revision der Topologie, daher wird ein ETag auch nach Löschen
+     * und Neuanlegen eines VK mit derselben Id nicht erneut vergeben.
+     *
+     * @param topologyVersion Version der Topologie eines veröffentlichten VK
+     * @return ETag der Topologie
+     */
+    private String toTopologyETag(long topologyVersion) {
+        return String.format("\"r%d\"", topologyVersion);
+    }
+
+    /**
+     * Importiert Haushalte und DK inkl. ihrer Anlagen in ein nicht veröffentlichtes VK.
+     * Jede Zeile des NDJSON-Dokuments enthält entweder einen Haushalt oder ein DK. Das Dokument wird zeilenweise gelesen
+     * und vollständig geprüft, bevor die Komponenten gebündelt gespeichert werden.
+     *
+     * @param virtualPowerPlantId Id des VK
+     * @param body                NDJSON-Dokument
+     * @return ApiResponse mit der Anzahl importierter Komponenten
+     */
+    @PostMapping(path = "/{virtualPowerPlantId}/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<?> importVirtualPowerPlant(@PathVariable String virtualPowerPlantId, InputStream body) {
+        try {
+            MasterdataImport masterdataImport = this.readImport(body);
+            int imported = bulkService.importAll(virtualPowerPlantId, masterdataImport);
+            return ResponseEntity.ok().body(new ApiResponse(true, false,
+                    String.format("Es wurden %d Komponenten erfolgreich in das VK %s importiert.", imported, virtualPowerPlantId),
+                    imported));
+        } catch (MasterdataImportException | MasterdataBulkServiceException e) {
+            log.error(e);
+            return new ResponseEntity<>(new ApiResponse(
+                    false, false, e.getMessage(), null
+            ), HttpStatus.NOT_FOUND);
+        } catch (DataIntegrityViolationException sqlException) {
+            return new ResponseEntity<>(new ApiResponse(
+                    false, false, "Es ist ein Datenintegritätsfehler aufgetreten.", null
+            ), HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Exportiert die Haushalte und DK eines VK als NDJSON im Format des Imports.
+     * Die Zeilen werden einzeln in die Antwort geschrieben, ohne das gesamte Dokument vorher aufzubauen.
+     *
+     * @param virtualPowerPlantId Id des VK
+     * @return NDJSON-Dokument mit einer Zeile pro Haushalt bzw. DK
+     */
+    @GetMapping(path = "/{virtualPowerPlantId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportVirtualPowerPlant(@PathVariable String virtualPowerPlantId) {
+        try {
+            VirtualPowerPlantAggregate topology = service.getTopology(virtualPowerPlantId);
+            StreamingResponseBody responseBody = outputStream -> {
+                try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(outputStream)) {
+                    for (HouseholdAggregate household : topology.getHouseholds()) {
+                        MasterdataRecordDTO record = new MasterdataRecordDTO();
+                        record.setHousehold(converter.toApplication(household));
+                        writer.write(record);
+                    }
+                    for (DecentralizedPowerPlantAggregate decentralizedPowerPlant : topology.getDecentralizedPowerPlants()) {
+                        MasterdataRecordDTO record = new MasterdataRecordDTO();
+                        record.setDecentralizedPowerPlant(converter.toApplication(decentralizedPowerPlant));
+                        writer.write(record);
+                    }
+                }
+            };
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(responseBody);
+        } catch (VirtualPowerPlantServiceException e) {
+            log.error(e);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Liest ein NDJSON-Dokument zeilenweise und überführt es in einen Import
+     *
+     * @param body NDJSON-Dokument
+     * @return Import mit allen Haushalten und DK
+     * @throws MasterdataImportException falls eine Zeile ungültig ist
+     */
+    private MasterdataImport readImport(InputStream body) throws MasterdataImportException {
+        MasterdataImport masterdataImport = new MasterdataImport();
+        int line = 0;
+        try (MappingIterator<MasterdataRecordDTO> records = objectMapper.readerFor(MasterdataRecordDTO.class).readValues(body)) {
+            while (records.hasNextValue()) {
+                MasterdataRecordDTO record = records.nextValue();
+                line = records.getCurrentLocation().getLineNr();
+                if (record.getHousehold() != null && record.getDecentralizedPowerPlant() == null) {
+                    masterdataImport.addHousehold(converter.toDomain(record.getHousehold()));
+                } else if (record.getDecentralizedPowerPlant() != null && record.getHousehold() == null) {
+                    masterdataImport.addDecentralizedPowerPlant(converter.toDomain(record.getDecentralizedPowerPlant()));
+                } else {
+                    throw new MasterdataImportException("Eine Zeile muss genau einen Haushalt oder ein DK enthalten.");
+                }
+            }
+        } catch (HouseholdException | DecentralizedPowerPlantException | MasterdataImportException e) {
+            throw new MasterdataImportException(
+                    String.format("Der Import ist in Zeile %d fehlgeschlagen: %s", line, e.getMessage()), e
+            );
+        } catch (IOException | RuntimeJsonMappingException e) {
+            throw new MasterdataImportException(
+                    String.format("Der Import ist nach Zeile %d fehlgeschlagen, da das Dokument nicht gelesen werden kann.", line), e
+            );
+        }
+        return masterdataImport;
+    }
+
     /**
      * Peristiert ein VK
      *
@@ -1,7 +1,9 @@
 package de.uol.vpp.masterdata.domain.aggregates;
 
 import de.uol.vpp.masterdata.domain.aggregates.abstracts.DomainHasProducersAndStorages;
+import de.uol.vpp.masterdata.domain.valueobjects.HouseholdAnnualConsumptionVO;
 import de.uol.vpp.masterdata.domain.valueobjects.HouseholdIdVO;
+import de.uol.vpp.masterdata.domain.valueobjects.HouseholdLoadProfileVO;
 import de.uol.vpp.masterdata.domain.valueobjects.HouseholdMemberAmountVO;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -21,4 +23,12 @@ public class HouseholdAggregate extends DomainHasProducersAndStorages {
      * Anzahl der Haushaltsmitglieder
      */
     private HouseholdMemberAmountVO householdMemberAmount;
+    /**
+     * Standardlastprofil des BDEW (z.B. H0 oder G1), ohne Angabe prognostiziert der Lastservice mit H0
+     */
+    private HouseholdLoadProfileVO householdLoadProfile;
+    /**
+     * Jahresverbrauch in kWh/a, ohne Angabe wird die Last über die Anzahl der Haushaltsmitglieder skaliert
+     */
+    private HouseholdAnnualConsumptionVO householdAnnualConsumption;
 }
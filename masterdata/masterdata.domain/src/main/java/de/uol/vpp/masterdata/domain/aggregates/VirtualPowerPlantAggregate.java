@@ -2,6 +2,7 @@ package de.uol.vpp.masterdata.domain.aggregates;
 
 import de.uol.vpp.masterdata.domain.valueobjects.VirtualPowerPlantIdVO;
 import de.uol.vpp.masterdata.domain.valueobjects.VirtualPowerPlantPublishedVO;
+import de.uol.vpp.masterdata.domain.valueobjects.VirtualPowerPlantTopologyVersionVO;
 import lombok.Data;
 
 import java.util.ArrayList;
@@ -30,4 +31,8 @@ public class VirtualPowerPlantAggregate {
      * Veröffentlicht/nicht veröffentlicht
      */
     private VirtualPowerPlantPublishedVO published;
+    /**
+     * Version der Topologie, wird bei jeder Veröffentlichung und Rücknahme der Veröffentlichung erhöht
+     */
+    private VirtualPowerPlantTopologyVersionVO topologyVersion;
 }
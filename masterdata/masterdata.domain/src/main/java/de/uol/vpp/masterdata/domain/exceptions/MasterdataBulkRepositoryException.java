@@ -0,0 +1,12 @@
+package de.uol.vpp.masterdata.domain.exceptions;
+
+public class MasterdataBulkRepositoryException extends Exception {
+
+    public MasterdataBulkRepositoryException(String message) {
+        super(message);
+    }
+
+    public MasterdataBulkRepositoryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+package de.uol.vpp.masterdata.domain.exceptions;
+
+public class MasterdataBulkServiceException extends Exception {
+
+    public MasterdataBulkServiceException(String message) {
+        super(message);
+    }
+
+    public MasterdataBulkServiceException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+package de.uol.vpp.masterdata.domain.exceptions;
+
+public class MasterdataImportException extends Exception {
+
+    public MasterdataImportException(String message) {
+        super(message);
+    }
+
+    public MasterdataImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,23 @@
+package de.uol.vpp.masterdata.domain.repositories;
+
+import de.uol.vpp.masterdata.domain.exceptions.VirtualPowerPlantRepositoryException;
+import de.uol.vpp.masterdata.domain.utils.AssetOwnership;
+import de.uol.vpp.masterdata.domain.utils.AssetType;
+import de.uol.vpp.masterdata.domain.valueobjects.VirtualPowerPlantIdVO;
+
+/**
+ * Schnittstellendefinition für den Zugehörigkeitsindex der Komponenten eines VK
+ */
+public interface IAssetOwnershipRepository {
+    /**
+     * Prüft, ob eine Komponente einem VK angehört und ob das VK veröffentlicht ist,
+     * ohne das VK vollständig zu laden
+     *
+     * @param virtualPowerPlantId Id des VK
+     * @param assetType           Art der Komponente
+     * @param assetId             Id der Komponente
+     * @return Zugehörigkeit der Komponente
+     * @throws VirtualPowerPlantRepositoryException e
+     */
+    AssetOwnership getOwnership(VirtualPowerPlantIdVO virtualPowerPlantId, AssetType assetType, String assetId) throws VirtualPowerPlantRepositoryException;
+}
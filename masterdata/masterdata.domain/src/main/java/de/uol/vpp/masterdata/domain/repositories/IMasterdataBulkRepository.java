@@ -0,0 +1,36 @@
+package de.uol.vpp.masterdata.domain.repositories;
+
+import de.uol.vpp.masterdata.domain.exceptions.MasterdataBulkRepositoryException;
+import de.uol.vpp.masterdata.domain.utils.AssetType;
+import de.uol.vpp.masterdata.domain.utils.MasterdataImport;
+import de.uol.vpp.masterdata.domain.valueobjects.VirtualPowerPlantIdVO;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Schnittstellendefinition für den Massenimport von Komponenten eines VK
+ */
+public interface IMasterdataBulkRepository {
+    /**
+     * Holt die bereits gespeicherten Ids einer Art von Komponenten
+     *
+     * @param assetType Art der Komponente
+     * @param ids       zu prüfende Ids
+     * @return Teilmenge der Ids, die bereits existieren
+     * @throws MasterdataBulkRepositoryException e
+     */
+    Set<String> getExistingIds(AssetType assetType, Collection<String> ids) throws MasterdataBulkRepositoryException;
+
+    /**
+     * Speichert alle Haushalte und DK des Imports inkl. ihrer Anlagen und weist sie dem VK zu.
+     * Schlägt der Import fehl, werden bereits gespeicherte Komponenten des Imports wieder gelöscht. Gelingt auch das
+     * nicht, nennt die Exception die weiterhin gespeicherten Komponenten.
+     *
+     * @param virtualPowerPlantId Id des VK
+     * @param masterdataImport    Import
+     * @return Anzahl der gespeicherten Komponenten
+     * @throws MasterdataBulkRepositoryException e
+     */
+    int importAll(VirtualPowerPlantIdVO virtualPowerPlantId, MasterdataImport masterdataImport) throws MasterdataBulkRepositoryException;
+}
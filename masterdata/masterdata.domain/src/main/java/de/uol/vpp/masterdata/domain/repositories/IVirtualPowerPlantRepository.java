@@ -2,11 +2,13 @@ package de.uol.vpp.masterdata.domain.repositories;
 
 import de.uol.vpp.masterdata.domain.aggregates.VirtualPowerPlantAggregate;
 import de.uol.vpp.masterdata.domain.exceptions.VirtualPowerPlantRepositoryException;
+import de.uol.vpp.masterdata.domain.utils.AssetType;
 import de.uol.vpp.masterdata.domain.valueobjects.DecentralizedPowerPlantIdVO;
 import de.uol.vpp.masterdata.domain.valueobjects.HouseholdIdVO;
 import de.uol.vpp.masterdata.domain.valueobjects.VirtualPowerPlantIdVO;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -30,6 +32,25 @@ public interface IVirtualPowerPlantRepository {
      */
     Optional<VirtualPowerPlantAggregate> getById(VirtualPowerPlantIdVO id) throws VirtualPowerPlantRepositoryException;
 
+    /**
+     * Holt ein spezifisches VK inkl. aller Haushalte, DK, Erzeugungs- und Speicheranlagen mit einer festen Anzahl
+     * an Abfragen, unabhängig von der Anzahl der Haushalte und DK
+     *
+     * @param id Id des VK
+     * @return VK inkl. Topologie
+     * @throws VirtualPowerPlantRepositoryException e
+     */
+    Optional<VirtualPowerPlantAggregate> getTopologyById(VirtualPowerPlantIdVO id) throws VirtualPowerPlantRepositoryException;
+
+    /**
+     * Holt die Version der Topologie eines veröffentlichten VK, ohne die Topologie zu laden
+     *
+     * @param id Id des VK
+     * @return Version der Topologie, leer falls das VK nicht existiert oder nicht veröffentlicht ist
+     * @throws VirtualPowerPlantRepositoryException e
+     */
+    Optional<Long> getPublishedTopologyVersion(VirtualPowerPlantIdVO id) throws VirtualPowerPlantRepositoryException;
+
     /**
      * Holt ein VK durch DK
      *
@@ -57,15 +78,16 @@ public interface IVirtualPowerPlantRepository {
     void save(VirtualPowerPlantAggregate entity) throws VirtualPowerPlantRepositoryException;
 
     /**
-     * Löscht ein VK
+     * Löscht ein VK inkl. aller Haushalte, DK, Erzeugungs- und Speicheranlagen
      *
      * @param id Id des VK
+     * @return Anzahl der gelöschten Komponenten pro Art
      * @throws VirtualPowerPlantRepositoryException e
      */
-    void deleteById(VirtualPowerPlantIdVO id) throws VirtualPowerPlantRepositoryException;
+    Map<AssetType, Integer> deleteById(VirtualPowerPlantIdVO id) throws VirtualPowerPlantRepositoryException;
 
     /**
-     * Veröffentlicht ein VK
+     * Veröffentlicht ein VK und erhöht die Version der Topologie
      *
      * @param id Id des VK
      * @throws VirtualPowerPlantRepositoryException e
@@ -73,7 +95,7 @@ public interface IVirtualPowerPlantRepository {
     void publish(VirtualPowerPlantIdVO id) throws VirtualPowerPlantRepositoryException;
 
     /**
-     * Macht die Veröffentlichung des VK rückgängig
+     * Macht die Veröffentlichung des VK rückgängig und erhöht die Version der Topologie
      *
      * @param id Id des VK
      * @throws VirtualPowerPlantRepositoryException e
@@ -0,0 +1,19 @@
+package de.uol.vpp.masterdata.domain.services;
+
+import de.uol.vpp.masterdata.domain.exceptions.MasterdataBulkServiceException;
+import de.uol.vpp.masterdata.domain.utils.MasterdataImport;
+
+/**
+ * Schnittstellendefinition für den Massenimport von Komponenten eines VK der Serviceschicht
+ */
+public interface IMasterdataBulkService {
+    /**
+     * Prüft den Import gegen den Datenbestand und speichert alle Komponenten im VK
+     *
+     * @param virtualPowerPlantId Id des VK
+     * @param masterdataImport    Import
+     * @return Anzahl der gespeicherten Komponenten
+     * @throws MasterdataBulkServiceException e
+     */
+    int importAll(String virtualPowerPlantId, MasterdataImport masterdataImport) throws MasterdataBulkServiceException;
+}
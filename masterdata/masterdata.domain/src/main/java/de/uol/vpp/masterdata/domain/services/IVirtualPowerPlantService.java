@@ -4,6 +4,7 @@ import de.uol.vpp.masterdata.domain.aggregates.VirtualPowerPlantAggregate;
 import de.uol.vpp.masterdata.domain.exceptions.VirtualPowerPlantServiceException;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Schnittstellendefinition für das VK-Service der Serviceschicht
@@ -34,6 +35,24 @@ public interface IVirtualPowerPlantService {
      */
     VirtualPowerPlantAggregate get(String virtualPowerPlantId) throws VirtualPowerPlantServiceException;
 
+    /**
+     * Holt die vollständige Topologie eines VK (Haushalte, DK, Erzeugungs- und Speicheranlagen)
+     *
+     * @param virtualPowerPlantId Id des VK
+     * @return VK inkl. Topologie
+     * @throws VirtualPowerPlantServiceException e
+     */
+    VirtualPowerPlantAggregate getTopology(String virtualPowerPlantId) throws VirtualPowerPlantServiceException;
+
+    /**
+     * Holt die Version der Topologie eines veröffentlichten VK, ohne die Topologie zu laden
+     *
+     * @param virtualPowerPlantId Id des VK
+     * @return Version der Topologie, leer falls das VK nicht existiert oder nicht veröffentlicht ist
+     * @throws VirtualPowerPlantServiceException e
+     */
+    Optional<Long> getPublishedTopologyVersion(String virtualPowerPlantId) throws VirtualPowerPlantServiceException;
+
     /**
      * Persistiert ein VK
      *
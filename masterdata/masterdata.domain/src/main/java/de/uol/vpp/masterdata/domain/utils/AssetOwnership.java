@@ -0,0 +1,48 @@
+package de.uol.vpp.masterdata.domain.utils;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Ergebnis der Prüfung, ob eine Komponente einem VK angehört und ob dieses VK veröffentlicht ist
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class AssetOwnership {
+
+    private static final AssetOwnership VIRTUAL_POWER_PLANT_NOT_FOUND = new AssetOwnership(false, false, false, false);
+
+    /**
+     * VK existiert
+     */
+    private final boolean virtualPowerPlantExisting;
+    /**
+     * Komponente existiert
+     */
+    private final boolean assetExisting;
+    /**
+     * Komponente gehört dem VK an
+     */
+    private final boolean owned;
+    /**
+     * VK ist veröffentlicht
+     */
+    private final boolean published;
+
+    public static AssetOwnership virtualPowerPlantNotFound() {
+        return VIRTUAL_POWER_PLANT_NOT_FOUND;
+    }
+
+    public static AssetOwnership assetNotFound(boolean published) {
+        return new AssetOwnership(true, false, false, published);
+    }
+
+    public static AssetOwnership foreign(boolean published) {
+        return new AssetOwnership(true, true, false, published);
+    }
+
+    public static AssetOwnership owned(boolean published) {
+        return new AssetOwnership(true, true, true, published);
+    }
+}
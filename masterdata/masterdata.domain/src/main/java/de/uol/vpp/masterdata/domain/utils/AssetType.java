@@ -0,0 +1,14 @@
+package de.uol.vpp.masterdata.domain.utils;
+
+/**
+ * Arten von Komponenten eines VK, deren Zugehörigkeit zu einem VK geprüft werden kann
+ */
+public enum AssetType {
+    DECENTRALIZED_POWER_PLANT,
+    HOUSEHOLD,
+    WIND_ENERGY,
+    WATER_ENERGY,
+    SOLAR_ENERGY,
+    OTHER_ENERGY,
+    STORAGE
+}
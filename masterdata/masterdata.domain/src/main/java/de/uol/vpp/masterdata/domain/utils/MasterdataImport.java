@@ -0,0 +1,102 @@
+package de.uol.vpp.masterdata.domain.utils;
+
+import de.uol.vpp.masterdata.domain.aggregates.DecentralizedPowerPlantAggregate;
+import de.uol.vpp.masterdata.domain.aggregates.HouseholdAggregate;
+import de.uol.vpp.masterdata.domain.aggregates.abstracts.DomainHasProducersAndStorages;
+import de.uol.vpp.masterdata.domain.entities.*;
+import de.uol.vpp.masterdata.domain.exceptions.MasterdataImportException;
+
+import java.util.*;
+
+/**
+ * Zu importierende Haushalte und DK eines VK inkl. ihrer Erzeugungs- und Speicheranlagen.
+ * Beim Hinzufügen werden die Ids pro Art der Komponente in einem Index abgelegt, sodass doppelte Ids innerhalb des
+ * Imports in einem Durchlauf erkannt werden und die Prüfung gegen den Datenbestand pro Art gebündelt erfolgen kann.
+ */
+public class MasterdataImport {
+
+    private final List<HouseholdAggregate> households = new ArrayList<>();
+    private final List<DecentralizedPowerPlantAggregate> decentralizedPowerPlants = new ArrayList<>();
+    private final Map<AssetType, Set<String>> ids = new EnumMap<>(AssetType.class);
+    private int size;
+
+    public MasterdataImport() {
+        for (AssetType assetType : AssetType.values()) {
+            ids.put(assetType, new HashSet<>());
+        }
+    }
+
+    /**
+     * Fügt einen Haushalt inkl. seiner Anlagen hinzu
+     *
+     * @param household Haushalt
+     * @throws MasterdataImportException falls eine Id bereits im Import enthalten ist
+     */
+    public void addHousehold(HouseholdAggregate household) throws MasterdataImportException {
+        this.index(AssetType.HOUSEHOLD, household.getHouseholdId().getValue());
+        this.indexProducersAndStorages(household);
+        households.add(household);
+    }
+
+    /**
+     * Fügt ein DK inkl. seiner Anlagen hinzu
+     *
+     * @param decentralizedPowerPlant DK
+     * @throws MasterdataImportException falls eine Id bereits im Import enthalten ist
+     */
+    public void addDecentralizedPowerPlant(DecentralizedPowerPlantAggregate decentralizedPowerPlant) throws MasterdataImportException {
+        this.index(AssetType.DECENTRALIZED_POWER_PLANT, decentralizedPowerPlant.getDecentralizedPowerPlantId().getValue());
+        this.indexProducersAndStorages(decentralizedPowerPlant);
+        decentralizedPowerPlants.add(decentralizedPowerPlant);
+    }
+
+    public List<HouseholdAggregate> getHouseholds() {
+        return Collections.unmodifiableList(households);
+    }
+
+    public List<DecentralizedPowerPlantAggregate> getDecentralizedPowerPlants() {
+        return Collections.unmodifiableList(decentralizedPowerPlants);
+    }
+
+    /**
+     * @param assetType Art der Komponente
+     * @return Ids aller Komponenten dieser Art im Import
+     */
+    public Set<String> getIds(AssetType assetType) {
+        return Collections.unmodifiableSet(ids.get(assetType));
+    }
+
+    /**
+     * @return Anzahl aller Komponenten im Import
+     */
+    public int size() {
+        return size;
+    }
+
+    private void indexProducersAndStorages(DomainHasProducersAndStorages parent) throws MasterdataImportException {
+        for (WindEnergyEntity wind : parent.getWinds()) {
+            this.index(AssetType.WIND_ENERGY, wind.getId().getValue());
+        }
+        for (WaterEnergyEntity water : parent.getWaters()) {
+            this.index(AssetType.WATER_ENERGY, water.getId().getValue());
+        }
+        for (SolarEnergyEntity solar : parent.getSolars()) {
+            this.index(AssetType.SOLAR_ENERGY, solar.getId().getValue());
+        }
+        for (OtherEnergyEntity other : parent.getOthers()) {
+            this.index(AssetType.OTHER_ENERGY, other.getId().getValue());
+        }
+        for (StorageEntity storage : parent.getStorages()) {
+            this.index(AssetType.STORAGE, storage.getStorageId().getValue());
+        }
+    }
+
+    private void index(AssetType assetType, String id) throws MasterdataImportException {
+        if (!ids.get(assetType).add(id)) {
+            throw new MasterdataImportException(
+                    String.format("Die Id %s (%s) ist mehrfach im Import enthalten.", id, assetType)
+            );
+        }
+        size++;
+    }
+}
@@ -0,0 +1,23 @@
+package de.uol.vpp.masterdata.domain.valueobjects;
+
+import de.uol.vpp.masterdata.domain.exceptions.HouseholdException;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Ein Value Object ist für die Validierung der Attribute zuständig
+ * Für eine Definition des Objektes siehe {@link de.uol.vpp.masterdata.domain.aggregates.HouseholdAggregate}
+ */
+@Getter
+@Setter
+public class HouseholdAnnualConsumptionVO {
+
+    private final Double value;
+
+    public HouseholdAnnualConsumptionVO(Double value) throws HouseholdException {
+        if (value != null && (value.isNaN() || value < 0)) {
+            throw new HouseholdException("householdAnnualConsumption");
+        }
+        this.value = value;
+    }
+}
@@ -0,0 +1,31 @@
+package de.uol.vpp.masterdata.domain.valueobjects;
+
+import de.uol.vpp.masterdata.domain.exceptions.HouseholdException;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Set;
+
+/**
+ * Ein Value Object ist für die Validierung der Attribute zuständig
+ * Für eine Definition des Objektes siehe {@link de.uol.vpp.masterdata.domain.aggregates.HouseholdAggregate}
+ */
+@Getter
+@Setter
+public class HouseholdLoadProfileVO {
+
+    /**
+     * Standardlastprofile des BDEW, die der Lastservice prognostizieren kann
+     */
+    private static final Set<String> LOAD_PROFILES = Set.of(
+            "H0", "G0", "G1", "G2", "G3", "G4", "G5", "G6", "L0", "L1", "L2");
+
+    private final String value;
+
+    public HouseholdLoadProfileVO(String value) throws HouseholdException {
+        if (value != null && !LOAD_PROFILES.contains(value.toUpperCase())) {
+            throw new HouseholdException("householdLoadProfile");
+        }
+        this.value = value == null ? null : value.toUpperCase();
+    }
+}
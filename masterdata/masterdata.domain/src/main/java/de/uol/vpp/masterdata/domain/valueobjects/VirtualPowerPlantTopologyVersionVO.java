@@ -0,0 +1,21 @@
+package de.uol.vpp.masterdata.domain.valueobjects;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Ein Value Object ist für die Validierung der Attribute zuständig
+ * Für eine Definition des Objektes siehe {@link de.uol.vpp.masterdata.domain.aggregates.VirtualPowerPlantAggregate}
+ */
+@Setter
+@Getter
+public class VirtualPowerPlantTopologyVersionVO {
+
+
+    private final long value;
+
+    public VirtualPowerPlantTopologyVersionVO(long value) {
+        this.value = value;
+    }
+
+}
@@ -44,6 +44,7 @@ public class InfrastructureEntityConverter {
                     result
             );
             domainEntity.setPublished(new VirtualPowerPlantPublishedVO(jpaEntity.isPublished()));
+            domainEntity.setTopologyVersion(new VirtualPowerPlantTopologyVersionVO(jpaEntity.getTopologyVersion()));
             return domainEntity;
         } catch (DecentralizedPowerPlantException | HouseholdException e) {
             throw new VirtualPowerPlantException(e.getMessage(), e);
@@ -110,6 +111,12 @@ public class InfrastructureEntityConverter {
             domainEntity.setHouseholdMemberAmount(
                     new HouseholdMemberAmountVO(jpaEntity.getMemberAmount())
             );
+            domainEntity.setHouseholdLoadProfile(
+                    new HouseholdLoadProfileVO(jpaEntity.getLoadProfile())
+            );
+            domainEntity.setHouseholdAnnualConsumption(
+                    new HouseholdAnnualConsumptionVO(jpaEntity.getAnnualConsumption())
+            );
             List<WaterEnergyEntity> waters = new ArrayList<>();
             for (WaterEnergy water : jpaEntity.getWaters()) {
                 waters.add(this.toDomain(water));
@@ -231,6 +238,9 @@ public class InfrastructureEntityConverter {
             );
         }
         jpaEntity.setPublished(domainEntity.getPublished().isValue());
+        if (domainEntity.getTopologyVersion() != null) {
+            jpaEntity.setTopologyVersion(domainEntity.getTopologyVersion().getValue());
+        }
         return jpaEntity;
     }
 
@@ -274,6 +284,8 @@ public class InfrastructureEntityConverter {
         Household jpaEntity = new Household();
         jpaEntity.setId(domainEntity.getHouseholdId().getValue());
         jpaEntity.setMemberAmount(domainEntity.getHouseholdMemberAmount().getValue());
+        jpaEntity.setLoadProfile(domainEntity.getHouseholdLoadProfile().getValue());
+        jpaEntity.setAnnualConsumption(domainEntity.getHouseholdAnnualConsumption().getValue());
         if (domainEntity.getSolars() != null && !domainEntity.getSolars().isEmpty()) {
             jpaEntity.setSolars(
                     domainEntity.getSolars().stream().map(this::toInfrastructure)
@@ -37,6 +37,10 @@ public class Household {
     @Column(nullable = false)
     private Integer memberAmount;
 
+    private String loadProfile;
+
+    private Double annualConsumption;
+
     @ManyToOne
     @JoinColumn(name = "virtual_power_plant_id")
     private VirtualPowerPlant virtualPowerPlant;
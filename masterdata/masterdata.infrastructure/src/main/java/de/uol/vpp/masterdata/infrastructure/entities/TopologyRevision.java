@@ -0,0 +1,25 @@
+package de.uol.vpp.masterdata.infrastructure.entities;
+
+import lombok.Data;
+
+import javax.persistence.*;
+
+/**
+ * Datenbank-Entität einer Version der Topologie eines VK. Jede Veröffentlichung und Rücknahme der Veröffentlichung
+ * legt eine Revision an, deren von der Datenbank vergebene Id als Version der Topologie dient. Die Revisionen
+ * referenzieren das VK nur über dessen Id und bleiben beim Löschen des VK erhalten, sodass eine Version auch nach
+ * Löschen und Neuanlegen eines VK mit derselben Id nicht erneut vergeben wird.
+ */
+@Entity
+@Data
+public class TopologyRevision {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long internalId;
+
+    @Column(nullable = false)
+    private String virtualPowerPlantId;
+
+    @Column(nullable = false)
+    private boolean published;
+}
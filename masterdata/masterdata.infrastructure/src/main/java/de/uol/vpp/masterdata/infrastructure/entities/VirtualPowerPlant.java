@@ -26,4 +26,7 @@ public class VirtualPowerPlant {
 
     @Column(nullable = false)
     private boolean published;
+
+    @Column(nullable = false)
+    private long topologyVersion;
 }
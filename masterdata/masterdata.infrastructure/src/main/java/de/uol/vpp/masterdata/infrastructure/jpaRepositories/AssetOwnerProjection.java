@@ -0,0 +1,17 @@
+package de.uol.vpp.masterdata.infrastructure.jpaRepositories;
+
+/**
+ * Projektion einer Komponente auf das VK, dem sie direkt oder über einen Haushalt bzw. ein DK angehört
+ */
+public interface AssetOwnerProjection {
+
+    /**
+     * @return Id der Komponente
+     */
+    String getAssetId();
+
+    /**
+     * @return Id des VK oder null, falls die Komponente keinem VK angehört
+     */
+    String getVirtualPowerPlantId();
+}
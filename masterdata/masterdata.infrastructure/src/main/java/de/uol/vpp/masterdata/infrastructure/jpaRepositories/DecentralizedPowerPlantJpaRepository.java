@@ -3,6 +3,9 @@ package de.uol.vpp.masterdata.infrastructure.jpaRepositories;
 import de.uol.vpp.masterdata.infrastructure.entities.DecentralizedPowerPlant;
 import de.uol.vpp.masterdata.infrastructure.entities.VirtualPowerPlant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -26,4 +29,68 @@ public interface DecentralizedPowerPlantJpaRepository extends JpaRepository<Dece
      * @return Liste von DK
      */
     List<DecentralizedPowerPlant> findAllByVirtualPowerPlant(VirtualPowerPlant virtualPowerPlant);
+
+    /**
+     * Holt alle DK eines VK inkl. der Solaranlagen mit einer einzigen Abfrage (Fetch-Join)
+     *
+     * @param virtualPowerPlant VK
+     * @return Liste von DK
+     */
+    @Query("select distinct d from DecentralizedPowerPlant d left join fetch d.solars where d.virtualPowerPlant = :virtualPowerPlant")
+    List<DecentralizedPowerPlant> fetchAllWithSolarsByVirtualPowerPlant(@Param("virtualPowerPlant") VirtualPowerPlant virtualPowerPlant);
+
+    /**
+     * Holt alle DK eines VK inkl. der Windkraftanlagen mit einer einzigen Abfrage (Fetch-Join)
+     *
+     * @param virtualPowerPlant VK
+     * @return Liste von DK
+     */
+    @Query("select distinct d from DecentralizedPowerPlant d left join fetch d.winds where d.virtualPowerPlant = :virtualPowerPlant")
+    List<DecentralizedPowerPlant> fetchAllWithWindsByVirtualPowerPlant(@Param("virtualPowerPlant") VirtualPowerPlant virtualPowerPlant);
+
+    /**
+     * Holt alle DK eines VK inkl. der Wasserkraftanlagen mit einer einzigen Abfrage (Fetch-Join)
+     *
+     * @param virtualPowerPlant VK
+     * @return Liste von DK
+     */
+    @Query("select distinct d from DecentralizedPowerPlant d left join fetch d.waters where d.virtualPowerPlant = :virtualPowerPlant")
+    List<DecentralizedPowerPlant> fetchAllWithWatersByVirtualPowerPlant(@Param("virtualPowerPlant") VirtualPowerPlant virtualPowerPlant);
+
+    /**
+     * Holt alle DK eines VK inkl. der alternativen Erzeugungsanlagen mit einer einzigen Abfrage (Fetch-Join)
+     *
+     * @param virtualPowerPlant VK
+     * @return Liste von DK
+     */
+    @Query("select distinct d from DecentralizedPowerPlant d left join fetch d.others where d.virtualPowerPlant = :virtualPowerPlant")
+    List<DecentralizedPowerPlant> fetchAllWithOthersByVirtualPowerPlant(@Param("virtualPowerPlant") VirtualPowerPlant virtualPowerPlant);
+
+    /**
+     * Holt alle DK eines VK inkl. der Speicheranlagen mit einer einzigen Abfrage (Fetch-Join)
+     *
+     * @param virtualPowerPlant VK
+     * @return Liste von DK
+     */
+    @Query("select distinct d from DecentralizedPowerPlant d left join fetch d.storages where d.virtualPowerPlant = :virtualPowerPlant")
+    List<DecentralizedPowerPlant> fetchAllWithStoragesByVirtualPowerPlant(@Param("virtualPowerPlant") VirtualPowerPlant virtualPowerPlant);
+
+    /**
+     * Holt das VK des DK
+     *
+     * @param decentralizedPowerPlantId Id des DK
+     * @return Zuordnung, falls das DK existiert
+     */
+    @Query("select a.id as assetId, v.id as virtualPowerPlantId from DecentralizedPowerPlant a left join a.virtualPowerPlant v where a.id = :decentralizedPowerPlantId")
+    Optional<AssetOwnerProjection> findOwnerById(@Param("decentralizedPowerPlantId") String decentralizedPowerPlantId);
+
+    /**
+     * Löscht alle DK eines VK mit einer einzigen Abfrage
+     *
+     * @param virtualPowerPlant VK
+     * @return Anzahl der gelöschten DK
+     */
+    @Modifying
+    @Query("delete from DecentralizedPowerPlant a where a.virtualPowerPlant = :virtualPowerPlant")
+    int deleteAllByVirtualPowerPlant(@Param("virtualPowerPlant") VirtualPowerPlant virtualPowerPlant);
 }
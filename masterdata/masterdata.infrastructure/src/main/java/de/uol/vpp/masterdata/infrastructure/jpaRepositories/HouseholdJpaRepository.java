@@ -3,6 +3,9 @@ package de.uol.vpp.masterdata.infrastructure.jpaRepositories;
 import de.uol.vpp.masterdata.infrastructure.entities.Household;
 import de.uol.vpp.masterdata.infrastructure.entities.VirtualPowerPlant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -26,4 +29,68 @@ public interface HouseholdJpaRepository extends JpaRepository<Household, Long> {
      * @return Liste von Haushalten
      */
     List<Household> findAllByVirtualPowerPlant(VirtualPowerPlant virtualPowerPlant);
+
+    /**
+     * Holt alle Haushalte eines VK inkl. der Solaranlagen mit einer einzigen Abfrage (Fetch-Join)
+     *
+     * @param virtualPowerPlant VK
+     * @return Liste von Haushalten
+     */
+    @Query("select distinct h from Household h left join fetch h.solars where h.virtualPowerPlant = :virtualPowerPlant")
+    List<Household> fetchAllWithSolarsByVirtualPowerPlant(@Param("virtualPowerPlant") VirtualPowerPlant virtualPowerPlant);
+
+    /**
+     * Holt alle Haushalte eines VK inkl. der Windkraftanlagen mit einer einzigen Abfrage (Fetch-Join)
+     *
+     * @param virtualPowerPlant VK
+     * @return Liste von Haushalten
+     */
+    @Query("select distinct h from Household h left join fetch h.winds where h.virtualPowerPlant = :virtualPowerPlant")
+    List<Household> fetchAllWithWindsByVirtualPowerPlant(@Param("virtualPowerPlant") VirtualPowerPlant virtualPowerPlant);
+
+    /**
+     * Holt alle Haushalte eines VK inkl. der Wasserkraftanlagen mit einer einzigen Abfrage (Fetch-Join)
+     *
+     * @param virtualPowerPlant VK
+     * @return Liste von Haushalten
+     */
+    @Query("select distinct h from Household h left join fetch h.waters where h.virtualPowerPlant = :virtualPowerPlant")
+    List<Household> fetchAllWithWatersByVirtualPowerPlant(@Param("virtualPowerPlant") VirtualPowerPlant virtualPowerPlant);
+
+    /**
+     * Holt alle Haushalte eines VK inkl. der alternativen Erzeugungsanlagen mit einer einzigen Abfrage (Fetch-Join)
+     *
+     * @param virtualPowerPlant VK
+     * @return Liste von Haushalten
+     */
+    @Query("select distinct h from Household h left join fetch h.others where h.virtualPowerPlant = :virtualPowerPlant")
+    List<Household> fetchAllWithOthersByVirtualPowerPlant(@Param("virtualPowerPlant") VirtualPowerPlant virtualPowerPlant);
+
+    /**
+     * Holt alle Haushalte eines VK inkl. der Speicheranlagen mit einer einzigen Abfrage (Fetch-Join)
+     *
+     * @param virtualPowerPlant VK
+     * @return Liste von Haushalten
+     */
+    @Query("select distinct h from Household h left join fetch h.storages where h.virtualPowerPlant = :virtualPowerPlant")
+    List<Household> fetchAllWithStoragesByVirtualPowerPlant(@Param("virtualPowerPlant") VirtualPowerPlant virtualPowerPlant);
+
+    /**
+     * Holt das VK des Haushalts
+     *
+     * @param householdId Id des Haushalts
+     * @return Zuordnung, falls der Haushalt existiert
+     */
+    @Query("select a.id as assetId, v.id as virtualPowerPlantId from Household a left join a.virtualPowerPlant v where a.id = :householdId")
+    Optional<AssetOwnerProjection> findOwnerById(@Param("householdId") String householdId);
+
+    /**
+     * Löscht alle Haushalte eines VK mit einer einzigen Abfrage
+     *
+     * @param virtualPowerPlant VK
+     * @return Anzahl der gelöschten Haushalte
+     */
+    @Modifying
+    @Query("delete from Household a where a.virtualPowerPlant = :virtualPowerPlant")
+    int deleteAllByVirtualPowerPlant(@Param("virtualPowerPlant") VirtualPowerPlant virtualPowerPlant);
 }
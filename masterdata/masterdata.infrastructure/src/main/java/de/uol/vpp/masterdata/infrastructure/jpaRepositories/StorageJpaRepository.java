@@ -3,7 +3,11 @@ package de.uol.vpp.masterdata.infrastructure.jpaRepositories;
 import de.uol.vpp.masterdata.infrastructure.entities.DecentralizedPowerPlant;
 import de.uol.vpp.masterdata.infrastructure.entities.Household;
 import de.uol.vpp.masterdata.infrastructure.entities.Storage;
+import de.uol.vpp.masterdata.infrastructure.entities.VirtualPowerPlant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -35,4 +39,27 @@ public interface StorageJpaRepository extends JpaRepository<Storage, Long> {
      * @return Liste von Speicheranlagen
      */
     List<Storage> findAllByHousehold(Household household);
+
+    /**
+     * Holt das VK des Speichers, das über den Haushalt oder das DK zugeordnet ist
+     *
+     * @param storageId Id des Speichers
+     * @return Zuordnung, falls der Speicher existiert
+     */
+    @Query("select a.id as assetId, coalesce(hv.id, dv.id) as virtualPowerPlantId from Storage a " +
+            "left join a.household h left join h.virtualPowerPlant hv " +
+            "left join a.decentralizedPowerPlant d left join d.virtualPowerPlant dv where a.id = :storageId")
+    Optional<AssetOwnerProjection> findOwnerById(@Param("storageId") String storageId);
+
+    /**
+     * Löscht alle Speicher der Haushalte und DK eines VK mit einer einzigen Abfrage
+     *
+     * @param virtualPowerPlant VK
+     * @return Anzahl der gelöschten Speicher
+     */
+    @Modifying
+    @Query("delete from Storage a where " +
+            "a.household in (select h from Household h where h.virtualPowerPlant = :virtualPowerPlant) or " +
+            "a.decentralizedPowerPlant in (select d from DecentralizedPowerPlant d where d.virtualPowerPlant = :virtualPowerPlant)")
+    int deleteAllByVirtualPowerPlant(@Param("virtualPowerPlant") VirtualPowerPlant virtualPowerPlant);
 }
@@ -0,0 +1,10 @@
+package de.uol.vpp.masterdata.infrastructure.jpaRepositories;
+
+import de.uol.vpp.masterdata.infrastructure.entities.TopologyRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * JPA Repository der Revisionen der VK-Topologie für die Kommunikation mit der Datenbank
+ */
+public interface TopologyRevisionJpaRepository extends JpaRepository<TopologyRevision, Long> {
+}
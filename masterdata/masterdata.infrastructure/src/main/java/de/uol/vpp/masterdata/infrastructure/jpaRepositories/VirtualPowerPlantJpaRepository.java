@@ -2,6 +2,8 @@ package de.uol.vpp.masterdata.infrastructure.jpaRepositories;
 
 import de.uol.vpp.masterdata.infrastructure.entities.VirtualPowerPlant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -16,4 +18,31 @@ public interface VirtualPowerPlantJpaRepository extends JpaRepository<VirtualPow
      * @return VK
      */
     Optional<VirtualPowerPlant> findOneById(String virtualPowerPlantId);
+
+    /**
+     * Holt das VK eines DK über den Fremdschlüssel des DK
+     *
+     * @param decentralizedPowerPlantId Id des DK
+     * @return VK, falls das DK einem VK zugewiesen ist
+     */
+    @Query("select d.virtualPowerPlant from DecentralizedPowerPlant d where d.id = :decentralizedPowerPlantId")
+    Optional<VirtualPowerPlant> findOneByDecentralizedPowerPlantId(@Param("decentralizedPowerPlantId") String decentralizedPowerPlantId);
+
+    /**
+     * Holt das VK eines Haushalts über den Fremdschlüssel des Haushalts
+     *
+     * @param householdId Id des Haushalts
+     * @return VK, falls der Haushalt einem VK zugewiesen ist
+     */
+    @Query("select h.virtualPowerPlant from Household h where h.id = :householdId")
+    Optional<VirtualPowerPlant> findOneByHouseholdId(@Param("householdId") String householdId);
+
+    /**
+     * Holt den Veröffentlichungsstatus eines VK, ohne das VK zu laden
+     *
+     * @param virtualPowerPlantId Id des VK
+     * @return true, falls das VK veröffentlicht ist
+     */
+    @Query("select v.published from VirtualPowerPlant v where v.id = :virtualPowerPlantId")
+    Optional<Boolean> findPublishedById(@Param("virtualPowerPlantId") String virtualPowerPlantId);
 }
@@ -0,0 +1,85 @@
+package de.uol.vpp.masterdata.infrastructure.repositories;
+
+import de.uol.vpp.masterdata.domain.exceptions.VirtualPowerPlantRepositoryException;
+import de.uol.vpp.masterdata.domain.repositories.IAssetOwnershipRepository;
+import de.uol.vpp.masterdata.domain.utils.AssetOwnership;
+import de.uol.vpp.masterdata.domain.utils.AssetType;
+import de.uol.vpp.masterdata.domain.valueobjects.VirtualPowerPlantIdVO;
+import de.uol.vpp.masterdata.infrastructure.jpaRepositories.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Implementierung der Schnittstellendefinition {@link IAssetOwnershipRepository}.
+ * Die Zugehörigkeit einer Komponente wird über eine Abfrage auf den Fremdschlüsseln der Komponente ermittelt und im
+ * {@link VirtualPowerPlantResolutionCache} gespiegelt. Der Veröffentlichungsstatus wird bei jeder Prüfung über die
+ * Id des VK gelesen, ohne das VK mit seinen Komponenten zu laden.
+ */
+@RequiredArgsConstructor
+@Service
+public class AssetOwnershipRepositoryImpl implements IAssetOwnershipRepository {
+
+    private final VirtualPowerPlantJpaRepository virtualPowerPlantJpaRepository;
+    private final DecentralizedPowerPlantJpaRepository decentralizedPowerPlantJpaRepository;
+    private final HouseholdJpaRepository householdJpaRepository;
+    private final WindEnergyJpaRepository windEnergyJpaRepository;
+    private final WaterEnergyJpaRepository waterEnergyJpaRepository;
+    private final SolarEnergyJpaRepository solarEnergyJpaRepository;
+    private final OtherEnergyJpaRepository otherEnergyJpaRepository;
+    private final StorageJpaRepository storageJpaRepository;
+
+    private final VirtualPowerPlantResolutionCache resolutionCache;
+
+    @Override
+    public AssetOwnership getOwnership(VirtualPowerPlantIdVO virtualPowerPlantId, AssetType assetType, String assetId) throws VirtualPowerPlantRepositoryException {
+        Optional<Boolean> published = virtualPowerPlantJpaRepository.findPublishedById(virtualPowerPlantId.getValue());
+        if (published.isEmpty()) {
+            return AssetOwnership.virtualPowerPlantNotFound();
+        }
+
+        Optional<String> cached = resolutionCache.get(assetType, assetId);
+        if (cached.isPresent() && cached.get().equals(virtualPowerPlantId.getValue())) {
+            return AssetOwnership.owned(published.get());
+        }
+
+        long generation = resolutionCache.generation();
+        Optional<AssetOwnerProjection> owner = findOwner(assetType, assetId);
+        if (owner.isEmpty()) {
+            resolutionCache.evict(assetType, assetId);
+            return AssetOwnership.assetNotFound(published.get());
+        }
+        String ownerId = owner.get().getVirtualPowerPlantId();
+        if (ownerId == null) {
+            resolutionCache.evict(assetType, assetId);
+            return AssetOwnership.foreign(published.get());
+        }
+        resolutionCache.put(assetType, assetId, ownerId, generation);
+        return ownerId.equals(virtualPowerPlantId.getValue()) ?
+                AssetOwnership.owned(published.get()) : AssetOwnership.foreign(published.get());
+    }
+
+    private Optional<AssetOwnerProjection> findOwner(AssetType assetType, String assetId) throws VirtualPowerPlantRepositoryException {
+        switch (assetType) {
+            case DECENTRALIZED_POWER_PLANT:
+                return decentralizedPowerPlantJpaRepository.findOwnerById(assetId);
+            case HOUSEHOLD:
+                return householdJpaRepository.findOwnerById(assetId);
+            case WIND_ENERGY:
+                return windEnergyJpaRepository.findOwnerById(assetId);
+            case WATER_ENERGY:
+                return waterEnergyJpaRepository.findOwnerById(assetId);
+            case SOLAR_ENERGY:
+                return solarEnergyJpaRepository.findOwnerById(assetId);
+            case OTHER_ENERGY:
+                return otherEnergyJpaRepository.findOwnerById(assetId);
+            case STORAGE:
+                return storageJpaRepository.findOwnerById(assetId);
+            default:
+                throw new VirtualPowerPlantRepositoryException(
+                        String.format("Die Zugehörigkeit der Komponente %s kann nicht geprüft werden, da die Art %s unbekannt ist.", assetId, assetType)
+                );
+        }
+    }
+}
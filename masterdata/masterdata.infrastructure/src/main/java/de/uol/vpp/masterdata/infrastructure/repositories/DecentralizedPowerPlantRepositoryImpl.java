@@ -6,6 +6,7 @@ import de.uol.vpp.masterdata.domain.exceptions.DecentralizedPowerPlantException;
 import de.uol.vpp.masterdata.domain.exceptions.DecentralizedPowerPlantRepositoryException;
 import de.uol.vpp.masterdata.domain.exceptions.VirtualPowerPlantRepositoryException;
 import de.uol.vpp.masterdata.domain.repositories.IDecentralizedPowerPlantRepository;
+import de.uol.vpp.masterdata.domain.utils.AssetType;
 import de.uol.vpp.masterdata.domain.valueobjects.DecentralizedPowerPlantIdVO;
 import de.uol.vpp.masterdata.infrastructure.InfrastructureEntityConverter;
 import de.uol.vpp.masterdata.infrastructure.entities.DecentralizedPowerPlant;
@@ -34,6 +35,7 @@ public class DecentralizedPowerPlantRepositoryImpl implements IDecentralizedPowe
     private final StorageJpaRepository storageJpaRepository;
 
     private final InfrastructureEntityConverter converter;
+    private final VirtualPowerPlantResolutionCache resolutionCache;
 
     @Override
     public List<DecentralizedPowerPlantAggregate> getAllByVppId(VirtualPowerPlantAggregate virtualPowerPlantAggregate) throws DecentralizedPowerPlantRepositoryException {
@@ -86,6 +88,7 @@ public class DecentralizedPowerPlantRepositoryImpl implements IDecentralizedPowe
             if (jpaEntity.getVirtualPowerPlant() == null) {
                 jpaEntity.setVirtualPowerPlant(virtualPowerPlantJpaEntity);
                 jpaRepository.save(jpaEntity);
+                resolutionCache.evict(AssetType.DECENTRALIZED_POWER_PLANT, jpaEntity.getId());
                 virtualPowerPlantJpaEntity.getDecentralizedPowerPlants().add(jpaEntity);
                 virtualPowerPlantJpaRepository.save(virtualPowerPlantJpaEntity);
             } else {
@@ -109,6 +112,7 @@ public class DecentralizedPowerPlantRepositoryImpl implements IDecentralizedPowe
             DecentralizedPowerPlant jpaEntity = jpaEntityOptional.get();
             jpaEntity.setId(domainEntity.getDecentralizedPowerPlantId().getValue());
             jpaRepository.save(jpaEntity);
+            resolutionCache.evict(AssetType.DECENTRALIZED_POWER_PLANT, id.getValue());
         } else {
             throw new DecentralizedPowerPlantRepositoryException(
                     String.format("Das DK %s konnte nicht aktualisiert werden, da das DK nicht gefunden wurde.", id.getValue())
@@ -129,6 +133,12 @@ public class DecentralizedPowerPlantRepositoryImpl implements IDecentralizedPowe
             dpp.getStorages().forEach(storageJpaRepository::delete);
 
             jpaRepository.delete(dpp);
+            dpp.getWaters().forEach((water) -> resolutionCache.evict(AssetType.WATER_ENERGY, water.getId()));
+            dpp.getWinds().forEach((wind) -> resolutionCache.evict(AssetType.WIND_ENERGY, wind.getId()));
+            dpp.getSolars().forEach((solar) -> resolutionCache.evict(AssetType.SOLAR_ENERGY, solar.getId()));
+            dpp.getOthers().forEach((other) -> resolutionCache.evict(AssetType.OTHER_ENERGY, other.getId()));
+            dpp.getStorages().forEach((storage) -> resolutionCache.evict(AssetType.STORAGE, storage.getId()));
+            resolutionCache.evict(AssetType.DECENTRALIZED_POWER_PLANT, id.getValue());
         } else {
             throw new DecentralizedPowerPlantRepositoryException(
                     String.format("Das DK %s konnte nicht gelöscht werden, da das DK nicht gefunden wurde.", id.getValue())
@@ -5,6 +5,7 @@ import de.uol.vpp.masterdata.domain.aggregates.VirtualPowerPlantAggregate;
 import de.uol.vpp.masterdata.domain.exceptions.HouseholdException;
 import de.uol.vpp.masterdata.domain.exceptions.HouseholdRepositoryException;
 import de.uol.vpp.masterdata.domain.repositories.IHouseholdRepository;
+import de.uol.vpp.masterdata.domain.utils.AssetType;
 import de.uol.vpp.masterdata.domain.valueobjects.HouseholdIdVO;
 import de.uol.vpp.masterdata.infrastructure.InfrastructureEntityConverter;
 import de.uol.vpp.masterdata.infrastructure.entities.Household;
@@ -32,6 +33,7 @@ public class HouseholdRepositoryImpl implements IHouseholdRepository {
     private final WaterEnergyJpaRepository waterJpaRepository;
     private final OtherEnergyJpaRepository otherJpaRepository;
     private final InfrastructureEntityConverter converter;
+    private final VirtualPowerPlantResolutionCache resolutionCache;
 
     @Override
     public List<HouseholdAggregate> getAllByVirtualPowerPlant(VirtualPowerPlantAggregate virtualPowerPlantAggregate) throws HouseholdRepositoryException {
@@ -85,6 +87,12 @@ public class HouseholdRepositoryImpl implements IHouseholdRepository {
             household.getStorages().forEach(storageJpaRepository::delete);
 
             jpaRepository.delete(household);
+            household.getWaters().forEach((water) -> resolutionCache.evict(AssetType.WATER_ENERGY, water.getId()));
+            household.getWinds().forEach((wind) -> resolutionCache.evict(AssetType.WIND_ENERGY, wind.getId()));
+            household.getSolars().forEach((solar) -> resolutionCache.evict(AssetType.SOLAR_ENERGY, solar.getId()));
+            household.getOthers().forEach((other) -> resolutionCache.evict(AssetType.OTHER_ENERGY, other.getId()));
+            household.getStorages().forEach((storage) -> resolutionCache.evict(AssetType.STORAGE, storage.getId()));
+            resolutionCache.evict(AssetType.HOUSEHOLD, id.getValue());
         } else {
             throw new HouseholdRepositoryException(
                     String.format("Der Haushalt %s konnte nicht gelöscht werden, da der Haushalt nicht gefunden wurde.", id.getValue())
@@ -102,6 +110,7 @@ public class HouseholdRepositoryImpl implements IHouseholdRepository {
             if (jpaEntity.getVirtualPowerPlant() == null) {
                 jpaEntity.setVirtualPowerPlant(virtualPowerPlantJpaEntity);
                 jpaRepository.save(jpaEntity);
+                resolutionCache.evict(AssetType.HOUSEHOLD, jpaEntity.getId());
                 virtualPowerPlantJpaEntity.getHouseholds().add(jpaEntity);
                 virtualPowerPlantJpaRepository.save(virtualPowerPlantJpaEntity);
             } else {
@@ -126,7 +135,10 @@ public class HouseholdRepositoryImpl implements IHouseholdRepository {
             Household updated = converter.toInfrastructure(domainEntity);
             jpaEntity.setId(updated.getId());
             jpaEntity.setMemberAmount(updated.getMemberAmount());
+            jpaEntity.setLoadProfile(updated.getLoadProfile());
+            jpaEntity.setAnnualConsumption(updated.getAnnualConsumption());
             jpaRepository.save(jpaEntity);
+            resolutionCache.evict(AssetType.HOUSEHOLD, id.getValue());
         } else {
             throw new HouseholdRepositoryException(
                     String.format("Der Haushalt %s konnte nicht aktualisiert werden, da der Haushalt nicht gefunden wurde.", id.getValue())
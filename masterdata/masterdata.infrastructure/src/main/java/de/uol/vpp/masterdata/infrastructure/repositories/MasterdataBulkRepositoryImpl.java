@@ -0,0 +1,356 @@
+package de.uol.vpp.masterdata.infrastructure.repositories;
+
+import de.uol.vpp.masterdata.domain.aggregates.DecentralizedPowerPlantAggregate;
+import de.uol.vpp.masterdata.domain.aggregates.HouseholdAggregate;
+import de.uol.vpp.masterdata.domain.aggregates.abstracts.DomainHasProducersAndStorages;
+import de.uol.vpp.masterdata.domain.exceptions.MasterdataBulkRepositoryException;
+import de.uol.vpp.masterdata.domain.repositories.IMasterdataBulkRepository;
+import de.uol.vpp.masterdata.domain.utils.AssetType;
+import de.uol.vpp.masterdata.domain.utils.MasterdataImport;
+import de.uol.vpp.masterdata.domain.valueobjects.VirtualPowerPlantIdVO;
+import de.uol.vpp.masterdata.infrastructure.InfrastructureEntityConverter;
+import de.uol.vpp.masterdata.infrastructure.entities.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Implementierung der Schnittstellendefinition {@link IMasterdataBulkRepository}.
+ * Die Komponenten werden ohne JPA per JDBC-Batch gespeichert, jeweils {@link MasterdataBulkRepositoryImpl#CHUNK_SIZE}
+ * Datensätze in einer eigenen Transaktion. Haushalte und DK werden vor ihren Anlagen gespeichert, deren Fremdschlüssel
+ * anschließend mit einer Abfrage pro Tabelle aufgelöst werden. Schlägt eine Transaktion fehl, werden die bereits
+ * gespeicherten Datensätze des Imports in umgekehrter Reihenfolge wieder gelöscht.
+ */
+@RequiredArgsConstructor
+@Service
+@Log4j2
+public class MasterdataBulkRepositoryImpl implements IMasterdataBulkRepository {
+
+    /**
+     * Anzahl der Datensätze pro JDBC-Batch
+     */
+    private static final int BATCH_SIZE = 1000;
+
+    /**
+     * Anzahl der Datensätze pro Transaktion
+     */
+    private static final int CHUNK_SIZE = 10000;
+
+    private static final String INSERT_HOUSEHOLD =
+            "INSERT INTO household (id, member_amount, load_profile, annual_consumption, virtual_power_plant_id) " +
+                    "VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_DECENTRALIZED_POWER_PLANT =
+            "INSERT INTO decentralized_power_plant (id, virtual_power_plant_id) VALUES (?, ?)";
+
+    private static final String INSERT_WIND_ENERGY =
+            "INSERT INTO wind_energy (id, longitude, latitude, efficiency, capacity, radius, height, " +
+                    "household_id, decentralized_power_plant_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_WATER_ENERGY =
+            "INSERT INTO water_energy (id, efficiency, capacity, density, gravity, height, volume_flow, " +
+                    "household_id, decentralized_power_plant_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_SOLAR_ENERGY =
+            "INSERT INTO solar_energy (id, longitude, latitude, rated_capacity, capacity, alignment, slope, " +
+                    "household_id, decentralized_power_plant_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_OTHER_ENERGY =
+            "INSERT INTO other_energy (id, rated_capacity, capacity, household_id, decentralized_power_plant_id) " +
+                    "VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_STORAGE =
+            "INSERT INTO storage (id, rated_power, capacity, load_time_hour, household_id, decentralized_power_plant_id) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final Map<AssetType, String> TABLES = new EnumMap<>(Map.of(
+            AssetType.DECENTRALIZED_POWER_PLANT, "decentralized_power_plant",
+            AssetType.HOUSEHOLD, "household",
+            AssetType.WIND_ENERGY, "wind_energy",
+            AssetType.WATER_ENERGY, "water_energy",
+            AssetType.SOLAR_ENERGY, "solar_energy",
+            AssetType.OTHER_ENERGY, "other_energy",
+            AssetType.STORAGE, "storage"
+    ));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InfrastructureEntityConverter converter;
+
+    @Override
+    public Set<String> getExistingIds(AssetType assetType, Collection<String> ids) throws MasterdataBulkRepositoryException {
+        try {
+            Set<String> existing = new HashSet<>();
+            List<String> idList = new ArrayList<>(ids);
+            for (int offset = 0; offset < idList.size(); offset += BATCH_SIZE) {
+                List<String> chunk = idList.subList(offset, Math.min(idList.size(), offset + BATCH_SIZE));
+                String sql = String.format("SELECT id FROM %s WHERE id IN (%s)", TABLES.get(assetType),
+                        String.join(", ", Collections.nCopies(chunk.size(), "?")));
+                existing.addAll(jdbcTemplate.queryForList(sql, String.class, chunk.toArray()));
+            }
+            return existing;
+        } catch (DataAccessException e) {
+            throw new MasterdataBulkRepositoryException("Die Prüfung der existierenden Komponenten ist fehlgeschlagen.", e);
+        }
+    }
+
+    @Override
+    public int importAll(VirtualPowerPlantIdVO virtualPowerPlantId, MasterdataImport masterdataImport) throws MasterdataBulkRepositoryException {
+        try {
+            List<Long> virtualPowerPlantInternalIds = jdbcTemplate.queryForList(
+                    "SELECT internal_id FROM virtual_power_plant WHERE id = ?", Long.class, virtualPowerPlantId.getValue());
+            if (virtualPowerPlantInternalIds.isEmpty()) {
+                throw new MasterdataBulkRepositoryException(
+                        String.format("Der Import ist fehlgeschlagen, da das VK %s nicht gefunden wurde.", virtualPowerPlantId.getValue())
+                );
+            }
+            long virtualPowerPlantInternalId = virtualPowerPlantInternalIds.get(0);
+            Deque<CommittedChunk> committed = new ArrayDeque<>();
+            try {
+                return this.importAll(virtualPowerPlantId, virtualPowerPlantInternalId, masterdataImport, committed);
+            } catch (RuntimeException e) {
+                throw this.compensate(virtualPowerPlantId, committed, e);
+            }
+        } catch (DataAccessException e) {
+            throw new MasterdataBulkRepositoryException(
+                    String.format("Der Import in das VK %s ist fehlgeschlagen.", virtualPowerPlantId.getValue()), e);
+        }
+    }
+
+    /**
+     * Speichert alle Komponenten des Imports und merkt sich jede erfolgreich abgeschlossene Transaktion
+     *
+     * @param virtualPowerPlantId         Id des VK
+     * @param virtualPowerPlantInternalId interne Datenbank-Id des VK
+     * @param masterdataImport            Import
+     * @param committed                   abgeschlossene Transaktionen in der Reihenfolge ihrer Ausführung
+     * @return Anzahl der gespeicherten Komponenten
+     */
+    private int importAll(VirtualPowerPlantIdVO virtualPowerPlantId, long virtualPowerPlantInternalId,
+                          MasterdataImport masterdataImport, Deque<CommittedChunk> committed) {
+        int rows = this.insert(AssetType.HOUSEHOLD, INSERT_HOUSEHOLD, masterdataImport.getHouseholds(),
+                household -> household.getHouseholdId().getValue(), committed, (ps, household) -> {
+            ps.setString(1, household.getHouseholdId().getValue());
+            ps.setInt(2, household.getHouseholdMemberAmount().getValue());
+            ps.setString(3, household.getHouseholdLoadProfile().getValue());
+            ps.setObject(4, household.getHouseholdAnnualConsumption().getValue(), Types.DOUBLE);
+            ps.setLong(5, virtualPowerPlantInternalId);
+        });
+        rows += this.insert(AssetType.DECENTRALIZED_POWER_PLANT, INSERT_DECENTRALIZED_POWER_PLANT,
+                masterdataImport.getDecentralizedPowerPlants(), dpp -> dpp.getDecentralizedPowerPlantId().getValue(),
+                committed, (ps, dpp) -> {
+            ps.setString(1, dpp.getDecentralizedPowerPlantId().getValue());
+            ps.setLong(2, virtualPowerPlantInternalId);
+        });
+
+        // Fremdschlüssel der soeben gespeicherten Haushalte und DK
+        Map<String, Long> householdInternalIds = this.getInternalIds("household", virtualPowerPlantInternalId);
+        Map<String, Long> dppInternalIds = this.getInternalIds("decentralized_power_plant", virtualPowerPlantInternalId);
+        List<Child<DomainHasProducersAndStorages>> parents = new ArrayList<>();
+        for (HouseholdAggregate household : masterdataImport.getHouseholds()) {
+            parents.add(new Child<>(household, householdInternalIds.get(household.getHouseholdId().getValue()), null));
+        }
+        for (DecentralizedPowerPlantAggregate dpp : masterdataImport.getDecentralizedPowerPlants()) {
+            parents.add(new Child<>(dpp, null, dppInternalIds.get(dpp.getDecentralizedPowerPlantId().getValue())));
+        }
+
+        List<Child<WindEnergy>> winds = new ArrayList<>();
+        List<Child<WaterEnergy>> waters = new ArrayList<>();
+        List<Child<SolarEnergy>> solars = new ArrayList<>();
+        List<Child<OtherEnergy>> others = new ArrayList<>();
+        List<Child<Storage>> storages = new ArrayList<>();
+        for (Child<DomainHasProducersAndStorages> parent : parents) {
+            parent.entity.getWinds().forEach((wind) -> winds.add(parent.with(converter.toInfrastructure(wind))));
+            parent.entity.getWaters().forEach((water) -> waters.add(parent.with(converter.toInfrastructure(water))));
+            parent.entity.getSolars().forEach((solar) -> solars.add(parent.with(converter.toInfrastructure(solar))));
+            parent.entity.getOthers().forEach((other) -> others.add(parent.with(converter.toInfrastructure(other))));
+            parent.entity.getStorages().forEach((storage) -> storages.add(parent.with(converter.toInfrastructure(storage))));
+        }
+
+        rows += this.insert(AssetType.WIND_ENERGY, INSERT_WIND_ENERGY, winds, child -> child.entity.getId(), committed, (ps, child) -> {
+            WindEnergy wind = child.entity;
+            ps.setString(1, wind.getId());
+            ps.setDouble(2, wind.getLongitude());
+            ps.setDouble(3, wind.getLatitude());
+            ps.setDouble(4, wind.getEfficiency());
+            ps.setDouble(5, wind.getCapacity());
+            ps.setDouble(6, wind.getRadius());
+            ps.setDouble(7, wind.getHeight());
+            child.setParents(ps, 8);
+        });
+        rows += this.insert(AssetType.WATER_ENERGY, INSERT_WATER_ENERGY, waters, child -> child.entity.getId(), committed, (ps, child) -> {
+            WaterEnergy water = child.entity;
+            ps.setString(1, water.getId());
+            ps.setDouble(2, water.getEfficiency());
+            ps.setDouble(3, water.getCapacity());
+            ps.setDouble(4, water.getDensity());
+            ps.setDouble(5, water.getGravity());
+            ps.setDouble(6, water.getHeight());
+            ps.setDouble(7, water.getVolumeFlow());
+            child.setParents(ps, 8);
+        });
+        rows += this.insert(AssetType.SOLAR_ENERGY, INSERT_SOLAR_ENERGY, solars, child -> child.entity.getId(), committed, (ps, child) -> {
+            SolarEnergy solar = child.entity;
+            ps.setString(1, solar.getId());
+            ps.setDouble(2, solar.getLongitude());
+            ps.setDouble(3, solar.getLatitude());
+            ps.setDouble(4, solar.getRatedCapacity());
+            ps.setDouble(5, solar.getCapacity());
+            ps.setDouble(6, solar.getAlignment());
+            ps.setDouble(7, solar.getSlope());
+            child.setParents(ps, 8);
+        });
+        rows += this.insert(AssetType.OTHER_ENERGY, INSERT_OTHER_ENERGY, others, child -> child.entity.getId(), committed, (ps, child) -> {
+            OtherEnergy other = child.entity;
+            ps.setString(1, other.getId());
+            ps.setDouble(2, other.getRatedCapacity());
+            ps.setDouble(3, other.getCapacity());
+            child.setParents(ps, 4);
+        });
+        rows += this.insert(AssetType.STORAGE, INSERT_STORAGE, storages, child -> child.entity.getId(), committed, (ps, child) -> {
+            Storage storage = child.entity;
+            ps.setString(1, storage.getId());
+            ps.setDouble(2, storage.getRatedPower());
+            ps.setDouble(3, storage.getCapacity());
+            ps.setDouble(4, storage.getLoadTimeHour());
+            child.setParents(ps, 5);
+        });
+
+        log.info("Import in das VK {}: {} Haushalte, {} DK, {} Wind-, {} Wasser-, {} Solar- und {} alternative " +
+                        "Erzeugungsanlagen sowie {} Speicher gespeichert", virtualPowerPlantId.getValue(),
+                masterdataImport.getHouseholds().size(), masterdataImport.getDecentralizedPowerPlants().size(),
+                winds.size(), waters.size(), solars.size(), others.size(), storages.size());
+        return rows;
+    }
+
+    /**
+     * Löscht die bereits gespeicherten Datensätze eines fehlgeschlagenen Imports. Die Transaktionen werden in umgekehrter
+     * Reihenfolge zurückgenommen, sodass Anlagen vor ihren Haushalten und DK gelöscht werden. Die Ids wurden vor dem
+     * Import als nicht existierend geprüft, daher werden ausschließlich Datensätze des Imports gelöscht. Schlägt auch das
+     * Löschen fehl, nennt die Fehlermeldung alle weiterhin gespeicherten Datensätze.
+     *
+     * @param virtualPowerPlantId Id des VK
+     * @param committed           abgeschlossene Transaktionen des Imports
+     * @param cause               Ursache des Fehlschlags
+     * @return Exception mit dem Ergebnis der Kompensation
+     */
+    private MasterdataBulkRepositoryException compensate(VirtualPowerPlantIdVO virtualPowerPlantId, Deque<CommittedChunk> committed,
+                                                         RuntimeException cause) {
+        try {
+            while (!committed.isEmpty()) {
+                CommittedChunk chunk = committed.peekLast();
+                transactionTemplate.executeWithoutResult((status) -> {
+                    for (int offset = 0; offset < chunk.ids.size(); offset += BATCH_SIZE) {
+                        List<String> ids = chunk.ids.subList(offset, Math.min(chunk.ids.size(), offset + BATCH_SIZE));
+                        jdbcTemplate.update(String.format("DELETE FROM %s WHERE id IN (%s)", TABLES.get(chunk.assetType),
+                                String.join(", ", Collections.nCopies(ids.size(), "?"))), ids.toArray());
+                    }
+                });
+                committed.pollLast();
+            }
+            return new MasterdataBulkRepositoryException(
+                    String.format("Der Import in das VK %s ist fehlgeschlagen, bereits gespeicherte Komponenten wurden wieder entfernt.",
+                            virtualPowerPlantId.getValue()), cause);
+        } catch (DataAccessException e) {
+            Map<AssetType, List<String>> remaining = new EnumMap<>(AssetType.class);
+            committed.forEach(chunk -> remaining.computeIfAbsent(chunk.assetType, (type) -> new ArrayList<>()).addAll(chunk.ids));
+            log.error("Import in das VK {} fehlgeschlagen, folgende Komponenten konnten nicht entfernt werden: {}",
+                    virtualPowerPlantId.getValue(), remaining, e);
+            cause.addSuppressed(e);
+            return new MasterdataBulkRepositoryException(
+                    String.format("Der Import in das VK %s ist fehlgeschlagen, folgende Komponenten sind dennoch gespeichert: %s",
+                            virtualPowerPlantId.getValue(), remaining), cause);
+        }
+    }
+
+    /**
+     * Speichert die Zeilen in Transaktionen von {@link MasterdataBulkRepositoryImpl#CHUNK_SIZE} Zeilen, die jeweils in
+     * JDBC-Batches von {@link MasterdataBulkRepositoryImpl#BATCH_SIZE} Zeilen ausgeführt werden
+     *
+     * @param assetType Art der Komponente
+     * @param sql       Anweisung
+     * @param rows      Zeilen
+     * @param idOf      Id der Komponente einer Zeile
+     * @param committed abgeschlossene Transaktionen, um jede erfolgreiche Transaktion ergänzt
+     * @param setter    setzt die Parameter einer Zeile
+     * @param <T>       Typ der Zeile
+     * @return Anzahl der gespeicherten Zeilen
+     */
+    private <T> int insert(AssetType assetType, String sql, List<T> rows, Function<T, String> idOf,
+                           Deque<CommittedChunk> committed, ParameterizedPreparedStatementSetter<T> setter) {
+        for (int offset = 0; offset < rows.size(); offset += CHUNK_SIZE) {
+            List<T> chunk = rows.subList(offset, Math.min(rows.size(), offset + CHUNK_SIZE));
+            transactionTemplate.executeWithoutResult((status) -> jdbcTemplate.batchUpdate(sql, chunk, BATCH_SIZE, setter));
+            List<String> ids = new ArrayList<>(chunk.size());
+            chunk.forEach(row -> ids.add(idOf.apply(row)));
+            committed.add(new CommittedChunk(assetType, ids));
+        }
+        return rows.size();
+    }
+
+    private Map<String, Long> getInternalIds(String table, long virtualPowerPlantInternalId) {
+        Map<String, Long> internalIds = new HashMap<>();
+        jdbcTemplate.query(String.format("SELECT internal_id, id FROM %s WHERE virtual_power_plant_id = ?", table),
+                (rs) -> {
+                    internalIds.put(rs.getString(2), rs.getLong(1));
+                }, virtualPowerPlantInternalId);
+        return internalIds;
+    }
+
+    /**
+     * Ids der in einer abgeschlossenen Transaktion gespeicherten Komponenten einer Art
+     */
+    private static final class CommittedChunk {
+        private final AssetType assetType;
+        private final List<String> ids;
+
+        private CommittedChunk(AssetType assetType, List<String> ids) {
+            this.assetType = assetType;
+            this.ids = ids;
+        }
+    }
+
+    /**
+     * Zu speichernde Anlage mit dem Fremdschlüssel ihres Haushalts oder DK
+     *
+     * @param <T> Typ der Anlage
+     */
+    private static final class Child<T> {
+        private final T entity;
+        private final Long householdInternalId;
+        private final Long dppInternalId;
+
+        private Child(T entity, Long householdInternalId, Long dppInternalId) {
+            this.entity = entity;
+            this.householdInternalId = householdInternalId;
+            this.dppInternalId = dppInternalId;
+        }
+
+        private <C> Child<C> with(C child) {
+            return new Child<>(child, householdInternalId, dppInternalId);
+        }
+
+        private void setParents(PreparedStatement ps, int index) throws SQLException {
+            if (householdInternalId != null) {
+                ps.setLong(index, householdInternalId);
+            } else {
+                ps.setNull(index, Types.BIGINT);
+            }
+            if (dppInternalId != null) {
+                ps.setLong(index + 1, dppInternalId);
+            } else {
+                ps.setNull(index + 1, Types.BIGINT);
+            }
+        }
+    }
+}
@@ -6,6 +6,7 @@ import de.uol.vpp.masterdata.domain.entities.OtherEnergyEntity;
 import de.uol.vpp.masterdata.domain.exceptions.ProducerException;
 import de.uol.vpp.masterdata.domain.exceptions.ProducerRepositoryException;
 import de.uol.vpp.masterdata.domain.repositories.IOtherEnergyRepository;
+import de.uol.vpp.masterdata.domain.utils.AssetType;
 import de.uol.vpp.masterdata.domain.valueobjects.OtherEnergyIdVO;
 import de.uol.vpp.masterdata.infrastructure.InfrastructureEntityConverter;
 import de.uol.vpp.masterdata.infrastructure.entities.DecentralizedPowerPlant;
@@ -32,6 +33,7 @@ public class OtherEnergyRepositoryImpl implements IOtherEnergyRepository {
     private final DecentralizedPowerPlantJpaRepository decentralizedPowerPlantJpaRepository;
     private final HouseholdJpaRepository householdJpaRepository;
     private final InfrastructureEntityConverter converter;
+    private final VirtualPowerPlantResolutionCache resolutionCache;
 
     @Override
     public List<OtherEnergyEntity> getAllByDecentralizedPowerPlant(DecentralizedPowerPlantAggregate decentralizedPowerPlantAggregate) throws ProducerRepositoryException {
@@ -154,6 +156,7 @@ public class OtherEnergyRepositoryImpl implements IOtherEnergyRepository {
         Optional<OtherEnergy> jpaEntity = jpaRepository.findOneById(id.getValue());
         if (jpaEntity.isPresent()) {
             jpaRepository.delete(jpaEntity.get());
+            resolutionCache.evict(AssetType.OTHER_ENERGY, id.getValue());
         } else {
             throw new ProducerRepositoryException(
                     String.format("Die alternative Erzeugungsanlage %s konnte nicht gelöscht werden, da die alternative Erzeugungsanlage nicht gefunden wurde.", id.getValue())
@@ -171,6 +174,7 @@ public class OtherEnergyRepositoryImpl implements IOtherEnergyRepository {
             jpaEntity.setRatedCapacity(updated.getRatedCapacity());
             jpaEntity.setCapacity(updated.getCapacity());
             jpaRepository.save(jpaEntity);
+            resolutionCache.evict(AssetType.OTHER_ENERGY, id.getValue());
         } else {
             throw new ProducerRepositoryException("Die alternative Erzeugungsanlage konnte nicht aktualisiert werden, da die alternative Erzeugungsanlage nicht gefunden wurde.");
         }
@@ -6,6 +6,7 @@ import de.uol.vpp.masterdata.domain.entities.SolarEnergyEntity;
 import de.uol.vpp.masterdata.domain.exceptions.ProducerException;
 import de.uol.vpp.masterdata.domain.exceptions.ProducerRepositoryException;
 import de.uol.vpp.masterdata.domain.repositories.ISolarEnergyRepository;
+import de.uol.vpp.masterdata.domain.utils.AssetType;
 import de.uol.vpp.masterdata.domain.valueobjects.SolarEnergyIdVO;
 import de.uol.vpp.masterdata.infrastructure.InfrastructureEntityConverter;
 import de.uol.vpp.masterdata.infrastructure.entities.DecentralizedPowerPlant;
@@ -29,6 +30,7 @@ public class SolarEnergyRepositoryImpl implements ISolarEnergyRepository {
     private final DecentralizedPowerPlantJpaRepository decentralizedPowerPlantJpaRepository;
     private final HouseholdJpaRepository householdJpaRepository;
     private final InfrastructureEntityConverter converter;
+    private final VirtualPowerPlantResolutionCache resolutionCache;
 
     @Override
     public List<SolarEnergyEntity> getAllByDecentralizedPowerPlant(DecentralizedPowerPlantAggregate decentralizedPowerPlantAggregate) throws ProducerRepositoryException {
@@ -151,6 +153,7 @@ public class SolarEnergyRepositoryImpl implements ISolarEnergyRepository {
         Optional<SolarEnergy> jpaEntity = jpaRepository.findOneById(id.getValue());
         if (jpaEntity.isPresent()) {
             jpaRepository.delete(jpaEntity.get());
+            resolutionCache.evict(AssetType.SOLAR_ENERGY, id.getValue());
         } else {
             throw new ProducerRepositoryException(
                     String.format("Die Solaranlage %s konnte nicht gelöscht werden, da die Solaranlage nicht gefunden wurde.", id.getValue())
@@ -170,6 +173,7 @@ public class SolarEnergyRepositoryImpl implements ISolarEnergyRepository {
             jpaEntity.setAlignment(updated.getAlignment());
             jpaEntity.setSlope(updated.getSlope());
             jpaRepository.save(jpaEntity);
+            resolutionCache.evict(AssetType.SOLAR_ENERGY, id.getValue());
         } else {
             throw new ProducerRepositoryException(
                     String.format("Die Solaranlage %s konnte nicht aktualisiert werden, da die Solaranlage nicht gefunden wurde.", id.getValue())
@@ -6,6 +6,7 @@ import de.uol.vpp.masterdata.domain.entities.StorageEntity;
 import de.uol.vpp.masterdata.domain.exceptions.StorageException;
 import de.uol.vpp.masterdata.domain.exceptions.StorageRepositoryException;
 import de.uol.vpp.masterdata.domain.repositories.IStorageRepository;
+import de.uol.vpp.masterdata.domain.utils.AssetType;
 import de.uol.vpp.masterdata.domain.valueobjects.StorageIdVO;
 import de.uol.vpp.masterdata.infrastructure.InfrastructureEntityConverter;
 import de.uol.vpp.masterdata.infrastructure.entities.DecentralizedPowerPlant;
@@ -32,6 +33,7 @@ public class StorageRepositoryImpl implements IStorageRepository {
     private final DecentralizedPowerPlantJpaRepository decentralizedPowerPlantJpaRepository;
     private final HouseholdJpaRepository householdJpaRepository;
     private final InfrastructureEntityConverter converter;
+    private final VirtualPowerPlantResolutionCache resolutionCache;
 
     @Override
     public List<StorageEntity> getAllByDecentralizedPowerPlant(DecentralizedPowerPlantAggregate decentralizedPowerPlantAggregate) throws StorageRepositoryException {
@@ -156,6 +158,7 @@ public class StorageRepositoryImpl implements IStorageRepository {
         Optional<Storage> jpaEntity = jpaRepository.findOneById(id.getValue());
         if (jpaEntity.isPresent()) {
             jpaRepository.delete(jpaEntity.get());
+            resolutionCache.evict(AssetType.STORAGE, id.getValue());
         } else {
             throw new StorageRepositoryException(
                     String.format("Die Speicheranlage %s konnte nicht gelöscht werden, da die Speicheranlage nicht gefunden wurde.", id.getValue())
@@ -175,6 +178,7 @@ public class StorageRepositoryImpl implements IStorageRepository {
             jpaEntity.setCapacity(updated.getCapacity());
             jpaEntity.setLoadTimeHour(updated.getLoadTimeHour());
             jpaRepository.save(jpaEntity);
+            resolutionCache.evict(AssetType.STORAGE, id.getValue());
         } else {
             throw new StorageRepositoryException(String.format("Die Speicheranlage %s konnte nicht aktualisiert werden, da die Speicheranlage nicht gefunden wurde.", id.getValue()));
         }
@@ -4,19 +4,22 @@ import de.uol.vpp.masterdata.domain.aggregates.VirtualPowerPlantAggregate;
 import de.uol.vpp.masterdata.domain.exceptions.VirtualPowerPlantException;
 import de.uol.vpp.masterdata.domain.exceptions.VirtualPowerPlantRepositoryException;
 import de.uol.vpp.masterdata.domain.repositories.IVirtualPowerPlantRepository;
+import de.uol.vpp.masterdata.domain.utils.AssetType;
 import de.uol.vpp.masterdata.domain.valueobjects.DecentralizedPowerPlantIdVO;
 import de.uol.vpp.masterdata.domain.valueobjects.HouseholdIdVO;
 import de.uol.vpp.masterdata.domain.valueobjects.VirtualPowerPlantIdVO;
 import de.uol.vpp.masterdata.infrastructure.InfrastructureEntityConverter;
-import de.uol.vpp.masterdata.infrastructure.entities.DecentralizedPowerPlant;
-import de.uol.vpp.masterdata.infrastructure.entities.Household;
+import de.uol.vpp.masterdata.infrastructure.entities.TopologyRevision;
 import de.uol.vpp.masterdata.infrastructure.entities.VirtualPowerPlant;
 import de.uol.vpp.masterdata.infrastructure.jpaRepositories.*;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -24,6 +27,7 @@ import java.util.Optional;
  */
 @RequiredArgsConstructor
 @Service
+@Log4j2
 public class VirtualPowerPlantRepositoryImpl implements IVirtualPowerPlantRepository {
 
     private final VirtualPowerPlantJpaRepository jpaRepository;
@@ -35,8 +39,10 @@ public class VirtualPowerPlantRepositoryImpl implements IVirtualPowerPlantReposi
     private final StorageJpaRepository storageJpaRepository;
     private final DecentralizedPowerPlantJpaRepository decentralizedPowerPlantJpaRepository;
     private final HouseholdJpaRepository householdJpaRepository;
+    private final TopologyRevisionJpaRepository topologyRevisionJpaRepository;
 
     private final InfrastructureEntityConverter converter;
+    private final VirtualPowerPlantResolutionCache resolutionCache;
 
     @Override
     public List<VirtualPowerPlantAggregate> getAll() throws VirtualPowerPlantRepositoryException {
@@ -58,31 +64,30 @@ public class VirtualPowerPlantRepositoryImpl implements IVirtualPowerPlantReposi
     }
 
     @Override
-    public void deleteById(VirtualPowerPlantIdVO id) throws VirtualPowerPlantRepositoryException {
+    public Map<AssetType, Integer> deleteById(VirtualPowerPlantIdVO id) throws VirtualPowerPlantRepositoryException {
         Optional<VirtualPowerPlant> result = jpaRepository.findOneById(id.getValue());
         if (result.isPresent()) {
             VirtualPowerPlant vpp = result.get();
 
-            //Delete all children
-            vpp.getHouseholds().forEach((h) -> {
-                h.getWaters().forEach(waterJpaRepository::delete);
-                h.getWinds().forEach(windJpaRepository::delete);
-                h.getSolars().forEach(solarJpaRepository::delete);
-                h.getOthers().forEach(otherJpaRepository::delete);
-                h.getStorages().forEach(storageJpaRepository::delete);
-                householdJpaRepository.delete(h);
-            });
-
-            vpp.getDecentralizedPowerPlants().forEach((dpp) -> {
-                dpp.getWaters().forEach(waterJpaRepository::delete);
-                dpp.getWinds().forEach(windJpaRepository::delete);
-                dpp.getSolars().forEach(solarJpaRepository::delete);
-                dpp.getOthers().forEach(otherJpaRepository::delete);
-                dpp.getStorages().forEach(storageJpaRepository::delete);
-                decentralizedPowerPlantJpaRepository.delete(dpp);
-            });
-
-            jpaRepository.delete(result.get());
+            // Mengenbasiertes Löschen pro Tabelle über den Fremdschlüssel des VK, ohne die Komponenten zu laden.
+            // Die Kinder werden vor ihren Eltern gelöscht, die Transaktion stellt der aufrufende Service bereit.
+            Map<AssetType, Integer> deleted = new EnumMap<>(AssetType.class);
+            deleted.put(AssetType.WATER_ENERGY, waterJpaRepository.deleteAllByVirtualPowerPlant(vpp));
+            deleted.put(AssetType.WIND_ENERGY, windJpaRepository.deleteAllByVirtualPowerPlant(vpp));
+            deleted.put(AssetType.SOLAR_ENERGY, solarJpaRepository.deleteAllByVirtualPowerPlant(vpp));
+            deleted.put(AssetType.OTHER_ENERGY, otherJpaRepository.deleteAllByVirtualPowerPlant(vpp));
+            deleted.put(AssetType.STORAGE, storageJpaRepository.deleteAllByVirtualPowerPlant(vpp));
+            deleted.put(AssetType.HOUSEHOLD, householdJpaRepository.deleteAllByVirtualPowerPlant(vpp));
+            deleted.put(AssetType.DECENTRALIZED_POWER_PLANT, decentralizedPowerPlantJpaRepository.deleteAllByVirtualPowerPlant(vpp));
+
+            jpaRepository.delete(vpp);
+            resolutionCache.evictVirtualPowerPlant(id.getValue());
+            log.info("VK {} gelöscht: {} Haushalte, {} DK, {} Wasserkraftanlagen, {} Windkraftanlagen, {} Solaranlagen, " +
+                            "{} alternative Erzeugungsanlagen, {} Speicher", id.getValue(),
+                    deleted.get(AssetType.HOUSEHOLD), deleted.get(AssetType.DECENTRALIZED_POWER_PLANT),
+                    deleted.get(AssetType.WATER_ENERGY), deleted.get(AssetType.WIND_ENERGY), deleted.get(AssetType.SOLAR_ENERGY),
+                    deleted.get(AssetType.OTHER_ENERGY), deleted.get(AssetType.STORAGE));
+            return deleted;
         } else {
             throw new VirtualPowerPlantRepositoryException(
                     String.format("Das VK %s kann nicht gelöscht werden, da das VK nicht gefunden wurde.", id.getValue())
@@ -96,6 +101,7 @@ public class VirtualPowerPlantRepositoryImpl implements IVirtualPowerPlantReposi
         if (result.isPresent()) {
             VirtualPowerPlant vpp = result.get();
             vpp.setPublished(true);
+            vpp.setTopologyVersion(this.createTopologyRevision(vpp));
             jpaRepository.save(vpp);
         } else {
             throw new VirtualPowerPlantRepositoryException(
@@ -110,6 +116,7 @@ public class VirtualPowerPlantRepositoryImpl implements IVirtualPowerPlantReposi
         if (result.isPresent()) {
             VirtualPowerPlant vpp = result.get();
             vpp.setPublished(false);
+            vpp.setTopologyVersion(this.createTopologyRevision(vpp));
             jpaRepository.save(vpp);
         } else {
             throw new VirtualPowerPlantRepositoryException(
@@ -118,11 +125,26 @@ public class VirtualPowerPlantRepositoryImpl implements IVirtualPowerPlantReposi
         }
     }
 
+    /**
+     * Legt eine neue Revision der Topologie an. Die Id der Revision wird von der Datenbank global eindeutig vergeben,
+     * sodass die Version auch über das Löschen und Neuanlegen eines VK mit derselben Id hinweg nicht wiederverwendet
+     * wird und zwischengespeicherte Topologien sowie ETags eines gelöschten VK nie erneut gültig werden.
+     *
+     * @param vpp VK
+     * @return neue Version der Topologie
+     */
+    private long createTopologyRevision(VirtualPowerPlant vpp) {
+        TopologyRevision revision = new TopologyRevision();
+        revision.setVirtualPowerPlantId(vpp.getId());
+        revision.setPublished(vpp.isPublished());
+        return topologyRevisionJpaRepository.save(revision).getInternalId();
+    }
+
     @Override
     public boolean isPublished(VirtualPowerPlantIdVO id) throws VirtualPowerPlantRepositoryException {
-        Optional<VirtualPowerPlantAggregate> vpp = this.getById(id);
-        if (vpp.isPresent()) {
-            return vpp.get().getPublished().isValue();
+        Optional<Boolean> published = jpaRepository.findPublishedById(id.getValue());
+        if (published.isPresent()) {
+            return published.get();
         } else {
             throw new VirtualPowerPlantRepositoryException(String.format("Das VK %s konnte nicht veröffentlicht werden, da VK nicht gefunden wurde.", id.getValue()));
         }
@@ -145,17 +167,53 @@ public class VirtualPowerPlantRepositoryImpl implements IVirtualPowerPlantReposi
 
     }
 
+    @Override
+    public Optional<VirtualPowerPlantAggregate> getTopologyById(VirtualPowerPlantIdVO id) throws VirtualPowerPlantRepositoryException {
+        try {
+            Optional<VirtualPowerPlant> result = jpaRepository.findOneById(id.getValue());
+            if (result.isPresent()) {
+                VirtualPowerPlant vpp = result.get();
+                // Eine Fetch-Join Abfrage pro Anlagentyp, die geladenen Haushalte und DK sind im Persistenzkontext
+                // identisch, sodass beim Konvertieren keine weiteren Abfragen pro Haushalt oder DK entstehen
+                householdJpaRepository.fetchAllWithSolarsByVirtualPowerPlant(vpp);
+                householdJpaRepository.fetchAllWithWindsByVirtualPowerPlant(vpp);
+                householdJpaRepository.fetchAllWithWatersByVirtualPowerPlant(vpp);
+                householdJpaRepository.fetchAllWithOthersByVirtualPowerPlant(vpp);
+                householdJpaRepository.fetchAllWithStoragesByVirtualPowerPlant(vpp);
+                decentralizedPowerPlantJpaRepository.fetchAllWithSolarsByVirtualPowerPlant(vpp);
+                decentralizedPowerPlantJpaRepository.fetchAllWithWindsByVirtualPowerPlant(vpp);
+                decentralizedPowerPlantJpaRepository.fetchAllWithWatersByVirtualPowerPlant(vpp);
+                decentralizedPowerPlantJpaRepository.fetchAllWithOthersByVirtualPowerPlant(vpp);
+                decentralizedPowerPlantJpaRepository.fetchAllWithStoragesByVirtualPowerPlant(vpp);
+                return Optional.of(converter.toDomain(vpp));
+            } else {
+                return Optional.empty();
+            }
+        } catch (VirtualPowerPlantException e) {
+            throw new VirtualPowerPlantRepositoryException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Optional<Long> getPublishedTopologyVersion(VirtualPowerPlantIdVO id) throws VirtualPowerPlantRepositoryException {
+        return jpaRepository.findOneById(id.getValue())
+                .filter(VirtualPowerPlant::isPublished)
+                .map(VirtualPowerPlant::getTopologyVersion);
+    }
+
     @Override
     public VirtualPowerPlantAggregate getByDpp(DecentralizedPowerPlantIdVO decentralizedPowerPlantId) throws VirtualPowerPlantRepositoryException {
         try {
-            List<VirtualPowerPlant> vpps = jpaRepository.findAll();
-
-            for (VirtualPowerPlant vpp : vpps) {
-                for (DecentralizedPowerPlant dpp : vpp.getDecentralizedPowerPlants()) {
-                    if (dpp.getId().equals(decentralizedPowerPlantId.getValue())) {
-                        return converter.toDomain(vpp);
-                    }
-                }
+            String id = decentralizedPowerPlantId.getValue();
+            Optional<VirtualPowerPlant> vpp = resolutionCache.get(AssetType.DECENTRALIZED_POWER_PLANT, id)
+                    .flatMap(jpaRepository::findOneById);
+            if (vpp.isEmpty()) {
+                long generation = resolutionCache.generation();
+                vpp = jpaRepository.findOneByDecentralizedPowerPlantId(id);
+                vpp.ifPresent(resolved -> resolutionCache.put(AssetType.DECENTRALIZED_POWER_PLANT, id, resolved.getId(), generation));
+            }
+            if (vpp.isPresent()) {
+                return converter.toDomain(vpp.get());
             }
         } catch (VirtualPowerPlantException e) {
             throw new VirtualPowerPlantRepositoryException(e.getMessage(), e);
@@ -168,14 +226,16 @@ public class VirtualPowerPlantRepositoryImpl implements IVirtualPowerPlantReposi
     @Override
     public VirtualPowerPlantAggregate getByHousehold(HouseholdIdVO householdId) throws VirtualPowerPlantRepositoryException {
         try {
-            List<VirtualPowerPlant> vpps = jpaRepository.findAll();
-
-            for (VirtualPowerPlant vpp : vpps) {
-                for (Household dpp : vpp.getHouseholds()) {
-                    if (dpp.getId().equals(householdId.getValue())) {
-                        return converter.toDomain(vpp);
-                    }
-                }
+            String id = householdId.getValue();
+            Optional<VirtualPowerPlant> vpp = resolutionCache.get(AssetType.HOUSEHOLD, id)
+                    .flatMap(jpaRepository::findOneById);
+            if (vpp.isEmpty()) {
+                long generation = resolutionCache.generation();
+                vpp = jpaRepository.findOneByHouseholdId(id);
+                vpp.ifPresent(resolved -> resolutionCache.put(AssetType.HOUSEHOLD, id, resolved.getId(), generation));
+            }
+            if (vpp.isPresent()) {
+                return converter.toDomain(vpp.get());
             }
         } catch (VirtualPowerPlantException e) {
             throw new VirtualPowerPlantRepositoryException(e.getMessage(), e);
@@ -193,6 +253,7 @@ public class VirtualPowerPlantRepositoryImpl implements IVirtualPowerPlantReposi
             VirtualPowerPlant updated = converter.toInfrastructure(domainEntity);
             jpaEntity.setId(updated.getId());
             jpaRepository.save(jpaEntity);
+            resolutionCache.evictVirtualPowerPlant(id.getValue());
         } else {
             throw new VirtualPowerPlantRepositoryException(
                     String.format("Das VK %s konnte nicht aktualisiert werden, da das VK nicht gefunden wurde.", id.getValue())
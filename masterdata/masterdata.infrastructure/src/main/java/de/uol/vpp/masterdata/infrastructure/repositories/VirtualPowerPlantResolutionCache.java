@@ -0,0 +1,133 @@
+package de.uol.vpp.masterdata.infrastructure.repositories;
+
+import de.uol.vpp.masterdata.domain.utils.AssetType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Größenbeschränkter Cache für die Zuordnung von Komponenten (DK, Haushalte, Anlagen und Speicher) zu ihrem VK.
+ * Die Zuordnung ändert sich nur durch strukturelle Änderungen (Zuweisen, Umbenennen und Löschen), die den Cache
+ * über die Repositories invalidieren. Nicht zugeordnete Komponenten werden nicht abgelegt. Bei Überschreitung der
+ * maximalen Größe wird der am längsten nicht genutzte Eintrag verdrängt.
+ * <p>
+ * Innerhalb einer Transaktion wird zusätzlich nach deren Abschluss invalidiert, da parallele Zugriffe bis zum
+ * Commit noch die alte Zuordnung lesen und erneut ablegen können. Eine Zuordnung wird außerdem nur abgelegt, wenn
+ * seit dem Beginn ihres Auslesens ({@link #generation()}) keine Invalidierung stattgefunden hat.
+ */
+@Component
+public class VirtualPowerPlantResolutionCache {
+
+    private final Map<Key, String> entries;
+    private long generation = 0;
+
+    public VirtualPowerPlantResolutionCache(@Value("${vpp.masterdata.resolution-cache.max-size:10000}") int maxSize) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @param assetType Art der Komponente
+     * @param assetId   Id der Komponente
+     * @return Id des zugehörigen VK, falls zwischengespeichert
+     */
+    public synchronized Optional<String> get(AssetType assetType, String assetId) {
+        return Optional.ofNullable(entries.get(new Key(assetType, assetId)));
+    }
+
+    /**
+     * @return Stand der Invalidierungen, der vor dem Auslesen einer Zuordnung aus der Datenbank abzufragen ist
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Legt eine Zuordnung ab, sofern seit dem übergebenen Stand keine Invalidierung stattgefunden hat
+     *
+     * @param assetType           Art der Komponente
+     * @param assetId             Id der Komponente
+     * @param virtualPowerPlantId Id des zugehörigen VK
+     * @param readGeneration      Stand der Invalidierungen vor dem Auslesen der Zuordnung
+     */
+    public synchronized void put(AssetType assetType, String assetId, String virtualPowerPlantId, long readGeneration) {
+        if (readGeneration == generation) {
+            entries.put(new Key(assetType, assetId), virtualPowerPlantId);
+        }
+    }
+
+    /**
+     * Entfernt die Zuordnung einer Komponente sofort und, innerhalb einer Transaktion, erneut nach deren Abschluss
+     *
+     * @param assetType Art der Komponente
+     * @param assetId   Id der Komponente
+     */
+    public void evict(AssetType assetType, String assetId) {
+        Key key = new Key(assetType, assetId);
+        this.evictNowAndAfterCompletion(() -> entries.remove(key));
+    }
+
+    /**
+     * Entfernt alle Zuordnungen auf ein VK, z.B. beim Löschen oder Umbenennen des VK. Innerhalb einer Transaktion
+     * wird nach deren Abschluss erneut invalidiert.
+     *
+     * @param virtualPowerPlantId Id des VK
+     */
+    public void evictVirtualPowerPlant(String virtualPowerPlantId) {
+        this.evictNowAndAfterCompletion(() -> entries.values().removeIf(virtualPowerPlantId::equals));
+    }
+
+    private void evictNowAndAfterCompletion(Runnable eviction) {
+        this.evictNow(eviction);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(eviction);
+                }
+            });
+        }
+    }
+
+    private synchronized void evictNow(Runnable eviction) {
+        generation++;
+        eviction.run();
+    }
+
+    private static final class Key {
+        private final AssetType assetType;
+        private final String assetId;
+
+        private Key(AssetType assetType, String assetId) {
+            this.assetType = assetType;
+            this.assetId = assetId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return assetType == key.assetType && assetId.equals(key.assetId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(assetType, assetId);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import de.uol.vpp.masterdata.domain.entities.WaterEnergyEntity;
 import de.uol.vpp.masterdata.domain.exceptions.ProducerException;
 import de.uol.vpp.masterdata.domain.exceptions.ProducerRepositoryException;
 import de.uol.vpp.masterdata.domain.repositories.IWaterEnergyRepository;
+import de.uol.vpp.masterdata.domain.utils.AssetType;
 import de.uol.vpp.masterdata.domain.valueobjects.WaterEnergyIdVO;
 import de.uol.vpp.masterdata.infrastructure.InfrastructureEntityConverter;
 import de.uol.vpp.masterdata.infrastructure.entities.DecentralizedPowerPlant;
@@ -32,6 +33,7 @@ public class WaterEnergyRepositoryImpl implements IWaterEnergyRepository {
     private final DecentralizedPowerPlantJpaRepository decentralizedPowerPlantJpaRepository;
     private final HouseholdJpaRepository householdJpaRepository;
     private final InfrastructureEntityConverter converter;
+    private final VirtualPowerPlantResolutionCache resolutionCache;
 
     @Override
     public List<WaterEnergyEntity> getAllByDecentralizedPowerPlant(DecentralizedPowerPlantAggregate decentralizedPowerPlantAggregate) throws ProducerRepositoryException {
@@ -154,6 +156,7 @@ public class WaterEnergyRepositoryImpl implements IWaterEnergyRepository {
         Optional<WaterEnergy> jpaEntity = jpaRepository.findOneById(id.getValue());
         if (jpaEntity.isPresent()) {
             jpaRepository.delete(jpaEntity.get());
+            resolutionCache.evict(AssetType.WATER_ENERGY, id.getValue());
         } else {
             throw new ProducerRepositoryException(
                     String.format("Die Wasserkraftanlage %s konnte nicht gelöscht werden, da die Wasserkraftanlage nicht gefunden wurde.", id.getValue())
@@ -175,6 +178,7 @@ public class WaterEnergyRepositoryImpl implements IWaterEnergyRepository {
             jpaEntity.setGravity(updated.getGravity());
             jpaEntity.setVolumeFlow(updated.getVolumeFlow());
             jpaRepository.save(jpaEntity);
+            resolutionCache.evict(AssetType.WATER_ENERGY, id.getValue());
         } else {
             throw new ProducerRepositoryException("Die Wasserkraftanlage %s konnte nicht aktualisiert werden, da Wasserkraftanlage nicht gefunden wurde.");
         }
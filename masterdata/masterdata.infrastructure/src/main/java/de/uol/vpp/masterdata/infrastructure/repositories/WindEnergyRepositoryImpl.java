@@ -6,6 +6,7 @@ import de.uol.vpp.masterdata.domain.entities.WindEnergyEntity;
 import de.uol.vpp.masterdata.domain.exceptions.ProducerException;
 import de.uol.vpp.masterdata.domain.exceptions.ProducerRepositoryException;
 import de.uol.vpp.masterdata.domain.repositories.IWindEnergyRepository;
+import de.uol.vpp.masterdata.domain.utils.AssetType;
 import de.uol.vpp.masterdata.domain.valueobjects.WindEnergyIdVO;
 import de.uol.vpp.masterdata.infrastructure.InfrastructureEntityConverter;
 import de.uol.vpp.masterdata.infrastructure.entities.DecentralizedPowerPlant;
@@ -32,6 +33,7 @@ public class WindEnergyRepositoryImpl implements IWindEnergyRepository {
     private final DecentralizedPowerPlantJpaRepository decentralizedPowerPlantJpaRepository;
     private final HouseholdJpaRepository householdJpaRepository;
     private final InfrastructureEntityConverter converter;
+    private final VirtualPowerPlantResolutionCache resolutionCache;
 
     @Override
     public List<WindEnergyEntity> getAllByDecentralizedPowerPlant(DecentralizedPowerPlantAggregate decentralizedPowerPlantAggregate) throws ProducerRepositoryException {
@@ -154,6 +156,7 @@ public class WindEnergyRepositoryImpl implements IWindEnergyRepository {
         Optional<WindEnergy> jpaEntity = jpaRepository.findOneById(id.getValue());
         if (jpaEntity.isPresent()) {
             jpaRepository.delete(jpaEntity.get());
+            resolutionCache.evict(AssetType.WIND_ENERGY, id.getValue());
         } else {
             throw new ProducerRepositoryException(
                     String.format("Die Windkraftanlage %s konnte nicht gelöscht werden, da die Windkraftanlage nicht gefunden wurde.", id.getValue())
@@ -175,6 +178,7 @@ public class WindEnergyRepositoryImpl implements IWindEnergyRepository {
             jpaEntity.setHeight(updated.getHeight());
             jpaEntity.setRadius(updated.getRadius());
             jpaRepository.save(jpaEntity);
+            resolutionCache.evict(AssetType.WIND_ENERGY, id.getValue());
         } else {
             throw new ProducerRepositoryException("Die Windkraftanlage %s konnte nicht aktualisiert werden, da die Windkraftanlage nicht gefunden wurde.");
         }
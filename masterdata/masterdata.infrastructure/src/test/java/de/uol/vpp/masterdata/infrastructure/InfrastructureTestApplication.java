@@ -0,0 +1,10 @@
+package de.uol.vpp.masterdata.infrastructure;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Konfiguration der Tests der Infrastrukturschicht. Die Tests beziehen hierüber die Entitäten und JPA Repositories.
+ */
+@SpringBootApplication
+public class InfrastructureTestApplication {
+}
@@ -0,0 +1,191 @@
+package de.uol.vpp.masterdata.infrastructure.repositories;
+
+import de.uol.vpp.masterdata.domain.aggregates.DecentralizedPowerPlantAggregate;
+import de.uol.vpp.masterdata.domain.aggregates.HouseholdAggregate;
+import de.uol.vpp.masterdata.domain.aggregates.VirtualPowerPlantAggregate;
+import de.uol.vpp.masterdata.domain.entities.OtherEnergyEntity;
+import de.uol.vpp.masterdata.domain.entities.SolarEnergyEntity;
+import de.uol.vpp.masterdata.domain.entities.StorageEntity;
+import de.uol.vpp.masterdata.domain.exceptions.MasterdataBulkRepositoryException;
+import de.uol.vpp.masterdata.domain.utils.AssetType;
+import de.uol.vpp.masterdata.domain.utils.MasterdataImport;
+import de.uol.vpp.masterdata.domain.valueobjects.*;
+import de.uol.vpp.masterdata.infrastructure.InfrastructureEntityConverter;
+import de.uol.vpp.masterdata.infrastructure.entities.VirtualPowerPlant;
+import de.uol.vpp.masterdata.infrastructure.jpaRepositories.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test des Massenimports gegen eine H2-Datenbank. Die Tests laufen ohne umschließende Transaktion, da der Import jeden
+ * Abschnitt von 10.000 Datensätzen in einer eigenen Transaktion speichert und beim Fehlschlag wieder löscht.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({MasterdataBulkRepositoryImpl.class, VirtualPowerPlantRepositoryImpl.class, InfrastructureEntityConverter.class,
+        VirtualPowerPlantResolutionCache.class})
+class MasterdataBulkRepositoryImplTest {
+
+    @Autowired
+    private MasterdataBulkRepositoryImpl repository;
+    @Autowired
+    private VirtualPowerPlantRepositoryImpl virtualPowerPlantRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private VirtualPowerPlantJpaRepository virtualPowerPlantJpaRepository;
+    @Autowired
+    private HouseholdJpaRepository householdJpaRepository;
+    @Autowired
+    private DecentralizedPowerPlantJpaRepository decentralizedPowerPlantJpaRepository;
+    @Autowired
+    private SolarEnergyJpaRepository solarJpaRepository;
+    @Autowired
+    private OtherEnergyJpaRepository otherJpaRepository;
+    @Autowired
+    private StorageJpaRepository storageJpaRepository;
+
+    @AfterEach
+    void deleteAll() {
+        otherJpaRepository.deleteAllInBatch();
+        solarJpaRepository.deleteAllInBatch();
+        storageJpaRepository.deleteAllInBatch();
+        householdJpaRepository.deleteAllInBatch();
+        decentralizedPowerPlantJpaRepository.deleteAllInBatch();
+        virtualPowerPlantJpaRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void failedChunkRemovesAllCommittedChunks() throws Exception {
+        this.createVirtualPowerPlant("VPP");
+        // 11.000 Haushalte und 12.000 alternative Erzeugungsanlagen, also jeweils zwei Transaktionen
+        MasterdataImport masterdataImport = new MasterdataImport();
+        for (int i = 0; i < 11000; i++) {
+            masterdataImport.addHousehold(this.household("HOUSEHOLD-" + i, false));
+        }
+        DecentralizedPowerPlantAggregate dpp = new DecentralizedPowerPlantAggregate();
+        dpp.setDecentralizedPowerPlantId(new DecentralizedPowerPlantIdVO("DPP"));
+        for (int i = 0; i < 12000; i++) {
+            dpp.getOthers().add(this.other("OTHER-" + i));
+        }
+        masterdataImport.addDecentralizedPowerPlant(dpp);
+
+        // Eine parallel gespeicherte Anlage mit derselben Id wie im zweiten Abschnitt der alternativen Anlagen wurde
+        // durch die vorherige Prüfung nicht erkannt
+        assertTrue(repository.getExistingIds(AssetType.OTHER_ENERGY,
+                masterdataImport.getIds(AssetType.OTHER_ENERGY)).isEmpty());
+        jdbcTemplate.update("INSERT INTO other_energy (id, rated_capacity, capacity) VALUES ('OTHER-11000', 1.0, 100.0)");
+
+        MasterdataBulkRepositoryException exception = assertThrows(MasterdataBulkRepositoryException.class,
+                () -> repository.importAll(new VirtualPowerPlantIdVO("VPP"), masterdataImport));
+        assertTrue(exception.getMessage().contains("wieder entfernt"), exception.getMessage());
+
+        // Die beiden Abschnitte der Haushalte, das DK und der erste Abschnitt der Anlagen wurden wieder gelöscht
+        assertEquals(0, householdJpaRepository.count());
+        assertEquals(0, decentralizedPowerPlantJpaRepository.count());
+        assertEquals(1, otherJpaRepository.count());
+        assertTrue(otherJpaRepository.findOneById("OTHER-11000").isPresent());
+    }
+
+    @Test
+    void importedTopologyIsExportedUnchanged() throws Exception {
+        this.createVirtualPowerPlant("VPP");
+        // 1.000 Haushalte mit Solaranlage und Speicher sowie 10 DK mit je 4.800 alternativen Anlagen: 51.010 Komponenten
+        MasterdataImport masterdataImport = new MasterdataImport();
+        for (int i = 0; i < 1000; i++) {
+            masterdataImport.addHousehold(this.household("HOUSEHOLD-" + i, true));
+        }
+        for (int i = 0; i < 10; i++) {
+            DecentralizedPowerPlantAggregate dpp = new DecentralizedPowerPlantAggregate();
+            dpp.setDecentralizedPowerPlantId(new DecentralizedPowerPlantIdVO("DPP-" + i));
+            for (int j = 0; j < 4800; j++) {
+                dpp.getOthers().add(this.other("OTHER-" + i + "-" + j));
+            }
+            masterdataImport.addDecentralizedPowerPlant(dpp);
+        }
+
+        assertEquals(51010, repository.importAll(new VirtualPowerPlantIdVO("VPP"), masterdataImport));
+
+        VirtualPowerPlantAggregate topology = transactionTemplate.execute((status) -> {
+            try {
+                return virtualPowerPlantRepository.getTopologyById(new VirtualPowerPlantIdVO("VPP")).orElseThrow();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertNotNull(topology);
+        assertEquals(1000, topology.getHouseholds().size());
+        assertEquals(10, topology.getDecentralizedPowerPlants().size());
+
+        Map<String, HouseholdAggregate> households = new HashMap<>();
+        topology.getHouseholds().forEach(household -> households.put(household.getHouseholdId().getValue(), household));
+        for (HouseholdAggregate expected : masterdataImport.getHouseholds()) {
+            HouseholdAggregate actual = households.get(expected.getHouseholdId().getValue());
+            assertNotNull(actual, expected.getHouseholdId().getValue());
+            assertEquals(expected.getHouseholdMemberAmount().getValue(), actual.getHouseholdMemberAmount().getValue());
+            assertEquals(expected.getHouseholdLoadProfile().getValue(), actual.getHouseholdLoadProfile().getValue());
+            assertEquals(expected.getHouseholdAnnualConsumption().getValue(), actual.getHouseholdAnnualConsumption().getValue());
+            assertEquals(expected.getSolars().get(0).getId().getValue(), actual.getSolars().get(0).getId().getValue());
+            assertEquals(expected.getStorages().get(0).getStorageId().getValue(), actual.getStorages().get(0).getStorageId().getValue());
+        }
+        for (DecentralizedPowerPlantAggregate dpp : topology.getDecentralizedPowerPlants()) {
+            assertEquals(4800, dpp.getOthers().size(), dpp.getDecentralizedPowerPlantId().getValue());
+        }
+    }
+
+    private void createVirtualPowerPlant(String id) {
+        VirtualPowerPlant vpp = new VirtualPowerPlant();
+        vpp.setId(id);
+        virtualPowerPlantJpaRepository.save(vpp);
+    }
+
+    private HouseholdAggregate household(String id, boolean withAssets) throws Exception {
+        HouseholdAggregate household = new HouseholdAggregate();
+        household.setHouseholdId(new HouseholdIdVO(id));
+        household.setHouseholdMemberAmount(new HouseholdMemberAmountVO(3));
+        household.setHouseholdLoadProfile(new HouseholdLoadProfileVO("H0"));
+        household.setHouseholdAnnualConsumption(new HouseholdAnnualConsumptionVO(3500.));
+        if (withAssets) {
+            SolarEnergyEntity solar = new SolarEnergyEntity();
+            solar.setId(new SolarEnergyIdVO(id + "-SOLAR"));
+            solar.setLongitude(new SolarEnergyLongitudeVO(8.2));
+            solar.setLatitude(new SolarEnergyLatitudeVO(53.1));
+            solar.setRatedCapacity(new SolarEnergyRatedCapacityVO(10.));
+            solar.setCapacity(new SolarEnergyCapacityVO(100.));
+            solar.setAlignment(new SolarEnergyAlignmentVO(180.));
+            solar.setSlope(new SolarEnergySlopeVO(30.));
+            household.getSolars().add(solar);
+
+            StorageEntity storage = new StorageEntity();
+            storage.setStorageId(new StorageIdVO(id + "-STORAGE"));
+            storage.setStoragePower(new StoragePowerVO(5.));
+            storage.setStorageCapacity(new StorageCapacityVO(50.));
+            storage.setLoadTimeHour(new StorageLoadTimeHourVO(2.));
+            household.getStorages().add(storage);
+        }
+        return household;
+    }
+
+    private OtherEnergyEntity other(String id) throws Exception {
+        OtherEnergyEntity other = new OtherEnergyEntity();
+        other.setId(new OtherEnergyIdVO(id));
+        other.setRatedCapacity(new OtherEnergyRatedCapacityVO(10.));
+        other.setCapacity(new OtherEnergyCapacityVO(100.));
+        return other;
+    }
+}
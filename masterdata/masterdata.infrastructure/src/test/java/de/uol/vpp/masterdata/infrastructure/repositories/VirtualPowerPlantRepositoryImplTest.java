@@ -0,0 +1,175 @@
+package de.uol.vpp.masterdata.infrastructure.repositories;
+
+import de.uol.vpp.masterdata.domain.utils.AssetType;
+import de.uol.vpp.masterdata.domain.valueobjects.VirtualPowerPlantIdVO;
+import de.uol.vpp.masterdata.infrastructure.InfrastructureEntityConverter;
+import de.uol.vpp.masterdata.infrastructure.entities.*;
+import de.uol.vpp.masterdata.infrastructure.jpaRepositories.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test des mengenbasierten Löschens eines VK gegen eine H2-Datenbank. Das VK besitzt 1.000 Haushalte mit je einer
+ * Solaranlage und einem Speicher sowie 10 DK mit je 500 Wind-, 200 Wasser- und 100 alternativen Erzeugungsanlagen,
+ * insgesamt also 10.000 Anlagen. Ein zweites VK darf durch das Löschen nicht verändert werden.
+ */
+@DataJpaTest
+@Import({VirtualPowerPlantRepositoryImpl.class, InfrastructureEntityConverter.class, VirtualPowerPlantResolutionCache.class})
+class VirtualPowerPlantRepositoryImplTest {
+
+    private static final int HOUSEHOLDS = 1000;
+    private static final int DECENTRALIZED_POWER_PLANTS = 10;
+    private static final int WINDS_PER_DPP = 500;
+    private static final int WATERS_PER_DPP = 200;
+    private static final int OTHERS_PER_DPP = 100;
+
+    @Autowired
+    private VirtualPowerPlantRepositoryImpl repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private VirtualPowerPlantJpaRepository virtualPowerPlantJpaRepository;
+    @Autowired
+    private HouseholdJpaRepository householdJpaRepository;
+    @Autowired
+    private DecentralizedPowerPlantJpaRepository decentralizedPowerPlantJpaRepository;
+    @Autowired
+    private WindEnergyJpaRepository windJpaRepository;
+    @Autowired
+    private WaterEnergyJpaRepository waterJpaRepository;
+    @Autowired
+    private SolarEnergyJpaRepository solarJpaRepository;
+    @Autowired
+    private OtherEnergyJpaRepository otherJpaRepository;
+    @Autowired
+    private StorageJpaRepository storageJpaRepository;
+
+    @Test
+    void deleteByIdReportsDeletedRowsPerTable() throws Exception {
+        this.createVirtualPowerPlant("VPP-DELETE", HOUSEHOLDS, DECENTRALIZED_POWER_PLANTS);
+        this.createVirtualPowerPlant("VPP-KEEP", 1, 1);
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<AssetType, Integer> deleted = repository.deleteById(new VirtualPowerPlantIdVO("VPP-DELETE"));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(HOUSEHOLDS, deleted.get(AssetType.HOUSEHOLD));
+        assertEquals(DECENTRALIZED_POWER_PLANTS, deleted.get(AssetType.DECENTRALIZED_POWER_PLANT));
+        assertEquals(HOUSEHOLDS, deleted.get(AssetType.SOLAR_ENERGY));
+        assertEquals(HOUSEHOLDS, deleted.get(AssetType.STORAGE));
+        assertEquals(DECENTRALIZED_POWER_PLANTS * WINDS_PER_DPP, deleted.get(AssetType.WIND_ENERGY));
+        assertEquals(DECENTRALIZED_POWER_PLANTS * WATERS_PER_DPP, deleted.get(AssetType.WATER_ENERGY));
+        assertEquals(DECENTRALIZED_POWER_PLANTS * OTHERS_PER_DPP, deleted.get(AssetType.OTHER_ENERGY));
+        assertEquals(10000, deleted.get(AssetType.SOLAR_ENERGY) + deleted.get(AssetType.STORAGE)
+                + deleted.get(AssetType.WIND_ENERGY) + deleted.get(AssetType.WATER_ENERGY) + deleted.get(AssetType.OTHER_ENERGY));
+
+        // Nur das zweite VK mit einem Haushalt und einem DK inkl. ihrer Anlagen bleibt bestehen
+        assertFalse(virtualPowerPlantJpaRepository.findOneById("VPP-DELETE").isPresent());
+        assertTrue(virtualPowerPlantJpaRepository.findOneById("VPP-KEEP").isPresent());
+        assertEquals(1, householdJpaRepository.count());
+        assertEquals(1, decentralizedPowerPlantJpaRepository.count());
+        assertEquals(1, solarJpaRepository.count());
+        assertEquals(1, storageJpaRepository.count());
+        assertEquals(WINDS_PER_DPP, windJpaRepository.count());
+        assertEquals(WATERS_PER_DPP, waterJpaRepository.count());
+        assertEquals(OTHERS_PER_DPP, otherJpaRepository.count());
+    }
+
+    private void createVirtualPowerPlant(String id, int households, int decentralizedPowerPlants) {
+        VirtualPowerPlant vpp = new VirtualPowerPlant();
+        vpp.setId(id);
+        virtualPowerPlantJpaRepository.save(vpp);
+
+        List<SolarEnergy> solars = new ArrayList<>();
+        List<Storage> storages = new ArrayList<>();
+        for (int i = 0; i < households; i++) {
+            Household household = new Household();
+            household.setId(id + "-HOUSEHOLD-" + i);
+            household.setMemberAmount(2);
+            household.setVirtualPowerPlant(vpp);
+            householdJpaRepository.save(household);
+
+            SolarEnergy solar = new SolarEnergy();
+            solar.setId(id + "-SOLAR-" + i);
+            solar.setLongitude(8.2);
+            solar.setLatitude(53.1);
+            solar.setRatedCapacity(10.);
+            solar.setCapacity(100.);
+            solar.setAlignment(180.);
+            solar.setSlope(30.);
+            solar.setHousehold(household);
+            solars.add(solar);
+
+            Storage storage = new Storage();
+            storage.setId(id + "-STORAGE-" + i);
+            storage.setRatedPower(5.);
+            storage.setCapacity(50.);
+            storage.setLoadTimeHour(2.);
+            storage.setHousehold(household);
+            storages.add(storage);
+        }
+        solarJpaRepository.saveAll(solars);
+        storageJpaRepository.saveAll(storages);
+
+        List<WindEnergy> winds = new ArrayList<>();
+        List<WaterEnergy> waters = new ArrayList<>();
+        List<OtherEnergy> others = new ArrayList<>();
+        for (int i = 0; i < decentralizedPowerPlants; i++) {
+            DecentralizedPowerPlant dpp = new DecentralizedPowerPlant();
+            dpp.setId(id + "-DPP-" + i);
+            dpp.setVirtualPowerPlant(vpp);
+            decentralizedPowerPlantJpaRepository.save(dpp);
+
+            for (int j = 0; j < WINDS_PER_DPP; j++) {
+                WindEnergy wind = new WindEnergy();
+                wind.setId(id + "-WIND-" + i + "-" + j);
+                wind.setLongitude(8.2);
+                wind.setLatitude(53.1);
+                wind.setEfficiency(0.4);
+                wind.setCapacity(100.);
+                wind.setRadius(50.);
+                wind.setHeight(100.);
+                wind.setDecentralizedPowerPlant(dpp);
+                winds.add(wind);
+            }
+            for (int j = 0; j < WATERS_PER_DPP; j++) {
+                WaterEnergy water = new WaterEnergy();
+                water.setId(id + "-WATER-" + i + "-" + j);
+                water.setEfficiency(0.8);
+                water.setCapacity(100.);
+                water.setDensity(1000.);
+                water.setGravity(9.81);
+                water.setHeight(10.);
+                water.setVolumeFlow(5.);
+                water.setDecentralizedPowerPlant(dpp);
+                waters.add(water);
+            }
+            for (int j = 0; j < OTHERS_PER_DPP; j++) {
+                OtherEnergy other = new OtherEnergy();
+                other.setId(id + "-OTHER-" + i + "-" + j);
+                other.setRatedCapacity(10.);
+                other.setCapacity(100.);
+                other.setDecentralizedPowerPlant(dpp);
+                others.add(other);
+            }
+        }
+        windJpaRepository.saveAll(winds);
+        waterJpaRepository.saveAll(waters);
+        otherJpaRepository.saveAll(others);
+    }
+}
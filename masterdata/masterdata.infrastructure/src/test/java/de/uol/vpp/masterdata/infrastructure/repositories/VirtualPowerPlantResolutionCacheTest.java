@@ -0,0 +1,72 @@
+package de.uol.vpp.masterdata.infrastructure.repositories;
+
+import de.uol.vpp.masterdata.domain.utils.AssetType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test der Invalidierung des Caches innerhalb einer Transaktion. Eine parallel vor dem Commit ausgelesene und erneut
+ * abgelegte Zuordnung darf nach dem Commit nicht bestehen bleiben.
+ */
+class VirtualPowerPlantResolutionCacheTest {
+
+    private final VirtualPowerPlantResolutionCache cache = new VirtualPowerPlantResolutionCache(100);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evictionIsRepeatedAfterCommit() {
+        cache.put(AssetType.HOUSEHOLD, "HOUSEHOLD", "VPP-OLD", cache.generation());
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Die Transaktion weist den Haushalt neu zu, ein paralleler Zugriff liest bis zum Commit die alte Zuordnung
+        cache.evict(AssetType.HOUSEHOLD, "HOUSEHOLD");
+        cache.put(AssetType.HOUSEHOLD, "HOUSEHOLD", "VPP-OLD", cache.generation());
+        assertEquals("VPP-OLD", cache.get(AssetType.HOUSEHOLD, "HOUSEHOLD").orElse(null));
+
+        this.commit();
+        assertTrue(cache.get(AssetType.HOUSEHOLD, "HOUSEHOLD").isEmpty(), "Veraltete Zuordnung nach dem Commit");
+    }
+
+    @Test
+    void evictionOfVirtualPowerPlantIsRepeatedAfterCommit() {
+        cache.put(AssetType.WIND_ENERGY, "WIND", "VPP-OLD", cache.generation());
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evictVirtualPowerPlant("VPP-OLD");
+        cache.put(AssetType.WIND_ENERGY, "WIND", "VPP-OLD", cache.generation());
+
+        this.commit();
+        assertTrue(cache.get(AssetType.WIND_ENERGY, "WIND").isEmpty(), "Veraltete Zuordnung nach dem Commit");
+    }
+
+    @Test
+    void resolutionReadBeforeEvictionIsNotStored() {
+        // Ein paralleler Zugriff liest die alte Zuordnung vor dem Commit und legt sie erst nach der Invalidierung ab
+        long generation = cache.generation();
+        cache.evict(AssetType.STORAGE, "STORAGE");
+        cache.put(AssetType.STORAGE, "STORAGE", "VPP-OLD", generation);
+        assertTrue(cache.get(AssetType.STORAGE, "STORAGE").isEmpty(), "Veraltete Zuordnung abgelegt");
+
+        cache.put(AssetType.STORAGE, "STORAGE", "VPP-NEW", cache.generation());
+        assertEquals("VPP-NEW", cache.get(AssetType.STORAGE, "STORAGE").orElse(null));
+    }
+
+    private void commit() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
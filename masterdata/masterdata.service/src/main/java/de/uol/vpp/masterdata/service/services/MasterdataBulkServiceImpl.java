@@ -0,0 +1,59 @@
+package de.uol.vpp.masterdata.service.services;
+
+import de.uol.vpp.masterdata.domain.exceptions.MasterdataBulkRepositoryException;
+import de.uol.vpp.masterdata.domain.exceptions.MasterdataBulkServiceException;
+import de.uol.vpp.masterdata.domain.exceptions.VirtualPowerPlantException;
+import de.uol.vpp.masterdata.domain.exceptions.VirtualPowerPlantRepositoryException;
+import de.uol.vpp.masterdata.domain.repositories.IMasterdataBulkRepository;
+import de.uol.vpp.masterdata.domain.repositories.IVirtualPowerPlantRepository;
+import de.uol.vpp.masterdata.domain.services.IMasterdataBulkService;
+import de.uol.vpp.masterdata.domain.utils.AssetType;
+import de.uol.vpp.masterdata.domain.utils.MasterdataImport;
+import de.uol.vpp.masterdata.domain.valueobjects.VirtualPowerPlantIdVO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+
+/**
+ * Implementierung der Schnittstellendefinition {@link IMasterdataBulkService}.
+ * Der Import wird vollständig geprüft, bevor gespeichert wird. Die Speicherung erfolgt in Teiltransaktionen des
+ * Repositories, daher ist dieser Service bewusst nicht transaktional.
+ */
+@RequiredArgsConstructor
+@Service
+public class MasterdataBulkServiceImpl implements IMasterdataBulkService {
+
+    /**
+     * Maximale Anzahl bereits existierender Ids in einer Fehlermeldung
+     */
+    private static final int MAX_REPORTED_IDS = 10;
+
+    private final IVirtualPowerPlantRepository virtualPowerPlantRepository;
+    private final IMasterdataBulkRepository repository;
+
+    @Override
+    public int importAll(String virtualPowerPlantId, MasterdataImport masterdataImport) throws MasterdataBulkServiceException {
+        try {
+            VirtualPowerPlantIdVO id = new VirtualPowerPlantIdVO(virtualPowerPlantId);
+            if (virtualPowerPlantRepository.isPublished(id)) {
+                throw new MasterdataBulkServiceException(
+                        String.format("Der Import in das VK %s ist fehlgeschlagen, da das VK veröffentlicht ist.", virtualPowerPlantId)
+                );
+            }
+            for (AssetType assetType : AssetType.values()) {
+                Set<String> existing = repository.getExistingIds(assetType, masterdataImport.getIds(assetType));
+                if (!existing.isEmpty()) {
+                    throw new MasterdataBulkServiceException(
+                            String.format("Der Import in das VK %s ist fehlgeschlagen, da %d Komponenten (%s) bereits existieren: %s",
+                                    virtualPowerPlantId, existing.size(), assetType,
+                                    String.join(", ", existing.stream().limit(MAX_REPORTED_IDS).toArray(String[]::new)))
+                    );
+                }
+            }
+            return repository.importAll(id, masterdataImport);
+        } catch (VirtualPowerPlantException | VirtualPowerPlantRepositoryException | MasterdataBulkRepositoryException e) {
+            throw new MasterdataBulkServiceException(e.getMessage(), e);
+        }
+    }
+}
@@ -125,6 +125,27 @@ public class VirtualPowerPlantServiceImpl implements IVirtualPowerPlantService {
 
     }
 
+    @Override
+    public VirtualPowerPlantAggregate getTopology(String virtualPowerPlantId) throws VirtualPowerPlantServiceException {
+        try {
+            Optional<VirtualPowerPlantAggregate> result = repository.getTopologyById(new VirtualPowerPlantIdVO(virtualPowerPlantId));
+            return result.orElseThrow(() -> new VirtualPowerPlantServiceException(
+                    String.format("Das VK %s konnte nicht gefunden werden.", virtualPowerPlantId)
+            ));
+        } catch (VirtualPowerPlantRepositoryException | VirtualPowerPlantException e) {
+            throw new VirtualPowerPlantServiceException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Optional<Long> getPublishedTopologyVersion(String virtualPowerPlantId) throws VirtualPowerPlantServiceException {
+        try {
+            return repository.getPublishedTopologyVersion(new VirtualPowerPlantIdVO(virtualPowerPlantId));
+        } catch (VirtualPowerPlantRepositoryException | VirtualPowerPlantException e) {
+            throw new VirtualPowerPlantServiceException(e.getMessage(), e);
+        }
+    }
+
     private void checkProducers(AtomicBoolean hasProducer, DomainHasProducersAndStorages householdOrDpp) {
         if (householdOrDpp.getWaters().size() > 0) {
             hasProducer.set(true);
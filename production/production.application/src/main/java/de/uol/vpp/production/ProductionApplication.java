@@ -9,7 +9,7 @@ import java.util.Locale;
 /**
  * Start der Applikation
  */
-@SpringBootApplication(scanBasePackages = {"de.uol.vpp.production"})
+@SpringBootApplication(scanBasePackages = {"de.uol.vpp.production", "de.uol.vpp.common"})
 @EnableScheduling
 public class ProductionApplication {
 
@@ -1,11 +1,19 @@
 package de.uol.vpp.production.application;
 
+import de.uol.vpp.common.timeseries.ForecastSeries;
 import de.uol.vpp.production.application.dto.ProductionDTO;
 import de.uol.vpp.production.application.dto.ProductionProducerDTO;
+import de.uol.vpp.production.application.dto.ProductionProducerSumDTO;
+import de.uol.vpp.production.application.dto.ProductionTotalDTO;
+import de.uol.vpp.production.application.dto.ProductionWindowDTO;
 import de.uol.vpp.production.domain.aggregates.ProductionAggregate;
 import de.uol.vpp.production.domain.entities.ProductionProducerEntity;
+import de.uol.vpp.production.domain.timeseries.ProducerSum;
+import de.uol.vpp.production.domain.timeseries.TimeWindow;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -23,6 +31,33 @@ public class ApplicationDomainConverter {
         return dto;
     }
 
+    public List<ProductionTotalDTO> toApplication(ForecastSeries totals) {
+        List<ProductionTotalDTO> result = new ArrayList<>(totals.size());
+        for (int row = 0; row < totals.size(); row++) {
+            ProductionTotalDTO dto = new ProductionTotalDTO();
+            dto.setStartTimestamp(totals.getTimestamp(totals.getPeriod(row)));
+            dto.setCurrentValue(totals.getValue(row));
+            dto.setPossibleValue(totals.getPossibleValue(row));
+            result.add(dto);
+        }
+        return result;
+    }
+
+    public ProductionProducerSumDTO toApplication(ProducerSum producerSum) {
+        ProductionProducerSumDTO dto = new ProductionProducerSumDTO();
+        dto.setProducerId(producerSum.getProducerId());
+        dto.setStartTimestamp(producerSum.getWindow().getStartTimestamp());
+        dto.setEndTimestamp(producerSum.getWindow().getEndTimestamp());
+        dto.setCurrentValue(producerSum.getCurrentSum());
+        dto.setPossibleValue(producerSum.getPossibleSum());
+        dto.setCount(producerSum.getCount());
+        return dto;
+    }
+
+    public TimeWindow toDomain(ProductionWindowDTO dto) {
+        return new TimeWindow(dto.getStartTimestamp(), dto.getEndTimestamp());
+    }
+
     private ProductionProducerDTO toApplication(ProductionProducerEntity domainEntity) {
         ProductionProducerDTO dto = new ProductionProducerDTO();
         dto.setProducerId(domainEntity.getProducerId().getValue());
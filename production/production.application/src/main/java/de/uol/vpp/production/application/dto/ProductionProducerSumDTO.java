@@ -0,0 +1,17 @@
+package de.uol.vpp.production.application.dto;
+
+import lombok.Data;
+
+/**
+ * Datenaustauschobject für die Summe der Erzeugung einer Erzeugungsanlage innerhalb eines Zeitraums
+ * Für mehr Informationen siehe {@link de.uol.vpp.production.domain.timeseries.ProducerSum}
+ */
+@Data
+public class ProductionProducerSumDTO {
+    private String producerId;
+    private Long startTimestamp;
+    private Long endTimestamp;
+    private Double currentValue;
+    private Double possibleValue;
+    private Integer count;
+}
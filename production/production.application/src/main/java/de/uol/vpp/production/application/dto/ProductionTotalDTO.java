@@ -0,0 +1,13 @@
+package de.uol.vpp.production.application.dto;
+
+import lombok.Data;
+
+/**
+ * Datenaustauschobject für die Summe der Erzeugung aller Erzeugungsanlagen innerhalb eines Zeitstempels
+ */
+@Data
+public class ProductionTotalDTO {
+    private Long startTimestamp;
+    private Double currentValue;
+    private Double possibleValue;
+}
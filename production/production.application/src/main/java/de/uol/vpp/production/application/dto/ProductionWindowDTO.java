@@ -0,0 +1,13 @@
+package de.uol.vpp.production.application.dto;
+
+import lombok.Data;
+
+/**
+ * Datenaustauschobject für einen Zeitraum einer Maßnahmenabfrage
+ * Für mehr Informationen siehe {@link de.uol.vpp.production.domain.timeseries.TimeWindow}
+ */
+@Data
+public class ProductionWindowDTO {
+    private long startTimestamp;
+    private long endTimestamp;
+}
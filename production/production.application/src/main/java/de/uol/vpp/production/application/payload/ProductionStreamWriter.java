@@ -0,0 +1,93 @@
+package de.uol.vpp.production.application.payload;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import de.uol.vpp.production.domain.repositories.ProductionRowHandler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Schreibt die zeilenweise gelesenen Erzeugungswerte einer Maßnahmenabfrage direkt als JSON in die Antwort.
+ * Das Format entspricht einer {@link ApiResponse} mit einer Liste von
+ * {@link de.uol.vpp.production.application.dto.ProductionDTO}, es befindet sich jedoch stets nur eine Zeile im Speicher.
+ */
+public class ProductionStreamWriter implements ProductionRowHandler {
+
+    private final JsonGenerator generator;
+    private final String actionRequestId;
+    private boolean started;
+    private boolean productionOpen;
+    private long currentTimestamp;
+
+    public ProductionStreamWriter(JsonGenerator generator, String actionRequestId) {
+        this.generator = generator;
+        this.actionRequestId = actionRequestId;
+    }
+
+    @Override
+    public void handle(String virtualPowerPlantId, long startTimestamp, String producerId, String producerType,
+                       double currentValue, double possibleValue) {
+        try {
+            this.start();
+            if (!productionOpen || currentTimestamp != startTimestamp) {
+                this.closeProduction();
+                generator.writeStartObject();
+                generator.writeStringField("actionRequestId", actionRequestId);
+                generator.writeStringField("virtualPowerPlantId", virtualPowerPlantId);
+                generator.writeNumberField("startTimestamp", startTimestamp);
+                generator.writeArrayFieldStart("producers");
+                productionOpen = true;
+                currentTimestamp = startTimestamp;
+            }
+            if (producerId != null) {
+                generator.writeStartObject();
+                generator.writeStringField("producerId", producerId);
+                generator.writeStringField("producerType", producerType);
+                generator.writeNumberField("startTimestamp", startTimestamp);
+                generator.writeNumberField("currentValue", currentValue);
+                generator.writeNumberField("possibleValue", possibleValue);
+                generator.writeEndObject();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Schließt die Antwort ab
+     *
+     * @throws IOException e
+     */
+    public void finish() throws IOException {
+        this.start();
+        this.closeProduction();
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    /**
+     * @return true, falls bereits Daten geschrieben wurden und die Antwort nicht mehr verändert werden kann
+     */
+    public boolean isStarted() {
+        return started;
+    }
+
+    private void start() throws IOException {
+        if (!started) {
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeBooleanField("returnBack", false);
+            generator.writeStringField("message", "Die Abfrage aller Stromerzeugungen war erfolgreich.");
+            generator.writeArrayFieldStart("data");
+            started = true;
+        }
+    }
+
+    private void closeProduction() throws IOException {
+        if (productionOpen) {
+            generator.writeEndArray();
+            generator.writeEndObject();
+            productionOpen = false;
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package de.uol.vpp.production.application.rest;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import de.uol.vpp.production.application.ApplicationDomainConverter;
+import de.uol.vpp.production.application.dto.ProductionWindowDTO;
 import de.uol.vpp.production.application.payload.ApiResponse;
+import de.uol.vpp.production.application.payload.ProductionStreamWriter;
 import de.uol.vpp.production.domain.exceptions.ProductionServiceException;
 import de.uol.vpp.production.domain.services.IProductionService;
 import lombok.RequiredArgsConstructor;
@@ -10,11 +14,12 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -28,6 +33,7 @@ public class ProductionController {
 
     private final IProductionService productionService;
     private final ApplicationDomainConverter converter;
+    private final ObjectMapper objectMapper;
 
     /**
      * Gibt Erzeugungswerte einer Maßnahmenabfrage aus
@@ -56,4 +62,95 @@ public class ProductionController {
         }
     }
 
+    /**
+     * Streamt die Erzeugungswerte einer Maßnahmenabfrage zeilenweise aus der Datenbank in die Antwort,
+     * der Speicherbedarf ist unabhängig vom Umfang der Prognose
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @return Antwort im selben Format wie {@link ProductionController#getAllProductionsByActionRequestId(String)}, ohne
+     * Erzeugungswerte NOT_FOUND
+     */
+    @GetMapping(path = "/{actionRequestId}", params = "stream=true")
+    public ResponseEntity<?> streamProductionsByActionRequestId(@PathVariable String actionRequestId) {
+        // Vor dem Öffnen der Antwort geprüft, damit eine unbekannte Maßnahmenabfrage wie gewohnt 404 erhält
+        try {
+            if (!productionService.existsProductionsByActionRequestId(actionRequestId)) {
+                return new ResponseEntity<>(new ApiResponse(
+                        false, false, String.format("Für die Maßnahmenabfrage %s existieren keine Erzeugungswerte.", actionRequestId), null
+                ), HttpStatus.NOT_FOUND);
+            }
+        } catch (ProductionServiceException e) {
+            return new ResponseEntity<>(new ApiResponse(
+                    false, false, e.getMessage(), null
+            ), HttpStatus.NOT_FOUND);
+        }
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                ProductionStreamWriter writer = new ProductionStreamWriter(generator, actionRequestId);
+                try {
+                    productionService.streamProductionsByActionRequestId(actionRequestId, writer);
+                    writer.finish();
+                } catch (ProductionServiceException e) {
+                    if (writer.isStarted()) {
+                        // Die Antwort ist bereits teilweise gesendet und wird abgebrochen
+                        throw new IOException(e.getMessage(), e);
+                    }
+                    objectMapper.writeValue(generator, new ApiResponse(false, false, e.getMessage(), null));
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Gibt die Summe der Erzeugung aller Erzeugungsanlagen pro Zeitstempel einer Maßnahmenabfrage aus
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @return ApiResponse mit einer Summe pro Zeitstempel
+     */
+    @GetMapping(path = "/{actionRequestId}/totals")
+    public ResponseEntity<?> getProductionTotalsByActionRequestId(@PathVariable String actionRequestId) {
+        try {
+            return new ResponseEntity<>(
+                    new ApiResponse(true, false, "Die Abfrage der Gesamterzeugung war erfolgreich.",
+                            converter.toApplication(productionService.getProductionTotalsByActionRequestId(actionRequestId))
+                    ), HttpStatus.OK);
+        } catch (ProductionServiceException e) {
+            return new ResponseEntity<>(new ApiResponse(
+                    false, false, e.getMessage(), null
+            ), HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Gibt die Summe der Erzeugung pro Erzeugungsanlage und Zeitraum einer Maßnahmenabfrage aus.
+     * Alle Zeiträume, z.B. die Differenzzeitreihen des Maßnahmenservices, werden mit einer Anfrage übergeben, die
+     * Antwort enthält höchstens einen Wert pro Erzeugungsanlage und Zeitraum.
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @param windows         Zeiträume mit Start- und Endzeitstempel (inklusive)
+     * @return ApiResponse mit einer Summe pro Erzeugungsanlage und Zeitraum
+     */
+    @PostMapping(path = "/{actionRequestId}/producers", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getProducerSumsByActionRequestId(@PathVariable String actionRequestId,
+                                                              @RequestBody List<ProductionWindowDTO> windows) {
+        try {
+            return new ResponseEntity<>(
+                    new ApiResponse(true, false, "Die Abfrage der Erzeugung pro Erzeugungsanlage war erfolgreich.",
+                            productionService.getProducerSumsByActionRequestId(actionRequestId, windows.stream()
+                                    .map(converter::toDomain)
+                                    .collect(Collectors.toList()))
+                                    .stream()
+                                    .map(converter::toApplication)
+                                    .collect(Collectors.toList())
+                    ), HttpStatus.OK);
+        } catch (ProductionServiceException e) {
+            return new ResponseEntity<>(new ApiResponse(
+                    false, false, e.getMessage(), null
+            ), HttpStatus.NOT_FOUND);
+        }
+    }
+
 }
@@ -1,8 +1,12 @@
 package de.uol.vpp.production.domain.repositories;
 
+import de.uol.vpp.common.timeseries.ForecastSeries;
 import de.uol.vpp.production.domain.aggregates.ProductionAggregate;
 import de.uol.vpp.production.domain.exceptions.ProductionRepositoryException;
+import de.uol.vpp.production.domain.timeseries.ProducerSum;
+import de.uol.vpp.production.domain.timeseries.TimeWindow;
 import de.uol.vpp.production.domain.valueobjects.ProductionActionRequestIdVO;
+import de.uol.vpp.production.domain.valueobjects.ProductionVirtualPowerPlantIdVO;
 
 import java.util.List;
 
@@ -19,6 +23,46 @@ public interface IProductionRepository {
      */
     List<ProductionAggregate> getProductions(ProductionActionRequestIdVO actionRequestId) throws ProductionRepositoryException;
 
+    /**
+     * Prüft mit einer Zählabfrage, ob für eine Maßnahmenabfrage Erzeugungswerte existieren
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @return true, falls mindestens ein Erzeugungsaggregat existiert
+     * @throws ProductionRepositoryException e
+     */
+    boolean existsProductions(ProductionActionRequestIdVO actionRequestId) throws ProductionRepositoryException;
+
+    /**
+     * Liest alle Erzeugungswerte einer Maßnahmenabfrage mit einer einzigen, sortierten Abfrage und übergibt diese
+     * zeilenweise, ohne die Erzeugungsaggregate im Speicher aufzubauen
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @param handler         Empfänger der Erzeugungswerte
+     * @throws ProductionRepositoryException e
+     */
+    void streamProductions(ProductionActionRequestIdVO actionRequestId, ProductionRowHandler handler) throws ProductionRepositoryException;
+
+    /**
+     * Holt die Summe der tatsächlichen und höchstmöglichen Erzeugung aller Erzeugungsanlagen pro Zeitstempel
+     * einer Maßnahmenabfrage, die Aggregation findet in der Datenbank statt
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @return Zeitreihe mit einer Zeile pro Zeitstempel, die Entität ist die Maßnahmenabfrage
+     * @throws ProductionRepositoryException e
+     */
+    ForecastSeries getProductionTotals(ProductionActionRequestIdVO actionRequestId) throws ProductionRepositoryException;
+
+    /**
+     * Holt die Summen der Erzeugung pro Erzeugungsanlage und Zeitraum einer Maßnahmenabfrage,
+     * die Aggregation findet in der Datenbank statt
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @param windows         Zeiträume, diese dürfen sich überschneiden
+     * @return Summen pro Erzeugungsanlage und Zeitraum, Zeiträume ohne Erzeugungswerte fehlen
+     * @throws ProductionRepositoryException e
+     */
+    List<ProducerSum> getProducerSums(ProductionActionRequestIdVO actionRequestId, List<TimeWindow> windows) throws ProductionRepositoryException;
+
     /**
      * Persistiert Erzeugungsaggregat
      *
@@ -26,4 +70,17 @@ public interface IProductionRepository {
      * @throws ProductionRepositoryException e
      */
     void saveProduction(ProductionAggregate production) throws ProductionRepositoryException;
+
+    /**
+     * Persistiert die spaltenorientierte Erzeugungsprognose (Tagesprognose) als Erzeugungsaggregate inklusive der
+     * zugehörigen Erzeugungswerte gebündelt in einer Transaktion. Pro Periode der Zeitreihe entsteht ein
+     * Erzeugungsaggregat, pro Zeile ein Erzeugungswert.
+     *
+     * @param actionRequestId     Id der Maßnahmenabfrage
+     * @param virtualPowerPlantId Id des VK
+     * @param productions         Erzeugungsprognose
+     * @throws ProductionRepositoryException e
+     */
+    void saveProductions(ProductionActionRequestIdVO actionRequestId, ProductionVirtualPowerPlantIdVO virtualPowerPlantId,
+                         ForecastSeries productions) throws ProductionRepositoryException;
 }
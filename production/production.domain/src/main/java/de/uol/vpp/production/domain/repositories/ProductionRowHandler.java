@@ -0,0 +1,19 @@
+package de.uol.vpp.production.domain.repositories;
+
+/**
+ * Empfängt die Erzeugungswerte einer Maßnahmenabfrage zeilenweise, aufsteigend sortiert nach Zeitstempel.
+ * Siehe {@link IProductionRepository#streamProductions}
+ */
+@FunctionalInterface
+public interface ProductionRowHandler {
+    /**
+     * @param virtualPowerPlantId Id des VK
+     * @param startTimestamp      Zeitstempel des Erzeugungsaggregats in Epochensekunden
+     * @param producerId          Id der Erzeugungsanlage, null falls das Erzeugungsaggregat keine Erzeugungswerte besitzt
+     * @param producerType        Typ der Erzeugungsanlage
+     * @param currentValue        tatsächliche Erzeugung
+     * @param possibleValue       höchstmögliche Erzeugung
+     */
+    void handle(String virtualPowerPlantId, long startTimestamp, String producerId, String producerType,
+                double currentValue, double possibleValue);
+}
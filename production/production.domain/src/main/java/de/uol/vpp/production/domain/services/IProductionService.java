@@ -1,7 +1,11 @@
 package de.uol.vpp.production.domain.services;
 
+import de.uol.vpp.common.timeseries.ForecastSeries;
 import de.uol.vpp.production.domain.aggregates.ProductionAggregate;
 import de.uol.vpp.production.domain.exceptions.ProductionServiceException;
+import de.uol.vpp.production.domain.repositories.ProductionRowHandler;
+import de.uol.vpp.production.domain.timeseries.ProducerSum;
+import de.uol.vpp.production.domain.timeseries.TimeWindow;
 
 import java.util.List;
 
@@ -17,4 +21,41 @@ public interface IProductionService {
      * @throws ProductionServiceException e
      */
     List<ProductionAggregate> getProductionsByActionRequestId(String actionRequestId) throws ProductionServiceException;
+
+    /**
+     * Prüft, ob für eine Maßnahmenabfrage Erzeugungswerte existieren
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @return true, falls Erzeugungswerte existieren
+     * @throws ProductionServiceException e
+     */
+    boolean existsProductionsByActionRequestId(String actionRequestId) throws ProductionServiceException;
+
+    /**
+     * Liest die Erzeugungswerte einer Maßnahmenabfrage zeilenweise
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @param handler         Empfänger der Erzeugungswerte
+     * @throws ProductionServiceException e
+     */
+    void streamProductionsByActionRequestId(String actionRequestId, ProductionRowHandler handler) throws ProductionServiceException;
+
+    /**
+     * Holt die Summe der Erzeugung aller Erzeugungsanlagen pro Zeitstempel einer Maßnahmenabfrage
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @return Zeitreihe mit einer Zeile pro Zeitstempel
+     * @throws ProductionServiceException e
+     */
+    ForecastSeries getProductionTotalsByActionRequestId(String actionRequestId) throws ProductionServiceException;
+
+    /**
+     * Holt die Summen der Erzeugung pro Erzeugungsanlage und Zeitraum einer Maßnahmenabfrage
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @param windows         Zeiträume
+     * @return Summen pro Erzeugungsanlage und Zeitraum
+     * @throws ProductionServiceException e
+     */
+    List<ProducerSum> getProducerSumsByActionRequestId(String actionRequestId, List<TimeWindow> windows) throws ProductionServiceException;
 }
@@ -0,0 +1,19 @@
+package de.uol.vpp.production.domain.timeseries;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Summe der tatsächlichen und höchstmöglichen Erzeugung einer Erzeugungsanlage innerhalb eines Zeitraums einer
+ * Maßnahmenabfrage. Werte gleicher Id werden unabhängig von der Anlagenart zusammengefasst. Über die Anzahl der
+ * Erzeugungswerte lässt sich der Durchschnitt des Zeitraums bilden.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class ProducerSum {
+    private final String producerId;
+    private final TimeWindow window;
+    private final double currentSum;
+    private final double possibleSum;
+    private final int count;
+}
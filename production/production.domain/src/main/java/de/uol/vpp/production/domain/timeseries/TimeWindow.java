@@ -0,0 +1,15 @@
+package de.uol.vpp.production.domain.timeseries;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Zeitraum einer Maßnahmenabfrage, z.B. einer Differenzzeitreihe des Maßnahmenservices.
+ * Beide Grenzen sind Epochensekunden und gehören zum Zeitraum.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class TimeWindow {
+    private final long startTimestamp;
+    private final long endTimestamp;
+}
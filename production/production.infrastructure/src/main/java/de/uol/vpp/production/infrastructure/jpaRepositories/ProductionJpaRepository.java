@@ -16,4 +16,12 @@ public interface ProductionJpaRepository extends JpaRepository<Production, Produ
      * @return Liste von Erzeugungsaggregaten
      */
     List<Production> findAllByActionRequestTimestamp_ActionRequestId(String actionRequestId);
+
+    /**
+     * Zählt die Erzeugungsaggregate einer Maßnahmenabfrage
+     *
+     * @param actionRequestId Id der Maßnahmenabfrage
+     * @return Anzahl der Erzeugungsaggregate
+     */
+    long countByActionRequestTimestamp_ActionRequestId(String actionRequestId);
 }
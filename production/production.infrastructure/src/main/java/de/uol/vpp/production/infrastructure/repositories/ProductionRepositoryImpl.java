@@ -1,18 +1,33 @@
 package de.uol.vpp.production.infrastructure.repositories;
 
+import de.uol.vpp.common.timeseries.ForecastSeries;
 import de.uol.vpp.production.domain.aggregates.ProductionAggregate;
 import de.uol.vpp.production.domain.exceptions.ProductionException;
 import de.uol.vpp.production.domain.exceptions.ProductionRepositoryException;
 import de.uol.vpp.production.domain.repositories.IProductionRepository;
+import de.uol.vpp.production.domain.repositories.ProductionRowHandler;
+import de.uol.vpp.production.domain.timeseries.ProducerSum;
+import de.uol.vpp.production.domain.timeseries.TimeWindow;
 import de.uol.vpp.production.domain.valueobjects.ProductionActionRequestIdVO;
+import de.uol.vpp.production.domain.valueobjects.ProductionVirtualPowerPlantIdVO;
 import de.uol.vpp.production.infrastructure.InfrastructureDomainConverter;
 import de.uol.vpp.production.infrastructure.entities.Production;
 import de.uol.vpp.production.infrastructure.jpaRepositories.ProductionJpaRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.StringJoiner;
 
 /**
  * Implementierung der Schnittstellendefinition {@link IProductionRepository}
@@ -21,8 +36,51 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProductionRepositoryImpl implements IProductionRepository {
 
+    /**
+     * Anzahl der Datensätze pro JDBC-Batch
+     */
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_PRODUCTION =
+            "INSERT INTO production (action_request_id, timestamp, virtual_power_plant_id) VALUES (?, ?, ?)";
+
+    private static final String INSERT_PRODUCTION_PRODUCER =
+            "INSERT INTO production_producer (producer_id, producer_type, current_value, possible_value, timestamp, " +
+                    "production_action_request_id, production_timestamp) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Anzahl der Zeilen, die der Treiber beim zeilenweisen Lesen gleichzeitig im Speicher hält
+     */
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    private static final String SELECT_PRODUCTION_PRODUCERS =
+            "SELECT p.virtual_power_plant_id, p.timestamp, pp.producer_id, pp.producer_type, pp.current_value, pp.possible_value " +
+                    "FROM production p LEFT JOIN production_producer pp " +
+                    "ON pp.production_action_request_id = p.action_request_id AND pp.production_timestamp = p.timestamp " +
+                    "WHERE p.action_request_id = ? ORDER BY p.timestamp, pp.internal_id";
+
+    private static final String SELECT_PRODUCTION_TOTALS =
+            "SELECT timestamp, SUM(current_value) AS current_sum, SUM(possible_value) AS possible_sum " +
+                    "FROM production_producer WHERE production_action_request_id = ? " +
+                    "GROUP BY timestamp ORDER BY timestamp";
+
+    /**
+     * Anzahl der Zeiträume, deren Summen pro Erzeugungsanlage mit einer Abfrage geholt werden
+     */
+    private static final int WINDOWS_PER_QUERY = 100;
+
+    /**
+     * Summen pro Erzeugungsanlage eines Zeitraums, die Abfragen mehrerer Zeiträume werden mit UNION ALL verbunden
+     */
+    private static final String SELECT_PRODUCER_SUMS_IN_WINDOW =
+            "SELECT %d AS window_index, producer_id, SUM(current_value) AS current_sum, " +
+                    "SUM(possible_value) AS possible_sum, COUNT(*) AS value_count " +
+                    "FROM production_producer WHERE production_action_request_id = ? AND timestamp BETWEEN ? AND ? " +
+                    "GROUP BY producer_id";
+
     private final ProductionJpaRepository productionJpaRepository;
     private final InfrastructureDomainConverter converter;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     public List<ProductionAggregate> getProductions(ProductionActionRequestIdVO actionRequestId) throws ProductionRepositoryException {
@@ -38,9 +96,155 @@ public class ProductionRepositoryImpl implements IProductionRepository {
         }
     }
 
+    @Override
+    public boolean existsProductions(ProductionActionRequestIdVO actionRequestId) throws ProductionRepositoryException {
+        try {
+            return productionJpaRepository.countByActionRequestTimestamp_ActionRequestId(actionRequestId.getValue()) > 0;
+        } catch (DataAccessException e) {
+            throw new ProductionRepositoryException("Die Prüfung der Erzeugungsaggregate ist fehlgeschlagen.", e);
+        }
+    }
+
+    @Override
+    public void streamProductions(ProductionActionRequestIdVO actionRequestId, ProductionRowHandler handler) throws ProductionRepositoryException {
+        try {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(SELECT_PRODUCTION_PRODUCERS,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(STREAM_FETCH_SIZE);
+                ps.setString(1, actionRequestId.getValue());
+                return ps;
+            }, (RowCallbackHandler) rs -> handler.handle(
+                    rs.getString("virtual_power_plant_id"),
+                    rs.getTimestamp("timestamp").getTime() / 1000,
+                    rs.getString("producer_id"),
+                    rs.getString("producer_type"),
+                    rs.getDouble("current_value"),
+                    rs.getDouble("possible_value")));
+        } catch (DataAccessException e) {
+            throw new ProductionRepositoryException("Das Lesen der Erzeugungswerte ist fehlgeschlagen.", e);
+        }
+    }
+
+    @Override
+    public ForecastSeries getProductionTotals(ProductionActionRequestIdVO actionRequestId) throws ProductionRepositoryException {
+        try {
+            List<Timestamp> timestamps = new ArrayList<>();
+            List<double[]> sums = new ArrayList<>();
+            jdbcTemplate.query(SELECT_PRODUCTION_TOTALS, rs -> {
+                timestamps.add(rs.getTimestamp("timestamp"));
+                sums.add(new double[]{rs.getDouble("current_sum"), rs.getDouble("possible_sum")});
+            }, actionRequestId.getValue());
+
+            long[] epochSeconds = new long[timestamps.size()];
+            for (int period = 0; period < epochSeconds.length; period++) {
+                epochSeconds[period] = timestamps.get(period).getTime() / 1000;
+            }
+            ForecastSeries.Builder series = ForecastSeries.builder(epochSeconds, true);
+            int entity = series.addEntity(actionRequestId.getValue(), null);
+            for (int period = 0; period < epochSeconds.length; period++) {
+                series.add(period, entity, sums.get(period)[0], sums.get(period)[1]);
+            }
+            return series.build();
+        } catch (DataAccessException e) {
+            throw new ProductionRepositoryException("Die Abfrage der Gesamterzeugung ist fehlgeschlagen.", e);
+        }
+    }
+
+    @Override
+    public List<ProducerSum> getProducerSums(ProductionActionRequestIdVO actionRequestId, List<TimeWindow> windows) throws ProductionRepositoryException {
+        try {
+            List<ProducerSum> result = new ArrayList<>();
+            for (int first = 0; first < windows.size(); first += WINDOWS_PER_QUERY) {
+                List<TimeWindow> chunk = windows.subList(first, Math.min(first + WINDOWS_PER_QUERY, windows.size()));
+                StringJoiner sql = new StringJoiner(" UNION ALL ");
+                List<Object> args = new ArrayList<>();
+                for (int window = 0; window < chunk.size(); window++) {
+                    sql.add(String.format(SELECT_PRODUCER_SUMS_IN_WINDOW, window));
+                    args.add(actionRequestId.getValue());
+                    args.add(new Timestamp(chunk.get(window).getStartTimestamp() * 1000));
+                    args.add(new Timestamp(chunk.get(window).getEndTimestamp() * 1000));
+                }
+                result.addAll(jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new ProducerSum(
+                                rs.getString("producer_id"), chunk.get(rs.getInt("window_index")),
+                                rs.getDouble("current_sum"), rs.getDouble("possible_sum"), rs.getInt("value_count")),
+                        args.toArray()));
+            }
+            return result;
+        } catch (DataAccessException e) {
+            throw new ProductionRepositoryException("Die Abfrage der Erzeugung pro Erzeugungsanlage ist fehlgeschlagen.", e);
+        }
+    }
+
     @Override
     public void saveProduction(ProductionAggregate production) throws ProductionRepositoryException {
         Production jpaEntity = converter.toInfrastructure(production);
         productionJpaRepository.save(jpaEntity);
     }
+
+    @Override
+    @Transactional(rollbackFor = ProductionRepositoryException.class)
+    public void saveProductions(ProductionActionRequestIdVO actionRequestId, ProductionVirtualPowerPlantIdVO virtualPowerPlantId,
+                                ForecastSeries productions) throws ProductionRepositoryException {
+        try {
+            // Erzeugungsaggregate zuerst, da die Erzeugungswerte diese referenzieren
+            Timestamp[] timestamps = new Timestamp[productions.getPeriodCount()];
+            for (int period = 0; period < timestamps.length; period++) {
+                timestamps[period] = new Timestamp(productions.getTimestamp(period) * 1000);
+            }
+            this.batchUpdate(INSERT_PRODUCTION, timestamps.length, (ps, period) -> {
+                ps.setString(1, actionRequestId.getValue());
+                ps.setTimestamp(2, timestamps[period]);
+                ps.setString(3, virtualPowerPlantId.getValue());
+            });
+
+            this.batchUpdate(INSERT_PRODUCTION_PRODUCER, productions.size(), (ps, row) -> {
+                int entity = productions.getEntity(row);
+                Timestamp timestamp = timestamps[productions.getPeriod(row)];
+                ps.setString(1, productions.getEntityId(entity));
+                ps.setString(2, productions.getEntityType(entity));
+                ps.setDouble(3, productions.getValue(row));
+                ps.setDouble(4, productions.getPossibleValue(row));
+                ps.setTimestamp(5, timestamp);
+                ps.setString(6, actionRequestId.getValue());
+                ps.setTimestamp(7, timestamp);
+            });
+        } catch (DataAccessException e) {
+            throw new ProductionRepositoryException("Die gebündelte Persistierung der Erzeugungsprognose ist fehlgeschlagen.", e);
+        }
+    }
+
+    /**
+     * Führt eine Anweisung für die Zeilen 0 bis rows - 1 in JDBC-Batches von {@link ProductionRepositoryImpl#BATCH_SIZE}
+     * Datensätzen aus, ohne die Zeilen als Objekte zu erzeugen
+     *
+     * @param sql    Anweisung
+     * @param rows   Anzahl der Zeilen
+     * @param setter setzt die Parameter einer Zeile
+     */
+    private void batchUpdate(String sql, int rows, RowSetter setter) {
+        for (int offset = 0; offset < rows; offset += BATCH_SIZE) {
+            int start = offset;
+            int batchSize = Math.min(BATCH_SIZE, rows - offset);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    setter.setValues(ps, start + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batchSize;
+                }
+            });
+        }
+    }
+
+    /**
+     * Setzt die Parameter einer Zeile der Zeitreihe
+     */
+    @FunctionalInterface
+    private interface RowSetter {
+        void setValues(PreparedStatement ps, int row) throws SQLException;
+    }
 }
@@ -7,6 +7,7 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import de.uol.vpp.production.infrastructure.rest.dto.SolarEnergyDTO;
 import de.uol.vpp.production.infrastructure.rest.dto.SolarForecastDTO;
 import de.uol.vpp.production.infrastructure.rest.exceptions.SolarRestClientException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -28,8 +29,12 @@ import java.util.List;
  */
 @Component
 @Log4j2
+@RequiredArgsConstructor
 public class SolarRestClient {
 
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+
     /**
      * API-Key für Meteomatics
      */
@@ -44,16 +49,15 @@ public class SolarRestClient {
      * @throws SolarRestClientException e
      */
     public List<SolarForecastDTO> getSolarForecast(ZonedDateTime dateTime, SolarEnergyDTO dto) throws SolarRestClientException {
-        dto.setRatedCapacity(dto.getRatedCapacity() / 1000); //kW to MW
-        String url = this.getBaseUrl(dateTime.toInstant().toString(), dto.getAlignment(), dto.getSlope(), dto.getRatedCapacity(), dto.getLatitude(), dto.getLongitude());
+        // Die Solaranlage wird nicht verändert, da sie aus der zwischengespeicherten Topologie stammt
+        double ratedCapacity = dto.getRatedCapacity() / 1000; //kW to MW
+        String url = this.getBaseUrl(dateTime.toInstant().toString(), dto.getAlignment(), dto.getSlope(), ratedCapacity, dto.getLatitude(), dto.getLongitude());
         try {
-            RestTemplate restTemplate = new RestTemplate();
             // Sende REST-Anfrage an Schnittstelle
             ResponseEntity<String> response
                     = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(this.createHeaders()), String.class);
             if (response.getStatusCodeValue() == 200 && response.getBody() != null) {
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(response.getBody());
+                JsonNode root = objectMapper.readTree(response.getBody());
                 // Konvertiere JSON in ein DTO
                 if (root.has("data") && root.get("data").isArray() && root.get("data").has(0)) {
                     if (root.get("data").get(0).has("coordinates") && root.get("data").get(0).get("coordinates").isArray() &&
@@ -0,0 +1,175 @@
+package de.uol.vpp.production.infrastructure.rest;
+
+import de.uol.vpp.production.infrastructure.rest.dto.WeatherDTO;
+import de.uol.vpp.production.infrastructure.rest.exceptions.WeatherRestClientException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Gemeinsamer Cache der Wetterdaten für alle Maßnahmenabfragen des Erzeugungsservices.
+ * Die Wetterdaten werden pro Geo-Zelle (auf {@code vpp.weather.cache.cell-precision} Nachkommastellen gerundete
+ * Koordinate) und Ausgabeintervall des Wetterdienstes abgelegt, sodass benachbarte Windkraftanlagen eines
+ * Windparks mit einer einzigen Anfrage versorgt werden. Mit Beginn eines neuen Ausgabeintervalls werden alle
+ * Einträge des vorherigen Intervalls verworfen. Gleichzeitige Anfragen für dieselbe Geo-Zelle werden
+ * zusammengefasst.
+ */
+@Component
+public class WeatherForecastCache {
+
+    /**
+     * Geschätzter Speicherbedarf eines {@link WeatherDTO} inkl. Zeitstempel in Byte
+     */
+    private static final long ESTIMATED_BYTES_PER_WEATHER = 160;
+
+    private final WeatherRestClient weatherRestClient;
+    private final int cellPrecision;
+    private final long issueIntervalSeconds;
+    private final Map<CellKey, CompletableFuture<List<WeatherDTO>>> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private long currentIssue = Long.MIN_VALUE;
+
+    public WeatherForecastCache(WeatherRestClient weatherRestClient, ObjectProvider<MeterRegistry> meterRegistry,
+                                @Value("${vpp.weather.cache.cell-precision:2}") int cellPrecision,
+                                @Value("${vpp.weather.cache.issue-interval-minutes:60}") long issueIntervalMinutes,
+                                @Value("${vpp.weather.cache.max-size:1000}") int maxSize) {
+        this.weatherRestClient = weatherRestClient;
+        this.cellPrecision = cellPrecision;
+        this.issueIntervalSeconds = issueIntervalMinutes * 60;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CellKey, CompletableFuture<List<WeatherDTO>>> eldest) {
+                return size() > maxSize;
+            }
+        };
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.hits = registry.counter("vpp.weather.cache", "result", "hit");
+        this.misses = registry.counter("vpp.weather.cache", "result", "miss");
+        Gauge.builder("vpp.weather.cache.size", this, WeatherForecastCache::size)
+                .description("Anzahl der zwischengespeicherten Geo-Zellen")
+                .register(registry);
+        Gauge.builder("vpp.weather.cache.memory", this, WeatherForecastCache::estimatedMemory)
+                .description("Geschätzter Speicherbedarf der zwischengespeicherten Wetterdaten")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Holt die Wetterdaten der Geo-Zelle einer Koordinate. Ist die Geo-Zelle im aktuellen Ausgabeintervall
+     * noch nicht vorhanden, werden die Wetterdaten für den Mittelpunkt der Geo-Zelle beim Wetterdienst angefragt.
+     *
+     * @param latitude  Breitengrad
+     * @param longitude Längengrad
+     * @return unveränderliche Liste von Wetterdaten, ein DTO bildet ein Zeitstempel ab
+     * @throws WeatherRestClientException e
+     */
+    public List<WeatherDTO> getWeather(Double latitude, Double longitude) throws WeatherRestClientException {
+        CellKey key = new CellKey(this.round(latitude), this.round(longitude),
+                Instant.now().getEpochSecond() / issueIntervalSeconds);
+        CompletableFuture<List<WeatherDTO>> future;
+        CompletableFuture<List<WeatherDTO>> created = null;
+        synchronized (this) {
+            this.evictPreviousIssues(key.issue);
+            future = entries.get(key);
+            if (future == null) {
+                created = new CompletableFuture<>();
+                entries.put(key, created);
+                future = created;
+                misses.increment();
+            } else {
+                hits.increment();
+            }
+        }
+
+        if (created != null) {
+            try {
+                created.complete(Collections.unmodifiableList(
+                        weatherRestClient.getWeather(key.latitude, key.longitude)));
+            } catch (WeatherRestClientException | RuntimeException e) {
+                // Fehlgeschlagene Anfragen werden nicht zwischengespeichert
+                synchronized (this) {
+                    entries.remove(key, created);
+                }
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new WeatherRestClientException("Es ist ein Fehler bei der Abfrage des Wetters geschehen.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WeatherRestClientException("Die Abfrage des Wetters wurde unterbrochen.", e);
+        }
+    }
+
+    /**
+     * @return Anzahl der zwischengespeicherten Geo-Zellen
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return geschätzter Speicherbedarf aller abgeschlossenen Einträge in Byte
+     */
+    public synchronized long estimatedMemory() {
+        long weathers = 0;
+        for (CompletableFuture<List<WeatherDTO>> future : entries.values()) {
+            List<WeatherDTO> weather = future.getNow(null);
+            if (weather != null) {
+                weathers += weather.size();
+            }
+        }
+        return weathers * ESTIMATED_BYTES_PER_WEATHER;
+    }
+
+    /**
+     * Verwirft alle Einträge vorheriger Ausgabeintervalle, sobald ein neues Intervall beginnt
+     *
+     * @param issue aktuelles Ausgabeintervall
+     */
+    private void evictPreviousIssues(long issue) {
+        if (issue != currentIssue) {
+            entries.keySet().removeIf(key -> key.issue < issue);
+            currentIssue = issue;
+        }
+    }
+
+    /**
+     * Rundet eine Koordinate auf den Mittelpunkt ihrer Geo-Zelle
+     *
+     * @param coordinate Breiten- oder Längengrad
+     * @return gerundete Koordinate
+     */
+    private double round(Double coordinate) {
+        return BigDecimal.valueOf(coordinate).setScale(cellPrecision, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static final class CellKey {
+        private final double latitude;
+        private final double longitude;
+        private final long issue;
+    }
+}
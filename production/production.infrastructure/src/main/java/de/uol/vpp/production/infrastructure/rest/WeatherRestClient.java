@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import de.uol.vpp.production.infrastructure.rest.dto.WeatherDTO;
 import de.uol.vpp.production.infrastructure.rest.exceptions.WeatherRestClientException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -24,8 +25,12 @@ import java.util.List;
  */
 @Component
 @Log4j2
+@RequiredArgsConstructor
 public class WeatherRestClient {
 
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+
     /**
      * Hole Wetterdaten für eine bestimmte Koordinate
      *
@@ -40,12 +45,10 @@ public class WeatherRestClient {
         String url = this.getBaseUrl(longitude, latitude);
 
         try {
-            RestTemplate restTemplate = new RestTemplate();
             ResponseEntity<String> response
                     = restTemplate.getForEntity(url, String.class);
             if (response.getStatusCodeValue() == 200 && response.getBody() != null) {
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(response.getBody());
+                JsonNode root = objectMapper.readTree(response.getBody());
                 if (root.has("hourly") && root.get("hourly").isArray()) {
                     ArrayNode hourly = (ArrayNode) root.get("hourly");
                     hourly.forEach(hour -> {
@@ -0,0 +1,22 @@
+package de.uol.vpp.production.infrastructure.rest.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Flache Topologie eines VK aus dem Daten-Service.
+ * Enthält alle Erzeugungsanlagen der Haushalte und DK des VK. Die Topologie eines veröffentlichten VK
+ * ändert sich nicht, solange die Version der Topologie gleich bleibt.
+ */
+@Data
+public class VirtualPowerPlantTopologyDTO {
+    private String virtualPowerPlantId;
+    private boolean published;
+    private long topologyVersion;
+    private List<WindEnergyDTO> winds = new ArrayList<>();
+    private List<WaterEnergyDTO> waters = new ArrayList<>();
+    private List<SolarEnergyDTO> solars = new ArrayList<>();
+    private List<OtherEnergyDTO> others = new ArrayList<>();
+}
@@ -0,0 +1,107 @@
+package de.uol.vpp.production.infrastructure.scheduler;
+
+import de.uol.vpp.production.infrastructure.rest.SolarRestClient;
+import de.uol.vpp.production.infrastructure.rest.WeatherForecastCache;
+import de.uol.vpp.production.infrastructure.rest.dto.SolarEnergyDTO;
+import de.uol.vpp.production.infrastructure.rest.dto.SolarForecastDTO;
+import de.uol.vpp.production.infrastructure.rest.dto.WeatherDTO;
+import de.uol.vpp.production.infrastructure.rest.dto.WindEnergyDTO;
+import de.uol.vpp.production.infrastructure.rest.exceptions.SolarRestClientException;
+import de.uol.vpp.production.infrastructure.rest.exceptions.WeatherRestClientException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Lädt vor Beginn der Prognoseperioden die Wetterdaten aller Windkraftanlagen und die Tagesprognosen aller
+ * Solaranlagen nebenläufig. Jede Schnittstelle besitzt einen eigenen Thread-Pool, dessen Größe die Anzahl
+ * gleichzeitiger Anfragen an den jeweiligen Anbieter begrenzt. Die Dauer entspricht damit annähernd der
+ * Latenz einer einzelnen Anfrage statt der Summe aller Anfragen. Wetterdaten werden über den
+ * {@link WeatherForecastCache} pro Geo-Zelle geteilt.
+ */
+@Component
+public class ForecastPrefetcher implements DisposableBean {
+
+    private final WeatherForecastCache weatherForecastCache;
+    private final SolarRestClient solarRestClient;
+    private final ExecutorService weatherExecutor;
+    private final ExecutorService solarExecutor;
+
+    public ForecastPrefetcher(WeatherForecastCache weatherForecastCache, SolarRestClient solarRestClient,
+                              @Value("${vpp.weather.max-concurrent-requests:10}") int maxConcurrentWeatherRequests,
+                              @Value("${vpp.solar.max-concurrent-requests:10}") int maxConcurrentSolarRequests) {
+        this.weatherForecastCache = weatherForecastCache;
+        this.solarRestClient = solarRestClient;
+        this.weatherExecutor = Executors.newFixedThreadPool(maxConcurrentWeatherRequests,
+                new CustomizableThreadFactory("weather-prefetch-"));
+        this.solarExecutor = Executors.newFixedThreadPool(maxConcurrentSolarRequests,
+                new CustomizableThreadFactory("solar-prefetch-"));
+    }
+
+    /**
+     * Startet alle Anfragen beider Schnittstellen gleichzeitig und wartet auf deren Ergebnisse.
+     * Schlägt eine Anfrage fehl, werden die noch ausstehenden Anfragen abgebrochen.
+     *
+     * @param dateTime aktueller Zeitstempel für die Solarprognose
+     * @param winds    Windkraftanlagen des VK
+     * @param solars   Solaranlagen des VK
+     * @return Wetterdaten und Tagesprognosen pro Erzeugungsanlage
+     * @throws WeatherRestClientException e
+     * @throws SolarRestClientException   e
+     * @throws InterruptedException       e
+     */
+    public PrefetchedForecasts prefetch(ZonedDateTime dateTime, List<WindEnergyDTO> winds, List<SolarEnergyDTO> solars)
+            throws WeatherRestClientException, SolarRestClientException, InterruptedException {
+        Map<String, Future<List<WeatherDTO>>> weatherFutures = new LinkedHashMap<>();
+        for (WindEnergyDTO wind : winds) {
+            weatherFutures.put(wind.getWindEnergyId(), weatherExecutor.submit(
+                    () -> weatherForecastCache.getWeather(wind.getLatitude(), wind.getLongitude())));
+        }
+        Map<String, Future<List<SolarForecastDTO>>> solarFutures = new LinkedHashMap<>();
+        for (SolarEnergyDTO solar : solars) {
+            solarFutures.put(solar.getSolarEnergyId(), solarExecutor.submit(
+                    () -> solarRestClient.getSolarForecast(dateTime, solar)));
+        }
+
+        try {
+            Map<String, List<WeatherDTO>> weatherByWindId = new HashMap<>();
+            for (Map.Entry<String, Future<List<WeatherDTO>>> entry : weatherFutures.entrySet()) {
+                weatherByWindId.put(entry.getKey(), entry.getValue().get());
+            }
+            Map<String, List<SolarForecastDTO>> solarForecastBySolarId = new HashMap<>();
+            for (Map.Entry<String, Future<List<SolarForecastDTO>>> entry : solarFutures.entrySet()) {
+                solarForecastBySolarId.put(entry.getKey(), entry.getValue().get());
+            }
+            return new PrefetchedForecasts(weatherByWindId, solarForecastBySolarId);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof WeatherRestClientException) {
+                throw (WeatherRestClientException) cause;
+            } else if (cause instanceof SolarRestClientException) {
+                throw (SolarRestClientException) cause;
+            }
+            throw new WeatherRestClientException("Das Laden der Wetterdaten ist fehlgeschlagen.", cause);
+        } finally {
+            // Bei Fehlern keine weiteren Anfragen an die Schnittstellen senden
+            weatherFutures.values().forEach(future -> future.cancel(true));
+            solarFutures.values().forEach(future -> future.cancel(true));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        weatherExecutor.shutdownNow();
+        solarExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,214 @@
+package de.uol.vpp.production.infrastructure.scheduler;
+
+import de.uol.vpp.common.timeseries.QuarterHourTimeAxis;
+import de.uol.vpp.production.infrastructure.rabbitmq.messages.ActionRequestMessage;
+import de.uol.vpp.production.infrastructure.rabbitmq.messages.GridManipulationMessage;
+import de.uol.vpp.production.infrastructure.rabbitmq.messages.ProducerManipulationMessage;
+import de.uol.vpp.production.infrastructure.rabbitmq.messages.StorageManipulationMessage;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Einmalig pro Maßnahmenabfrage aufgebauter Index aller Manipulationen über den Prognoseperioden.
+ * Die Zeiträume der Manipulationen werden über die Zeitachse der Prognose aufgelöst, sodass pro Periode
+ * die aktive Erzeugungsmanipulation einer Erzeugungsanlage sowie die zusätzlichen Erzeugungswerte aus Speicher-
+ * und Stromnetzmanipulationen ohne weitere Zeitvergleiche nachgeschlagen werden können.
+ * Überschneiden sich Erzeugungsmanipulationen einer Erzeugungsanlage, gilt die zuletzt in der Maßnahmenabfrage
+ * aufgeführte Manipulation.
+ */
+final class ManipulationIndex {
+
+    private final Map<String, ProducerManipulationMessage[]> producerManipulations;
+    private final int[] rowOffsets;
+    private final String[] rowIds;
+    private final String[] rowTypes;
+    private final double[] rowValues;
+
+    private ManipulationIndex(Map<String, ProducerManipulationMessage[]> producerManipulations, int[] rowOffsets,
+                              String[] rowIds, String[] rowTypes, double[] rowValues) {
+        this.producerManipulations = producerManipulations;
+        this.rowOffsets = rowOffsets;
+        this.rowIds = rowIds;
+        this.rowTypes = rowTypes;
+        this.rowValues = rowValues;
+    }
+
+    /**
+     * Erstellt den Index aller Manipulationen einer Maßnahmenabfrage
+     *
+     * @param message Maßnahmenabfrage
+     * @param axis    Zeitachse der Prognose
+     * @return Index der Manipulationen
+     */
+    static ManipulationIndex of(ActionRequestMessage message, QuarterHourTimeAxis axis) {
+        int periods = axis.getPeriods();
+
+        // Aktive Erzeugungsmanipulation pro Erzeugungsanlage und Periode, spätere Manipulationen überschreiben frühere
+        Map<String, ProducerManipulationMessage[]> producerManipulations = new HashMap<>();
+        for (ProducerManipulationMessage producerManipulation : message.getProducerManipulations()) {
+            int first = axis.firstPeriodFrom(producerManipulation.getStartTimestamp());
+            int last = axis.lastPeriodUntil(producerManipulation.getEndTimestamp());
+            if (first <= last) {
+                Arrays.fill(producerManipulations.computeIfAbsent(producerManipulation.getProducerId(),
+                        producerId -> new ProducerManipulationMessage[periods]), first, last + 1, producerManipulation);
+            }
+        }
+
+        // Speichermanipulationen beginnen exakt in einer Periode und laufen für die Anzahl der Viertelstunden weiter
+        List<StorageManipulationMessage> storageManipulations = message.getStorageManipulations();
+        int[] storageFirst = new int[storageManipulations.size()];
+        int[] storageLast = new int[storageManipulations.size()];
+        for (int i = 0; i < storageManipulations.size(); i++) {
+            StorageManipulationMessage storageManipulation = storageManipulations.get(i);
+            int start = axis.indexOf(storageManipulation.getStartTimestamp());
+            if (start >= 0 && storageValue(storageManipulation) != null) {
+                int quarterPeriods = Double.valueOf(Math.floor(storageManipulation.getHours() * 4.)).intValue();
+                storageFirst[i] = start;
+                storageLast[i] = Math.min(periods - 1, start + Math.max(0, quarterPeriods));
+            } else {
+                storageFirst[i] = 0;
+                storageLast[i] = -1;
+            }
+        }
+
+        List<GridManipulationMessage> gridManipulations = message.getGridManipulations();
+        int[] gridFirst = new int[gridManipulations.size()];
+        int[] gridLast = new int[gridManipulations.size()];
+        for (int i = 0; i < gridManipulations.size(); i++) {
+            GridManipulationMessage gridManipulation = gridManipulations.get(i);
+            if (gridValue(gridManipulation) != null) {
+                gridFirst[i] = axis.firstPeriodFrom(gridManipulation.getStartTimestamp());
+                gridLast[i] = axis.lastPeriodUntil(gridManipulation.getEndTimestamp());
+            } else {
+                gridFirst[i] = 0;
+                gridLast[i] = -1;
+            }
+        }
+
+        // Zusätzliche Erzeugungswerte werden pro Periode zusammenhängend abgelegt, erst Speicher, dann Stromnetz
+        int[] rowOffsets = new int[periods + 1];
+        countRows(rowOffsets, storageFirst, storageLast);
+        countRows(rowOffsets, gridFirst, gridLast);
+        for (int period = 0; period < periods; period++) {
+            rowOffsets[period + 1] += rowOffsets[period];
+        }
+        int rows = rowOffsets[periods];
+        String[] rowIds = new String[rows];
+        String[] rowTypes = new String[rows];
+        double[] rowValues = new double[rows];
+        int[] cursors = Arrays.copyOf(rowOffsets, periods);
+        for (int i = 0; i < storageManipulations.size(); i++) {
+            StorageManipulationMessage storageManipulation = storageManipulations.get(i);
+            for (int period = storageFirst[i]; period <= storageLast[i]; period++) {
+                int row = cursors[period]++;
+                rowIds[row] = storageManipulation.getStorageId();
+                rowTypes[row] = "STORAGE";
+                rowValues[row] = storageValue(storageManipulation);
+            }
+        }
+        for (int i = 0; i < gridManipulations.size(); i++) {
+            GridManipulationMessage gridManipulation = gridManipulations.get(i);
+            for (int period = gridFirst[i]; period <= gridLast[i]; period++) {
+                int row = cursors[period]++;
+                rowIds[row] = "GRID";
+                rowTypes[row] = "GRID";
+                rowValues[row] = gridValue(gridManipulation);
+            }
+        }
+        return new ManipulationIndex(producerManipulations, rowOffsets, rowIds, rowTypes, rowValues);
+    }
+
+    /**
+     * Zählt die zusätzlichen Erzeugungswerte pro Periode, versetzt um eine Periode für die anschließende Präfixsumme
+     *
+     * @param rowOffsets Anzahl der Erzeugungswerte pro Periode
+     * @param first      erste Periode pro Manipulation
+     * @param last       letzte Periode pro Manipulation
+     */
+    private static void countRows(int[] rowOffsets, int[] first, int[] last) {
+        for (int i = 0; i < first.length; i++) {
+            for (int period = first[i]; period <= last[i]; period++) {
+                rowOffsets[period + 1]++;
+            }
+        }
+    }
+
+    /**
+     * @param storageManipulation Speichermanipulation
+     * @return Erzeugungswert der Speichermanipulation, beim Beladen negativ, null bei unbekannter Art
+     */
+    private static Double storageValue(StorageManipulationMessage storageManipulation) {
+        if (storageManipulation.getType().equals("STORAGE_LOAD")) {
+            return storageManipulation.getRatedPower() * -1.;
+        } else if (storageManipulation.getType().equals("STORAGE_UNLOAD")) {
+            return storageManipulation.getRatedPower();
+        }
+        return null;
+    }
+
+    /**
+     * @param gridManipulation Stromnetzmanipulation
+     * @return Erzeugungswert der Stromnetzmanipulation, beim Einspeisen in das Netz negativ, null bei unbekannter Art
+     */
+    private static Double gridValue(GridManipulationMessage gridManipulation) {
+        if (gridManipulation.getType().equals("GRID_LOAD")) {
+            return gridManipulation.getRatedCapacity() * -1;
+        } else if (gridManipulation.getType().equals("GRID_UNLOAD")) {
+            return gridManipulation.getRatedCapacity();
+        }
+        return null;
+    }
+
+    /**
+     * @param producerId Id der Erzeugungsanlage
+     * @param period     Periode
+     * @return aktive Erzeugungsmanipulation der Erzeugungsanlage oder null
+     */
+    ProducerManipulationMessage getProducerManipulation(String producerId, int period) {
+        ProducerManipulationMessage[] manipulations = producerManipulations.get(producerId);
+        return manipulations != null ? manipulations[period] : null;
+    }
+
+    /**
+     * @param period Periode
+     * @return erste Zeile der zusätzlichen Erzeugungswerte der Periode
+     */
+    int getRowStart(int period) {
+        return rowOffsets[period];
+    }
+
+    /**
+     * @param period Periode
+     * @return Zeile nach dem letzten zusätzlichen Erzeugungswert der Periode
+     */
+    int getRowEnd(int period) {
+        return rowOffsets[period + 1];
+    }
+
+    /**
+     * @param row Zeile
+     * @return Id des Speichers oder GRID
+     */
+    String getRowId(int row) {
+        return rowIds[row];
+    }
+
+    /**
+     * @param row Zeile
+     * @return STORAGE oder GRID
+     */
+    String getRowType(int row) {
+        return rowTypes[row];
+    }
+
+    /**
+     * @param row Zeile
+     * @return zusätzlicher Erzeugungswert
+     */
+    double getRowValue(int row) {
+        return rowValues[row];
+    }
+}
@@ -0,0 +1,44 @@
+package de.uol.vpp.production.infrastructure.scheduler;
+
+import de.uol.vpp.production.infrastructure.rest.dto.SolarForecastDTO;
+import de.uol.vpp.production.infrastructure.rest.dto.WeatherDTO;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Vorab geladene Wetterdaten der Windkraftanlagen und Tagesprognosen der Solaranlagen einer Erzeugungsprognose.
+ * Die Prognoseperioden lesen ausschließlich aus diesen Daten, ohne weitere Anfragen an externe Schnittstellen.
+ */
+public final class PrefetchedForecasts {
+
+    private final Map<String, List<WeatherDTO>> weatherByWindId;
+    private final Map<String, List<SolarForecastDTO>> solarForecastBySolarId;
+
+    /**
+     * @param weatherByWindId        Wetterdaten pro Windkraftanlage
+     * @param solarForecastBySolarId Tagesprognose pro Solaranlage
+     */
+    public PrefetchedForecasts(Map<String, List<WeatherDTO>> weatherByWindId,
+                               Map<String, List<SolarForecastDTO>> solarForecastBySolarId) {
+        this.weatherByWindId = weatherByWindId;
+        this.solarForecastBySolarId = solarForecastBySolarId;
+    }
+
+    /**
+     * @param windEnergyId Id der Windkraftanlage
+     * @return Wetterdaten am Standort der Windkraftanlage
+     */
+    public List<WeatherDTO> getWeather(String windEnergyId) {
+        return weatherByWindId.getOrDefault(windEnergyId, Collections.emptyList());
+    }
+
+    /**
+     * @param solarEnergyId Id der Solaranlage
+     * @return Tagesprognose der Solaranlage
+     */
+    public List<SolarForecastDTO> getSolarForecast(String solarEnergyId) {
+        return solarForecastBySolarId.getOrDefault(solarEnergyId, Collections.emptyList());
+    }
+}
@@ -0,0 +1,156 @@
+package de.uol.vpp.production.infrastructure.repositories;
+
+import de.uol.vpp.common.timeseries.ForecastSeries;
+import de.uol.vpp.production.domain.timeseries.ProducerSum;
+import de.uol.vpp.production.domain.timeseries.TimeWindow;
+import de.uol.vpp.production.domain.valueobjects.ProductionActionRequestIdVO;
+import de.uol.vpp.production.domain.valueobjects.ProductionVirtualPowerPlantIdVO;
+import de.uol.vpp.production.infrastructure.InfrastructureDomainConverter;
+import de.uol.vpp.production.infrastructure.entities.Production;
+import de.uol.vpp.production.infrastructure.entities.ProductionProducer;
+import de.uol.vpp.production.infrastructure.jpaRepositories.ProductionJpaRepository;
+import de.uol.vpp.production.infrastructure.jpaRepositories.ProductionProducerJpaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test der gebündelten Persistierung einer Erzeugungsprognose gegen eine H2-Datenbank. Die Prognose wird einmal per
+ * {@link ProductionRepositoryImpl#saveProductions} und einmal über den bisherigen Pfad gespeichert, der jedes
+ * Erzeugungsaggregat per JPA speichert und jeden Erzeugungswert einzeln speichert und zuweist. Beide Pfade müssen
+ * dieselben Summen pro Zeitstempel und pro Erzeugungsanlage ergeben. Die Tests laufen ohne umschließende
+ * Transaktion, wie auch der Scheduler.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProductionRepositoryImpl.class, InfrastructureDomainConverter.class})
+class ProductionRepositoryImplTest {
+
+    private static final int PERIODS = 96;
+    private static final int PRODUCERS = 50;
+    private static final long START = 1609459200L;
+
+    @Autowired
+    private ProductionRepositoryImpl repository;
+    @Autowired
+    private ProductionJpaRepository productionJpaRepository;
+    @Autowired
+    private ProductionProducerJpaRepository productionProducerJpaRepository;
+
+    @AfterEach
+    void deleteAll() {
+        productionProducerJpaRepository.deleteAllInBatch();
+        productionJpaRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void saveProductionsMatchesSavingEachProducer() throws Exception {
+        ForecastSeries series = this.createSeries();
+        ProductionActionRequestIdVO batched = new ProductionActionRequestIdVO("AR-BATCH");
+        ProductionActionRequestIdVO legacy = new ProductionActionRequestIdVO("AR-LEGACY");
+
+        repository.saveProductions(batched, new ProductionVirtualPowerPlantIdVO("VPP"), series);
+        this.saveEachProducer(legacy.getValue(), series);
+
+        assertEquals(2L * PERIODS, productionJpaRepository.count());
+        assertEquals(2L * PERIODS * PRODUCERS, productionProducerJpaRepository.count());
+
+        ForecastSeries batchedTotals = repository.getProductionTotals(batched);
+        ForecastSeries legacyTotals = repository.getProductionTotals(legacy);
+        assertEquals(PERIODS, batchedTotals.getPeriodCount());
+        for (int period = 0; period < PERIODS; period++) {
+            assertEquals(legacyTotals.getTimestamp(period), batchedTotals.getTimestamp(period));
+            assertEquals(legacyTotals.getValue(period), batchedTotals.getValue(period), 1e-9);
+            assertEquals(legacyTotals.getPossibleValue(period), batchedTotals.getPossibleValue(period), 1e-9);
+        }
+
+        // Summen pro Erzeugungsanlage in zwei Zeiträumen, die Grenzen sind inklusive
+        List<TimeWindow> windows = Arrays.asList(
+                new TimeWindow(START, START + 3 * 900),
+                new TimeWindow(START + 10 * 900, START + (PERIODS - 1) * 900));
+        List<ProducerSum> batchedSums = this.sorted(repository.getProducerSums(batched, windows));
+        List<ProducerSum> legacySums = this.sorted(repository.getProducerSums(legacy, windows));
+        assertEquals(2 * PRODUCERS, batchedSums.size());
+        for (int i = 0; i < batchedSums.size(); i++) {
+            ProducerSum expected = legacySums.get(i);
+            ProducerSum actual = batchedSums.get(i);
+            assertEquals(expected.getProducerId(), actual.getProducerId());
+            assertEquals(expected.getWindow().getStartTimestamp(), actual.getWindow().getStartTimestamp());
+            assertEquals(expected.getCount(), actual.getCount());
+            assertEquals(expected.getCurrentSum(), actual.getCurrentSum(), 1e-9);
+            assertEquals(expected.getPossibleSum(), actual.getPossibleSum(), 1e-9);
+        }
+        assertEquals(4, batchedSums.get(0).getCount());
+    }
+
+    private ForecastSeries createSeries() {
+        long[] timestamps = new long[PERIODS];
+        for (int period = 0; period < PERIODS; period++) {
+            timestamps[period] = START + period * 900L;
+        }
+        ForecastSeries.Builder builder = ForecastSeries.builder(timestamps, true);
+        for (int period = 0; period < PERIODS; period++) {
+            for (int producer = 0; producer < PRODUCERS; producer++) {
+                double value = (period * 7 + producer * 3) % 100;
+                builder.add(period, "PRODUCER-" + producer, producer % 2 == 0 ? "SOLAR" : "WIND", value, value + 5);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Bisheriger Pfad: Speichern jedes Erzeugungsaggregats per JPA, anschließend Speichern jedes Erzeugungswerts und
+     * Zuweisen zu seinem Erzeugungsaggregat mit jeweils zwei Lese- und zwei Schreibzugriffen
+     */
+    private void saveEachProducer(String actionRequestId, ForecastSeries series) {
+        for (int period = 0; period < series.getPeriodCount(); period++) {
+            Production production = new Production();
+            production.setActionRequestTimestamp(new Production.ActionRequestTimestamp(actionRequestId, this.toZoned(series.getTimestamp(period))));
+            production.setVirtualPowerPlantId("VPP");
+            production.setProducers(new ArrayList<>());
+            productionJpaRepository.save(production);
+        }
+        for (int row = 0; row < series.size(); row++) {
+            ZonedDateTime timestamp = this.toZoned(series.getTimestamp(series.getPeriod(row)));
+            ProductionProducer producer = new ProductionProducer();
+            producer.setProducerId(series.getEntityId(series.getEntity(row)));
+            producer.setProducerType(series.getEntityType(series.getEntity(row)));
+            producer.setCurrentValue(series.getValue(row));
+            producer.setPossibleValue(series.getPossibleValue(row));
+            producer.setTimestamp(timestamp);
+            Long internalId = productionProducerJpaRepository.save(producer).getInternalId();
+
+            Production production = productionJpaRepository.findById(new Production.ActionRequestTimestamp(actionRequestId, timestamp)).orElseThrow();
+            ProductionProducer assigned = productionProducerJpaRepository.findById(internalId).orElseThrow();
+            assigned.setProduction(production);
+            productionProducerJpaRepository.save(assigned);
+            production.getProducers().add(assigned);
+            productionJpaRepository.save(production);
+        }
+    }
+
+    private ZonedDateTime toZoned(long epochSecond) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.of("Europe/Berlin"));
+    }
+
+    private List<ProducerSum> sorted(List<ProducerSum> sums) {
+        List<ProducerSum> result = new ArrayList<>(sums);
+        result.sort((a, b) -> a.getWindow().getStartTimestamp() != b.getWindow().getStartTimestamp() ?
+                Long.compare(a.getWindow().getStartTimestamp(), b.getWindow().getStartTimestamp()) :
+                a.getProducerId().compareTo(b.getProducerId()));
+        return result;
+    }
+}
@@ -1,11 +1,15 @@
 package de.uol.vpp.production.service.services;
 
+import de.uol.vpp.common.timeseries.ForecastSeries;
 import de.uol.vpp.production.domain.aggregates.ProductionAggregate;
 import de.uol.vpp.production.domain.exceptions.ProductionException;
 import de.uol.vpp.production.domain.exceptions.ProductionRepositoryException;
 import de.uol.vpp.production.domain.exceptions.ProductionServiceException;
 import de.uol.vpp.production.domain.repositories.IProductionRepository;
+import de.uol.vpp.production.domain.repositories.ProductionRowHandler;
 import de.uol.vpp.production.domain.services.IProductionService;
+import de.uol.vpp.production.domain.timeseries.ProducerSum;
+import de.uol.vpp.production.domain.timeseries.TimeWindow;
 import de.uol.vpp.production.domain.valueobjects.ProductionActionRequestIdVO;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -29,4 +33,40 @@ public class ProductionServiceImpl implements IProductionService {
             throw new ProductionServiceException(e.getMessage(), e);
         }
     }
+
+    @Override
+    public boolean existsProductionsByActionRequestId(String actionRequestId) throws ProductionServiceException {
+        try {
+            return repository.existsProductions(new ProductionActionRequestIdVO(actionRequestId));
+        } catch (ProductionRepositoryException | ProductionException e) {
+            throw new ProductionServiceException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void streamProductionsByActionRequestId(String actionRequestId, ProductionRowHandler handler) throws ProductionServiceException {
+        try {
+            repository.streamProductions(new ProductionActionRequestIdVO(actionRequestId), handler);
+        } catch (ProductionRepositoryException | ProductionException e) {
+            throw new ProductionServiceException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ForecastSeries getProductionTotalsByActionRequestId(String actionRequestId) throws ProductionServiceException {
+        try {
+            return repository.getProductionTotals(new ProductionActionRequestIdVO(actionRequestId));
+        } catch (ProductionRepositoryException | ProductionException e) {
+            throw new ProductionServiceException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<ProducerSum> getProducerSumsByActionRequestId(String actionRequestId, List<TimeWindow> windows) throws ProductionServiceException {
+        try {
+            return repository.getProducerSums(new ProductionActionRequestIdVO(actionRequestId), windows);
+        } catch (ProductionRepositoryException | ProductionException e) {
+            throw new ProductionServiceException(e.getMessage(), e);
+        }
+    }
 }